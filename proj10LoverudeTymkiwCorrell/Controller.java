@@ -646,10 +646,9 @@ public class Controller {
 
     /**
      * Handler method for Compile button.
-     * If the tab is dirty, asks user to save. If user chooses to save, the changes are
-     * saved and the tab is compiled. If user chooses not to save, the currently saved
-     * version of the file is compiled (the unsaved changes are ignored). If the user
-     * cancels the dialog, no compilation is performed.
+     * The text in the tab, including unsaved changes, is compiled. If the tab has
+     * never been saved, asks user to save, since the transpiled file is written
+     * next to it. If the user cancels the dialog, no compilation is performed.
      *
      * @param event An ActionEvent object that gives information about the event
      *              and its source.
@@ -711,8 +710,9 @@ public class Controller {
      * @return a boolean that indicates whether the compilation was successful.
      */
     private boolean compileTab(ActionEvent event) {
-        // Saves file if dirty, returns false if file not saved
-        if(!saveIfDirty(event)){
+        // The transpiled file is written next to the Bantam Java file, so a
+        // tab that has never been saved must be saved first
+        if(this.tabToFilePathMap.get(getSelectedTab()) == null && !saveIfDirty(event)){
             return false;
         }
         handleCheck(event);
@@ -721,7 +721,8 @@ public class Controller {
         }
 
         String filepath = this.tabToFilePathMap.get(getSelectedTab());
-        String filepathToCompile = transpiler.visitAndWrite(filepath);
+        String filepathToCompile = transpiler.visitAndWrite(
+                getSelectedTextBox().getText(), filepath);
 
         // new process builder for compilation
         ProcessBuilder processBuilder = new ProcessBuilder();
@@ -877,16 +878,23 @@ public class Controller {
         }
     }
 
+    /**
+     * Handler method for Check button. Parses and analyzes the text in the
+     * selected tab, including unsaved changes, without saving it, and prints
+     * the result to the console.
+     *
+     * @param event An ActionEvent object that gives information about the event
+     *              and its source.
+     */
     @FXML
     private void handleCheck(ActionEvent event) {
 
-        // Saves file if dirty, returns false if file not saved
-        if(!saveIfDirty(event)){
-            return;
-        }
-
-        //get file name
+        //get the text and a name for it; unsaved tabs use the tab's name
+        String source = getSelectedTextBox().getText();
         String filepath = this.tabToFilePathMap.get(getSelectedTab());
+        if(filepath == null){
+            filepath = getSelectedTab().getText();
+        }
 
         //create error handler
         ErrorHandler errorHandler = new ErrorHandler();
@@ -894,7 +902,15 @@ public class Controller {
         SemanticAnalyzer analyzer = new SemanticAnalyzer(errorHandler);
 
         try {
-            Program program = parser.parse(filepath);
+            Program program = parser.parse(source, filepath);
+            if(errorHandler.errorsFound()){
+                // the members and statements with syntax errors were left out
+                // of the program, so the rest can still be checked.  If the
+                // analyzer finds errors it throws a CompilationException, and
+                // the syntax and semantic errors are printed together below
+                analyzer.analyze(program);
+                throw new CompilationException(errorHandler);
+            }
             analyzer.analyze(program);
             try{
                 //send message to Console
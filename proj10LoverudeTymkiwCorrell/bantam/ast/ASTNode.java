@@ -257,6 +257,11 @@ public abstract class ASTNode {
      */
     protected int lineNum;
 
+    /**
+     * The kind of this AST node
+     */
+    private final NodeKind kind;
+
     /**
      * ASTNode constructor
      *
@@ -264,6 +269,17 @@ public abstract class ASTNode {
      */
     protected ASTNode(int lineNum) {
         this.lineNum = lineNum;
+        this.kind = NodeKind.of(getClass());
+    }
+
+    /**
+     * Get the kind of this AST node, which tells its class without a call
+     * of a method of the node, so that a switch on it can replace accept
+     *
+     * @return the kind of the node
+     */
+    public final NodeKind getKind() {
+        return kind;
     }
 
     /**
@@ -275,6 +291,16 @@ public abstract class ASTNode {
         return lineNum;
     }
 
+    /**
+     * Set the line number corresponding to this AST node, such as when lines
+     * are inserted or removed before it in the source
+     *
+     * @param lineNum source line number corresponding to this AST node
+     */
+    public void setLineNum(int lineNum) {
+        this.lineNum = lineNum;
+    }
+
     /**
      * Visitor method
      *
@@ -26,6 +26,7 @@
 
 package proj10LoverudeTymkiwCorrell.bantam.ast;
 
+import proj10LoverudeTymkiwCorrell.bantam.util.Binding;
 import proj10LoverudeTymkiwCorrell.bantam.visitor.Visitor;
 
 
@@ -55,6 +56,11 @@ public class AssignExpr extends Expr {
      */
     protected Expr expr;
 
+    /**
+     * The local variable or field assigned to, set by the type checker
+     */
+    protected Binding binding;
+
     /**
      * AssignExpr constructor
      *
@@ -97,6 +103,25 @@ public class AssignExpr extends Expr {
         return expr;
     }
 
+    /**
+     * Get the local variable or field assigned to
+     *
+     * @return the Binding, or null if the variable is not declared or the
+     * expression has not been checked
+     */
+    public Binding getBinding() {
+        return binding;
+    }
+
+    /**
+     * Set the local variable or field assigned to
+     *
+     * @param binding the Binding
+     */
+    public void setBinding(Binding binding) {
+        this.binding = binding;
+    }
+
     /**
      * Visitor method
      *
@@ -26,6 +26,7 @@
 
 package proj10LoverudeTymkiwCorrell.bantam.ast;
 
+import proj10LoverudeTymkiwCorrell.bantam.util.Binding;
 import proj10LoverudeTymkiwCorrell.bantam.visitor.Visitor;
 
 /**
@@ -53,6 +54,11 @@ public class DispatchExpr extends Expr {
      */
     protected ExprList actualList;
 
+    /**
+     * The method called, set by the type checker
+     */
+    protected Binding binding;
+
     /**
      * DispatchExpr constructor
      *
@@ -96,6 +102,25 @@ public class DispatchExpr extends Expr {
         return actualList;
     }
 
+    /**
+     * Get the method called
+     *
+     * @return the Binding, or null if the method was not found or the expression
+     * has not been checked
+     */
+    public Binding getBinding() {
+        return binding;
+    }
+
+    /**
+     * Set the method called
+     *
+     * @param binding the Binding
+     */
+    public void setBinding(Binding binding) {
+        this.binding = binding;
+    }
+
     /**
      * Visitor method
      *
@@ -26,6 +26,7 @@
 
 package proj10LoverudeTymkiwCorrell.bantam.ast;
 
+import proj10LoverudeTymkiwCorrell.bantam.util.Type;
 import proj10LoverudeTymkiwCorrell.bantam.visitor.Visitor;
 
 
@@ -57,6 +58,11 @@ public abstract class Expr extends ASTNode {
      */
     private String exprType = null;
 
+    /**
+     * The expression type as a Type, if it was set as one
+     */
+    private Type exprTypeDescriptor = null;
+
     /**
      * Expr constructor
      *
@@ -82,6 +88,26 @@ public abstract class Expr extends ASTNode {
      */
     public void setExprType(String exprType) {
         this.exprType = exprType;
+        this.exprTypeDescriptor = null;
+    }
+
+    /**
+     * Get the type of the expression as a Type
+     *
+     * @return the expression type, or null if it was not set as a Type
+     */
+    public Type getExprTypeDescriptor() {
+        return exprTypeDescriptor;
+    }
+
+    /**
+     * Set the type of the expression, which also sets it to the name of the type
+     *
+     * @param exprType the type of the expression
+     */
+    public void setExprType(Type exprType) {
+        this.exprType = (exprType == null ? null : exprType.getName());
+        this.exprTypeDescriptor = exprType;
     }
 
     /**
@@ -0,0 +1,336 @@
+/*
+ * File: FlatAST.java
+ * Date: 10/2026
+ */
+
+package proj10LoverudeTymkiwCorrell.bantam.ast;
+
+/**
+ * An AST kept in a few parallel arrays instead of an object for each node.
+ * A node is an index into the arrays, which hold its kind, its line, its
+ * first child and its next sibling.  The names, types and constants of the
+ * nodes are kept once each in a table of strings, which the nodes refer to
+ * by index.  A large program takes a fraction of the heap of its AST of
+ * objects this way, and a traversal reads memory in order: the nodes are
+ * stored in preorder, so going through the indexes from 0 visits every node
+ * after its parent and before its next sibling.
+ * <p>
+ * The children of a node are in the order of the arguments of the
+ * constructor of its class.  An optional child that is absent, such as the
+ * initialization of a Field without one, is still a node, whose kind is
+ * null, so that the children after it keep their places.
+ * <p>
+ * For code written against the AST classes, getProgram() returns a Program
+ * whose classes are created from the arrays the first time they are asked
+ * for, so the heap holds objects only for the classes that are used.
+ * A FlatAST holds the AST as the parser builds it; it has no types or
+ * other information added by later phases.
+ *
+ * @see FlatASTBuilder
+ */
+public final class FlatAST
+{
+    /** the index returned for a child or sibling that does not exist */
+    public static final int NONE = -1;
+
+    /** the kind stored for an absent optional child */
+    static final byte ABSENT = -1;
+
+    private static final NodeKind[] KINDS = NodeKind.values();
+
+    private final int nodeCount;
+    // the ordinal of the NodeKind of each node or ABSENT
+    private final byte[] kinds;
+    private final int[] lines;
+    private final int[] firstChildren;
+    private final int[] nextSiblings;
+    // for a node with names, the index in nameRefs of its first name; for
+    // an increment or decrement, 1 if it is postfix and 0 if prefix; for the
+    // StmtList of a method, 1 if the body is incomplete and 0 if not
+    private final int[] data;
+    // the indexes in names of the names of the nodes, or NONE for null
+    private final int[] nameRefs;
+    private final String[] names;
+
+    // created by the first call of getProgram
+    private Program program;
+
+    /**
+     * creates a FlatAST from the arrays filled by a FlatASTBuilder
+     *
+     * @param nodeCount     the number of nodes
+     * @param kinds         the kind of each node
+     * @param lines         the line of each node
+     * @param firstChildren the first child of each node
+     * @param nextSiblings  the next sibling of each node
+     * @param data          the index of the first name of each node or its flag
+     * @param nameRefs      the indexes of the names in the table
+     * @param names         the table of names
+     */
+    FlatAST(int nodeCount, byte[] kinds, int[] lines, int[] firstChildren,
+            int[] nextSiblings, int[] data, int[] nameRefs, String[] names) {
+        this.nodeCount = nodeCount;
+        this.kinds = kinds;
+        this.lines = lines;
+        this.firstChildren = firstChildren;
+        this.nextSiblings = nextSiblings;
+        this.data = data;
+        this.nameRefs = nameRefs;
+        this.names = names;
+    }
+
+    /**
+     * creates a FlatAST with the same nodes as an AST of objects
+     *
+     * @param program the root of the AST
+     * @return the FlatAST
+     */
+    public static FlatAST of(Program program) {
+        FlatASTBuilder builder = new FlatASTBuilder();
+        ClassList classList = program.getClassList();
+        for (int i = 0; i < classList.getSize(); i++) {
+            builder.addClass((Class_) classList.get(i));
+        }
+        return builder.build(program.getLineNum());
+    }
+
+    /**
+     * @return the number of nodes, including the absent ones; the root is
+     * node 0 and its ClassList node 1
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * @return the number of different names in the table of names
+     */
+    public int getNameCount() {
+        return names.length;
+    }
+
+    /**
+     * @param node a node
+     * @return the kind of the node or null if it is an absent optional child
+     */
+    public NodeKind getKind(int node) {
+        byte kind = kinds[node];
+        return kind == ABSENT ? null : KINDS[kind];
+    }
+
+    /**
+     * @param node a node
+     * @return the source line of the node
+     */
+    public int getLine(int node) {
+        return lines[node];
+    }
+
+    /**
+     * @param node a node
+     * @return the first child of the node or NONE if it has none
+     */
+    public int getFirstChild(int node) {
+        return firstChildren[node];
+    }
+
+    /**
+     * @param node a node
+     * @return the next child of the parent of the node or NONE if it is the last
+     */
+    public int getNextSibling(int node) {
+        return nextSiblings[node];
+    }
+
+    /**
+     * Returns a name, type or constant of a node.  Each kind of node has
+     * the strings of the constructor of its class in the same order: for
+     * instance a CLASS has its filename, name and parent and a METHOD its
+     * return type and name.
+     *
+     * @param node  a node
+     * @param index the index of the string among those of the node
+     * @return the string, which may be null
+     */
+    public String getName(int node, int index) {
+        int ref = nameRefs[data[node] + index];
+        return ref == NONE ? null : names[ref];
+    }
+
+    /**
+     * @param node an increment or decrement node
+     * @return true if the operator comes after the operand
+     */
+    public boolean isPostfix(int node) {
+        return data[node] != 0;
+    }
+
+    /**
+     * @param node a method node
+     * @return true if the parser left statements with syntax errors out of
+     * the body of the method
+     * @see Method#isBodyIncomplete()
+     */
+    public boolean isBodyIncomplete(int node) {
+        return data[nextSiblings[firstChildren[node]]] != 0;
+    }
+
+    /**
+     * Returns the AST of objects for code that uses the AST classes.  Its
+     * Class_ nodes and everything in them are created from the arrays the
+     * first time they are asked for, and the same ones are returned after
+     * that.  The lists cannot be changed.
+     *
+     * @return the root of the AST
+     */
+    public Program getProgram() {
+        if (program == null) {
+            program = new Program(lines[0], new FlatClassList(this, 1));
+        }
+        return program;
+    }
+
+    /**
+     * creates the objects for a node and everything in it
+     *
+     * @param node a node
+     * @return the root of the objects or null for an absent node
+     */
+    ASTNode materialize(int node) {
+        if (kinds[node] == ABSENT) {
+            return null;
+        }
+        int line = lines[node];
+        int child = firstChildren[node];
+        switch (KINDS[kinds[node]]) {
+            case CLASS:
+                return new Class_(line, getName(node, 0), getName(node, 1), getName(node, 2),
+                        (MemberList) materialize(child));
+            case MEMBER_LIST:
+                return fill(new MemberList(line), child);
+            case FIELD:
+                return new Field(line, getName(node, 0), getName(node, 1), expr(child));
+            case METHOD:
+                Method method = new Method(line, getName(node, 0), getName(node, 1),
+                        (FormalList) materialize(child),
+                        (StmtList) materialize(nextSiblings[child]));
+                method.setBodyIncomplete(isBodyIncomplete(node));
+                return method;
+            case FORMAL_LIST:
+                return fill(new FormalList(line), child);
+            case FORMAL:
+                return new Formal(line, getName(node, 0), getName(node, 1));
+            case STMT_LIST:
+                return fill(new StmtList(line), child);
+            case DECL_STMT:
+                return new DeclStmt(line, getName(node, 0), expr(child));
+            case EXPR_STMT:
+                return new ExprStmt(line, expr(child));
+            case IF_STMT:
+                int thenStmt = nextSiblings[child];
+                return new IfStmt(line, expr(child), stmt(thenStmt),
+                        stmt(nextSiblings[thenStmt]));
+            case WHILE_STMT:
+                return new WhileStmt(line, expr(child), stmt(nextSiblings[child]));
+            case FOR_STMT:
+                int predExpr = nextSiblings[child];
+                int updateExpr = nextSiblings[predExpr];
+                return new ForStmt(line, expr(child), expr(predExpr), expr(updateExpr),
+                        stmt(nextSiblings[updateExpr]));
+            case BREAK_STMT:
+                return new BreakStmt(line);
+            case BLOCK_STMT:
+                return new BlockStmt(line, (StmtList) materialize(child));
+            case RETURN_STMT:
+                return new ReturnStmt(line, expr(child));
+            case EXPR_LIST:
+                return fill(new ExprList(line), child);
+            case DISPATCH_EXPR:
+                return new DispatchExpr(line, expr(child), getName(node, 0),
+                        (ExprList) materialize(nextSiblings[child]));
+            case NEW_EXPR:
+                return new NewExpr(line, getName(node, 0));
+            case INSTANCEOF_EXPR:
+                return new InstanceofExpr(line, expr(child), getName(node, 0));
+            case CAST_EXPR:
+                return new CastExpr(line, getName(node, 0), expr(child));
+            case ASSIGN_EXPR:
+                return new AssignExpr(line, getName(node, 0), getName(node, 1), expr(child));
+            case VAR_EXPR:
+                return new VarExpr(line, expr(child), getName(node, 0));
+            case BINARY_COMP_EQ_EXPR:
+                return new BinaryCompEqExpr(line, expr(child), expr(nextSiblings[child]));
+            case BINARY_COMP_NE_EXPR:
+                return new BinaryCompNeExpr(line, expr(child), expr(nextSiblings[child]));
+            case BINARY_COMP_LT_EXPR:
+                return new BinaryCompLtExpr(line, expr(child), expr(nextSiblings[child]));
+            case BINARY_COMP_LEQ_EXPR:
+                return new BinaryCompLeqExpr(line, expr(child), expr(nextSiblings[child]));
+            case BINARY_COMP_GT_EXPR:
+                return new BinaryCompGtExpr(line, expr(child), expr(nextSiblings[child]));
+            case BINARY_COMP_GEQ_EXPR:
+                return new BinaryCompGeqExpr(line, expr(child), expr(nextSiblings[child]));
+            case BINARY_ARITH_PLUS_EXPR:
+                return new BinaryArithPlusExpr(line, expr(child), expr(nextSiblings[child]));
+            case BINARY_ARITH_MINUS_EXPR:
+                return new BinaryArithMinusExpr(line, expr(child), expr(nextSiblings[child]));
+            case BINARY_ARITH_TIMES_EXPR:
+                return new BinaryArithTimesExpr(line, expr(child), expr(nextSiblings[child]));
+            case BINARY_ARITH_DIVIDE_EXPR:
+                return new BinaryArithDivideExpr(line, expr(child), expr(nextSiblings[child]));
+            case BINARY_ARITH_MODULUS_EXPR:
+                return new BinaryArithModulusExpr(line, expr(child), expr(nextSiblings[child]));
+            case BINARY_LOGIC_AND_EXPR:
+                return new BinaryLogicAndExpr(line, expr(child), expr(nextSiblings[child]));
+            case BINARY_LOGIC_OR_EXPR:
+                return new BinaryLogicOrExpr(line, expr(child), expr(nextSiblings[child]));
+            case UNARY_NEG_EXPR:
+                return new UnaryNegExpr(line, expr(child));
+            case UNARY_NOT_EXPR:
+                return new UnaryNotExpr(line, expr(child));
+            case UNARY_INCR_EXPR:
+                return new UnaryIncrExpr(line, expr(child), isPostfix(node));
+            case UNARY_DECR_EXPR:
+                return new UnaryDecrExpr(line, expr(child), isPostfix(node));
+            case CONST_INT_EXPR:
+                return new ConstIntExpr(line, getName(node, 0));
+            case CONST_BOOLEAN_EXPR:
+                return new ConstBooleanExpr(line, getName(node, 0));
+            case CONST_STRING_EXPR:
+                return new ConstStringExpr(line, getName(node, 0));
+            default:
+                throw new IllegalStateException("A " + getKind(node)
+                        + " node can only be the root or its list of classes");
+        }
+    }
+
+    /**
+     * @param node an expression node or an absent one
+     * @return the expression or null
+     */
+    private Expr expr(int node) {
+        return (Expr) materialize(node);
+    }
+
+    /**
+     * @param node a statement node or an absent one
+     * @return the statement or null
+     */
+    private Stmt stmt(int node) {
+        return (Stmt) materialize(node);
+    }
+
+    /**
+     * adds the elements of a list node to the list and freezes it
+     *
+     * @param list  the new list
+     * @param child the first child of the list node
+     * @return the list
+     */
+    private ListNode fill(ListNode list, int child) {
+        for (; child != NONE; child = nextSiblings[child]) {
+            list.addElement(materialize(child));
+        }
+        return list.freeze();
+    }
+}
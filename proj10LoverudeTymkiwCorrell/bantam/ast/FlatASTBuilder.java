@@ -0,0 +1,480 @@
+/*
+ * File: FlatASTBuilder.java
+ * Date: 10/2026
+ */
+
+package proj10LoverudeTymkiwCorrell.bantam.ast;
+
+import proj10LoverudeTymkiwCorrell.bantam.visitor.Visitor;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Builds a FlatAST one class at a time.  Each Class_ added is copied into
+ * the arrays, so the objects of a class can be dropped as soon as it has
+ * been added; Parser.parseFlat never has more than one class of objects
+ * at a time.  Each name is stored once in the table of names however many
+ * nodes use it.
+ *
+ * @see FlatAST
+ */
+public class FlatASTBuilder extends Visitor
+{
+    private static final int INITIAL_NODES = 1024;
+
+    private int nodeCount;
+    private byte[] kinds = new byte[INITIAL_NODES];
+    private int[] lines = new int[INITIAL_NODES];
+    private int[] firstChildren = new int[INITIAL_NODES];
+    private int[] nextSiblings = new int[INITIAL_NODES];
+    private int[] data = new int[INITIAL_NODES];
+
+    private int nameRefCount;
+    private int[] nameRefs = new int[INITIAL_NODES];
+    private final Map<String, Integer> nameIndexes = new HashMap<>();
+
+    // the nodes whose children are being added, innermost last, and the
+    // last child added to each
+    private int depth;
+    private int[] openNodes = new int[64];
+    private int[] lastChildren = new int[64];
+
+    /**
+     * creates a builder with the Program node and its ClassList node
+     */
+    public FlatASTBuilder() {
+        open(NodeKind.PROGRAM, 0);
+        open(NodeKind.CLASS_LIST, 0);
+    }
+
+    /**
+     * adds a class and everything in it after the classes added before
+     *
+     * @param aClass the class
+     */
+    public void addClass(Class_ aClass) {
+        aClass.accept(this);
+    }
+
+    /**
+     * @param lineNum the line of the Program and its ClassList
+     * @return the FlatAST of the classes added
+     */
+    public FlatAST build(int lineNum) {
+        lines[0] = lineNum;
+        lines[1] = lineNum;
+        String[] names = new String[nameIndexes.size()];
+        for (Map.Entry<String, Integer> entry : nameIndexes.entrySet()) {
+            names[entry.getValue()] = entry.getKey();
+        }
+        return new FlatAST(nodeCount, Arrays.copyOf(kinds, nodeCount),
+                Arrays.copyOf(lines, nodeCount), Arrays.copyOf(firstChildren, nodeCount),
+                Arrays.copyOf(nextSiblings, nodeCount), Arrays.copyOf(data, nodeCount),
+                Arrays.copyOf(nameRefs, nameRefCount), names);
+    }
+
+    /**
+     * adds a node as the next child of the innermost open node and opens it
+     *
+     * @param kind    the kind of the node or null for an absent node
+     * @param lineNum the line of the node
+     * @return the new node
+     */
+    private int open(NodeKind kind, int lineNum) {
+        if (nodeCount == kinds.length) {
+            int capacity = nodeCount * 2;
+            kinds = Arrays.copyOf(kinds, capacity);
+            lines = Arrays.copyOf(lines, capacity);
+            firstChildren = Arrays.copyOf(firstChildren, capacity);
+            nextSiblings = Arrays.copyOf(nextSiblings, capacity);
+            data = Arrays.copyOf(data, capacity);
+        }
+        int node = nodeCount++;
+        kinds[node] = kind == null ? FlatAST.ABSENT : (byte) kind.ordinal();
+        lines[node] = lineNum;
+        firstChildren[node] = FlatAST.NONE;
+        nextSiblings[node] = FlatAST.NONE;
+        data[node] = nameRefCount;
+
+        if (depth > 0) {
+            int lastChild = lastChildren[depth - 1];
+            if (lastChild == FlatAST.NONE) {
+                firstChildren[openNodes[depth - 1]] = node;
+            }
+            else {
+                nextSiblings[lastChild] = node;
+            }
+            lastChildren[depth - 1] = node;
+        }
+        if (depth == openNodes.length) {
+            openNodes = Arrays.copyOf(openNodes, depth * 2);
+            lastChildren = Arrays.copyOf(lastChildren, depth * 2);
+        }
+        openNodes[depth] = node;
+        lastChildren[depth] = FlatAST.NONE;
+        depth++;
+        return node;
+    }
+
+    /**
+     * closes the innermost open node
+     */
+    private void close() {
+        depth--;
+    }
+
+    /**
+     * adds a name of the node added last
+     *
+     * @param name the name or null
+     */
+    private void name(String name) {
+        if (nameRefCount == nameRefs.length) {
+            nameRefs = Arrays.copyOf(nameRefs, nameRefCount * 2);
+        }
+        int index = FlatAST.NONE;
+        if (name != null) {
+            Integer known = nameIndexes.putIfAbsent(name, nameIndexes.size());
+            index = known == null ? nameIndexes.size() - 1 : known;
+        }
+        nameRefs[nameRefCount++] = index;
+    }
+
+    /**
+     * adds a node for an optional child, which is absent if it is null
+     *
+     * @param node the child or null
+     */
+    private void child(ASTNode node) {
+        if (node == null) {
+            open(null, 0);
+            close();
+        }
+        else {
+            node.accept(this);
+        }
+    }
+
+    /**
+     * adds a list node and its elements
+     *
+     * @param kind the kind of the list
+     * @param node the list
+     * @return null
+     */
+    private Object list(NodeKind kind, ListNode node) {
+        open(kind, node.getLineNum());
+        for (int i = 0; i < node.getSize(); i++) {
+            node.get(i).accept(this);
+        }
+        close();
+        return null;
+    }
+
+    /**
+     * adds a binary expression node and its operands
+     *
+     * @param kind the kind of the expression
+     * @param node the expression
+     * @return null
+     */
+    private Object binary(NodeKind kind, BinaryExpr node) {
+        open(kind, node.getLineNum());
+        child(node.getLeftExpr());
+        child(node.getRightExpr());
+        close();
+        return null;
+    }
+
+    /**
+     * adds a unary expression node and its operand
+     *
+     * @param kind the kind of the expression
+     * @param node the expression
+     * @return null
+     */
+    private Object unary(NodeKind kind, UnaryExpr node) {
+        open(kind, node.getLineNum());
+        child(node.getExpr());
+        close();
+        return null;
+    }
+
+    /**
+     * adds a constant node
+     *
+     * @param kind the kind of the constant
+     * @param node the constant
+     * @return null
+     */
+    private Object constant(NodeKind kind, ConstExpr node) {
+        open(kind, node.getLineNum());
+        name(node.getConstant());
+        close();
+        return null;
+    }
+
+    public Object visit(Program node) {
+        throw new IllegalArgumentException("Only classes can be added to a FlatASTBuilder");
+    }
+
+    public Object visit(ClassList node) {
+        throw new IllegalArgumentException("Only classes can be added to a FlatASTBuilder");
+    }
+
+    public Object visit(Class_ node) {
+        open(NodeKind.CLASS, node.getLineNum());
+        name(node.getFilename());
+        name(node.getName());
+        name(node.getParent());
+        child(node.getMemberList());
+        close();
+        return null;
+    }
+
+    public Object visit(MemberList node) {
+        return list(NodeKind.MEMBER_LIST, node);
+    }
+
+    public Object visit(Field node) {
+        open(NodeKind.FIELD, node.getLineNum());
+        name(node.getType());
+        name(node.getName());
+        child(node.getInit());
+        close();
+        return null;
+    }
+
+    public Object visit(Method node) {
+        open(NodeKind.METHOD, node.getLineNum());
+        name(node.getReturnType());
+        name(node.getName());
+        child(node.getFormalList());
+        int body = nodeCount;
+        child(node.getStmtList());
+        data[body] = node.isBodyIncomplete() ? 1 : 0;
+        close();
+        return null;
+    }
+
+    public Object visit(FormalList node) {
+        return list(NodeKind.FORMAL_LIST, node);
+    }
+
+    public Object visit(Formal node) {
+        open(NodeKind.FORMAL, node.getLineNum());
+        name(node.getType());
+        name(node.getName());
+        close();
+        return null;
+    }
+
+    public Object visit(StmtList node) {
+        return list(NodeKind.STMT_LIST, node);
+    }
+
+    public Object visit(DeclStmt node) {
+        open(NodeKind.DECL_STMT, node.getLineNum());
+        name(node.getName());
+        child(node.getInit());
+        close();
+        return null;
+    }
+
+    public Object visit(ExprStmt node) {
+        open(NodeKind.EXPR_STMT, node.getLineNum());
+        child(node.getExpr());
+        close();
+        return null;
+    }
+
+    public Object visit(IfStmt node) {
+        open(NodeKind.IF_STMT, node.getLineNum());
+        child(node.getPredExpr());
+        child(node.getThenStmt());
+        child(node.getElseStmt());
+        close();
+        return null;
+    }
+
+    public Object visit(WhileStmt node) {
+        open(NodeKind.WHILE_STMT, node.getLineNum());
+        child(node.getPredExpr());
+        child(node.getBodyStmt());
+        close();
+        return null;
+    }
+
+    public Object visit(ForStmt node) {
+        open(NodeKind.FOR_STMT, node.getLineNum());
+        child(node.getInitExpr());
+        child(node.getPredExpr());
+        child(node.getUpdateExpr());
+        child(node.getBodyStmt());
+        close();
+        return null;
+    }
+
+    public Object visit(BreakStmt node) {
+        open(NodeKind.BREAK_STMT, node.getLineNum());
+        close();
+        return null;
+    }
+
+    public Object visit(BlockStmt node) {
+        open(NodeKind.BLOCK_STMT, node.getLineNum());
+        child(node.getStmtList());
+        close();
+        return null;
+    }
+
+    public Object visit(ReturnStmt node) {
+        open(NodeKind.RETURN_STMT, node.getLineNum());
+        child(node.getExpr());
+        close();
+        return null;
+    }
+
+    public Object visit(ExprList node) {
+        return list(NodeKind.EXPR_LIST, node);
+    }
+
+    public Object visit(DispatchExpr node) {
+        open(NodeKind.DISPATCH_EXPR, node.getLineNum());
+        name(node.getMethodName());
+        child(node.getRefExpr());
+        child(node.getActualList());
+        close();
+        return null;
+    }
+
+    public Object visit(NewExpr node) {
+        open(NodeKind.NEW_EXPR, node.getLineNum());
+        name(node.getType());
+        close();
+        return null;
+    }
+
+    public Object visit(InstanceofExpr node) {
+        open(NodeKind.INSTANCEOF_EXPR, node.getLineNum());
+        name(node.getType());
+        child(node.getExpr());
+        close();
+        return null;
+    }
+
+    public Object visit(CastExpr node) {
+        open(NodeKind.CAST_EXPR, node.getLineNum());
+        name(node.getType());
+        child(node.getExpr());
+        close();
+        return null;
+    }
+
+    public Object visit(AssignExpr node) {
+        open(NodeKind.ASSIGN_EXPR, node.getLineNum());
+        name(node.getRefName());
+        name(node.getName());
+        child(node.getExpr());
+        close();
+        return null;
+    }
+
+    public Object visit(VarExpr node) {
+        open(NodeKind.VAR_EXPR, node.getLineNum());
+        name(node.getName());
+        child(node.getRef());
+        close();
+        return null;
+    }
+
+    public Object visit(BinaryCompEqExpr node) {
+        return binary(NodeKind.BINARY_COMP_EQ_EXPR, node);
+    }
+
+    public Object visit(BinaryCompNeExpr node) {
+        return binary(NodeKind.BINARY_COMP_NE_EXPR, node);
+    }
+
+    public Object visit(BinaryCompLtExpr node) {
+        return binary(NodeKind.BINARY_COMP_LT_EXPR, node);
+    }
+
+    public Object visit(BinaryCompLeqExpr node) {
+        return binary(NodeKind.BINARY_COMP_LEQ_EXPR, node);
+    }
+
+    public Object visit(BinaryCompGtExpr node) {
+        return binary(NodeKind.BINARY_COMP_GT_EXPR, node);
+    }
+
+    public Object visit(BinaryCompGeqExpr node) {
+        return binary(NodeKind.BINARY_COMP_GEQ_EXPR, node);
+    }
+
+    public Object visit(BinaryArithPlusExpr node) {
+        return binary(NodeKind.BINARY_ARITH_PLUS_EXPR, node);
+    }
+
+    public Object visit(BinaryArithMinusExpr node) {
+        return binary(NodeKind.BINARY_ARITH_MINUS_EXPR, node);
+    }
+
+    public Object visit(BinaryArithTimesExpr node) {
+        return binary(NodeKind.BINARY_ARITH_TIMES_EXPR, node);
+    }
+
+    public Object visit(BinaryArithDivideExpr node) {
+        return binary(NodeKind.BINARY_ARITH_DIVIDE_EXPR, node);
+    }
+
+    public Object visit(BinaryArithModulusExpr node) {
+        return binary(NodeKind.BINARY_ARITH_MODULUS_EXPR, node);
+    }
+
+    public Object visit(BinaryLogicAndExpr node) {
+        return binary(NodeKind.BINARY_LOGIC_AND_EXPR, node);
+    }
+
+    public Object visit(BinaryLogicOrExpr node) {
+        return binary(NodeKind.BINARY_LOGIC_OR_EXPR, node);
+    }
+
+    public Object visit(UnaryNegExpr node) {
+        return unary(NodeKind.UNARY_NEG_EXPR, node);
+    }
+
+    public Object visit(UnaryNotExpr node) {
+        return unary(NodeKind.UNARY_NOT_EXPR, node);
+    }
+
+    public Object visit(UnaryIncrExpr node) {
+        int added = open(NodeKind.UNARY_INCR_EXPR, node.getLineNum());
+        data[added] = node.isPostfix() ? 1 : 0;
+        child(node.getExpr());
+        close();
+        return null;
+    }
+
+    public Object visit(UnaryDecrExpr node) {
+        int added = open(NodeKind.UNARY_DECR_EXPR, node.getLineNum());
+        data[added] = node.isPostfix() ? 1 : 0;
+        child(node.getExpr());
+        close();
+        return null;
+    }
+
+    public Object visit(ConstIntExpr node) {
+        return constant(NodeKind.CONST_INT_EXPR, node);
+    }
+
+    public Object visit(ConstBooleanExpr node) {
+        return constant(NodeKind.CONST_BOOLEAN_EXPR, node);
+    }
+
+    public Object visit(ConstStringExpr node) {
+        return constant(NodeKind.CONST_STRING_EXPR, node);
+    }
+}
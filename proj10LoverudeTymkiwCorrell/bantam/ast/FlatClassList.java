@@ -0,0 +1,93 @@
+/*
+ * File: FlatClassList.java
+ * Date: 10/2026
+ */
+
+package proj10LoverudeTymkiwCorrell.bantam.ast;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * The ClassList of the Program of a FlatAST.  Each Class_ is created from
+ * the FlatAST the first time it is asked for.  The list is frozen.
+ */
+class FlatClassList extends ClassList
+{
+    private final FlatAST ast;
+    // the class nodes of the FlatAST and the Class_ objects created for them
+    private final int[] classNodes;
+    private final Class_[] classes;
+
+    /**
+     * FlatClassList constructor
+     *
+     * @param ast  the FlatAST
+     * @param node the CLASS_LIST node
+     */
+    FlatClassList(FlatAST ast, int node) {
+        super(ast.getLine(node));
+        this.ast = ast;
+        int size = 0;
+        for (int child = ast.getFirstChild(node); child != FlatAST.NONE;
+             child = ast.getNextSibling(child)) {
+            size++;
+        }
+        classNodes = new int[size];
+        int i = 0;
+        for (int child = ast.getFirstChild(node); child != FlatAST.NONE;
+             child = ast.getNextSibling(child)) {
+            classNodes[i++] = child;
+        }
+        classes = new Class_[size];
+        freeze();
+    }
+
+    /**
+     * Get the list size
+     *
+     * @return list size
+     */
+    @Override
+    public int getSize() {
+        return classNodes.length;
+    }
+
+    /**
+     * get the index-th class, creating it the first time
+     *
+     * @return index-th class
+     * @throws java.lang.ArrayIndexOutOfBoundsException if the index is
+     *         too large or too small
+     */
+    @Override
+    public ASTNode get(int index) {
+        if (classes[index] == null) {
+            classes[index] = (Class_) ast.materialize(classNodes[index]);
+        }
+        return classes[index];
+    }
+
+    /**
+     * Returns an iterator for this list
+     *
+     * @return iterator for this list
+     */
+    @Override
+    public Iterator<ASTNode> iterator() {
+        return new Iterator<ASTNode>() {
+            private int next;
+
+            public boolean hasNext() {
+                return next < classNodes.length;
+            }
+
+            public ASTNode next() {
+                if (next >= classNodes.length) {
+                    throw new NoSuchElementException();
+                }
+                return get(next++);
+            }
+        };
+    }
+}
@@ -34,22 +34,44 @@ package proj10LoverudeTymkiwCorrell.bantam.ast;
 
 import proj10LoverudeTymkiwCorrell.bantam.visitor.Visitor;
 
+import java.util.Arrays;
 import java.util.Iterator;
-import java.util.Vector;
+import java.util.NoSuchElementException;
 
 /**
  * The abstract <tt>ListNode</tt> class represents a generic list of AST
  * nodes.  It contains a line number (<tt>lineNum</tt>) and a list
  * (<tt>listElements</tt>).
+ * <p>
+ * The elements are kept in an array that grows as elements are added.
+ * Once a list is complete it can be trimmed, so that the array has no
+ * unused slots, or frozen, which also trims it and makes any later change
+ * to it an error.  The elements are best traversed by index with
+ * <tt>getSize</tt> and <tt>get</tt>, which allocates nothing.
  *
  * @see ASTNode
  */
 public abstract class ListNode extends ASTNode
     implements Iterable<ASTNode> {
     /**
-     * List of ASTNode elements
+     * the array of an empty list, shared by all of them
      */
-    private Vector<ASTNode> listElements;
+    private static final ASTNode[] NO_ELEMENTS = new ASTNode[0];
+
+    /**
+     * List of ASTNode elements; the slots from size on are unused
+     */
+    private ASTNode[] listElements;
+
+    /**
+     * Number of elements in the list
+     */
+    private int size;
+
+    /**
+     * Whether the list can no longer be changed
+     */
+    private boolean frozen;
 
     /**
      * ListNode constructor
@@ -58,7 +80,7 @@ public abstract class ListNode extends ASTNode
      */
     protected ListNode(int lineNum) {
         super(lineNum);
-        listElements = new Vector<ASTNode>();
+        listElements = NO_ELEMENTS;
     }
 
     /**
@@ -66,19 +88,130 @@ public abstract class ListNode extends ASTNode
      *
      * @param node element to add
      * @return the updated list
+     * @throws java.lang.IllegalStateException if the list is frozen
      */
     public ListNode addElement(ASTNode node) {
-        listElements.add(node);
+        checkNotFrozen();
+        if (size == listElements.length) {
+            grow();
+        }
+        listElements[size++] = node;
+        return this;
+    }
+
+    /**
+     * Insert an element into this list node
+     *
+     * @param index the index at which to insert the element
+     * @param node  element to insert
+     * @return the updated list
+     * @throws java.lang.ArrayIndexOutOfBoundsException if the index is
+     *         too large or too small
+     * @throws java.lang.IllegalStateException if the list is frozen
+     */
+    public ListNode addElement(int index, ASTNode node) {
+        checkNotFrozen();
+        if (index < 0 || index > size) {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
+        if (size == listElements.length) {
+            grow();
+        }
+        System.arraycopy(listElements, index, listElements, index + 1, size - index);
+        listElements[index] = node;
+        size++;
         return this;
     }
 
     /**
-     * Returns an iterator for this list
+     * Replace the index-th element of this list node
+     *
+     * @param index the index of the element to replace
+     * @param node  the new element
+     * @return the element replaced
+     * @throws java.lang.ArrayIndexOutOfBoundsException if the index is
+     *         too large or too small
+     * @throws java.lang.IllegalStateException if the list is frozen
+     */
+    public ASTNode set(int index, ASTNode node) {
+        checkNotFrozen();
+        ASTNode old = get(index);
+        listElements[index] = node;
+        return old;
+    }
+
+    /**
+     * Remove the index-th element of this list node
+     *
+     * @param index the index of the element to remove
+     * @return the element removed
+     * @throws java.lang.ArrayIndexOutOfBoundsException if the index is
+     *         too large or too small
+     * @throws java.lang.IllegalStateException if the list is frozen
+     */
+    public ASTNode remove(int index) {
+        checkNotFrozen();
+        ASTNode old = get(index);
+        System.arraycopy(listElements, index + 1, listElements, index, size - index - 1);
+        listElements[--size] = null;
+        return old;
+    }
+
+    /**
+     * Shrink the array of elements to the size of the list, after the last
+     * element has been added
+     *
+     * @return this list
+     */
+    public ListNode trim() {
+        if (listElements.length != size) {
+            listElements = size == 0 ? NO_ELEMENTS : Arrays.copyOf(listElements, size);
+        }
+        return this;
+    }
+
+    /**
+     * Trim this list and make it unchangeable; adding, replacing or removing
+     * an element afterwards throws an IllegalStateException
+     *
+     * @return this list
+     */
+    public ListNode freeze() {
+        trim();
+        frozen = true;
+        return this;
+    }
+
+    /**
+     * Whether this list has been frozen
+     *
+     * @return true if the list can no longer be changed
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Returns an iterator for this list.  Traversing the list by index
+     * avoids creating the iterator.
      *
      * @return iterator for this list
      */
     public Iterator<ASTNode> iterator() {
-        return listElements.iterator();
+        return new Iterator<ASTNode>() {
+            private int next;
+
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            public ASTNode next() {
+                if (next >= size) {
+                    throw new NoSuchElementException();
+                }
+                return listElements[next++];
+            }
+        };
     }
 
     /**
@@ -87,7 +220,7 @@ public abstract class ListNode extends ASTNode
      * @return list size
      */
     public int getSize() {
-        return listElements.size();
+        return size;
     }
 
     /**
@@ -98,7 +231,28 @@ public abstract class ListNode extends ASTNode
      *         too large or too small
      */
     public ASTNode get(int index) {
-        return listElements.get(index);
+        if (index >= size) {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
+        return listElements[index];
+    }
+
+    /**
+     * Make room for more elements, half as many again as there are
+     */
+    private void grow() {
+        int capacity = Math.max(4, listElements.length + (listElements.length >> 1));
+        listElements = Arrays.copyOf(listElements, capacity);
+    }
+
+    /**
+     * @throws java.lang.IllegalStateException if the list is frozen
+     */
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new IllegalStateException("A frozen " + getClass().getSimpleName()
+                    + " cannot be changed");
+        }
     }
 
     /**
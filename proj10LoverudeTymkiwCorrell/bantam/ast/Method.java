@@ -58,6 +58,11 @@ public class Method extends Member {
      */
     protected StmtList stmtList;
 
+    /**
+     * True if the parser left statements with syntax errors out of the body
+     */
+    protected boolean bodyIncomplete;
+
     /**
      * Method constructor
      *
@@ -112,6 +117,27 @@ public class Method extends Member {
         return stmtList;
     }
 
+    /**
+     * Tells whether the parser left statements with syntax errors out of
+     * the method body, so that the statements in the list may refer to
+     * variables declared by the ones left out
+     *
+     * @return true if statements were left out of the body
+     */
+    public boolean isBodyIncomplete() {
+        return bodyIncomplete;
+    }
+
+    /**
+     * Set whether the parser left statements with syntax errors out of the
+     * method body
+     *
+     * @param bodyIncomplete true if statements were left out of the body
+     */
+    public void setBodyIncomplete(boolean bodyIncomplete) {
+        this.bodyIncomplete = bodyIncomplete;
+    }
+
     /**
      * Visitor method
      *
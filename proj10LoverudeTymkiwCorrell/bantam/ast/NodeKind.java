@@ -0,0 +1,112 @@
+/*
+ * File: NodeKind.java
+ * Date: 10/2026
+ */
+
+package proj10LoverudeTymkiwCorrell.bantam.ast;
+
+/**
+ * The kinds of the concrete AST nodes, one for each class of node the
+ * parser creates.  Every ASTNode has its kind, so code can switch on the
+ * kind of a node instead of calling a method of the node, and a FlatAST
+ * stores the kind of each of its nodes instead of the class of an object.
+ *
+ * @see ASTNode#getKind()
+ * @see FlatAST
+ */
+public enum NodeKind
+{
+    // programs, classes and members
+    PROGRAM(Program.class),
+    CLASS_LIST(ClassList.class),
+    CLASS(Class_.class),
+    MEMBER_LIST(MemberList.class),
+    FIELD(Field.class),
+    METHOD(Method.class),
+    FORMAL_LIST(FormalList.class),
+    FORMAL(Formal.class),
+
+    // statements
+    STMT_LIST(StmtList.class),
+    DECL_STMT(DeclStmt.class),
+    EXPR_STMT(ExprStmt.class),
+    IF_STMT(IfStmt.class),
+    WHILE_STMT(WhileStmt.class),
+    FOR_STMT(ForStmt.class),
+    BREAK_STMT(BreakStmt.class),
+    BLOCK_STMT(BlockStmt.class),
+    RETURN_STMT(ReturnStmt.class),
+
+    // expressions other than operators and constants
+    EXPR_LIST(ExprList.class),
+    DISPATCH_EXPR(DispatchExpr.class),
+    NEW_EXPR(NewExpr.class),
+    INSTANCEOF_EXPR(InstanceofExpr.class),
+    CAST_EXPR(CastExpr.class),
+    ASSIGN_EXPR(AssignExpr.class),
+    VAR_EXPR(VarExpr.class),
+
+    // binary operators
+    BINARY_COMP_EQ_EXPR(BinaryCompEqExpr.class),
+    BINARY_COMP_NE_EXPR(BinaryCompNeExpr.class),
+    BINARY_COMP_LT_EXPR(BinaryCompLtExpr.class),
+    BINARY_COMP_LEQ_EXPR(BinaryCompLeqExpr.class),
+    BINARY_COMP_GT_EXPR(BinaryCompGtExpr.class),
+    BINARY_COMP_GEQ_EXPR(BinaryCompGeqExpr.class),
+    BINARY_ARITH_PLUS_EXPR(BinaryArithPlusExpr.class),
+    BINARY_ARITH_MINUS_EXPR(BinaryArithMinusExpr.class),
+    BINARY_ARITH_TIMES_EXPR(BinaryArithTimesExpr.class),
+    BINARY_ARITH_DIVIDE_EXPR(BinaryArithDivideExpr.class),
+    BINARY_ARITH_MODULUS_EXPR(BinaryArithModulusExpr.class),
+    BINARY_LOGIC_AND_EXPR(BinaryLogicAndExpr.class),
+    BINARY_LOGIC_OR_EXPR(BinaryLogicOrExpr.class),
+
+    // unary operators
+    UNARY_NEG_EXPR(UnaryNegExpr.class),
+    UNARY_NOT_EXPR(UnaryNotExpr.class),
+    UNARY_INCR_EXPR(UnaryIncrExpr.class),
+    UNARY_DECR_EXPR(UnaryDecrExpr.class),
+
+    // constants
+    CONST_INT_EXPR(ConstIntExpr.class),
+    CONST_BOOLEAN_EXPR(ConstBooleanExpr.class),
+    CONST_STRING_EXPR(ConstStringExpr.class);
+
+    // the kind of each class of node, including subclasses of the classes above
+    private static final ClassValue<NodeKind> kindsOfClasses = new ClassValue<NodeKind>()
+    {
+        @Override
+        protected NodeKind computeValue(Class<?> type) {
+            for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+                for (NodeKind kind : values()) {
+                    if (kind.nodeClass == c) {
+                        return kind;
+                    }
+                }
+            }
+            return null;
+        }
+    };
+
+    private final Class<? extends ASTNode> nodeClass;
+
+    NodeKind(Class<? extends ASTNode> nodeClass) {
+        this.nodeClass = nodeClass;
+    }
+
+    /**
+     * @return the class of the nodes of this kind
+     */
+    public Class<? extends ASTNode> getNodeClass() {
+        return nodeClass;
+    }
+
+    /**
+     * @param type the class of a node
+     * @return the kind of the nodes of the class, or null for an abstract
+     * class or one that extends none of the classes of the kinds
+     */
+    public static NodeKind of(Class<?> type) {
+        return kindsOfClasses.get(type);
+    }
+}
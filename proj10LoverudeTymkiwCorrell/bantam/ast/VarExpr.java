@@ -26,6 +26,7 @@
 
 package proj10LoverudeTymkiwCorrell.bantam.ast;
 
+import proj10LoverudeTymkiwCorrell.bantam.util.Binding;
 import proj10LoverudeTymkiwCorrell.bantam.visitor.Visitor;
 
 
@@ -52,6 +53,11 @@ public class VarExpr extends Expr {
      */
     protected String name;
 
+    /**
+     * The local variable or field the variable refers to, set by the type checker
+     */
+    protected Binding binding;
+
     /**
      * VarExpr constructor
      *
@@ -86,6 +92,25 @@ public class VarExpr extends Expr {
         return name;
     }
 
+    /**
+     * Get the local variable or field the variable refers to
+     *
+     * @return the Binding, or null if the variable is not declared, is 'this',
+     * 'super' or 'null', or the expression has not been checked
+     */
+    public Binding getBinding() {
+        return binding;
+    }
+
+    /**
+     * Set the local variable or field the variable refers to
+     *
+     * @param binding the Binding
+     */
+    public void setBinding(Binding binding) {
+        this.binding = binding;
+    }
+
     /**
      * Visitor method
      *
@@ -0,0 +1,58 @@
+/*
+ * File: BantamSourceGenerator.java
+ * Date: 10/2026
+ */
+
+package proj10LoverudeTymkiwCorrell.bantam.benchmark;
+
+/**
+ * Generates large, well-formed Bantam Java programs for the benchmarks.
+ * Every generated class extends the previous one, so the class hierarchy
+ * is as deep as the number of classes in each chain.
+ */
+public class BantamSourceGenerator
+{
+    /**
+     * generates a program with the given number of classes followed by a Main class
+     *
+     * @param numClasses the number of classes (not counting Main)
+     * @param chainDepth the number of classes in each inheritance chain
+     * @return the source code of the program
+     */
+    public static String generate(int numClasses, int chainDepth) {
+        StringBuilder source = new StringBuilder();
+        for (int i = 0; i < numClasses; i++) {
+            String parent = (i % chainDepth == 0) ? "Object" : "C" + (i - 1);
+            source.append("class C").append(i).append(" extends ").append(parent)
+                    .append(" {\n");
+            source.append("    int f").append(i).append(" = ").append(i).append(";\n");
+            source.append("    boolean g").append(i).append(" = true;\n");
+            source.append("    int m").append(i).append("(int a, int b) {\n");
+            source.append("        var x = a + b * 2 - f").append(i)
+                    .append(" / 3 % 7;\n");
+            source.append("        var y = x < 10 && g").append(i)
+                    .append(" || x >= 3;\n");
+            source.append("        if (y) { x = x + 1; } else { x = x - 1; }\n");
+            source.append("        while (x > 0) { x--; }\n");
+            source.append("        for (x = 0; x < 10; x++) { y = !y; }\n");
+            source.append("        // a line comment\n");
+            source.append("        /* a block comment */\n");
+            source.append("        var s = \"a string constant\";\n");
+            source.append("        return x;\n");
+            source.append("    }\n");
+            source.append("}\n\n");
+        }
+        source.append("class Main {\n    void main() {\n        var n = 0;\n    }\n}\n");
+        return source.toString();
+    }
+
+    /**
+     * generates a program with the given number of classes in chains of 50
+     *
+     * @param numClasses the number of classes (not counting Main)
+     * @return the source code of the program
+     */
+    public static String generate(int numClasses) {
+        return generate(numClasses, 50);
+    }
+}
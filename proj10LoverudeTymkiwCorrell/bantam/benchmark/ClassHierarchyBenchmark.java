@@ -0,0 +1,183 @@
+/*
+ * File: ClassHierarchyBenchmark.java
+ * Date: 10/2026
+ */
+
+package proj10LoverudeTymkiwCorrell.bantam.benchmark;
+
+import proj10LoverudeTymkiwCorrell.bantam.ast.Program;
+import proj10LoverudeTymkiwCorrell.bantam.parser.Parser;
+import proj10LoverudeTymkiwCorrell.bantam.semant.SemanticAnalyzer;
+import proj10LoverudeTymkiwCorrell.bantam.util.ClassHierarchy;
+import proj10LoverudeTymkiwCorrell.bantam.util.ClassTreeNode;
+import proj10LoverudeTymkiwCorrell.bantam.util.ErrorHandler;
+
+import java.util.ArrayList;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures subtype tests and least common ancestor queries on the class
+ * hierarchy of a generated Bantam Java program whose classes are in deep
+ * inheritance chains, with a ClassHierarchy and by walking up the parents
+ * of the classes, as the TypeCheckerVisitor used to.  The pairs of classes
+ * are chosen at random, half of them from the same chain.  The two ways
+ * are timed in alternating rounds so that neither is favored by what the
+ * JIT compiled for the other.  It also prints the time to build the index.
+ * Usage: ClassHierarchyBenchmark [number of classes] [classes per chain] [timed rounds]
+ */
+public class ClassHierarchyBenchmark
+{
+    public static void main(String[] args) {
+        int numClasses = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        int chainDepth = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+
+        Program program = new Parser(new ErrorHandler()).parse(
+                BantamSourceGenerator.generate(numClasses, chainDepth), "benchmark.btm");
+        ClassTreeNode root = new SemanticAnalyzer(new ErrorHandler()).analyze(program);
+        Hashtable<String, ClassTreeNode> classMap = root.getClassMap();
+        System.out.println("Querying " + classMap.size() + " classes in chains of " + chainDepth);
+
+        long start = System.nanoTime();
+        ClassHierarchy hierarchy = null;
+        for (int i = 0; i < rounds; i++) {
+            hierarchy = new ClassHierarchy(root);
+        }
+        System.out.printf("Building the index:  %.2f ms%n", (System.nanoTime() - start) / 1e6 / rounds);
+
+        Random random = new Random(42);
+        int numPairs = 1 << 16;
+        String[] names1 = new String[numPairs];
+        String[] names2 = new String[numPairs];
+        List<String> names = new ArrayList<>(classMap.keySet());
+        for (int i = 0; i < numPairs; i++) {
+            int c = random.nextInt(numClasses);
+            names1[i] = "C" + c;
+            names2[i] = random.nextBoolean() ? names.get(random.nextInt(names.size()))
+                    : "C" + (c - c % chainDepth + random.nextInt(chainDepth));
+        }
+        ClassTreeNode[] nodes1 = new ClassTreeNode[numPairs];
+        ClassTreeNode[] nodes2 = new ClassTreeNode[numPairs];
+        for (int i = 0; i < numPairs; i++) {
+            nodes1[i] = classMap.get(names1[i]);
+            nodes2[i] = classMap.get(names2[i]);
+        }
+
+        long walkNanos = 0;
+        long indexNanos = 0;
+        long nodeNanos = 0;
+        long walkLcaNanos = 0;
+        long indexLcaNanos = 0;
+        for (int round = 0; round < 5 + rounds; round++) {
+            boolean timed = round >= 5;
+            int walkCount = 0;
+            int indexCount = 0;
+
+            start = System.nanoTime();
+            for (int i = 0; i < numPairs; i++) {
+                walkCount += isSubtypeByWalking(classMap, names1[i], names2[i]) ? 1 : 0;
+            }
+            walkNanos += timed ? System.nanoTime() - start : 0;
+
+            start = System.nanoTime();
+            for (int i = 0; i < numPairs; i++) {
+                indexCount += hierarchy.isSubclass(names1[i], names2[i]) ? 1 : 0;
+            }
+            indexNanos += timed ? System.nanoTime() - start : 0;
+
+            start = System.nanoTime();
+            for (int i = 0; i < numPairs; i++) {
+                indexCount += hierarchy.isSubclass(nodes1[i], nodes2[i]) ? 1 : 0;
+            }
+            nodeNanos += timed ? System.nanoTime() - start : 0;
+            if (2 * walkCount != indexCount) {
+                throw new IllegalStateException("The subtype tests disagree");
+            }
+            walkCount = indexCount;
+
+            start = System.nanoTime();
+            for (int i = 0; i < numPairs; i++) {
+                walkCount += ancestorByWalking(nodes1[i], nodes2[i]).getPreorderNumber();
+            }
+            walkLcaNanos += timed ? System.nanoTime() - start : 0;
+
+            start = System.nanoTime();
+            for (int i = 0; i < numPairs; i++) {
+                indexCount += hierarchy.leastCommonAncestor(nodes1[i], nodes2[i])
+                        .getPreorderNumber();
+            }
+            indexLcaNanos += timed ? System.nanoTime() - start : 0;
+            if (walkCount != indexCount) {
+                throw new IllegalStateException("The least common ancestors disagree");
+            }
+        }
+        long queries = (long) numPairs * rounds;
+        System.out.printf("Subtype test, walking the parents: %6.1f ns%n", (double) walkNanos / queries);
+        System.out.printf("Subtype test, ClassHierarchy:      %6.1f ns%n", (double) indexNanos / queries);
+        System.out.printf("  given the ClassTreeNodes:        %6.1f ns%n", (double) nodeNanos / queries);
+        System.out.printf("Common ancestor, walking:          %6.1f ns%n",
+                (double) walkLcaNanos / queries);
+        System.out.printf("Common ancestor, ClassHierarchy:   %6.1f ns%n",
+                (double) indexLcaNanos / queries);
+    }
+
+    /**
+     * the subtype test of the TypeCheckerVisitor before the ClassHierarchy
+     *
+     * @param classMap the map of class names to ClassTreeNodes
+     * @param t1       the name of the first class
+     * @param t2       the name of the second class
+     * @return true if t1 is t2 or a subclass of it
+     */
+    private static boolean isSubtypeByWalking(Hashtable<String, ClassTreeNode> classMap,
+                                              String t1, String t2) {
+        ClassTreeNode t1Node = classMap.get(t1);
+        ClassTreeNode t2Node = classMap.get(t2);
+        while (t1Node != null) {
+            if (t1Node == t2Node) {
+                return true;
+            }
+            t1Node = t1Node.getParent();
+        }
+        return false;
+    }
+
+    /**
+     * finds the least common ancestor of two classes by bringing them to
+     * the same depth and then walking up the parents of both together
+     *
+     * @param c1 the first class
+     * @param c2 the second class
+     * @return their least common ancestor
+     */
+    private static ClassTreeNode ancestorByWalking(ClassTreeNode c1, ClassTreeNode c2) {
+        int depth1 = depth(c1);
+        int depth2 = depth(c2);
+        for (; depth1 > depth2; depth1--) {
+            c1 = c1.getParent();
+        }
+        for (; depth2 > depth1; depth2--) {
+            c2 = c2.getParent();
+        }
+        while (c1 != c2) {
+            c1 = c1.getParent();
+            c2 = c2.getParent();
+        }
+        return c1;
+    }
+
+    /**
+     * @param treeNode a class
+     * @return the number of its ancestors
+     */
+    private static int depth(ClassTreeNode treeNode) {
+        int depth = 0;
+        for (ClassTreeNode ancestor = treeNode.getParent(); ancestor != null;
+             ancestor = ancestor.getParent()) {
+            depth++;
+        }
+        return depth;
+    }
+}
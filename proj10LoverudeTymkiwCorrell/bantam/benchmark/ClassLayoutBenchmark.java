@@ -0,0 +1,86 @@
+/*
+ * File: ClassLayoutBenchmark.java
+ * Date: 10/2026
+ */
+
+package proj10LoverudeTymkiwCorrell.bantam.benchmark;
+
+import proj10LoverudeTymkiwCorrell.bantam.ast.Program;
+import proj10LoverudeTymkiwCorrell.bantam.parser.Parser;
+import proj10LoverudeTymkiwCorrell.bantam.semant.SemanticAnalyzer;
+import proj10LoverudeTymkiwCorrell.bantam.util.ClassHierarchy;
+import proj10LoverudeTymkiwCorrell.bantam.util.ClassLayout;
+import proj10LoverudeTymkiwCorrell.bantam.util.ClassTreeNode;
+import proj10LoverudeTymkiwCorrell.bantam.util.ErrorHandler;
+import proj10LoverudeTymkiwCorrell.bantam.util.SymbolTable;
+
+import java.util.function.Supplier;
+
+/**
+ * Measures finding the method of a call in the class of the call, as the
+ * TypeCheckerVisitor does for each dispatch, with the method SymbolTable of
+ * the class, which looks in the tables of the ancestors until it finds the
+ * method, and with the ClassLayout of the class, which has all the methods
+ * of the class in one map.  The class is the deepest one of a generated
+ * inheritance chain, and the methods are its own, the one of the class at
+ * the top of the chain and one of Object.  It also prints the time to lay
+ * out all the classes of the program.
+ * Usage: ClassLayoutBenchmark [number of classes] [classes per chain] [lookups]
+ */
+public class ClassLayoutBenchmark
+{
+    public static void main(String[] args) {
+        int numClasses = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        int chainDepth = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        int lookups = args.length > 2 ? Integer.parseInt(args[2]) : 2_000_000;
+
+        Program program = new Parser(new ErrorHandler()).parse(
+                BantamSourceGenerator.generate(numClasses, chainDepth), "benchmark.btm");
+        ClassTreeNode root = new SemanticAnalyzer(new ErrorHandler()).analyze(program);
+        System.out.println("Looking up methods in a chain of " + chainDepth + " classes");
+
+        int runs = 20;
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            new ClassHierarchy(root);
+        }
+        System.out.printf("Indexing and laying out %d classes: %.2f ms%n",
+                root.getClassMap().size(), (System.nanoTime() - start) / 1e6 / runs);
+
+        ClassTreeNode deepest = root.lookupClass("C" + (chainDepth - 1));
+        SymbolTable table = deepest.getMethodSymbolTable();
+        ClassLayout layout = deepest.getClassLayout();
+        String[] names = {"m" + (chainDepth - 1), "m0", "toString"};
+        String[] labels = {"Own method:", "Inherited method:", "Method of Object:"};
+        for (int n = 0; n < names.length; n++) {
+            String name = names[n];
+            for (int round = 0; round < 2; round++) {
+                long tableNanos = time(lookups, () -> table.lookup(name));
+                long layoutNanos = time(lookups, () -> layout.lookupMethod(name));
+                if (round == 1) {
+                    System.out.printf("%-18s SymbolTable %6.1f ns, ClassLayout %6.1f ns%n",
+                            labels[n], (double) tableNanos / lookups,
+                            (double) layoutNanos / lookups);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param lookups the number of lookups
+     * @param lookup  a lookup that must find something
+     * @return the time in nanoseconds to make the lookups
+     */
+    private static long time(int lookups, Supplier<Object> lookup) {
+        int found = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < lookups; i++) {
+            found += lookup.get() == null ? 0 : 1;
+        }
+        long nanos = System.nanoTime() - start;
+        if (found != lookups) {
+            throw new IllegalStateException("A lookup found nothing");
+        }
+        return nanos;
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * File: DeclarationCollectionBenchmark.java
+ * Date: 10/2026
+ */
+
+package proj10LoverudeTymkiwCorrell.bantam.benchmark;
+
+import proj10LoverudeTymkiwCorrell.bantam.ast.*;
+import proj10LoverudeTymkiwCorrell.bantam.parser.Parser;
+import proj10LoverudeTymkiwCorrell.bantam.semant.DeclarationCollectorVisitor;
+import proj10LoverudeTymkiwCorrell.bantam.util.ClassTreeNode;
+import proj10LoverudeTymkiwCorrell.bantam.util.ErrorHandler;
+import proj10LoverudeTymkiwCorrell.bantam.util.SymbolTable;
+import proj10LoverudeTymkiwCorrell.bantam.visitor.MainMethodFinder;
+import proj10LoverudeTymkiwCorrell.bantam.visitor.Visitor;
+
+import java.util.Hashtable;
+
+/**
+ * Measures collecting the declarations of the classes of a large generated
+ * Bantam Java program: once with the DeclarationCollectorVisitor, which
+ * does it in one traversal, and once in the three passes the
+ * SemanticAnalyzer used to make, which visit the classes to fill the
+ * classMap, go through the classMap to fill the symbol tables and visit
+ * the program again to find the main method.  The two are timed in
+ * alternating rounds so that neither is favored by what the JIT compiled
+ * for the other.
+ * Usage: DeclarationCollectionBenchmark [number of classes] [number of timed runs]
+ */
+public class DeclarationCollectionBenchmark
+{
+    /** the first of the separate passes: adds the classes to the classMap */
+    private static class ClassMapBuilder extends Visitor
+    {
+        private final Hashtable<String, ClassTreeNode> classMap;
+
+        ClassMapBuilder(Hashtable<String, ClassTreeNode> classMap) {
+            this.classMap = classMap;
+        }
+
+        @Override
+        public Object visit(Class_ node) {
+            if (!classMap.containsKey(node.getName())) {
+                classMap.put(node.getName(), new ClassTreeNode(node, false, true, classMap));
+            }
+            return null;
+        }
+    }
+
+    public static void main(String[] args) {
+        int numClasses = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        Program program = new Parser(new ErrorHandler()).parse(
+                BantamSourceGenerator.generate(numClasses), "benchmark.btm");
+        System.out.println("Collecting the declarations of " + numClasses + " classes");
+
+        // warm up the JIT
+        for (int i = 0; i < 5; i++) {
+            separatePasses(program);
+            fusedPass(program);
+        }
+        long separateNanos = 0;
+        long fusedNanos = 0;
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            separatePasses(program);
+            separateNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            fusedPass(program);
+            fusedNanos += System.nanoTime() - start;
+        }
+        System.out.printf("Separate passes: %.2f ms per program%n",
+                separateNanos / 1e6 / runs);
+        System.out.printf("Fused pass:      %.2f ms per program%n",
+                fusedNanos / 1e6 / runs);
+        System.out.printf("The fused pass takes %.2f times as long%n",
+                (double) fusedNanos / separateNanos);
+    }
+
+    /**
+     * collects the declarations in the three passes the SemanticAnalyzer
+     * used to make
+     *
+     * @param program the root of the AST
+     * @return whether there is a main method
+     */
+    private static boolean separatePasses(Program program) {
+        Hashtable<String, ClassTreeNode> classMap = new Hashtable<>();
+        new ClassMapBuilder(classMap).visit(program);
+        for (ClassTreeNode treeNode : classMap.values()) {
+            SymbolTable fields = treeNode.getVarSymbolTable();
+            SymbolTable methods = treeNode.getMethodSymbolTable();
+            fields.enterScope();
+            fields.add("this", treeNode.getName());
+            methods.enterScope();
+            MemberList list = treeNode.getASTNode().getMemberList();
+            for (int i = 0; i < list.getSize(); i++) {
+                ASTNode member = list.get(i);
+                if (member instanceof Field) {
+                    if (fields.peek(((Field) member).getName()) == null) {
+                        fields.add(((Field) member).getName(), ((Field) member).getType());
+                    }
+                }
+                else if (methods.peek(((Method) member).getName()) == null) {
+                    methods.add(((Method) member).getName(), member);
+                }
+            }
+        }
+        return new MainMethodFinder().hasMain(program);
+    }
+
+    /**
+     * collects the declarations with a DeclarationCollectorVisitor
+     *
+     * @param program the root of the AST
+     * @return whether there is a main method
+     */
+    private static boolean fusedPass(Program program) {
+        DeclarationCollectorVisitor collector = new DeclarationCollectorVisitor(
+                new Hashtable<>(), new ErrorHandler());
+        collector.visit(program);
+        return collector.hasMain();
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * File: ErrorHandlerBenchmark.java
+ * Date: 10/2026
+ */
+
+package proj10LoverudeTymkiwCorrell.bantam.benchmark;
+
+import proj10LoverudeTymkiwCorrell.bantam.util.Error;
+import proj10LoverudeTymkiwCorrell.bantam.util.ErrorHandler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures registering many errors in random order of line across a few
+ * files, with a budget large enough to keep them all, and then listing
+ * them.  The ErrorHandler is compared with the sorted list it used to keep,
+ * into which each error was inserted by scanning for its place.  Then the
+ * errors are registered with one ErrorHandler by several threads at once,
+ * each registering the errors of its own files, which shows how the
+ * registration scales with the threads available.
+ * Usage: ErrorHandlerBenchmark [number of errors] [number of files] [number of threads]
+ */
+public class ErrorHandlerBenchmark
+{
+    public static void main(String[] args) throws InterruptedException {
+        int numErrors = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        int numFiles = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int numThreads = args.length > 2 ? Integer.parseInt(args[2]) : numFiles;
+
+        int[] files = new int[numErrors];
+        String[] filenames = new String[numErrors];
+        int[] lines = new int[numErrors];
+        Random random = new Random(25);
+        for (int i = 0; i < numErrors; i++) {
+            files[i] = random.nextInt(numFiles);
+            filenames[i] = "file" + files[i] + ".btm";
+            lines[i] = 1 + random.nextInt(10 * numErrors);
+        }
+        System.out.println("Registering " + numErrors + " errors in " + numFiles + " files");
+
+        long listNanos = 0;
+        long handlerNanos = 0;
+        long threadNanos = 0;
+        int runs = 5;
+        for (int run = 0; run < 3 + runs; run++) {
+            boolean timed = run >= 3;
+
+            long start = System.nanoTime();
+            List<Error> list = new ArrayList<>();
+            for (int i = 0; i < numErrors; i++) {
+                insert(list, new Error(Error.Kind.SEMANT_ERROR, filenames[i], lines[i], "error"));
+            }
+            listNanos += timed ? System.nanoTime() - start : 0;
+
+            start = System.nanoTime();
+            ErrorHandler errorHandler = new ErrorHandler(numErrors);
+            for (int i = 0; i < numErrors; i++) {
+                errorHandler.register(Error.Kind.SEMANT_ERROR, filenames[i], lines[i], "error");
+            }
+            List<Error> errors = errorHandler.getErrorList();
+            handlerNanos += timed ? System.nanoTime() - start : 0;
+            if (!errors.toString().equals(list.toString())) {
+                throw new IllegalStateException("The lists of errors differ");
+            }
+
+            start = System.nanoTime();
+            ErrorHandler sharedHandler = new ErrorHandler(numErrors);
+            Thread[] threads = new Thread[numThreads];
+            for (int t = 0; t < numThreads; t++) {
+                int thread = t;
+                threads[t] = new Thread(() -> {
+                    for (int i = 0; i < numErrors; i++) {
+                        if (files[i] % numThreads == thread) {
+                            sharedHandler.register(Error.Kind.SEMANT_ERROR, filenames[i],
+                                    lines[i], "error");
+                        }
+                    }
+                });
+                threads[t].start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            int numRegistered = sharedHandler.getErrorList().size();
+            threadNanos += timed ? System.nanoTime() - start : 0;
+            if (numRegistered != numErrors) {
+                throw new IllegalStateException("Errors were lost");
+            }
+        }
+        System.out.printf("Sorted list:                 %.2f ms%n", listNanos / 1e6 / runs);
+        System.out.printf("ErrorHandler:                %.2f ms%n", handlerNanos / 1e6 / runs);
+        System.out.printf("ErrorHandler, %d threads:     %.2f ms (%d processors)%n", numThreads,
+                threadNanos / 1e6 / runs, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * inserts an error into a list sorted by filename, in the order the
+     * filenames were first seen, and then by line number, the way the
+     * ErrorHandler used to
+     *
+     * @param list  the sorted list
+     * @param error the error, which has a filename
+     */
+    private static void insert(List<Error> list, Error error) {
+        int i = 0;
+        while (i < list.size() && !list.get(i).getFilename().equals(error.getFilename())) {
+            i++;
+        }
+        while (i < list.size() && list.get(i).getFilename().equals(error.getFilename()) &&
+                list.get(i).getLineNum() <= error.getLineNum()) {
+            i++;
+        }
+        list.add(i, error);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * File: FlatASTBenchmark.java
+ * Date: 10/2026
+ */
+
+package proj10LoverudeTymkiwCorrell.bantam.benchmark;
+
+import proj10LoverudeTymkiwCorrell.bantam.ast.FlatAST;
+import proj10LoverudeTymkiwCorrell.bantam.ast.NodeKind;
+import proj10LoverudeTymkiwCorrell.bantam.ast.Program;
+import proj10LoverudeTymkiwCorrell.bantam.ast.VarExpr;
+import proj10LoverudeTymkiwCorrell.bantam.parser.Parser;
+import proj10LoverudeTymkiwCorrell.bantam.util.ErrorHandler;
+import proj10LoverudeTymkiwCorrell.bantam.visitor.Visitor;
+
+/**
+ * Compares the AST of objects of a large generated Bantam Java program with
+ * its FlatAST: the heap each takes, and the time to go through every node
+ * of each, counting the variable references.  The FlatAST is traversed by
+ * going through its nodes in order, which visits them in preorder.
+ * Usage: FlatASTBenchmark [number of classes] [number of timed runs]
+ */
+public class FlatASTBenchmark
+{
+    /** counts the VarExpr nodes of an AST of objects */
+    private static class VarCounter extends Visitor
+    {
+        private long count;
+
+        @Override
+        public Object visit(VarExpr node) {
+            count++;
+            return super.visit(node);
+        }
+    }
+
+    public static void main(String[] args) {
+        int numClasses = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        String source = BantamSourceGenerator.generate(numClasses);
+        System.out.println("Parsing " + source.length() / 1024 + " KB");
+
+        long before = usedMemory();
+        Program program = new Parser(new ErrorHandler()).parse(source, "benchmark.btm");
+        long objectBytes = usedMemory() - before;
+        before = usedMemory();
+        FlatAST flat = new Parser(new ErrorHandler()).parseFlat(source, "benchmark.btm");
+        long flatBytes = usedMemory() - before;
+        System.out.printf("AST of objects: %,d KB%n", objectBytes / 1024);
+        System.out.printf("FlatAST:        %,d KB for %,d nodes and %,d names (%.0f%%)%n",
+                flatBytes / 1024, flat.getNodeCount(), flat.getNameCount(),
+                100.0 * flatBytes / objectBytes);
+
+        long objectVars = countVars(program);
+        long flatVars = countVars(flat);
+        if (objectVars != flatVars) {
+            throw new IllegalStateException("The ASTs have " + objectVars + " and "
+                    + flatVars + " variable references");
+        }
+        double objectMillis = time("Visit the AST of objects: ", runs, () -> countVars(program));
+        double flatMillis = time("Scan the FlatAST:         ", runs, () -> countVars(flat));
+        System.out.printf("Scanning the FlatAST takes %.2f times as long%n",
+                flatMillis / objectMillis);
+    }
+
+    /**
+     * @param program the root of an AST of objects
+     * @return the number of VarExpr nodes in it
+     */
+    private static long countVars(Program program) {
+        VarCounter counter = new VarCounter();
+        program.accept(counter);
+        return counter.count;
+    }
+
+    /**
+     * @param flat a FlatAST
+     * @return the number of VAR_EXPR nodes in it
+     */
+    private static long countVars(FlatAST flat) {
+        long count = 0;
+        for (int node = 0; node < flat.getNodeCount(); node++) {
+            if (flat.getKind(node) == NodeKind.VAR_EXPR) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * times a traversal and prints the result
+     *
+     * @param label    the label for the printed results
+     * @param runs     the number of timed runs
+     * @param traverse the traversal
+     * @return the time per run in milliseconds
+     */
+    private static double time(String label, int runs, Runnable traverse) {
+        // warm up the JIT before timing
+        for (int i = 0; i < 5; i++) {
+            traverse.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            traverse.run();
+        }
+        double millis = (System.nanoTime() - start) / 1e6 / runs;
+        System.out.printf("%s%.2f ms per run%n", label, millis);
+        return millis;
+    }
+
+    /**
+     * @return the heap in use after a garbage collection
+     */
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
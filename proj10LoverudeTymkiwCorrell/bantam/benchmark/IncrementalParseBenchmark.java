@@ -0,0 +1,100 @@
+/*
+ * File: IncrementalParseBenchmark.java
+ * Date: 10/2026
+ */
+
+package proj10LoverudeTymkiwCorrell.bantam.benchmark;
+
+import proj10LoverudeTymkiwCorrell.bantam.parser.Parser;
+import proj10LoverudeTymkiwCorrell.bantam.parser.SyntaxTree;
+import proj10LoverudeTymkiwCorrell.bantam.util.ErrorHandler;
+
+/**
+ * Compares parsing a large generated Bantam Java program from scratch with
+ * updating a SyntaxTree of it after one-character edits in the middle of
+ * the file, as when someone types in an editor.  Typing a character inside
+ * a statement reparses only that statement; typing a line break also moves
+ * the AST nodes after it down a line.
+ * Usage: IncrementalParseBenchmark [number of classes] [number of timed edits]
+ */
+public class IncrementalParseBenchmark
+{
+    public static void main(String[] args) {
+        // each generated class has 16 lines
+        int numClasses = args.length > 0 ? Integer.parseInt(args[0]) : 1250;
+        int edits = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+
+        String source = BantamSourceGenerator.generate(numClasses);
+        System.out.println("Parsing " + source.split("\n").length + " lines, "
+                + source.length() / 1024 + " KB");
+
+        double parse = timeFullParse("Parser.parse:         ", 10,
+                () -> new Parser(new ErrorHandler()).parse(source, "benchmark.btm"));
+        double build = timeFullParse("New SyntaxTree:       ", 10,
+                () -> new SyntaxTree(source, "benchmark.btm", new ErrorHandler()));
+
+        // edit a statement of the method of the class in the middle
+        SyntaxTree tree = new SyntaxTree(source, "benchmark.btm", new ErrorHandler());
+        int offset = source.indexOf("x = x + 1", source.length() / 2);
+        double typing = timeEdits("Type a character:     ", tree, offset, "y", edits);
+        double newline = timeEdits("Type a line break:    ", tree, offset, "\n", edits);
+
+        if (!tree.getText().equals(source)
+                || tree.getProgram().getClassList().getSize() != numClasses + 1) {
+            throw new IllegalStateException("The edits did not leave the program as it was");
+        }
+        System.out.printf("A character is %.0f times and a line break %.0f times faster "
+                + "than Parser.parse%n", parse / typing, parse / newline);
+        System.out.printf("(a new SyntaxTree takes %.1f times as long as Parser.parse)%n",
+                build / parse);
+    }
+
+    /**
+     * times parsing the whole program, and prints the results
+     *
+     * @param label the label for the printed results
+     * @param runs  the number of timed runs
+     * @param parse parses the program
+     * @return the time per run in milliseconds
+     */
+    private static double timeFullParse(String label, int runs, Runnable parse) {
+        // warm up the JIT before timing
+        for (int i = 0; i < 3; i++) {
+            parse.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            parse.run();
+        }
+        double millis = (System.nanoTime() - start) / 1e6 / runs;
+        System.out.printf("%s%.2f ms per parse%n", label, millis);
+        return millis;
+    }
+
+    /**
+     * times inserting a character and deleting it again, and prints the results
+     *
+     * @param label     the label for the printed results
+     * @param tree      the tree to edit
+     * @param offset    the index in the source where the character is typed
+     * @param character the character typed
+     * @param edits     the number of timed edits
+     * @return the time per edit in milliseconds
+     */
+    private static double timeEdits(String label, SyntaxTree tree, int offset,
+                                    String character, int edits) {
+        // warm up the JIT before timing
+        for (int i = 0; i < 200; i++) {
+            tree.update(offset, 0, character);
+            tree.update(offset, 1, "");
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < edits; i += 2) {
+            tree.update(offset, 0, character);
+            tree.update(offset, 1, "");
+        }
+        double millis = (System.nanoTime() - start) / 1e6 / edits;
+        System.out.printf("%s%.3f ms per edit%n", label, millis);
+        return millis;
+    }
+}
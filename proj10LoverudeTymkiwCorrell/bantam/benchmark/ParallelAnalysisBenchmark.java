@@ -0,0 +1,63 @@
+/*
+ * File: ParallelAnalysisBenchmark.java
+ * Date: 10/2026
+ */
+
+package proj10LoverudeTymkiwCorrell.bantam.benchmark;
+
+import proj10LoverudeTymkiwCorrell.bantam.ast.Program;
+import proj10LoverudeTymkiwCorrell.bantam.parser.Parser;
+import proj10LoverudeTymkiwCorrell.bantam.semant.SemanticAnalyzer;
+import proj10LoverudeTymkiwCorrell.bantam.util.ErrorHandler;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Measures the semantic analysis of a generated Bantam Java program with
+ * the classes type checked one after another and in parallel.  The two
+ * ways are timed in alternating rounds, and the program is parsed again
+ * for each run so that each analysis annotates a fresh tree.  The speedup
+ * depends on the parallelism of the common ForkJoinPool, which is printed.
+ * Usage: ParallelAnalysisBenchmark [number of classes] [number of timed runs]
+ */
+public class ParallelAnalysisBenchmark
+{
+    public static void main(String[] args) {
+        int numClasses = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        String source = BantamSourceGenerator.generate(numClasses);
+        System.out.println("Analyzing " + numClasses + " classes with a parallelism of "
+                + ForkJoinPool.getCommonPoolParallelism());
+
+        long serialNanos = 0;
+        long parallelNanos = 0;
+        for (int run = 0; run < 3 + runs; run++) {
+            boolean timed = run >= 3;
+            long nanos = analyze(source, false);
+            serialNanos += timed ? nanos : 0;
+            nanos = analyze(source, true);
+            parallelNanos += timed ? nanos : 0;
+        }
+        System.out.printf("Serial type checking:   %.2f ms%n", serialNanos / 1e6 / runs);
+        System.out.printf("Parallel type checking: %.2f ms%n", parallelNanos / 1e6 / runs);
+    }
+
+    /**
+     * @param source   the program
+     * @param parallel whether to type check the classes in parallel
+     * @return the time in nanoseconds to analyze the program
+     */
+    private static long analyze(String source, boolean parallel) {
+        Program program = new Parser(new ErrorHandler()).parse(source, "benchmark.btm");
+        SemanticAnalyzer analyzer = new SemanticAnalyzer(new ErrorHandler());
+        long start = System.nanoTime();
+        if (parallel) {
+            analyzer.analyzeParallel(program);
+        }
+        else {
+            analyzer.analyze(program);
+        }
+        return System.nanoTime() - start;
+    }
+}
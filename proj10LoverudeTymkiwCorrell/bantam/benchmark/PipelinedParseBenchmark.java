@@ -0,0 +1,69 @@
+/*
+ * File: PipelinedParseBenchmark.java
+ * Date: 10/2026
+ */
+
+package proj10LoverudeTymkiwCorrell.bantam.benchmark;
+
+import proj10LoverudeTymkiwCorrell.bantam.parser.Parser;
+import proj10LoverudeTymkiwCorrell.bantam.util.ErrorHandler;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/**
+ * Compares parsing a large generated Bantam Java file with the Scanner on
+ * the parsing thread and on a thread of its own.  Scanning and parsing only
+ * overlap when there is more than one processor, so with one the pipelined
+ * parse is a little slower, by the cost of handing the tokens over.
+ * Usage: PipelinedParseBenchmark [number of classes] [number of timed runs]
+ */
+public class PipelinedParseBenchmark
+{
+    public static void main(String[] args) throws IOException {
+        int numClasses = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        Path file = Files.createTempFile("pipelined-parse-benchmark", ".btm");
+        try {
+            Files.writeString(file, BantamSourceGenerator.generate(numClasses));
+            System.out.println("Parsing " + Files.size(file) / 1024 + " KB on "
+                    + Runtime.getRuntime().availableProcessors() + " processors");
+
+            double sequential = time("Parser.parse:          ", file.toString(), runs,
+                    filename -> new Parser(new ErrorHandler()).parse(filename));
+            double pipelined = time("Parser.parsePipelined: ", file.toString(), runs,
+                    filename -> new Parser(new ErrorHandler()).parsePipelined(filename));
+            System.out.printf("The pipelined parse takes %.2f times as long%n",
+                    pipelined / sequential);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * times parsing the file and prints the results
+     *
+     * @param label    the label for the printed results
+     * @param filename the file to parse
+     * @param runs     the number of timed runs
+     * @param parse    parses the file
+     * @return the time per run in milliseconds
+     */
+    private static double time(String label, String filename, int runs,
+                               Consumer<String> parse) {
+        // warm up the JIT before timing
+        for (int i = 0; i < 3; i++) {
+            parse.accept(filename);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            parse.accept(filename);
+        }
+        double millis = (System.nanoTime() - start) / 1e6 / runs;
+        System.out.printf("%s%.1f ms per run%n", label, millis);
+        return millis;
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * File: ScannerBenchmark.java
+ * Date: 10/2026
+ */
+
+package proj10LoverudeTymkiwCorrell.bantam.benchmark;
+
+import proj10LoverudeTymkiwCorrell.bantam.lexer.Scanner;
+import proj10LoverudeTymkiwCorrell.bantam.lexer.Token;
+import proj10LoverudeTymkiwCorrell.bantam.lexer.TokenStream;
+import proj10LoverudeTymkiwCorrell.bantam.util.ErrorHandler;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures how many tokens per second the Scanner produces on a large
+ * generated Bantam Java file, both as Token objects and as a TokenStream.
+ * It also reports how much heap the tokens of the whole file take when they
+ * are kept as a List of Tokens and as a TokenStream.
+ * Usage: ScannerBenchmark [number of classes] [number of timed runs]
+ */
+public class ScannerBenchmark
+{
+    public static void main(String[] args) throws IOException {
+        int numClasses = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        Path file = Files.createTempFile("scanner-benchmark", ".btm");
+        try {
+            Files.writeString(file, BantamSourceGenerator.generate(numClasses));
+            System.out.println("Scanning " + Files.size(file) / 1024 + " KB");
+
+            time("Tokens:      ", file.toString(), runs, false);
+            time("TokenStream: ", file.toString(), runs, true);
+            measureMemory(file.toString());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * times scanning the file and prints the results
+     *
+     * @param label    the label for the printed results
+     * @param filename the file to scan
+     * @param runs     the number of timed runs
+     * @param stream   true to scan into a TokenStream, false to scan Tokens
+     */
+    private static void time(String label, String filename, int runs, boolean stream) {
+        // warm up the JIT before timing
+        for (int i = 0; i < 3; i++) {
+            scanAll(filename, stream);
+        }
+
+        long tokens = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            tokens += scanAll(filename, stream);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%s%d tokens per run, %.1f ms per run, %.0f tokens/sec%n",
+                label, tokens / runs, seconds * 1000 / runs, tokens / seconds);
+    }
+
+    /**
+     * prints the heap used by the tokens of the file kept as a List of Tokens
+     * and as a TokenStream
+     *
+     * @param filename the file to scan
+     */
+    private static void measureMemory(String filename) {
+        long before = usedMemory();
+        List<Token> tokens = new ArrayList<>();
+        Scanner scanner = new Scanner(filename, new ErrorHandler());
+        Token token;
+        do {
+            token = scanner.scan();
+            tokens.add(token);
+        } while (token.kind != Token.Kind.EOF);
+        long listBytes = usedMemory() - before;
+        System.out.printf("List<Token>: %.1f bytes per token%n",
+                (double) listBytes / tokens.size());
+        tokens = null;
+
+        before = usedMemory();
+        TokenStream stream = new Scanner(filename, new ErrorHandler()).scanAll();
+        long streamBytes = usedMemory() - before;
+        System.out.printf("TokenStream: %.1f bytes per token (including the source)%n",
+                (double) streamBytes / stream.size());
+    }
+
+    /**
+     * @return the heap in use after a garbage collection
+     */
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * scans the whole file
+     *
+     * @param filename the file to scan
+     * @param stream   true to scan into a TokenStream, false to scan Tokens
+     *                 into a List
+     * @return the number of tokens scanned, not counting EOF
+     */
+    private static long scanAll(String filename, boolean stream) {
+        Scanner scanner = new Scanner(filename, new ErrorHandler());
+        if (stream) {
+            return scanner.scanAll().size() - 1;
+        }
+        List<Token> tokens = new ArrayList<>();
+        Token token;
+        while ((token = scanner.scan()).kind != Token.Kind.EOF) {
+            tokens.add(token);
+        }
+        return tokens.size();
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * File: ScannerStressTest.java
+ * Date: 10/2026
+ */
+
+package proj10LoverudeTymkiwCorrell.bantam.benchmark;
+
+import proj10LoverudeTymkiwCorrell.bantam.lexer.Scanner;
+import proj10LoverudeTymkiwCorrell.bantam.lexer.Token;
+import proj10LoverudeTymkiwCorrell.bantam.util.ErrorHandler;
+
+import java.io.StringReader;
+import java.util.function.Supplier;
+
+/**
+ * Scans pathological sources (unterminated comments and strings, huge
+ * strings, identifiers and integers, runs of operators and comment
+ * delimiters) and checks that each one is scanned within a time bound that
+ * is linear in its length.  A case that runs past its bound or throws an
+ * exception is reported as a failure instead of hanging, and the program
+ * exits with status 1 if any case fails.
+ * Usage: ScannerStressTest [size in characters]
+ */
+public class ScannerStressTest
+{
+    /** the time every case is allowed, plus the time allowed per character */
+    private static final long BASE_MILLIS = 2000;
+    private static final double MILLIS_PER_CHAR = 0.002;
+
+    private static int failures = 0;
+
+    public static void main(String[] args) throws InterruptedException {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        check("unterminated block comment", () -> "class A { } /*" + repeat("x ", size / 2));
+        check("unterminated block comment of stars", () -> "/*" + repeat("*", size));
+        check("unterminated line comment", () -> "class A { } //" + repeat("x", size));
+        check("unterminated string", () -> "\"" + repeat("a", size));
+        check("unterminated string ending in a backslash", () -> "\"" + repeat("a", size) + "\\");
+        check("unterminated string of escapes", () -> "\"" + repeat("\\\"", size / 2));
+        check("100k character string", () -> "\"" + repeat("a", 100_000) + "\"");
+        check("many 100k character strings", () -> repeat("\"" + repeat("b", 100_000) + "\" ",
+                Math.max(1, size / 100_000)));
+        check("multi-line strings", () -> repeat("\"a\nb\" ", size / 6));
+        check("nested comment openers", () -> repeat("/*", size / 2) + repeat("*/", size / 2));
+        check("comment delimiters", () -> repeat("/**/", size / 4));
+        check("line comments", () -> repeat("//\n", size / 3));
+        check("run of operators", () -> repeat("+-*/%<>=!", size / 9));
+        check("run of two character operators", () -> repeat("++--<=>===!=&&||", size / 16));
+        check("run of invalid symbols", () -> repeat("&|\\#@", size / 5));
+        check("run of slashes", () -> repeat("/", size));
+        check("long identifier", () -> repeat("a", size));
+        check("long integer", () -> repeat("9", size));
+        check("NUL characters", () -> "\"" + repeat("\u0000", size) + "\" /*" + repeat("\u0000", size));
+        check("empty source", () -> "");
+
+        if (failures > 0) {
+            System.out.println(failures + " case(s) failed");
+            System.exit(1);
+        }
+        System.out.println("All cases passed");
+    }
+
+    /**
+     * scans the source returned by the given supplier in another thread and
+     * reports whether it finished within its time bound
+     *
+     * @param name   the name of the case
+     * @param source supplies the source to scan
+     */
+    private static void check(String name, Supplier<String> source)
+            throws InterruptedException {
+        String text = source.get();
+        long bound = BASE_MILLIS + (long) (text.length() * MILLIS_PER_CHAR);
+        long[] tokens = new long[1];
+        Throwable[] thrown = new Throwable[1];
+
+        Thread scanning = new Thread(() -> {
+            try {
+                tokens[0] = scanAll(text);
+            } catch (RuntimeException | StackOverflowError e) {
+                thrown[0] = e;
+            }
+        });
+        // a scan that never ends must not keep the program alive
+        scanning.setDaemon(true);
+        long start = System.nanoTime();
+        scanning.start();
+        scanning.join(bound);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        if (scanning.isAlive()) {
+            failures++;
+            System.out.printf("FAIL %-45s still scanning after %d ms%n", name, millis);
+        }
+        else if (thrown[0] != null) {
+            failures++;
+            System.out.printf("FAIL %-45s threw %s%n", name, thrown[0]);
+        }
+        else {
+            System.out.printf("ok   %-45s %8d chars %8d tokens %6d ms (bound %d ms)%n",
+                    name, text.length(), tokens[0], millis, bound);
+        }
+    }
+
+    /**
+     * scans the text until the EOF token
+     *
+     * @param text the source to scan
+     * @return the number of tokens scanned, not counting EOF
+     */
+    private static long scanAll(String text) {
+        Scanner scanner = new Scanner(new StringReader(text), new ErrorHandler());
+        long count = 0;
+        while (scanner.scan().kind != Token.Kind.EOF) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * @return the given string repeated the given number of times
+     */
+    private static String repeat(String s, int times) {
+        return s.repeat(Math.max(0, times));
+    }
+}
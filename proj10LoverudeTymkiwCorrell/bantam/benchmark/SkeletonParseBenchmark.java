@@ -0,0 +1,99 @@
+/*
+ * File: SkeletonParseBenchmark.java
+ * Date: 10/2026
+ */
+
+package proj10LoverudeTymkiwCorrell.bantam.benchmark;
+
+import proj10LoverudeTymkiwCorrell.bantam.ast.ClassList;
+import proj10LoverudeTymkiwCorrell.bantam.ast.Class_;
+import proj10LoverudeTymkiwCorrell.bantam.ast.Member;
+import proj10LoverudeTymkiwCorrell.bantam.ast.MemberList;
+import proj10LoverudeTymkiwCorrell.bantam.ast.Method;
+import proj10LoverudeTymkiwCorrell.bantam.ast.Program;
+import proj10LoverudeTymkiwCorrell.bantam.parser.Parser;
+import proj10LoverudeTymkiwCorrell.bantam.util.ErrorHandler;
+
+import java.util.function.Function;
+
+/**
+ * Compares indexing the declarations (classes, fields and methods) of a
+ * large generated Bantam Java program after a full parse and after a
+ * skeleton parse, which skips the method bodies.  It also times a skeleton
+ * parse followed by parsing every body, which shows what the laziness costs
+ * when all the bodies turn out to be needed.
+ * Usage: SkeletonParseBenchmark [number of classes] [number of timed runs]
+ */
+public class SkeletonParseBenchmark
+{
+    public static void main(String[] args) {
+        int numClasses = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        String source = BantamSourceGenerator.generate(numClasses);
+        System.out.println("Parsing " + source.length() / 1024 + " KB");
+
+        double full = time("Full parse:              ", source, runs,
+                s -> new Parser(new ErrorHandler()).parse(s, "benchmark.btm"), false);
+        double skeleton = time("Skeleton parse:          ", source, runs,
+                s -> new Parser(new ErrorHandler()).parseSkeleton(s, "benchmark.btm"), false);
+        time("Skeleton, then bodies:   ", source, runs,
+                s -> new Parser(new ErrorHandler()).parseSkeleton(s, "benchmark.btm"), true);
+        System.out.printf("Indexing declarations is %.1f times faster with a skeleton parse%n",
+                full / skeleton);
+    }
+
+    /**
+     * times parsing the source and indexing its declarations, and prints the results
+     *
+     * @param label      the label for the printed results
+     * @param source     the source to parse
+     * @param runs       the number of timed runs
+     * @param parse      parses the source
+     * @param withBodies true to also ask every method for its statements
+     * @return the time per run in milliseconds
+     */
+    private static double time(String label, String source, int runs,
+                               Function<String, Program> parse, boolean withBodies) {
+        // warm up the JIT before timing
+        for (int i = 0; i < 3; i++) {
+            index(parse.apply(source), withBodies);
+        }
+
+        long declarations = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            declarations += index(parse.apply(source), withBodies);
+        }
+        double millis = (System.nanoTime() - start) / 1e6 / runs;
+
+        System.out.printf("%s%d declarations per run, %.1f ms per run%n",
+                label, declarations / runs, millis);
+        return millis;
+    }
+
+    /**
+     * counts the classes, fields and methods of the program, as an index of
+     * its declarations would visit them
+     *
+     * @param program    the root of the AST
+     * @param withBodies true to also ask every method for its statements
+     * @return the number of declarations
+     */
+    private static long index(Program program, boolean withBodies) {
+        long declarations = 0;
+        ClassList classList = program.getClassList();
+        for (int i = 0; i < classList.getSize(); i++) {
+            declarations++;
+            MemberList memberList = ((Class_) classList.get(i)).getMemberList();
+            for (int j = 0; j < memberList.getSize(); j++) {
+                Member member = (Member) memberList.get(j);
+                declarations++;
+                if (withBodies && member instanceof Method) {
+                    ((Method) member).getStmtList();
+                }
+            }
+        }
+        return declarations;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * File: SymbolTableBenchmark.java
+ * Date: 10/2026
+ */
+
+package proj10LoverudeTymkiwCorrell.bantam.benchmark;
+
+import proj10LoverudeTymkiwCorrell.bantam.ast.Program;
+import proj10LoverudeTymkiwCorrell.bantam.parser.Parser;
+import proj10LoverudeTymkiwCorrell.bantam.semant.SemanticAnalyzer;
+import proj10LoverudeTymkiwCorrell.bantam.util.ClassTreeNode;
+import proj10LoverudeTymkiwCorrell.bantam.util.CompilationException;
+import proj10LoverudeTymkiwCorrell.bantam.util.ErrorHandler;
+import proj10LoverudeTymkiwCorrell.bantam.util.SymbolTable;
+
+/**
+ * Measures the SymbolTables on a generated Bantam Java program whose
+ * classes are in deep inheritance chains.  It times the semantic analysis
+ * of the program, most of which is the TypeCheckerVisitor entering and
+ * exiting scopes and looking up variables and methods, and then the
+ * lookups the TypeCheckerVisitor makes, done directly on the tables of the
+ * deepest class of a chain: a local variable, a field of the class, a field
+ * of the class at the top of the chain, a method, and a name that is not
+ * declared, which is looked up in every table of the chain.
+ * Usage: SymbolTableBenchmark [number of classes] [classes per chain] [timed runs]
+ */
+public class SymbolTableBenchmark
+{
+    public static void main(String[] args) {
+        int numClasses = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        int chainDepth = args.length > 1 ? Integer.parseInt(args[1]) : 250;
+        int runs = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        Program program = new Parser(new ErrorHandler()).parse(
+                BantamSourceGenerator.generate(numClasses, chainDepth), "benchmark.btm");
+        System.out.println("Analyzing " + numClasses + " classes in chains of " + chainDepth);
+
+        ClassTreeNode root = null;
+        for (int i = 0; i < 3; i++) {
+            root = analyze(program);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            root = analyze(program);
+        }
+        System.out.printf("Semantic analysis: %.2f ms per program%n",
+                (System.nanoTime() - start) / 1e6 / runs);
+
+        ClassTreeNode deepest = root.lookupClass("C" + (chainDepth - 1));
+        SymbolTable vars = deepest.getVarSymbolTable();
+        SymbolTable methods = deepest.getMethodSymbolTable();
+        vars.enterScope();
+        vars.add("x", "int");
+        String[] names = {"x", "f" + (chainDepth - 1), "f0", "undeclared"};
+        String[] labels = {"Local variable:", "Own field:", "Inherited field:", "Undeclared name:"};
+        int lookups = 2_000_000;
+        for (int n = 0; n < names.length; n++) {
+            System.out.printf("%-17s %.1f million lookups per second%n", labels[n],
+                    lookupsPerMicrosecond(vars, names[n], lookups));
+        }
+        System.out.printf("%-17s %.1f million lookups per second%n", "Method:",
+                lookupsPerMicrosecond(methods, "m0", lookups));
+        vars.exitScope();
+    }
+
+    /**
+     * analyzes a program
+     *
+     * @param program the root of the AST
+     * @return the root of the class hierarchy tree
+     */
+    private static ClassTreeNode analyze(Program program) {
+        try {
+            return new SemanticAnalyzer(new ErrorHandler()).analyze(program);
+        }
+        catch (CompilationException e) {
+            throw new IllegalStateException("The generated program has errors", e);
+        }
+    }
+
+    /**
+     * looks up a name in a table many times, after warming up the JIT
+     *
+     * @param table   the table
+     * @param name    the name
+     * @param lookups the number of timed lookups
+     * @return the number of lookups per microsecond
+     */
+    private static double lookupsPerMicrosecond(SymbolTable table, String name, int lookups) {
+        int found = 0;
+        for (int i = 0; i < lookups; i++) {
+            found += table.lookup(name) == null ? 0 : 1;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < lookups; i++) {
+            found += table.lookup(name) == null ? 0 : 1;
+        }
+        long nanos = System.nanoTime() - start;
+        if (found != 0 && found != 2 * lookups) {
+            throw new IllegalStateException("Lookups of " + name + " gave different results");
+        }
+        return lookups * 1e3 / nanos;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * File: SymbolTableSnapshotBenchmark.java
+ * Date: 10/2026
+ */
+
+package proj10LoverudeTymkiwCorrell.bantam.benchmark;
+
+import proj10LoverudeTymkiwCorrell.bantam.util.PersistentSymbolTable;
+import proj10LoverudeTymkiwCorrell.bantam.util.SymbolTable;
+
+import java.util.function.Supplier;
+
+/**
+ * Measures taking snapshots of the variables in scope at each statement of
+ * a method, as a checker that keeps the environment at every program point
+ * would, with SymbolTables and with PersistentSymbolTables.  The tables
+ * are those of a chain of classes, each with the same number of fields,
+ * and the method declares one local variable per statement in nested
+ * blocks.  A snapshot is a clone of the table of the deepest class, which
+ * also clones the tables of its ancestors.  It prints the time per snapshot
+ * and per lookup of a local variable and of a field of the class at the
+ * top of the chain.
+ * Usage: SymbolTableSnapshotBenchmark [classes in the chain] [fields per class] [statements]
+ */
+public class SymbolTableSnapshotBenchmark
+{
+    public static void main(String[] args) {
+        int chainDepth = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int numFields = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int statements = args.length > 2 ? Integer.parseInt(args[2]) : 500;
+
+        System.out.println("Snapshots of " + statements + " statements in a chain of "
+                + chainDepth + " classes with " + numFields + " fields each");
+        for (int i = 0; i < 3; i++) {
+            run("SymbolTable:          ", SymbolTable::new, chainDepth, numFields, statements, i == 2);
+            run("PersistentSymbolTable:", PersistentSymbolTable::new, chainDepth, numFields,
+                    statements, i == 2);
+        }
+    }
+
+    /**
+     * builds the tables of the chain, takes a snapshot at each statement
+     * and looks up names in the snapshots
+     *
+     * @param label      the name of the kind of table
+     * @param newTable   makes an empty table
+     * @param chainDepth the number of classes in the chain
+     * @param numFields  the number of fields of each class
+     * @param statements the number of statements of the method
+     * @param print      whether to print the times
+     */
+    private static void run(String label, Supplier<SymbolTable> newTable, int chainDepth,
+                            int numFields, int statements, boolean print) {
+        SymbolTable table = null;
+        for (int c = 0; c < chainDepth; c++) {
+            SymbolTable child = newTable.get();
+            child.setParent(table);
+            child.enterScope();
+            for (int f = 0; f < numFields; f++) {
+                child.add("C" + c + "f" + f, "int");
+            }
+            table = child;
+        }
+
+        String[] locals = new String[statements];
+        for (int s = 0; s < statements; s++) {
+            locals[s] = "x" + s;
+        }
+        SymbolTable[] snapshots = new SymbolTable[statements];
+        long start = System.nanoTime();
+        table.enterScope();
+        for (int s = 0; s < statements; s++) {
+            if (s % 10 == 0) {
+                table.enterScope();
+            }
+            table.add(locals[s], "int");
+            snapshots[s] = table.clone();
+        }
+        long snapshotNanos = System.nanoTime() - start;
+
+        String field = "C0f0";
+        int found = 0;
+        start = System.nanoTime();
+        for (int s = 0; s < statements; s++) {
+            for (int i = 0; i < 100; i++) {
+                found += snapshots[s].lookup(locals[s / 2]) == null ? 0 : 1;
+                found += snapshots[s].lookup(field) == null ? 0 : 1;
+            }
+        }
+        long lookupNanos = System.nanoTime() - start;
+        if (found != 2 * 100 * statements) {
+            throw new IllegalStateException(label + " lost a symbol in a snapshot");
+        }
+        if (print) {
+            System.out.printf("%s %9.2f us per snapshot, %6.3f us per lookup%n", label,
+                    snapshotNanos / 1e3 / statements, lookupNanos / 1e3 / found);
+        }
+    }
+}
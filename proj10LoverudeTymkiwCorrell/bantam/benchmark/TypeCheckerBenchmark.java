@@ -0,0 +1,67 @@
+/*
+ * File: TypeCheckerBenchmark.java
+ * Date: 10/2026
+ */
+
+package proj10LoverudeTymkiwCorrell.bantam.benchmark;
+
+import proj10LoverudeTymkiwCorrell.bantam.ast.Program;
+import proj10LoverudeTymkiwCorrell.bantam.parser.Parser;
+import proj10LoverudeTymkiwCorrell.bantam.semant.SemanticAnalyzer;
+import proj10LoverudeTymkiwCorrell.bantam.semant.TypeCheckerVisitor;
+import proj10LoverudeTymkiwCorrell.bantam.util.ClassHierarchy;
+import proj10LoverudeTymkiwCorrell.bantam.util.ClassTreeNode;
+import proj10LoverudeTymkiwCorrell.bantam.util.ErrorHandler;
+
+/**
+ * Measures the type checking pass of the SemanticAnalyzer on a generated
+ * Bantam Java program whose methods are mostly arithmetic, comparisons and
+ * loops, so that most of the time is spent finding and comparing the types
+ * of expressions.  The program is analyzed once, and then checked again
+ * with a new TypeCheckerVisitor for each run.
+ * Usage: TypeCheckerBenchmark [number of classes] [number of timed runs]
+ */
+public class TypeCheckerBenchmark
+{
+    public static void main(String[] args) {
+        int numClasses = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        Program program = new Parser(new ErrorHandler()).parse(
+                BantamSourceGenerator.generate(numClasses), "benchmark.btm");
+        ErrorHandler analysisErrors = new ErrorHandler();
+        ClassTreeNode root = new SemanticAnalyzer(analysisErrors).analyze(program);
+        ClassHierarchy hierarchy = new ClassHierarchy(root);
+        System.out.println("Type checking " + numClasses + " classes");
+
+        // warm up the JIT
+        for (int i = 0; i < 5; i++) {
+            check(program, root, hierarchy);
+        }
+        long nanos = 0;
+        int errors = 0;
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            errors = check(program, root, hierarchy);
+            nanos += System.nanoTime() - start;
+        }
+        if (errors != analysisErrors.getErrorList().size()) {
+            throw new IllegalStateException("The checks found different errors");
+        }
+        System.out.printf("Type checking: %.2f ms%n", nanos / 1e6 / runs);
+    }
+
+    /**
+     * type checks the program once
+     *
+     * @param program   the analyzed program
+     * @param root      the ClassTreeNode of Object
+     * @param hierarchy the index of the class hierarchy
+     * @return the number of errors found
+     */
+    private static int check(Program program, ClassTreeNode root, ClassHierarchy hierarchy) {
+        ErrorHandler errorHandler = new ErrorHandler();
+        new TypeCheckerVisitor(errorHandler, root, hierarchy).visit(program, null);
+        return errorHandler.getErrorList().size();
+    }
+}
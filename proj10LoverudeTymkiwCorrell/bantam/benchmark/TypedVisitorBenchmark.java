@@ -0,0 +1,105 @@
+/*
+ * File: TypedVisitorBenchmark.java
+ * Date: 10/2026
+ */
+
+package proj10LoverudeTymkiwCorrell.bantam.benchmark;
+
+import proj10LoverudeTymkiwCorrell.bantam.ast.*;
+import proj10LoverudeTymkiwCorrell.bantam.parser.Parser;
+import proj10LoverudeTymkiwCorrell.bantam.transpiler.TranspilerVisitor;
+import proj10LoverudeTymkiwCorrell.bantam.util.ErrorHandler;
+import proj10LoverudeTymkiwCorrell.bantam.visitor.TypedVisitor;
+import proj10LoverudeTymkiwCorrell.bantam.visitor.Visitor;
+
+/**
+ * Measures visiting every node of the AST of a large generated Bantam Java
+ * program with a Visitor, which reaches each node by calling its accept
+ * method, and with a TypedVisitor, which switches on the kind of the node.
+ * Both count the variable expressions, the Visitor in a field and the
+ * TypedVisitor in the int[] it is given as its context.  The visitors are
+ * timed in alternating rounds so that neither is favored by what the JIT
+ * compiled for the other.  It also prints the time to write the program
+ * as Java with the TranspilerVisitor.
+ * Usage: TypedVisitorBenchmark [number of classes] [number of timed visits]
+ */
+public class TypedVisitorBenchmark
+{
+    /** a Visitor that counts the variable expressions */
+    private static class CountingVisitor extends Visitor
+    {
+        int count;
+
+        @Override
+        public Object visit(VarExpr node) {
+            count++;
+            return super.visit(node);
+        }
+    }
+
+    /** a TypedVisitor that counts the variable expressions in its context */
+    private static class TypedCountingVisitor extends TypedVisitor<Void, int[]>
+    {
+        @Override
+        public Void visit(VarExpr node, int[] count) {
+            count[0]++;
+            return super.visit(node, count);
+        }
+    }
+
+    public static void main(String[] args) {
+        int numClasses = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        Program program = new Parser(new ErrorHandler()).parse(
+                BantamSourceGenerator.generate(numClasses), "benchmark.btm");
+        System.out.println("Visiting the AST of " + numClasses + " classes");
+
+        CountingVisitor counting = new CountingVisitor();
+        TypedCountingVisitor typed = new TypedCountingVisitor();
+        int[] typedCount = new int[1];
+
+        // warm up the JIT
+        for (int i = 0; i < 5; i++) {
+            program.accept(counting);
+            typed.visit(program, typedCount);
+        }
+        long acceptNanos = 0;
+        long switchNanos = 0;
+        for (int i = 0; i < runs; i++) {
+            counting.count = 0;
+            long start = System.nanoTime();
+            program.accept(counting);
+            acceptNanos += System.nanoTime() - start;
+
+            typedCount[0] = 0;
+            start = System.nanoTime();
+            typed.visit(program, typedCount);
+            switchNanos += System.nanoTime() - start;
+        }
+        if (counting.count != typedCount[0]) {
+            throw new IllegalStateException("The visitors counted " + counting.count
+                    + " and " + typedCount[0] + " variables");
+        }
+        System.out.printf("Visitor (accept):      %.2f ms per visit, %,d variables%n",
+                acceptNanos / 1e6 / runs, counting.count);
+        System.out.printf("TypedVisitor (switch): %.2f ms per visit, %,d variables%n",
+                switchNanos / 1e6 / runs, typedCount[0]);
+        System.out.printf("The switch takes %.2f times as long%n",
+                (double) switchNanos / acceptNanos);
+
+        long transpileNanos = 0;
+        int length = 0;
+        for (int i = 0; i < 5 + runs; i++) {
+            TranspilerVisitor transpiler = new TranspilerVisitor();
+            long start = System.nanoTime();
+            transpiler.visit(program, "");
+            if (i >= 5) {
+                transpileNanos += System.nanoTime() - start;
+            }
+            length = transpiler.getProgramStringBuilder().length();
+        }
+        System.out.printf("TranspilerVisitor:     %.2f ms per program of %,d characters%n",
+                transpileNanos / 1e6 / runs, length);
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * File: VisitBenchmark.java
+ * Date: 10/2026
+ */
+
+package proj10LoverudeTymkiwCorrell.bantam.benchmark;
+
+import proj10LoverudeTymkiwCorrell.bantam.ast.*;
+import proj10LoverudeTymkiwCorrell.bantam.parser.Parser;
+import proj10LoverudeTymkiwCorrell.bantam.util.ErrorHandler;
+import proj10LoverudeTymkiwCorrell.bantam.visitor.Visitor;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures visiting every node of the AST of a large generated Bantam Java
+ * program, with the Visitor, which goes through each list by index, and
+ * with a Visitor that goes through the lists with their iterators, as the
+ * visitors used to.  It prints the time and the bytes allocated by the
+ * first visit, before the JIT compiler has removed any iterators it can,
+ * and per visit after it has.  The first visit of either visitor also
+ * compiles code the other one uses, so they are only roughly comparable.
+ * Usage: VisitBenchmark [number of classes] [number of timed visits]
+ */
+public class VisitBenchmark
+{
+    /** a Visitor that traverses the whole AST by index */
+    private static class IndexingVisitor extends Visitor
+    {
+    }
+
+    /** a Visitor that traverses the whole AST with the iterators of the lists */
+    private static class IteratingVisitor extends Visitor
+    {
+        @Override
+        public Object visit(ClassList node) {
+            return visitAll(node);
+        }
+
+        @Override
+        public Object visit(MemberList node) {
+            return visitAll(node);
+        }
+
+        @Override
+        public Object visit(FormalList node) {
+            return visitAll(node);
+        }
+
+        @Override
+        public Object visit(StmtList node) {
+            return visitAll(node);
+        }
+
+        @Override
+        public Object visit(ExprList node) {
+            return visitAll(node);
+        }
+
+        private Object visitAll(ListNode node) {
+            for (ASTNode child : node) {
+                child.accept(this);
+            }
+            return null;
+        }
+    }
+
+    public static void main(String[] args) {
+        int numClasses = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        Program program = new Parser(new ErrorHandler()).parse(
+                BantamSourceGenerator.generate(numClasses), "benchmark.btm");
+        System.out.println("Visiting the AST of " + numClasses + " classes");
+
+        Visitor iterating = new IteratingVisitor();
+        Visitor indexing = new IndexingVisitor();
+        firstVisit("Iterators: ", program, iterating);
+        firstVisit("Indexes:   ", program, indexing);
+
+        // warm up the JIT, then alternate the visitors so that neither is
+        // favored by what the JIT compiled for the other
+        for (int i = 0; i < 5; i++) {
+            program.accept(iterating);
+            program.accept(indexing);
+        }
+        long[] nanos = new long[2];
+        long[] bytes = new long[2];
+        for (int i = 0; i < runs; i++) {
+            visit(program, iterating, 0, nanos, bytes);
+            visit(program, indexing, 1, nanos, bytes);
+        }
+        String[] labels = {"Iterators: ", "Indexes:   "};
+        for (int i = 0; i < 2; i++) {
+            System.out.printf("%slater visits %.2f ms and %,d bytes allocated per visit%n",
+                    labels[i], nanos[i] / 1e6 / runs, bytes[i] / runs);
+        }
+        System.out.printf("Visiting by index takes %.2f times as long%n",
+                (double) nanos[1] / nanos[0]);
+    }
+
+    /**
+     * prints the time and bytes allocated by the first visit of the AST with
+     * a visitor, before the JIT compiler has removed any iterators it can
+     *
+     * @param label   the label for the printed results
+     * @param program the root of the AST
+     * @param visitor the visitor
+     */
+    private static void firstVisit(String label, Program program, Visitor visitor) {
+        long bytesBefore = allocatedBytes();
+        long start = System.nanoTime();
+        program.accept(visitor);
+        System.out.printf("%sfirst visit %.2f ms and %,d bytes allocated%n", label,
+                (System.nanoTime() - start) / 1e6, allocatedBytes() - bytesBefore);
+    }
+
+    /**
+     * visits the AST and adds the time and bytes allocated to the totals
+     *
+     * @param program the root of the AST
+     * @param visitor the visitor
+     * @param index   the index of the totals of the visitor
+     * @param nanos   the total times in nanoseconds
+     * @param bytes   the total bytes allocated
+     */
+    private static void visit(Program program, Visitor visitor, int index,
+                              long[] nanos, long[] bytes) {
+        long bytesBefore = allocatedBytes();
+        long start = System.nanoTime();
+        program.accept(visitor);
+        nanos[index] += System.nanoTime() - start;
+        bytes[index] += allocatedBytes() - bytesBefore;
+    }
+
+    /**
+     * @return the number of bytes allocated by this thread so far
+     */
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * File: Keywords.java
+ * Date: 10/2026
+ */
+
+package proj10LoverudeTymkiwCorrell.bantam.lexer;
+
+/**
+ * The reserved words of Bantam Java, recognized with a perfect hash table.
+ * It holds the keywords, which the Scanner gives their own token kinds, and
+ * the reserved identifiers (null, this, super, void, int and boolean), which
+ * are scanned as identifiers but cannot be used as the names of classes,
+ * fields or methods.
+ * <p>
+ * The hash of a word only uses its length and its first and last characters,
+ * and the multipliers are chosen when the class is loaded so that no two
+ * words share a slot.  A word is recognized with one hash and one comparison,
+ * directly over a slice of a char array, so no String needs to be created.
+ */
+public class Keywords
+{
+    /** the number of slots in the table; a power of 2 */
+    private static final int TABLE_SIZE = 64;
+
+    /** the shortest and longest words in the table */
+    private static final int MIN_LENGTH = 2;
+    private static final int MAX_LENGTH = 10;
+
+    // the words and the kinds of tokens the Scanner creates for them.
+    // The reserved identifiers are scanned as IDENTIFIER tokens.
+    private static final String[] words = {
+            "break", "cast", "class", "var", "else", "extends", "for", "if",
+            "instanceof", "new", "return", "while", "true", "false",
+            "null", "this", "super", "void", "int", "boolean"};
+    private static final Token.Kind[] kinds = {
+            Token.Kind.BREAK, Token.Kind.CAST, Token.Kind.CLASS, Token.Kind.VAR,
+            Token.Kind.ELSE, Token.Kind.EXTENDS, Token.Kind.FOR, Token.Kind.IF,
+            Token.Kind.INSTANCEOF, Token.Kind.NEW,
+            Token.Kind.RETURN, Token.Kind.WHILE, Token.Kind.BOOLEAN, Token.Kind.BOOLEAN,
+            Token.Kind.IDENTIFIER, Token.Kind.IDENTIFIER, Token.Kind.IDENTIFIER,
+            Token.Kind.IDENTIFIER, Token.Kind.IDENTIFIER, Token.Kind.IDENTIFIER};
+
+    // the hash table: the characters, spelling and kind of the word in each slot
+    private static final char[][] slotWords = new char[TABLE_SIZE][];
+    private static final String[] slotSpellings = new String[TABLE_SIZE];
+    private static final Token.Kind[] slotKinds = new Token.Kind[TABLE_SIZE];
+
+    // the multipliers of the first and last characters in the hash
+    private static final int firstMultiplier;
+    private static final int lastMultiplier;
+
+    static {
+        int[] multipliers = findMultipliers();
+        firstMultiplier = multipliers[0];
+        lastMultiplier = multipliers[1];
+        for (int i = 0; i < words.length; i++) {
+            char[] word = words[i].toCharArray();
+            int slot = hash(word[0], word[word.length - 1], word.length);
+            slotWords[slot] = word;
+            slotSpellings[slot] = words[i];
+            slotKinds[slot] = kinds[i];
+        }
+    }
+
+    /**
+     * searches for multipliers that give every word its own slot
+     *
+     * @return the first and last character multipliers
+     */
+    private static int[] findMultipliers() {
+        for (int first = 1; first < TABLE_SIZE; first++) {
+            for (int last = 1; last < TABLE_SIZE; last++) {
+                boolean[] used = new boolean[TABLE_SIZE];
+                boolean perfect = true;
+                for (String word : words) {
+                    int slot = hash(word.charAt(0), word.charAt(word.length() - 1),
+                            word.length(), first, last);
+                    if (used[slot]) {
+                        perfect = false;
+                        break;
+                    }
+                    used[slot] = true;
+                }
+                if (perfect) {
+                    return new int[]{first, last};
+                }
+            }
+        }
+        throw new IllegalStateException("No perfect hash for the keywords");
+    }
+
+    /**
+     * @return the slot of a word with the given first and last characters and length
+     */
+    private static int hash(char first, char last, int length) {
+        return hash(first, last, length, firstMultiplier, lastMultiplier);
+    }
+
+    /**
+     * @return the slot of a word with the given first and last characters and
+     * length, using the given multipliers
+     */
+    private static int hash(char first, char last, int length,
+                            int firstMultiplier, int lastMultiplier) {
+        return (first * firstMultiplier + last * lastMultiplier + length) & (TABLE_SIZE - 1);
+    }
+
+    /**
+     * finds the slot of the word made up of the characters chars[start] to
+     * chars[end - 1]
+     *
+     * @param chars the characters containing the word
+     * @param start the index of the first character of the word
+     * @param end   the index after the last character of the word
+     * @return the slot holding the word or -1 if it is not a reserved word
+     */
+    private static int find(char[] chars, int start, int end) {
+        int length = end - start;
+        if (length < MIN_LENGTH || length > MAX_LENGTH) {
+            return -1;
+        }
+        int slot = hash(chars[start], chars[end - 1], length);
+        char[] word = slotWords[slot];
+        if (word == null || word.length != length) {
+            return -1;
+        }
+        for (int i = 0; i < length; i++) {
+            if (chars[start + i] != word[i]) {
+                return -1;
+            }
+        }
+        return slot;
+    }
+
+    /**
+     * finds the slot of the given word
+     *
+     * @param word the word to look up
+     * @return the slot holding the word or -1 if it is not a reserved word
+     */
+    private static int find(String word) {
+        int length = word.length();
+        if (length < MIN_LENGTH || length > MAX_LENGTH) {
+            return -1;
+        }
+        int slot = hash(word.charAt(0), word.charAt(length - 1), length);
+        char[] slotWord = slotWords[slot];
+        if (slotWord == null || slotWord.length != length) {
+            return -1;
+        }
+        for (int i = 0; i < length; i++) {
+            if (word.charAt(i) != slotWord[i]) {
+                return -1;
+            }
+        }
+        return slot;
+    }
+
+    /**
+     * returns the kind of token for the word made up of the characters
+     * chars[start] to chars[end - 1]
+     *
+     * @param chars the characters containing the word
+     * @param start the index of the first character of the word
+     * @param end   the index after the last character of the word
+     * @return the kind of the keyword or boolean constant, or IDENTIFIER if
+     * the word is not a keyword or boolean constant
+     */
+    public static Token.Kind getKind(char[] chars, int start, int end) {
+        int slot = find(chars, start, end);
+        return slot < 0 ? Token.Kind.IDENTIFIER : slotKinds[slot];
+    }
+
+    /**
+     * returns the spelling of the keyword in the given slice, so that the
+     * Scanner can share one String for all the tokens of each keyword
+     *
+     * @param chars the characters containing the word
+     * @param start the index of the first character of the word
+     * @param end   the index after the last character of the word
+     * @return the spelling of the keyword or boolean constant, or null if
+     * the word is not one
+     */
+    static String getSpelling(char[] chars, int start, int end) {
+        int slot = find(chars, start, end);
+        return slot < 0 || slotKinds[slot] == Token.Kind.IDENTIFIER ? null
+                : slotSpellings[slot];
+    }
+
+    /**
+     * returns true if the given kind of token is the kind of a keyword.
+     * Boolean constants are not keywords.
+     *
+     * @param kind the kind of a token
+     * @return true if tokens of that kind are keywords
+     */
+    public static boolean isKeyword(Token.Kind kind) {
+        switch (kind) {
+            case BREAK:
+            case CAST:
+            case CLASS:
+            case VAR:
+            case ELSE:
+            case EXTENDS:
+            case FOR:
+            case IF:
+            case INSTANCEOF:
+            case NEW:
+            case RETURN:
+            case WHILE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * returns true if the given word is the name of a keyword or boolean constant
+     *
+     * @param word the word to check
+     * @return true if the Scanner does not scan the word as an identifier
+     */
+    public static boolean isKeyword(String word) {
+        int slot = find(word);
+        return slot >= 0 && slotKinds[slot] != Token.Kind.IDENTIFIER;
+    }
+
+    /**
+     * returns true if the given word is scanned as an identifier but cannot
+     * be the name of a class, field or method: null, this, super, void, int
+     * or boolean
+     *
+     * @param word the word to check
+     * @return true if the word is a reserved identifier
+     */
+    public static boolean isReservedIdentifier(String word) {
+        int slot = find(word);
+        return slot >= 0 && slotKinds[slot] == Token.Kind.IDENTIFIER;
+    }
+}
@@ -3,13 +3,18 @@ package proj10LoverudeTymkiwCorrell.bantam.lexer;
 import proj10LoverudeTymkiwCorrell.bantam.util.Error;
 import proj10LoverudeTymkiwCorrell.bantam.util.ErrorHandler;
 
-import java.io.IOException;
 import java.io.Reader;
 import java.util.*;
 
 /**
  * This class reads characters from a file or a Reader
  * and breaks it into Tokens.
+ * Characters are classified with a precomputed lookup table and operators
+ * are recognized with a switch, so punctuation, operator and keyword tokens
+ * share constant spellings instead of building a new String for each token.
+ * A whole file can also be scanned into a TokenStream, which stores the
+ * tokens in parallel arrays instead of creating a Token object for each one,
+ * or scanned on a thread of its own into a TokenPipeline.
  */
 public class Scanner
 {
@@ -22,36 +27,52 @@ public class Scanner
 
     private boolean isChecked;
 
-//    private final List<Integer> specialSymbolsASCII = Arrays.asList(
-//            33,38,40,41,42,43,44,45,46,47,58,59,60,61,62,92,123,124,125);
-
-    private final Set<Character> specialSymbolsSet = Set.of(
-            '!', '&', '(', ')', '*', '+', ',', '-', '.', '/', ':', ';',
-            '<', '=', '>', '\\', '{', '|', '}', '%');
-
-    private final Set<String> legalEscapeCharSet = Set.of(
-            "f", "n", "t", "\\", "\"");
-
-    private final Set<Character> whiteSpaceSet = Set.of(
-            ' ', '\t', SourceFile.CR, SourceFile.EOL);
-
-    private final Map<String, Token.Kind> stringTokenKindMap = Map.ofEntries(
-            new AbstractMap.SimpleEntry<>("NEW", Token.Kind.NEW),
-            new AbstractMap.SimpleEntry<>("cast", Token.Kind.CAST),
-            new AbstractMap.SimpleEntry<>("instaceof", Token.Kind.INSTANCEOF),
-            new AbstractMap.SimpleEntry<>("true", Token.Kind.BOOLEAN),
-            new AbstractMap.SimpleEntry<>("false", Token.Kind.BOOLEAN),
-            new AbstractMap.SimpleEntry<>("break", Token.Kind.BREAK),
-            new AbstractMap.SimpleEntry<>("Class", Token.Kind.CLASS),
-            new AbstractMap.SimpleEntry<>("var", Token.Kind.VAR),
-            new AbstractMap.SimpleEntry<>("else", Token.Kind.ELSE),
-            new AbstractMap.SimpleEntry<>("extends", Token.Kind.EXTENDS),
-            new AbstractMap.SimpleEntry<>("for", Token.Kind.FOR),
-            new AbstractMap.SimpleEntry<>("if", Token.Kind.IF),
-            new AbstractMap.SimpleEntry<>("return", Token.Kind.RETURN),
-            new AbstractMap.SimpleEntry<>("while", Token.Kind.WHILE)
-    );
-
+    // the most recently scanned token
+    private Token.Kind tokenKind;
+    /** the constant spelling of the token or null if it is sliced from the source */
+    private String tokenSpelling;
+    private int tokenStart;
+    private int tokenEnd;
+    /**
+     * the line and column where the token starts.  The line is the position
+     * of the token whether it is returned by scan, added to a TokenStream or
+     * added to a TokenPipeline.
+     */
+    private int tokenLine;
+    private int tokenColumn;
+
+    // the character classes stored in the charClasses table
+    private static final byte OTHER = 0;
+    private static final byte WHITESPACE = 1;
+    private static final byte LETTER = 2;
+    private static final byte DIGIT = 3;
+    private static final byte SYMBOL = 4;
+    private static final byte QUOTE = 5;
+    private static final byte END = 6;
+
+    /** the character class of every ASCII character */
+    private static final byte[] charClasses = new byte[128];
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) {
+            charClasses[c] = LETTER;
+        }
+        for (char c = 'A'; c <= 'Z'; c++) {
+            charClasses[c] = LETTER;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            charClasses[c] = DIGIT;
+        }
+        for (char c : "!&()*+,-./:;<=>\\{|}%".toCharArray()) {
+            charClasses[c] = SYMBOL;
+        }
+        charClasses[' '] = WHITESPACE;
+        charClasses['\t'] = WHITESPACE;
+        charClasses[SourceFile.CR] = WHITESPACE;
+        charClasses[SourceFile.EOL] = WHITESPACE;
+        charClasses['\"'] = QUOTE;
+        charClasses[SourceFile.EOF] = END;
+    }
 
     /**
      * creates a new scanner for the given file
@@ -71,16 +92,68 @@ public class Scanner
      * @param handler the ErrorHandler that collects all the errors found
      */
     public Scanner(Reader reader, ErrorHandler handler) {
+        this(reader, null, handler);
+    }
+
+    /**
+     * creates a new scanner for the characters from the given Reader
+     * @param reader the Reader that provides the characters to be scanned
+     * @param filename the name to use for the source in error messages
+     * @param handler the ErrorHandler that collects all the errors found
+     */
+    public Scanner(Reader reader, String filename, ErrorHandler handler) {
         errorHandler = handler;
-        sourceFile = new SourceFile(reader);
+        sourceFile = new SourceFile(reader, filename);
         isChecked = true;
+    }
 
+    /**
+     * creates a new scanner for the given text, such as the unsaved contents
+     * of an editor, so nothing is read from disk
+     * @param text the characters to be scanned
+     * @param filename the name to use for the source in error messages
+     * @param handler the ErrorHandler that collects all the errors found
+     */
+    public Scanner(CharSequence text, String filename, ErrorHandler handler) {
+        errorHandler = handler;
+        sourceFile = new SourceFile(text, filename);
+        isChecked = true;
+    }
+
+    /**
+     * creates a new scanner for the given source
+     * @param sourceFile the source to be scanned
+     * @param handler the ErrorHandler that collects all the errors found
+     */
+    Scanner(SourceFile sourceFile, ErrorHandler handler) {
+        errorHandler = handler;
+        this.sourceFile = sourceFile;
+        isChecked = true;
     }
 
     public String getSourceFile(){
         return sourceFile.getFilename();
     }
 
+    /**
+     * returns the class (WHITESPACE, LETTER, DIGIT, ...) of the given character.
+     * ASCII characters are looked up in the charClasses table.
+     *
+     * @param c the character to classify
+     * @return the character class of c
+     */
+    private static byte classOf(char c) {
+        if (c < 128) {
+            return charClasses[c];
+        }
+        else if (Character.isLetter(c)) {
+            return LETTER;
+        }
+        else if (Character.isDigit(c)) {
+            return DIGIT;
+        }
+        return OTHER;
+    }
 
     /**
      * read characters and collect them into a Token.
@@ -90,338 +163,325 @@ public class Scanner
      * @return the Token containing the characters read
      */
     public Token scan() {
-
-
-        if(isChecked){
-            currentChar = scannerGetNextChar();
-        }
-        else{
-            isChecked = true;
-        }
-        // Ignores whitespace, CR, and EOl
-        while (whiteSpaceSet.contains(currentChar))
-        {
-            currentChar = scannerGetNextChar();
+        scanNextToken();
+        String spelling = tokenSpelling;
+        if (spelling == null) {
+            spelling = sourceFile.getText(tokenStart, tokenEnd);
         }
-        // If next token is KeyWord
-        if (Character.isLetter(currentChar)){
-
-            return scanCharacters(currentChar);
+        return new Token(tokenKind, spelling, tokenLine);
+    }
 
-        }
-        // If next token is an integer
-        else if (Character.isDigit(currentChar)) {
+    /**
+     * scans all the remaining tokens, up to and including the EOF token,
+     * into a TokenStream.  No Token objects or spellings are created; the
+     * spellings are sliced from the source only when they are asked for.
+     *
+     * @return the TokenStream holding the tokens
+     */
+    public TokenStream scanAll() {
+        TokenStream stream = new TokenStream(sourceFile);
+        do {
+            scanInto(stream);
+        } while (tokenKind != Token.Kind.EOF);
+        stream.trim();
+        return stream;
+    }
 
-            return scanIntegers(currentChar);
+    /**
+     * Starts scanning the remaining tokens on a thread of its own into a
+     * TokenPipeline, from which another thread can take them while the
+     * scanning goes on.  The errors found are registered with the
+     * ErrorHandler of this scanner by the thread taking the tokens.
+     * From then on this scanner must only be used by the TokenPipeline.
+     *
+     * @return the TokenPipeline holding the tokens
+     */
+    public TokenPipeline scanConcurrently() {
+        return scanConcurrently(TokenPipeline.DEFAULT_CAPACITY);
+    }
 
-        }
-        // If next token is a special symbol
-        else if (specialSymbolsSet.contains(currentChar)) {
+    /**
+     * Starts scanning the remaining tokens on a thread of its own into a
+     * TokenPipeline whose ring holds the given number of tokens.
+     *
+     * @param capacity the number of tokens the ring holds
+     * @return the TokenPipeline holding the tokens
+     * @see #scanConcurrently()
+     */
+    public TokenPipeline scanConcurrently(int capacity) {
+        TokenPipeline pipeline = new TokenPipeline(this, sourceFile, errorHandler, capacity);
+        errorHandler = pipeline.getScannerErrorHandler();
+        pipeline.start();
+        return pipeline;
+    }
 
-            return scanSpecialSymbols(currentChar);
+    /**
+     * scans the next token and adds it to the ring of the given pipeline
+     *
+     * @param pipeline the pipeline to add the token to
+     * @return the kind of the token
+     */
+    Token.Kind scanInto(TokenPipeline pipeline) {
+        scanNextToken();
+        pipeline.add(tokenKind, tokenSpelling, tokenStart, tokenEnd, tokenLine);
+        return tokenKind;
+    }
 
-        }
-        // If next token is a string
-        else if (currentChar == '\"') {
+    /**
+     * scans the next token and adds it to the end of the given stream
+     *
+     * @param stream the stream to add the token to
+     * @return the kind of the token
+     */
+    Token.Kind scanInto(TokenStream stream) {
+        scanNextToken();
+        stream.add(tokenKind, tokenStart, tokenEnd, tokenLine, tokenColumn);
+        return tokenKind;
+    }
 
-            return scanStrings(currentChar);
+    /**
+     * makes the scanner continue scanning at the given index of the source,
+     * which must be the start of a token or the start of the source
+     *
+     * @param index          the index of the next character to be scanned
+     * @param lineNumber     the line number of that character
+     * @param lineStartIndex the index of the first character of that line
+     */
+    void restartAt(int index, int lineNumber, int lineStartIndex) {
+        sourceFile.seek(index, lineNumber, lineStartIndex);
+        isChecked = true;
+    }
 
+    /**
+     * scans the next token, skipping comments, and leaves it in the token fields
+     */
+    private void scanNextToken() {
+        // false means a comment was skipped
+        while (!scanToken()) {
+            // keep scanning
         }
-        // If next token is EOF token
-        else if (currentChar == SourceFile.EOF ){
+    }
 
-            return new Token(Token.Kind.EOF, ""+ currentChar,
-                    sourceFile.getCurrentLineNumber());
+    /**
+     * records the kind, spelling and end of the token being scanned
+     *
+     * @param kind     the kind of the token
+     * @param spelling the constant spelling of the token or null if the
+     *                 spelling is the source text of the token
+     * @param end      the index after the last character of the token
+     * @return true
+     */
+    private boolean setToken(Token.Kind kind, String spelling, int end) {
+        tokenKind = kind;
+        tokenSpelling = spelling;
+        tokenEnd = end;
+        return true;
+    }
 
-        }
+    /**
+     * read characters and collect them into the token fields, skipping white space.
+     *
+     * @return true if a token was scanned or false if the characters were a comment
+     */
+    private boolean scanToken() {
 
-        return new Token(Token.Kind.ERROR, "" + currentChar,
-                sourceFile.getCurrentLineNumber());
+        if(isChecked){
+            currentChar = scannerGetNextChar();
+        }
+        else{
+            isChecked = true;
+        }
 
+        byte charClass = classOf(currentChar);
+        // Ignores whitespace, CR, and EOl
+        while (charClass == WHITESPACE) {
+            currentChar = scannerGetNextChar();
+            charClass = classOf(currentChar);
+        }
+
+        tokenStart = sourceFile.getCharIndex();
+        tokenLine = sourceFile.getCurrentLineNumber();
+        tokenColumn = tokenStart - sourceFile.getLineStartIndex() + 1;
+
+        switch (charClass) {
+            // If next token is KeyWord
+            case LETTER:
+                return scanCharacters();
+            // If next token is an integer
+            case DIGIT:
+                return scanIntegers();
+            // If next token is a special symbol
+            case SYMBOL:
+                return scanSpecialSymbols(currentChar);
+            // If next token is a string
+            case QUOTE:
+                return scanStrings();
+            // If next token is EOF token
+            case END:
+                return setToken(Token.Kind.EOF, "\u0000", tokenStart);
+            default:
+                return setToken(Token.Kind.ERROR, null, tokenStart + 1);
+        }
     }
 
     /**
      * Scans special symbols and returns the appropriate token
      * @param (character) character given from scanner
+     * @return true if a token was scanned or false if the symbol started a comment
      * @author Dylan Tymkiw
      * */
-    private Token scanSpecialSymbols(char character){
-        //Check what kind of especial symbol
-        //If +|-|!|=|>|<|/| check if the next line, if not just return the token
-        currentChar = character;
-        String charArray = "" + character;
-
-        //Left curly bracket
-        if (character == '{'){
-            return new Token(Token.Kind.LCURLY, charArray,
-                    sourceFile.getCurrentLineNumber());
-        }
-        //Right curly bracket
-        else if (character == '}'){
-            return new Token(Token.Kind.RCURLY, charArray,
-                    sourceFile.getCurrentLineNumber());
-        }
-        //Left parenthesis
-        else if (character == '('){
-            return new Token(Token.Kind.LPAREN, charArray,
-                    sourceFile.getCurrentLineNumber());
-        }
-        //Right parenthesis
-        else if (character == ')'){
-            return new Token(Token.Kind.RPAREN, charArray,
-                    sourceFile.getCurrentLineNumber());
-        }
-
-        //Semicolon
-        else if(character == ';'){
-            return new Token(Token.Kind.SEMICOLON, charArray,
-                    sourceFile.getCurrentLineNumber());
-        }
-        //Comma
-        else if(character == ','){
-            return new Token(Token.Kind.COMMA, charArray,
-                    sourceFile.getCurrentLineNumber());
-        }
-        // Dot
-        else if(character == '.'){
-            return new Token(Token.Kind.DOT, charArray,
-                    sourceFile.getCurrentLineNumber());
-        }
-        //Colon
-        else if(character == ':'){
-            return new Token(Token.Kind.COLON, charArray,
-                    sourceFile.getCurrentLineNumber());
-        }
-        // Unary Not
-        else if (character == '!'){
-            currentChar = scannerGetNextChar();
-            //When followed by white space
-            if (currentChar != '=') {
-                isChecked = false;
-                return new Token(Token.Kind.UNARYNOT, charArray,
-                        sourceFile.getCurrentLineNumber());
-            }
-            //When followed by equal sign
-            else{
-                charArray += currentChar;
-                return new Token(Token.Kind.COMPARE, charArray,
-                        sourceFile.getCurrentLineNumber());
-            }
-        }
-        // Multiplication sign
-        else if (character == '*'){
-            return new Token(Token.Kind.MULDIV, charArray,
-                    sourceFile.getCurrentLineNumber());
-        }
-        // Modulus Division sign
-        else if (character == '%'){
-            return new Token(Token.Kind.MULDIV, charArray,
-                    sourceFile.getCurrentLineNumber());
-        }
-        // Plus sign
-        else if (character == '+'){
-            currentChar = scannerGetNextChar();
-            //If followed by white Space
-            if (currentChar != '+'){
-                isChecked = false;
-                return new Token(Token.Kind.PLUSMINUS, charArray,
-                        sourceFile.getCurrentLineNumber());
-            }
-            //If followed by another plus sign
-            else{
-                charArray += currentChar;
-                return new Token(Token.Kind.UNARYINCR, charArray,
-                        sourceFile.getCurrentLineNumber());
-            }
-        }
-        //Minus sign
-        else if(character == '-'){
-            currentChar = scannerGetNextChar();
-            //If followed by whitespace
-            if(currentChar != '-'){
-                isChecked = false;
-                return new Token(Token.Kind.PLUSMINUS, charArray,
-                        sourceFile.getCurrentLineNumber());
-            }
-            //If followed by another minus sign
-            else{
-                charArray += currentChar;
-                return new Token(Token.Kind.UNARYDECR, charArray,
-                        sourceFile.getCurrentLineNumber());
-            }
-        }
-        // Less than sign or greater than sign
-        else if(character == '<' || character == '>'){
-            currentChar = scannerGetNextChar();
-            //If followed by whitespace
-            if(currentChar != '='){
-                isChecked = false;
-                return new Token(Token.Kind.COMPARE, charArray,
-                        sourceFile.getCurrentLineNumber());
-            }
-            //If followed by equal sign
-            else{
-                charArray += currentChar;
-                return new Token(Token.Kind.COMPARE, charArray,
-                        sourceFile.getCurrentLineNumber());
-            }
-        }
-        //Equal sign
-        else if(character == '='){
-            currentChar = scannerGetNextChar();
-            //If followed by whitespace
-            if(currentChar != '='){
-                isChecked = false;
-                return new Token(Token.Kind.ASSIGN, charArray,
-                        sourceFile.getCurrentLineNumber());
-            }
-            //If followed by another equal sign
-            else{
-                charArray += currentChar;
-                return new Token(Token.Kind.COMPARE, charArray,
-                        sourceFile.getCurrentLineNumber());
-            }
-        }
-        //AND operator
-        else if(character == '&'){
-            currentChar = scannerGetNextChar();
-            //If followed by white space, throw an error
-            if(currentChar != '&'){
+    private boolean scanSpecialSymbols(char character){
+        switch (character) {
+            case '{':
+                return setToken(Token.Kind.LCURLY, "{", tokenStart + 1);
+            case '}':
+                return setToken(Token.Kind.RCURLY, "}", tokenStart + 1);
+            case '(':
+                return setToken(Token.Kind.LPAREN, "(", tokenStart + 1);
+            case ')':
+                return setToken(Token.Kind.RPAREN, ")", tokenStart + 1);
+            case ';':
+                return setToken(Token.Kind.SEMICOLON, ";", tokenStart + 1);
+            case ',':
+                return setToken(Token.Kind.COMMA, ",", tokenStart + 1);
+            case '.':
+                return setToken(Token.Kind.DOT, ".", tokenStart + 1);
+            case ':':
+                return setToken(Token.Kind.COLON, ":", tokenStart + 1);
+            case '*':
+                return setToken(Token.Kind.MULDIV, "*", tokenStart + 1);
+            case '%':
+                return setToken(Token.Kind.MULDIV, "%", tokenStart + 1);
+            case '!':
+                return scanOneOrTwoCharSymbol('=', Token.Kind.UNARYNOT, "!",
+                        Token.Kind.COMPARE, "!=");
+            case '+':
+                return scanOneOrTwoCharSymbol('+', Token.Kind.PLUSMINUS, "+",
+                        Token.Kind.UNARYINCR, "++");
+            case '-':
+                return scanOneOrTwoCharSymbol('-', Token.Kind.PLUSMINUS, "-",
+                        Token.Kind.UNARYDECR, "--");
+            case '<':
+                return scanOneOrTwoCharSymbol('=', Token.Kind.COMPARE, "<",
+                        Token.Kind.COMPARE, "<=");
+            case '>':
+                return scanOneOrTwoCharSymbol('=', Token.Kind.COMPARE, ">",
+                        Token.Kind.COMPARE, ">=");
+            case '=':
+                return scanOneOrTwoCharSymbol('=', Token.Kind.ASSIGN, "=",
+                        Token.Kind.COMPARE, "==");
+            // the single character & and | are not legal
+            case '&':
+                return scanOneOrTwoCharSymbol('&', Token.Kind.ERROR, "&",
+                        Token.Kind.BINARYLOGIC, "&&");
+            case '|':
+                return scanOneOrTwoCharSymbol('|', Token.Kind.ERROR, "|",
+                        Token.Kind.BINARYLOGIC, "||");
+            // Divide token or Comment
+            case '/':
+                currentChar = scannerGetNextChar();
+                //If followed by / or * skip the comment
+                if (currentChar == '/' || currentChar == '*') {
+                    scanComments();
+                    return false;
+                }
+                return setToken(Token.Kind.MULDIV, "/", tokenStart + 1);
+            default:
                 errorHandler.register(Error.Kind.SEMANT_ERROR, sourceFile.getFilename(),
                         sourceFile.getCurrentLineNumber(), "Invalid Symbol");
-                isChecked = false;
-                return new Token(Token.Kind.ERROR, charArray,
-                        sourceFile.getCurrentLineNumber());
-            }
-            //If followed by another &, create the token
-            else{
-                charArray += currentChar;
-                return new Token(Token.Kind.BINARYLOGIC, charArray,
-                        sourceFile.getCurrentLineNumber());
-            }
+                return setToken(Token.Kind.ERROR, null, tokenStart + 1);
         }
-        //OR operator
-        else if(character == '|'){
-            currentChar = scannerGetNextChar();
-            //If followed by white space, throw an error
-            if(currentChar != '|'){
-                errorHandler.register(Error.Kind.SEMANT_ERROR, sourceFile.getFilename(),
-                        sourceFile.getCurrentLineNumber(), "Invalid Symbol");
-                isChecked = false;
-                return new Token(Token.Kind.ERROR, charArray,
-                        sourceFile.getCurrentLineNumber());
-            }
-            //If followed by another &, create the token
-            else{
-                charArray += currentChar;
-                return new Token(Token.Kind.BINARYLOGIC, charArray,
-                        sourceFile.getCurrentLineNumber());
-            }
+    }
+
+    /**
+     * Scans a symbol that is either one character or, if it is followed by the
+     * given second character, two characters long.
+     *
+     * @param second         the second character of the two character symbol
+     * @param singleKind     the kind of the one character symbol
+     * @param singleSpelling the spelling of the one character symbol
+     * @param doubleKind     the kind of the two character symbol
+     * @param doubleSpelling the spelling of the two character symbol
+     * @return true
+     */
+    private boolean scanOneOrTwoCharSymbol(char second, Token.Kind singleKind,
+                                         String singleSpelling, Token.Kind doubleKind,
+                                         String doubleSpelling) {
+        currentChar = scannerGetNextChar();
+        if (currentChar == second) {
+            return setToken(doubleKind, doubleSpelling, tokenStart + 2);
         }
-        // Divide token or Comment
-        else if(character == '/'){
-            currentChar = scannerGetNextChar();
-            //If followed by whitespace it is a divide operator
-            if(currentChar != '/' && currentChar != '*'){
-                return new Token(Token.Kind.MULDIV, charArray,
-                        sourceFile.getCurrentLineNumber());
-            }
-            //If followed by / or * call comment method
-            else{
-               return scanComments();
-            }
+        if (singleKind == Token.Kind.ERROR) {
+            errorHandler.register(Error.Kind.SEMANT_ERROR, sourceFile.getFilename(),
+                    sourceFile.getCurrentLineNumber(), "Invalid Symbol");
         }
-
-        errorHandler.register(Error.Kind.SEMANT_ERROR, sourceFile.getFilename(),
-                sourceFile.getCurrentLineNumber(), "Invalid Symbol");
-        return new Token(Token.Kind.ERROR, charArray, sourceFile.getCurrentLineNumber());
+        isChecked = false;
+        return setToken(singleKind, singleSpelling, tokenStart + 1);
     }
 
     /**
      * Scans characters and returns the appropriate token
      *
-     * @param character char at beginning of token
-     * @return Token object containing token information
+     * @return true
      * */
-    private Token scanCharacters(char character){
+    private boolean scanCharacters(){
         //Keep going until white space
         //Check if they are keywoards or identifiers or booleans
-        StringBuilder stringBuilder = new StringBuilder();
-
-        stringBuilder.append(character);
+        int start = tokenStart;
         currentChar = scannerGetNextChar();
 
         // Word can contain alphabetical charaters, digits, and underscores
-        while(Character.isLetterOrDigit(currentChar) || currentChar == '_'){
-            stringBuilder.append(currentChar);
+        byte charClass = classOf(currentChar);
+        while (charClass == LETTER || charClass == DIGIT || currentChar == '_') {
             currentChar = scannerGetNextChar();
+            charClass = classOf(currentChar);
         }
+        int end = sourceFile.getCharIndex();
 
-        if(!whiteSpaceSet.contains(currentChar)){
+        if (charClass != WHITESPACE) {
             isChecked = false;
         }
-        if(stringTokenKindMap.containsKey(stringBuilder.toString())){
-
-            Token.Kind tokenType = stringTokenKindMap.get(stringBuilder.toString());
 
-            return new Token(tokenType, stringBuilder.toString(),
-                    sourceFile.getCurrentLineNumber());
-
-        }
-        else{
-            return new Token(Token.Kind.IDENTIFIER, stringBuilder.toString(),
-                    sourceFile.getCurrentLineNumber());
+        char[] source = sourceFile.getBuffer();
+        Token.Kind kind = Keywords.getKind(source, start, end);
+        if (kind != Token.Kind.IDENTIFIER) {
+            // keywords and boolean constants share the spelling held by Keywords
+            return setToken(kind, Keywords.getSpelling(source, start, end), end);
         }
-
+        return setToken(Token.Kind.IDENTIFIER, null, end);
     }
 
     /**
      * Scans integers and returns the appropriate token
      *
-     * @param character char at beginning of token
-     * @return Token object containing token information
+     * @return true
      * */
-    private Token scanIntegers(char character){
+    private boolean scanIntegers(){
         //Keep going until white space
+        long value = 0;
 
-        StringBuilder stringBuilder = new StringBuilder();
-
-        currentChar = character;
-
-        // Word can contain alphabetical characters, digits, and underscores
-        while(Character.isDigit(currentChar)){
-
-            stringBuilder.append(currentChar);
-
+        while (classOf(currentChar) == DIGIT) {
+            // stop accumulating once the value is known to be out of bounds
+            if (value < Integer.MAX_VALUE) {
+                value = value * 10 + Character.digit(currentChar, 10);
+            }
             currentChar = scannerGetNextChar();
-
         }
+        int end = sourceFile.getCharIndex();
 
-        if(!whiteSpaceSet.contains(currentChar)){
+        if (classOf(currentChar) != WHITESPACE) {
             isChecked = false;
         }
 
-        // Converts to Long to check if integer out of bounds
-        if(Long.parseLong(stringBuilder.toString()) < 0 ||
-                Long.parseLong(stringBuilder.toString()) >= Integer.MAX_VALUE){
+        if (value >= Integer.MAX_VALUE) {
 
             registerError("Var is out of bounds.");
 
-            return new Token(Token.Kind.ERROR, stringBuilder.toString(),
-                    sourceFile.getCurrentLineNumber());
+            return setToken(Token.Kind.ERROR, null, end);
 
         }
 
-        int currentPosition;
-        if(currentChar == SourceFile.EOL){
-            currentPosition = sourceFile.getCurrentLineNumber() -  1;
-        }
-        else{
-            currentPosition = sourceFile.getCurrentLineNumber();
-        }
-
-        return new Token(Token.Kind.INTCONST, stringBuilder.toString(),
-                currentPosition);
+        return setToken(Token.Kind.INTCONST, null, end);
     }
 
     /**
@@ -439,105 +499,137 @@ public class Scanner
     }
 
     /**
-     * Scans strings and returns a token holding the spelling
+     * returns true if the given character may follow a backslash in a string
      *
-     * @param firstChar char at beginning of token
-     * @return Token object containing token information
+     * @param c the character after the backslash
+     * @return true if \c is a legal escape sequence
+     */
+    private static boolean isLegalEscapeChar(char c) {
+        switch (c) {
+            case 'f':
+            case 'n':
+            case 't':
+            case '\\':
+            case '\"':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Scans strings, including the quotes
+     *
+     * @return true
      * */
-    private Token scanStrings(char firstChar) {
+    private boolean scanStrings() {
         //Keeps going until closing quotes
 
         boolean containsIllegalEscape = false;
 
-        StringBuilder stringBuilder = new StringBuilder();
+        int start = tokenStart;
 
         int startingLineNumber = sourceFile.getCurrentLineNumber();
 
-        stringBuilder.append(firstChar);
         currentChar = scannerGetNextChar();
         char lastChar;
 
-        // While !String.valueOf(currentChar).equals("\""
-        while(currentChar != '\"'){
+        while(currentChar != '\"' && !isAtEndOfSource()){
 
-            stringBuilder.append(currentChar);
             lastChar = currentChar;
             currentChar = scannerGetNextChar();
 
-
             // If last character was backslash, checks for legal escape character
             if(lastChar == '\\'){
 
-                if(!legalEscapeCharSet.contains(String.valueOf(currentChar))){
+                if(!isLegalEscapeChar(currentChar)){
                     containsIllegalEscape = true;
                 }
                 else{
-                    stringBuilder.append(currentChar);
                     currentChar = scannerGetNextChar();
                 }
             }
         }
 
-        stringBuilder.append(currentChar);
+        if(isAtEndOfSource()){
+
+            // reported at the opening quote, not at the end of the source
+            errorHandler.register(Error.Kind.LEX_ERROR, sourceFile.getFilename(),
+                    tokenLine, "String constant is not terminated.");
 
-        if(stringBuilder.length() > 5000){
+            return setToken(Token.Kind.ERROR, null, sourceFile.getLength());
+        }
+
+        int end = sourceFile.getCharIndex() + 1;
+
+        if(end - start > 5000){
 
             registerError("String constant exceeds 5000 characters.");
 
-            return new Token(Token.Kind.ERROR, stringBuilder.toString(),
-                    sourceFile.getCurrentLineNumber());
+            return setToken(Token.Kind.ERROR, null, end);
         }
         else if(sourceFile.getCurrentLineNumber() != startingLineNumber){
 
             registerError("String constant spans multiple lines.");
 
-            return new Token(Token.Kind.ERROR, stringBuilder.toString(),
-                    sourceFile.getCurrentLineNumber());
+            return setToken(Token.Kind.ERROR, null, end);
 
         }
         else if(containsIllegalEscape){
 
             registerError("String constant contains unsupported escape character.");
 
-            return new Token(Token.Kind.ERROR, stringBuilder.toString(),
-                    sourceFile.getCurrentLineNumber());
+            return setToken(Token.Kind.ERROR, null, end);
 
         }
         else {
 
-            return new Token(Token.Kind.STRCONST, stringBuilder.toString(),
-                    sourceFile.getCurrentLineNumber());
+            return setToken(Token.Kind.STRCONST, null, end);
 
         }
 
     }
 
     /**
-     * Scans comments
-     *
-     * @param commentStart character at beginning of token
-     * @return Token object containing token information
-     * */
-    /**
-     * Handles comments
+     * Skips a comment. The current character is the second character
+     * of the comment: '/' for a line comment or '*' for a block comment.
+     * A block comment that is not closed before the end of the source is
+     * registered as an error.
      * */
-    private Token scanComments(){
+    private void scanComments(){
         // If starts with // read the line
         // If Starts with /* read until comment block is closed
         if (currentChar == '/'){
-            while(currentChar != SourceFile.EOL){
+            while(currentChar != SourceFile.EOL && !isAtEndOfSource()){
                 currentChar = scannerGetNextChar();
             }
         }
         else if(currentChar == '*'){
-            while (true){
-                if((currentChar = scannerGetNextChar()) == '*' && (currentChar = scannerGetNextChar()) == '/'){
-                    break;
+            char lastChar = ' ';
+            currentChar = scannerGetNextChar();
+            while (lastChar != '*' || currentChar != '/'){
+                if (isAtEndOfSource()) {
+                    errorHandler.register(Error.Kind.LEX_ERROR, sourceFile.getFilename(),
+                            tokenLine, "Comment is not terminated.");
+                    return;
                 }
+                lastChar = currentChar;
+                currentChar = scannerGetNextChar();
             }
         }
-        return scan();
     }
+
+    /**
+     * returns true if all the characters of the source have been read.
+     * Unlike checking for SourceFile.EOF, this is not fooled by a
+     * NUL character in the source.
+     *
+     * @return true if the current character is the end of the source
+     */
+    private boolean isAtEndOfSource() {
+        return sourceFile.getCharIndex() >= sourceFile.getLength();
+    }
+
     /**
      * Gets next available char, helper method
      *
@@ -545,15 +637,8 @@ public class Scanner
      * @return char from SourceFile
      * */
     private char scannerGetNextChar(){
-        try{
-            currentChar = sourceFile.getNextChar();;
-            return currentChar;
-        }
-        catch(IOException ioException){
-            System.out.println("Caught IOException from SourceFile in Scanner");
-        }
-
-        return ' ';
+        currentChar = sourceFile.getNextChar();
+        return currentChar;
     }
 
     public static void main(String[] args){
@@ -18,10 +18,25 @@ package proj10LoverudeTymkiwCorrell.bantam.lexer;
 
 import proj10LoverudeTymkiwCorrell.bantam.util.CompilationException;
 
-import java.io.*;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 
 /**
  * A class for extracting the characters, one at a time, from a text file or a Reader.
+ * The whole source is read into a char buffer when the SourceFile is created
+ * (files are read with one FileChannel read and decoded in one step, Readers are
+ * drained with bulk reads), so getting the next character is just an array access
+ * and the characters can also be accessed directly by their index in the source.
  */
 class SourceFile
 {
@@ -29,8 +44,12 @@ class SourceFile
     public static final char CR = '\r';  // carriage return character
     public static final char EOF = '\u0000';     // end of file character
 
-    private Reader sourceReader;   // the reader of the data
+    private char[] buffer;         // all the characters of the source
+    private int length;            // the number of characters in the buffer
+    private int currentIndex;      // the index of the next character to be read
+    private int charIndex;         // the index of the last character read
     private int currentLineNumber; // for bantam error messages
+    private int lineStartIndex;    // the index of the first character of the current line
     private int prevChar;          // the previous character read
     private String filename;       // the file currently being scanned.
 
@@ -38,15 +57,26 @@ class SourceFile
      * creates a new SourceFile object for the file with the given name
      *
      * @param filename the name of the file to be read.
-     * @throws CompilationException if the file is not found
+     * @throws CompilationException if the file is not found or cannot be read
      */
     SourceFile(String filename) {
-        try {
-            sourceReader = new FileReader(filename);
-        } catch (FileNotFoundException e) {
-            throw new CompilationException("File " + filename + "not found.", e);
+        try (FileChannel channel = FileChannel.open(Paths.get(filename),
+                StandardOpenOption.READ)) {
+            ByteBuffer bytes = ByteBuffer.allocate((int) channel.size());
+            while (bytes.hasRemaining() && channel.read(bytes) != -1) {
+                // keep reading until the whole file is in the buffer
+            }
+            bytes.flip();
+            decode(bytes);
+        } catch (NoSuchFileException e) {
+            throw new CompilationException("File " + filename + " not found.", e);
+        } catch (IOException e) {
+            throw new CompilationException("File " + filename + " could not be read.", e);
         }
+        currentIndex = 0;
+        charIndex = -1;
         currentLineNumber = 1;
+        lineStartIndex = 0;
         prevChar = -1;
         this.filename = filename;
     }
@@ -55,11 +85,129 @@ class SourceFile
      * creates a new SourceFile object for the given Reader
      *
      * @param in the Reader that provides the characters to be processes
+     * @throws CompilationException if the Reader cannot be read
      */
     SourceFile(Reader in) {
-        sourceReader = in;
+        this(in, null);
+    }
+
+    /**
+     * creates a new SourceFile object for the given Reader
+     *
+     * @param in       the Reader that provides the characters to be processes
+     * @param filename the name to use for the source in error messages
+     * @throws CompilationException if the Reader cannot be read
+     */
+    SourceFile(Reader in, String filename) {
+        buffer = new char[8192];
+        length = 0;
+        try {
+            int count;
+            while ((count = in.read(buffer, length, buffer.length - length)) != -1) {
+                length += count;
+                if (length == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+            }
+        } catch (IOException e) {
+            throw new CompilationException("The source could not be read.", e);
+        }
+        currentIndex = 0;
+        charIndex = -1;
         currentLineNumber = 1;
+        lineStartIndex = 0;
         prevChar = -1;
+        this.filename = filename;
+    }
+
+    /**
+     * creates a new SourceFile object for the characters of the given text,
+     * such as the contents of an editor.  The text is copied, so later
+     * changes to it do not affect the SourceFile.
+     *
+     * @param text     the characters of the source
+     * @param filename the name to use for the source in error messages
+     */
+    SourceFile(CharSequence text, String filename) {
+        length = text.length();
+        buffer = new char[length];
+        // copied straight into the buffer, without a String in between
+        if (text instanceof String) {
+            ((String) text).getChars(0, length, buffer, 0);
+        }
+        else if (text instanceof StringBuilder) {
+            ((StringBuilder) text).getChars(0, length, buffer, 0);
+        }
+        else {
+            for (int i = 0; i < length; i++) {
+                buffer[i] = text.charAt(i);
+            }
+        }
+        currentIndex = 0;
+        charIndex = -1;
+        currentLineNumber = 1;
+        lineStartIndex = 0;
+        prevChar = -1;
+        this.filename = filename;
+    }
+
+    /**
+     * creates a new SourceFile object for the first length characters of the
+     * given array, which the SourceFile takes ownership of
+     *
+     * @param buffer   the characters of the source
+     * @param length   the number of characters in the source
+     * @param filename the name of the file the characters come from or null
+     */
+    private SourceFile(char[] buffer, int length, String filename) {
+        this.buffer = buffer;
+        this.length = length;
+        currentIndex = 0;
+        charIndex = -1;
+        currentLineNumber = 1;
+        lineStartIndex = 0;
+        prevChar = -1;
+        this.filename = filename;
+    }
+
+    /**
+     * creates a new SourceFile whose characters are the characters of this
+     * one with the given edit applied.  This SourceFile is not changed.
+     *
+     * @param offset        the index of the first character replaced
+     * @param removedLength the number of characters replaced
+     * @param insertedText  the characters inserted in their place
+     * @return the edited SourceFile, positioned at its first character
+     */
+    SourceFile edit(int offset, int removedLength, CharSequence insertedText) {
+        int insertedLength = insertedText.length();
+        int newLength = length - removedLength + insertedLength;
+        char[] newBuffer = new char[newLength];
+        System.arraycopy(buffer, 0, newBuffer, 0, offset);
+        for (int i = 0; i < insertedLength; i++) {
+            newBuffer[offset + i] = insertedText.charAt(i);
+        }
+        System.arraycopy(buffer, offset + removedLength, newBuffer,
+                offset + insertedLength, length - offset - removedLength);
+        return new SourceFile(newBuffer, newLength, filename);
+    }
+
+    /**
+     * decodes the given bytes with the default charset (the one FileReader uses)
+     * directly into the character buffer.  Malformed input is replaced, as
+     * FileReader does.
+     *
+     * @param bytes the bytes of the source file
+     */
+    private void decode(ByteBuffer bytes) {
+        CharsetDecoder decoder = Charset.defaultCharset().newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        buffer = new char[(int) Math.ceil(bytes.remaining() * (double) decoder.maxCharsPerByte())];
+        CharBuffer chars = CharBuffer.wrap(buffer);
+        decoder.decode(bytes, chars, true);
+        decoder.flush(chars);
+        length = chars.position();
     }
 
     int getCurrentLineNumber() {
@@ -68,23 +216,104 @@ class SourceFile
 
     String getFilename() { return filename;}
 
+    /**
+     * @return the index in the source of the first character of the current line
+     */
+    int getLineStartIndex() {
+        return lineStartIndex;
+    }
+
+    /**
+     * @return the index in the source of the next character to be read
+     */
+    int getCurrentIndex() {
+        return currentIndex;
+    }
+
+    /**
+     * @return the index in the source of the character most recently returned by
+     * getNextChar, or the length of the source if that character was EOF
+     */
+    int getCharIndex() {
+        return charIndex;
+    }
+
+    /**
+     * @return the array holding the characters of the source.  Only the
+     * first getLength() characters are part of the source.
+     */
+    char[] getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * @return the number of characters in the source
+     */
+    int getLength() {
+        return length;
+    }
+
+    /**
+     * Returns the character at the given index without changing the position
+     * of the next character to be read.
+     *
+     * @param index the index of the character in the source
+     * @return the character at that index or EOF if the index is past the end
+     */
+    char charAt(int index) {
+        return index < length ? buffer[index] : EOF;
+    }
+
+    /**
+     * Returns the characters of the source from start (inclusive) to end (exclusive).
+     *
+     * @param start the index of the first character
+     * @param end   the index after the last character
+     * @return a new String containing those characters
+     */
+    String getText(int start, int end) {
+        return new String(buffer, start, end - start);
+    }
+
+    /**
+     * Moves to the given index in the source, so that the next character
+     * returned by getNextChar is the character at that index.
+     *
+     * @param index          the index of the next character to be read
+     * @param lineNumber     the line number of that character
+     * @param lineStartIndex the index of the first character of that line
+     */
+    void seek(int index, int lineNumber, int lineStartIndex) {
+        currentIndex = index;
+        charIndex = index - 1;
+        currentLineNumber = lineNumber;
+        this.lineStartIndex = lineStartIndex;
+        prevChar = index > 0 ? buffer[index - 1] : -1;
+    }
+
     /**
      * Finds and returns the next character in the source file.
      * The current line number is incremented if the end of a line is reached
      *
      * @return the next character in the source file
      */
-    char getNextChar() throws IOException {
-        int c = sourceReader.read();
-
-        if (c == -1) {
+    char getNextChar() {
+        int c;
+        if (currentIndex >= length) {
             c = EOF;
+            charIndex = length;
         }
-        else if (c == CR || (c == EOL && prevChar != CR)) {
-            currentLineNumber++;
+        else {
+            charIndex = currentIndex;
+            c = buffer[currentIndex++];
+            if (c == CR || (c == EOL && prevChar != CR)) {
+                currentLineNumber++;
+            }
+            if (c == CR || c == EOL) {
+                lineStartIndex = currentIndex;
+            }
         }
         prevChar = c;
         return (char) c;
     }
 }
-
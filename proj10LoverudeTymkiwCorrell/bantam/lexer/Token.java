@@ -15,8 +15,6 @@
 
  package proj10LoverudeTymkiwCorrell.bantam.lexer;
 
- import java.util.Set;
-
  /**
   * This class represents a meaningful sequence of characters in the
   * source code.
@@ -42,20 +40,11 @@
       * @param position the line number in the source file containing the token
       */
      Token(Kind kind, String spelling, int position) {
+         // the Scanner has already given boolean constants and keywords,
+         // which are not of kind IDENTIFIER, their own kinds
+         this.kind = kind;
          this.spelling = spelling;
          this.position = position;
-
-         // patch the kind field in the cases of boolean constants and keywords,
-         // which are not of kind IDENTIFIER
-         if (kind == Kind.IDENTIFIER && (spelling.equals("true") || spelling.equals("false"))) {
-             this.kind = Kind.BOOLEAN;
-         }
-         else if (kind == Kind.IDENTIFIER && reservedWords.contains(spelling)) {
-             this.kind = Enum.valueOf(Kind.class, spelling.toUpperCase());
-         }
-         else {
-             this.kind = kind;
-         }
      }
 
      /**
@@ -92,9 +81,6 @@
          RETURN, WHILE
      }
 
-     /** a set of all the reserved words of Bantam Java */
-     private static Set<String> reservedWords = Set.of("break", "cast", "class", "var",
-             "else", "extends", "for", "if", "instanceof", "new", "return", "while");
 
  }
 
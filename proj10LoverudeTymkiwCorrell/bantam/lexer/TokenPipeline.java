@@ -0,0 +1,358 @@
+/*
+ * File: TokenPipeline.java
+ * Date: 10/2026
+ */
+
+package proj10LoverudeTymkiwCorrell.bantam.lexer;
+
+import proj10LoverudeTymkiwCorrell.bantam.util.Error;
+import proj10LoverudeTymkiwCorrell.bantam.util.ErrorHandler;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The tokens of a source scanned by a Scanner on a thread of its own, so
+ * that scanning and parsing overlap on two cores.  The scanner thread adds
+ * the tokens to a ring buffer of parallel arrays and the parsing thread
+ * takes them from the other end with next(), which returns the same Token
+ * objects Scanner.scan() would.  The ring has one writer and one reader, so
+ * it needs no locks: each end only publishes a counter of the tokens it
+ * added or took, and waits by spinning, then yielding, then sleeping
+ * briefly when the ring is full or empty.
+ * <p>
+ * The tokens in the ring that have not been taken can be looked at with
+ * peekKind, which gives the parser a lookahead of up to the capacity of
+ * the ring.
+ * <p>
+ * Errors found by the Scanner are registered with its ErrorHandler by the
+ * thread that takes the tokens, when it takes the token they were found in,
+ * so they are registered in the same order, and on the same thread, as
+ * when the tokens are scanned with Scanner.scan().
+ * TokenPipelines are created by Scanner.scanConcurrently().
+ */
+public class TokenPipeline implements AutoCloseable
+{
+    /** the number of tokens the ring holds unless another capacity is given */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private static final Token.Kind[] kindValues = Token.Kind.values();
+
+    /** an error found while scanning the token with the given number */
+    private static class PendingError
+    {
+        final long tokenIndex;
+        final Error error;
+
+        PendingError(long tokenIndex, Error error) {
+            this.tokenIndex = tokenIndex;
+            this.error = error;
+        }
+    }
+
+    private final Scanner scanner;
+    private final SourceFile sourceFile;
+    /** the ErrorHandler the errors are registered with when their token is taken */
+    private final ErrorHandler errorHandler;
+    private final Queue<PendingError> pendingErrors = new ConcurrentLinkedQueue<>();
+    private final Thread thread;
+
+    // the ring: token number i is in slot i & mask.  A null spelling means
+    // the spelling is the source text of the token
+    private final int mask;
+    private final byte[] kinds;
+    private final String[] spellings;
+    private final int[] starts;
+    private final int[] ends;
+    private final int[] positions;
+
+    // the number of tokens added by the scanner thread and taken by the
+    // parsing thread; each is written by one thread and read by the other
+    private final AtomicLong added = new AtomicLong();
+    private final AtomicLong taken = new AtomicLong();
+
+    // used only by the scanner thread: its own count of the tokens added and
+    // the count of tokens taken when it last looked
+    private long addedCount;
+    private long takenSeen;
+
+    // used only by the parsing thread: its own count of the tokens taken,
+    // the count of tokens added when it last looked, and the EOF token
+    // once it has been taken
+    private long takenCount;
+    private long addedSeen;
+    private Token eofToken;
+
+    // set when the scanner thread stops and by close()
+    private volatile boolean finished;
+    private volatile Throwable failure;
+    private volatile boolean closed;
+
+    /**
+     * creates a TokenPipeline for the remaining tokens of a Scanner
+     *
+     * @param scanner      the Scanner, which is used only by the new thread
+     * @param sourceFile   the source being scanned
+     * @param errorHandler the ErrorHandler of the Scanner
+     * @param capacity     the number of tokens the ring holds, rounded up to
+     *                     a power of 2
+     */
+    TokenPipeline(Scanner scanner, SourceFile sourceFile, ErrorHandler errorHandler,
+                  int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("The capacity must be at least 2: " + capacity);
+        }
+        this.scanner = scanner;
+        this.sourceFile = sourceFile;
+        this.errorHandler = errorHandler;
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        mask = size - 1;
+        kinds = new byte[size];
+        spellings = new String[size];
+        starts = new int[size];
+        ends = new int[size];
+        positions = new int[size];
+        thread = new Thread(this::scanAll, "Bantam scanner");
+        thread.setDaemon(true);
+    }
+
+    /**
+     * @return the ErrorHandler for the Scanner to register its errors with,
+     * which keeps them until their token is taken
+     */
+    ErrorHandler getScannerErrorHandler() {
+        return new ErrorHandler()
+        {
+            @Override
+            public void register(Error.Kind kind, String filename, int lineNum,
+                                 String errorMessage) {
+                pendingErrors.add(new PendingError(addedCount,
+                        new Error(kind, filename, lineNum, errorMessage)));
+            }
+
+            @Override
+            public void register(Error.Kind kind, String errorMessage) {
+                pendingErrors.add(new PendingError(addedCount,
+                        new Error(kind, null, -1, errorMessage)));
+            }
+        };
+    }
+
+    /**
+     * starts the scanner thread
+     */
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * scans tokens into the ring, on the scanner thread, until the EOF token
+     * is added or the pipeline is closed
+     */
+    private void scanAll() {
+        try {
+            Token.Kind kind;
+            do {
+                if (!waitForRoom()) {
+                    return;
+                }
+                kind = scanner.scanInto(this);
+            } while (kind != Token.Kind.EOF);
+        }
+        catch (Throwable e) {
+            failure = e;
+        }
+        finally {
+            finished = true;
+        }
+    }
+
+    /**
+     * waits, on the scanner thread, until the ring has room for a token
+     *
+     * @return true if it has room or false if the pipeline was closed
+     */
+    private boolean waitForRoom() {
+        int attempts = 0;
+        while (addedCount - takenSeen > mask) {
+            takenSeen = taken.get();
+            if (addedCount - takenSeen > mask) {
+                if (closed) {
+                    return false;
+                }
+                backOff(attempts++);
+            }
+        }
+        return !closed;
+    }
+
+    /**
+     * adds a token to the ring, on the scanner thread
+     *
+     * @param kind     the kind of the token
+     * @param spelling the constant spelling of the token or null if the
+     *                 spelling is the source text of the token
+     * @param start    the index of the first character of the token
+     * @param end      the index after the last character of the token
+     * @param position the line number of the token
+     */
+    void add(Token.Kind kind, String spelling, int start, int end, int position) {
+        int slot = (int) addedCount & mask;
+        kinds[slot] = (byte) kind.ordinal();
+        spellings[slot] = spelling;
+        starts[slot] = start;
+        ends[slot] = end;
+        positions[slot] = position;
+        addedCount++;
+        // publishes the token to the parsing thread
+        added.lazySet(addedCount);
+    }
+
+    /**
+     * Takes the next token, waiting for the scanner thread if it has not
+     * scanned it yet.  Once the EOF token has been taken, it is returned
+     * again by every call.
+     *
+     * @return the next token
+     * @throws RuntimeException the exception that stopped the scanner thread
+     */
+    public Token next() {
+        if (eofToken != null) {
+            return eofToken;
+        }
+        waitForTokens(1);
+        int slot = (int) takenCount & mask;
+        Token.Kind kind = kindValues[kinds[slot]];
+        String spelling = spellings[slot];
+        if (spelling == null) {
+            spelling = sourceFile.getText(starts[slot], ends[slot]);
+        }
+        Token token = new Token(kind, spelling, positions[slot]);
+        registerErrors(takenCount);
+        takenCount++;
+        // frees the slot for the scanner thread
+        taken.lazySet(takenCount);
+        if (kind == Token.Kind.EOF) {
+            eofToken = token;
+        }
+        return token;
+    }
+
+    /**
+     * Looks ahead at the tokens that have not been taken yet.
+     * peekKind(1) is the kind of the token the next call of next() returns,
+     * peekKind(2) the kind of the one after it, and so on.  The kind of
+     * every token after the EOF token is EOF.
+     *
+     * @param ahead the number of the token, counting from the next one
+     * @return the kind of the token
+     * @throws IllegalArgumentException if ahead is less than 1 or more than
+     *                                  the capacity of the ring
+     * @throws RuntimeException the exception that stopped the scanner thread
+     */
+    public Token.Kind peekKind(int ahead) {
+        if (ahead < 1 || ahead > mask + 1) {
+            throw new IllegalArgumentException("Cannot look " + ahead
+                    + " tokens ahead in a ring of " + (mask + 1));
+        }
+        if (eofToken != null) {
+            return Token.Kind.EOF;
+        }
+        waitForTokens(ahead);
+        long available = Math.min(addedSeen - takenCount, ahead);
+        return kindValues[kinds[(int) (takenCount + available - 1) & mask]];
+    }
+
+    /**
+     * Waits, on the parsing thread, until the given number of tokens that
+     * have not been taken are in the ring, or until the EOF token is.
+     *
+     * @param count the number of tokens
+     * @throws RuntimeException the exception that stopped the scanner thread
+     */
+    private void waitForTokens(int count) {
+        int attempts = 0;
+        while (addedSeen - takenCount < count) {
+            // no tokens come after the EOF token, which stays in the ring until it is taken
+            if (addedSeen > takenCount
+                    && kinds[(int) (addedSeen - 1) & mask] == Token.Kind.EOF.ordinal()) {
+                return;
+            }
+            // read before the count, so that a thread found stopped has
+            // published all the tokens it added
+            boolean stopped = finished;
+            long addedNow = added.get();
+            if (addedNow != addedSeen) {
+                addedSeen = addedNow;
+            }
+            else if (stopped) {
+                throw scannerFailure();
+            }
+            else {
+                backOff(attempts++);
+            }
+        }
+    }
+
+    /**
+     * @return the exception to throw on the parsing thread when the scanner
+     * thread stopped before adding the EOF token
+     */
+    private RuntimeException scannerFailure() {
+        Throwable cause = failure;
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof java.lang.Error) {
+            throw (java.lang.Error) cause;
+        }
+        return new IllegalStateException("The scanner thread stopped before the end of the source",
+                cause);
+    }
+
+    /**
+     * registers the errors found while scanning the tokens up to the given one
+     *
+     * @param tokenIndex the number of a token
+     */
+    private void registerErrors(long tokenIndex) {
+        PendingError pending = pendingErrors.peek();
+        while (pending != null && pending.tokenIndex <= tokenIndex) {
+            pendingErrors.poll();
+            Error error = pending.error;
+            errorHandler.register(error.getKind(), error.getFilename(), error.getLineNum(),
+                    error.getMessage());
+            pending = pendingErrors.peek();
+        }
+    }
+
+    /**
+     * Waits for a while: spins for the first few attempts, since the other
+     * thread is usually about to catch up, then gives up the processor, and
+     * at last sleeps briefly so that a stalled thread does not burn a core.
+     *
+     * @param attempts the number of times the caller has waited already
+     */
+    private static void backOff(int attempts) {
+        if (attempts < 64) {
+            Thread.onSpinWait();
+        }
+        else if (attempts < 128) {
+            Thread.yield();
+        }
+        else {
+            LockSupport.parkNanos(20_000);
+        }
+    }
+
+    /**
+     * stops the scanner thread if it is still scanning; the tokens not yet
+     * taken are dropped
+     */
+    @Override
+    public void close() {
+        closed = true;
+    }
+}
@@ -0,0 +1,452 @@
+/*
+ * File: TokenStream.java
+ * Date: 10/2026
+ */
+
+package proj10LoverudeTymkiwCorrell.bantam.lexer;
+
+import proj10LoverudeTymkiwCorrell.bantam.util.ErrorHandler;
+
+import java.util.Arrays;
+
+/**
+ * All the tokens of a source file, stored as parallel arrays of primitives
+ * instead of as Token objects.  For each token the stream keeps its kind,
+ * the index of its first character in the source, the index after its last
+ * character, and the line and column (both starting at 1) of its first
+ * character.  Spellings are not stored; they are sliced from the source
+ * when they are asked for.
+ * The last token of a stream is always the EOF token.
+ * TokenStreams are created by Scanner.scanAll().
+ * <p>
+ * When the source is edited, update re-scans only the tokens around the
+ * edit: it restarts the Scanner at the last token that the edit cannot have
+ * changed and stops as soon as it scans a token starting where a token after
+ * the edit used to start, since from there on the Scanner would produce the
+ * same tokens as before, just shifted.
+ */
+public class TokenStream
+{
+    private static final Token.Kind[] kindValues = Token.Kind.values();
+
+    /** the source the tokens were scanned from */
+    private SourceFile sourceFile;
+
+    // the parallel arrays, indexed by token number
+    private byte[] kinds;
+    private int[] starts;
+    private int[] ends;
+    private int[] lines;
+    private int[] columns;
+    /** the number of tokens in the stream */
+    private int size;
+
+    /**
+     * creates an empty TokenStream for the given source
+     *
+     * @param sourceFile the source of the tokens
+     */
+    TokenStream(SourceFile sourceFile) {
+        // sources rarely have more than one token for every three characters
+        this(sourceFile, Math.max(16, sourceFile.getLength() / 3));
+    }
+
+    /**
+     * creates an empty TokenStream for the given source with room for the
+     * given number of tokens
+     *
+     * @param sourceFile the source of the tokens
+     * @param capacity   the number of tokens to make room for
+     */
+    private TokenStream(SourceFile sourceFile, int capacity) {
+        this.sourceFile = sourceFile;
+        kinds = new byte[capacity];
+        starts = new int[capacity];
+        ends = new int[capacity];
+        lines = new int[capacity];
+        columns = new int[capacity];
+    }
+
+    /**
+     * adds a token to the end of the stream
+     *
+     * @param kind   the kind of the token
+     * @param start  the index of the first character of the token
+     * @param end    the index after the last character of the token
+     * @param line   the line of the first character of the token
+     * @param column the column of the first character of the token
+     */
+    void add(Token.Kind kind, int start, int end, int line, int column) {
+        if (size == kinds.length) {
+            resize(size * 2);
+        }
+        kinds[size] = (byte) kind.ordinal();
+        starts[size] = start;
+        ends[size] = end;
+        lines[size] = line;
+        columns[size] = column;
+        size++;
+    }
+
+    /**
+     * shrinks the arrays to the number of tokens in the stream
+     */
+    void trim() {
+        if (size < kinds.length) {
+            resize(size);
+        }
+    }
+
+    /**
+     * copies the arrays into arrays of the given length
+     *
+     * @param capacity the new length of the arrays
+     */
+    private void resize(int capacity) {
+        kinds = Arrays.copyOf(kinds, capacity);
+        starts = Arrays.copyOf(starts, capacity);
+        ends = Arrays.copyOf(ends, capacity);
+        lines = Arrays.copyOf(lines, capacity);
+        columns = Arrays.copyOf(columns, capacity);
+    }
+
+    /**
+     * Updates the tokens for an edit of the source: removedLength characters
+     * starting at offset are replaced by insertedText.  Only the tokens near
+     * the edit are scanned again; the tokens after them are moved.
+     * Errors found while scanning are registered with the given handler.
+     *
+     * @param offset        the index in the source of the first character replaced
+     * @param removedLength the number of characters replaced
+     * @param insertedText  the characters inserted in their place
+     * @param handler       the ErrorHandler that collects the errors found
+     * @return the range of tokens that was replaced
+     * @throws IndexOutOfBoundsException if the edit is not inside the source
+     */
+    public Change update(int offset, int removedLength, CharSequence insertedText,
+                         ErrorHandler handler) {
+        int length = sourceFile.getLength();
+        if (offset < 0 || removedLength < 0 || offset + removedLength > length) {
+            throw new IndexOutOfBoundsException("Edit of " + removedLength
+                    + " characters at " + offset + " in a source of " + length);
+        }
+        SourceFile newSource = sourceFile.edit(offset, removedLength, insertedText);
+        int delta = insertedText.length() - removedLength;
+
+        // restart at the last token that ends before the edit.  The Scanner
+        // looks at most one character past the end of a token, so that token
+        // and the ones before it cannot have changed.
+        int first = lastTokenEndingBefore(offset);
+        Scanner scanner = new Scanner(newSource, handler);
+        if (first < 0) {
+            first = 0;
+            scanner.restartAt(0, 1, 0);
+        }
+        else {
+            scanner.restartAt(starts[first], lines[first],
+                    starts[first] - columns[first] + 1);
+        }
+
+        // scan until a token starts where an old token after the edit started
+        // or until the end of the source
+        TokenStream scanned = new TokenStream(newSource, 16);
+        int next = firstTokenStartingAt(offset + removedLength);
+        int lineDelta = 0;
+        int columnDelta = 0;
+        int syncLine = 0;
+        while (true) {
+            Token.Kind kind = scanner.scanInto(scanned);
+            int last = scanned.size - 1;
+            while (next < size && starts[next] + delta < scanned.starts[last]) {
+                next++;
+            }
+            if (next < size && starts[next] + delta == scanned.starts[last]) {
+                // the old tokens from next on are still right once they are moved
+                lineDelta = scanned.lines[last] - lines[next];
+                columnDelta = scanned.columns[last] - columns[next];
+                syncLine = lines[next];
+                scanned.size = last;
+                break;
+            }
+            if (kind == Token.Kind.EOF) {
+                // all the old tokens after the restart point are replaced
+                next = size;
+                break;
+            }
+        }
+
+        // the tokens scanned again before the edit are usually unchanged
+        int unchanged = 0;
+        while (unchanged < scanned.size && first + unchanged < next
+                && ends[first + unchanged] < offset
+                && scanned.isSameToken(unchanged, this, first + unchanged)) {
+            unchanged++;
+        }
+        first += unchanged;
+        int insertedCount = scanned.size - unchanged;
+        int removedCount = next - first;
+
+        // move the tokens after the change and copy in the new ones
+        int newSize = size - removedCount + insertedCount;
+        if (newSize > kinds.length) {
+            resize(Math.max(newSize, kinds.length * 2));
+        }
+        int tailStart = first + insertedCount;
+        System.arraycopy(kinds, next, kinds, tailStart, size - next);
+        System.arraycopy(starts, next, starts, tailStart, size - next);
+        System.arraycopy(ends, next, ends, tailStart, size - next);
+        System.arraycopy(lines, next, lines, tailStart, size - next);
+        System.arraycopy(columns, next, columns, tailStart, size - next);
+        System.arraycopy(scanned.kinds, unchanged, kinds, first, insertedCount);
+        System.arraycopy(scanned.starts, unchanged, starts, first, insertedCount);
+        System.arraycopy(scanned.ends, unchanged, ends, first, insertedCount);
+        System.arraycopy(scanned.lines, unchanged, lines, first, insertedCount);
+        System.arraycopy(scanned.columns, unchanged, columns, first, insertedCount);
+        size = newSize;
+
+        if (delta != 0 || lineDelta != 0 || columnDelta != 0) {
+            for (int i = tailStart; i < size; i++) {
+                // only the tokens on the line where the edit ends change columns
+                if (lines[i] == syncLine) {
+                    columns[i] += columnDelta;
+                }
+                starts[i] += delta;
+                ends[i] += delta;
+                lines[i] += lineDelta;
+            }
+        }
+        sourceFile = newSource;
+        return new Change(first, removedCount, insertedCount);
+    }
+
+    /**
+     * @param offset an index in the source
+     * @return the number of the last token that ends before the given index
+     * or -1 if there is none
+     */
+    private int lastTokenEndingBefore(int offset) {
+        // the ends are in increasing order, so binary search them
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (ends[mid] < offset) {
+                low = mid + 1;
+            }
+            else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    /**
+     * @param offset an index in the source
+     * @return the number of the first token that starts at or after the given
+     * index or the number of tokens if there is none
+     */
+    private int firstTokenStartingAt(int offset) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid] < offset) {
+                low = mid + 1;
+            }
+            else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return true if token index of this stream and token otherIndex of the
+     * other stream have the same kind, characters and position
+     */
+    private boolean isSameToken(int index, TokenStream other, int otherIndex) {
+        return kinds[index] == other.kinds[otherIndex]
+                && starts[index] == other.starts[otherIndex]
+                && ends[index] == other.ends[otherIndex]
+                && lines[index] == other.lines[otherIndex]
+                && columns[index] == other.columns[otherIndex];
+    }
+
+    /**
+     * @return the number of tokens in the stream, including the EOF token
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the name of the file the tokens were scanned from or null if
+     * they were scanned from a Reader
+     */
+    public String getFilename() {
+        return sourceFile.getFilename();
+    }
+
+    /**
+     * @return the number of characters in the source
+     */
+    public int getSourceLength() {
+        return sourceFile.getLength();
+    }
+
+    /**
+     * Returns the characters of the source between two indexes, such as the
+     * white space and comments between two tokens.
+     *
+     * @param start the index of the first character
+     * @param end   the index after the last character
+     * @return the characters from start up to end
+     * @throws IndexOutOfBoundsException if the range is not inside the source
+     */
+    public String getText(int start, int end) {
+        if (start < 0 || start > end || end > sourceFile.getLength()) {
+            throw new IndexOutOfBoundsException("Characters " + start + " to " + end
+                    + " of " + sourceFile.getLength());
+        }
+        return sourceFile.getText(start, end);
+    }
+
+    /**
+     * @param index the number of the token
+     * @return the kind of the token
+     */
+    public Token.Kind getKind(int index) {
+        return kindValues[kinds[checkIndex(index)]];
+    }
+
+    /**
+     * @param index the number of the token
+     * @return the index in the source of the first character of the token
+     */
+    public int getStart(int index) {
+        return starts[checkIndex(index)];
+    }
+
+    /**
+     * @param index the number of the token
+     * @return the index in the source after the last character of the token
+     */
+    public int getEnd(int index) {
+        return ends[checkIndex(index)];
+    }
+
+    /**
+     * @param index the number of the token
+     * @return the line number of the first character of the token
+     */
+    public int getLine(int index) {
+        return lines[checkIndex(index)];
+    }
+
+    /**
+     * @param index the number of the token
+     * @return the column of the first character of the token in its line
+     */
+    public int getColumn(int index) {
+        return columns[checkIndex(index)];
+    }
+
+    /**
+     * Returns the spelling of the token, sliced from the source.
+     * As with Token, the spelling of the EOF token is "\u0000".
+     *
+     * @param index the number of the token
+     * @return the characters making up the token
+     */
+    public String getSpelling(int index) {
+        if (getKind(index) == Token.Kind.EOF) {
+            return "\u0000";
+        }
+        return sourceFile.getText(starts[index], ends[index]);
+    }
+
+    /**
+     * creates a Token object for the token.  Its position is the line
+     * on which the token starts, as in the Tokens returned by Scanner.scan.
+     *
+     * @param index the number of the token
+     * @return a new Token with the kind, spelling and line of the token
+     */
+    public Token getToken(int index) {
+        return new Token(getKind(index), getSpelling(index), lines[index]);
+    }
+
+    /**
+     * finds the token containing the character at the given index in the source
+     *
+     * @param offset the index of a character in the source
+     * @return the number of the token containing that character or -1 if
+     * the character is not part of a token (white space or a comment)
+     */
+    public int indexOfOffset(int offset) {
+        // the tokens are in source order, so binary search the starts
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid] <= offset) {
+                low = mid + 1;
+            }
+            else {
+                high = mid - 1;
+            }
+        }
+        if (high >= 0 && offset < ends[high]) {
+            return high;
+        }
+        return -1;
+    }
+
+    /**
+     * @param index the number of a token
+     * @return the index if it is the number of a token in the stream
+     * @throws IndexOutOfBoundsException if it is not
+     */
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Token " + index + " of " + size);
+        }
+        return index;
+    }
+
+    /**
+     * The range of tokens replaced by an update of a TokenStream: the
+     * removedCount tokens starting at first were replaced by insertedCount
+     * new tokens.  The tokens after them are the same as before, moved to
+     * their new positions in the source.
+     */
+    public static class Change
+    {
+        /** the number of the first token that was replaced */
+        public final int first;
+        /** the number of old tokens that were removed */
+        public final int removedCount;
+        /** the number of new tokens that took their place */
+        public final int insertedCount;
+
+        /**
+         * constructor
+         * @param first         the number of the first token that was replaced
+         * @param removedCount  the number of old tokens that were removed
+         * @param insertedCount the number of new tokens that took their place
+         */
+        Change(int first, int removedCount, int insertedCount) {
+            this.first = first;
+            this.removedCount = removedCount;
+            this.insertedCount = insertedCount;
+        }
+
+        /**
+         * @return information about this change
+         */
+        public String toString() {
+            return "Change: first=" + first + ", removed=" + removedCount
+                    + ", inserted=" + insertedCount;
+        }
+    }
+}
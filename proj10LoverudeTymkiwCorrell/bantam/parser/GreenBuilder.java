@@ -0,0 +1,210 @@
+/*
+ * File: GreenBuilder.java
+ * Date: 10/2026
+ */
+
+package proj10LoverudeTymkiwCorrell.bantam.parser;
+
+import proj10LoverudeTymkiwCorrell.bantam.ast.ASTNode;
+import proj10LoverudeTymkiwCorrell.bantam.lexer.Token;
+import proj10LoverudeTymkiwCorrell.bantam.lexer.TokenStream;
+import proj10LoverudeTymkiwCorrell.bantam.util.Error;
+import proj10LoverudeTymkiwCorrell.bantam.util.ErrorHandler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the green nodes of a SyntaxTree as the Parser parses a
+ * TokenStream.  The Parser calls begin at the first token of a class,
+ * member, block or statement and end at the token after it.  The tokens
+ * in between that are not part of a child node become token nodes.
+ * <p>
+ * The builder also has an ErrorHandler for the Parser, which puts each
+ * syntax error in the node being built when it is registered.
+ */
+class GreenBuilder
+{
+    // token nodes with at most this many characters are shared
+    private static final int MAX_SHARED_TOKEN = 32;
+
+    /** a node being built */
+    private static class Frame
+    {
+        // the index of the first token of the node and of the next token that
+        // is not yet a child of it
+        int start;
+        int next;
+        final List<GreenNode> children = new ArrayList<>();
+        final List<Error> errors = new ArrayList<>();
+    }
+
+    private final TokenStream tokens;
+    // the nodes being built, innermost last; frames above depth are reused
+    private final List<Frame> frames = new ArrayList<>();
+    private int depth;
+    // token nodes by their text, such as ";\n" or "\n        }", so that the
+    // many tokens with the same text and the same white space share one node
+    private final Map<String, GreenNode> sharedTokens = new HashMap<>();
+
+    private final ErrorHandler errorHandler = new ErrorHandler()
+    {
+        @Override
+        public void register(Error.Kind kind, String filename, int lineNum,
+                             String errorMessage) {
+            addError(new Error(kind, filename, lineNum, errorMessage));
+        }
+
+        @Override
+        public void register(Error.Kind kind, String errorMessage) {
+            addError(new Error(kind, null, -1, errorMessage));
+        }
+    };
+
+    /**
+     * creates a builder for nodes of the given tokens
+     *
+     * @param tokens the tokens of the source
+     */
+    GreenBuilder(TokenStream tokens) {
+        this.tokens = tokens;
+    }
+
+    /**
+     * @return the ErrorHandler that the Parser must register its errors with
+     */
+    ErrorHandler getErrorHandler() {
+        return errorHandler;
+    }
+
+    /**
+     * starts a node
+     *
+     * @param tokenIndex the index of the first token of the node
+     * @return the mark to pass to end
+     */
+    int begin(int tokenIndex) {
+        if (depth == frames.size()) {
+            frames.add(new Frame());
+        }
+        Frame frame = frames.get(depth);
+        frame.start = tokenIndex;
+        frame.next = tokenIndex;
+        frame.children.clear();
+        frame.errors.clear();
+        return depth++;
+    }
+
+    /**
+     * Ends the node started with the given mark and makes it a child of the
+     * node around it.  A node with no tokens is dropped and its errors go to
+     * the node around it.  Nodes started after it and not ended, which only
+     * happens when an exception cut their parse short, are dissolved into it.
+     *
+     * @param mark       the mark returned by begin
+     * @param kind       the kind of the node
+     * @param tokenIndex the index of the token after the node
+     * @param ast        the AST node parsed from the node or null
+     * @return the new node or null if the node has no tokens
+     */
+    GreenNode end(int mark, SyntaxKind kind, int tokenIndex, ASTNode ast) {
+        while (depth > mark + 1) {
+            dissolveTop();
+        }
+        depth = mark;
+        Frame frame = frames.get(mark);
+        Frame parent = mark > 0 ? frames.get(mark - 1) : null;
+        if (frame.start == tokenIndex) {
+            if (parent != null) {
+                parent.errors.addAll(frame.errors);
+            }
+            return null;
+        }
+
+        addTokens(frame, tokenIndex);
+        int firstLine = tokens.getLine(frame.start);
+        Error[] errors = frame.errors.toArray(new Error[0]);
+        int[] errorLines = new int[errors.length];
+        for (int i = 0; i < errors.length; i++) {
+            int line = errors[i].getLineNum();
+            errorLines[i] = line < 0 ? GreenNode.NO_LINE : line - firstLine;
+        }
+        GreenNode node = new GreenNode(kind, frame.children.toArray(new GreenNode[0]),
+                ast, errors, errorLines);
+
+        if (parent != null) {
+            addTokens(parent, frame.start);
+            parent.children.add(node);
+            parent.next = tokenIndex;
+        }
+        return node;
+    }
+
+    /**
+     * moves the children and errors of the innermost node to the node around it
+     */
+    private void dissolveTop() {
+        Frame frame = frames.get(--depth);
+        Frame parent = frames.get(depth - 1);
+        addTokens(parent, frame.start);
+        parent.children.addAll(frame.children);
+        parent.next = frame.next;
+        parent.errors.addAll(frame.errors);
+    }
+
+    /**
+     * adds the tokens from the next token of a node up to the given index
+     * as children of the node
+     *
+     * @param frame the node
+     * @param end   the index after the last token to add
+     */
+    private void addTokens(Frame frame, int end) {
+        for (int i = frame.next; i < end; i++) {
+            frame.children.add(token(i));
+        }
+        frame.next = Math.max(frame.next, end);
+    }
+
+    /**
+     * @param index the index of a token
+     * @return the token node for it
+     */
+    private GreenNode token(int index) {
+        Token.Kind kind = tokens.getKind(index);
+        int fullStart = index == 0 ? 0 : tokens.getEnd(index - 1);
+        // the EOF token also holds the white space and comments at the end
+        int start = kind == Token.Kind.EOF ? tokens.getSourceLength() : tokens.getStart(index);
+        int end = kind == Token.Kind.EOF ? start : tokens.getEnd(index);
+        String text = tokens.getText(fullStart, end);
+        int triviaWidth = start - fullStart;
+
+        if (text.length() > MAX_SHARED_TOKEN) {
+            return new GreenNode(kind, text, triviaWidth);
+        }
+        GreenNode node = sharedTokens.get(text);
+        if (node == null) {
+            node = new GreenNode(kind, text, triviaWidth);
+            sharedTokens.put(text, node);
+        }
+        else if (node.getTokenKind() != kind || node.getTriviaWidth() != triviaWidth) {
+            // the same characters split differently, such as the end of an
+            // unterminated comment
+            node = new GreenNode(kind, text, triviaWidth);
+        }
+        return node;
+    }
+
+    /**
+     * puts an error in the innermost node being built
+     *
+     * @param error the error
+     */
+    private void addError(Error error) {
+        if (depth > 0) {
+            frames.get(depth - 1).errors.add(error);
+        }
+    }
+}
@@ -0,0 +1,288 @@
+/*
+ * File: GreenNode.java
+ * Date: 10/2026
+ */
+
+package proj10LoverudeTymkiwCorrell.bantam.parser;
+
+import proj10LoverudeTymkiwCorrell.bantam.ast.ASTNode;
+import proj10LoverudeTymkiwCorrell.bantam.lexer.Token;
+import proj10LoverudeTymkiwCorrell.bantam.util.Error;
+
+/**
+ * A node of the lossless syntax tree kept by a SyntaxTree.  A green node is
+ * immutable and does not know where it is: it holds its kind, its children
+ * and its size (in characters, tokens and line breaks) but no offsets or
+ * line numbers, so a node can be shared by every version of the tree in
+ * which its text is unchanged.  An edit creates new nodes only for the
+ * nodes it reparses and their ancestors.  SyntaxNode adds the positions.
+ * <p>
+ * A token node holds the characters of the token together with the white
+ * space and comments before it, so the text of a tree is exactly the
+ * source it was parsed from.  The white space and comments after the last
+ * token belong to the EOF token.
+ * <p>
+ * A CLASS, MEMBER, BLOCK or STATEMENT node also holds the syntax errors
+ * found while parsing it but not while parsing its children, and the AST
+ * node parsed from it (null if it has syntax errors that left no AST).
+ * The AST node is the one part that is not immutable: it belongs to the
+ * latest version of the tree, and the edits after it is created update the
+ * AST nodes inside it in place.
+ */
+public final class GreenNode
+{
+    private static final GreenNode[] NO_CHILDREN = new GreenNode[0];
+    private static final Error[] NO_ERRORS = new Error[0];
+    private static final int[] NO_LINES = new int[0];
+
+    /** the relative line of an error that was registered without a line */
+    static final int NO_LINE = Integer.MIN_VALUE;
+
+    private final SyntaxKind kind;
+    // for a token: its kind, its text with the white space and comments
+    // before it, and the number of characters of white space and comments
+    private final Token.Kind tokenKind;
+    private final String text;
+    private final int triviaWidth;
+    private final GreenNode[] children;
+    private final ASTNode ast;
+    // the errors found in this node and their lines, counted from the line
+    // of the first token of the node
+    private final Error[] errors;
+    private final int[] errorLines;
+
+    private final int width;
+    private final int tokenCount;
+    private final int lineBreaks;
+    // the line breaks before the first token of the node
+    private final int leadingLineBreaks;
+    private final boolean hasErrors;
+
+    /**
+     * creates a token node
+     *
+     * @param tokenKind   the kind of the token
+     * @param text        the characters of the token with the white space and
+     *                    comments before it
+     * @param triviaWidth the number of characters of white space and comments
+     */
+    GreenNode(Token.Kind tokenKind, String text, int triviaWidth) {
+        this.kind = SyntaxKind.TOKEN;
+        this.tokenKind = tokenKind;
+        this.text = text;
+        this.triviaWidth = triviaWidth;
+        this.children = NO_CHILDREN;
+        this.ast = null;
+        this.errors = NO_ERRORS;
+        this.errorLines = NO_LINES;
+        this.width = text.length();
+        this.tokenCount = 1;
+        this.lineBreaks = countLineBreaks(text, text.length());
+        this.leadingLineBreaks = countLineBreaks(text, triviaWidth);
+        this.hasErrors = false;
+    }
+
+    /**
+     * creates a node with children
+     *
+     * @param kind       the kind of the node
+     * @param children   the children of the node, in source order
+     * @param ast        the AST node parsed from the node or null
+     * @param errors     the syntax errors found in the node but not in its children
+     * @param errorLines the lines of the errors, counted from the line of the
+     *                   first token of the node, or NO_LINE
+     */
+    GreenNode(SyntaxKind kind, GreenNode[] children, ASTNode ast, Error[] errors,
+              int[] errorLines) {
+        this.kind = kind;
+        this.tokenKind = null;
+        this.text = null;
+        this.triviaWidth = children[0].triviaWidth;
+        this.children = children;
+        this.ast = ast;
+        this.errors = errors.length == 0 ? NO_ERRORS : errors;
+        this.errorLines = errorLines.length == 0 ? NO_LINES : errorLines;
+
+        int width = 0;
+        int tokenCount = 0;
+        int lineBreaks = 0;
+        boolean hasErrors = errors.length > 0;
+        for (GreenNode child : children) {
+            width += child.width;
+            tokenCount += child.tokenCount;
+            lineBreaks += child.lineBreaks;
+            hasErrors |= child.hasErrors;
+        }
+        this.width = width;
+        this.tokenCount = tokenCount;
+        this.lineBreaks = lineBreaks;
+        this.leadingLineBreaks = children[0].leadingLineBreaks;
+        this.hasErrors = hasErrors;
+    }
+
+    /**
+     * counts the line breaks in the first characters of a text the way
+     * SourceFile counts lines: a "\r\n" is one line break
+     *
+     * @param text   the text
+     * @param length the number of characters to look at
+     * @return the number of line breaks
+     */
+    private static int countLineBreaks(String text, int length) {
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c == '\r' || (c == '\n' && (i == 0 || text.charAt(i - 1) != '\r'))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * creates a copy of this node with one child replaced
+     *
+     * @param index the index of the child
+     * @param child the new child
+     * @return the new node
+     */
+    GreenNode withChild(int index, GreenNode child) {
+        GreenNode[] newChildren = children.clone();
+        newChildren[index] = child;
+        return new GreenNode(kind, newChildren, ast, errors, errorLines);
+    }
+
+    /**
+     * @return the kind of the node
+     */
+    public SyntaxKind getKind() {
+        return kind;
+    }
+
+    /**
+     * @return the kind of the token if this is a token node or else null
+     */
+    public Token.Kind getTokenKind() {
+        return tokenKind;
+    }
+
+    /**
+     * @return the number of characters in the node, including the white
+     * space and comments before its first token
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return the number of characters of white space and comments before
+     * the first token of the node
+     */
+    public int getTriviaWidth() {
+        return triviaWidth;
+    }
+
+    /**
+     * @return the number of tokens in the node
+     */
+    public int getTokenCount() {
+        return tokenCount;
+    }
+
+    /**
+     * @return the number of line breaks in the text of the node
+     */
+    public int getLineBreaks() {
+        return lineBreaks;
+    }
+
+    /**
+     * @return the number of line breaks before the first token of the node
+     */
+    public int getLeadingLineBreaks() {
+        return leadingLineBreaks;
+    }
+
+    /**
+     * @return the number of children of the node, 0 for a token
+     */
+    public int getChildCount() {
+        return children.length;
+    }
+
+    /**
+     * @param index the index of the child
+     * @return the index-th child of the node
+     */
+    public GreenNode getChild(int index) {
+        return children[index];
+    }
+
+    /**
+     * @return the AST node parsed from the node, or null if it is a token,
+     * the program or a construct whose syntax errors left no AST node
+     */
+    public ASTNode getAst() {
+        return ast;
+    }
+
+    /**
+     * @return true if a syntax error was found in the node or its descendants
+     */
+    public boolean hasErrors() {
+        return hasErrors;
+    }
+
+    /**
+     * @return the errors found in this node but not in its children
+     */
+    Error[] getErrors() {
+        return errors;
+    }
+
+    /**
+     * @return the lines of the errors, counted from the line of the first
+     * token of the node, or NO_LINE
+     */
+    int[] getErrorLines() {
+        return errorLines;
+    }
+
+    /**
+     * @return the text of the node, including the white space and comments
+     * before its first token
+     */
+    public String getText() {
+        if (text != null) {
+            return text;
+        }
+        StringBuilder builder = new StringBuilder(width);
+        appendText(builder);
+        return builder.toString();
+    }
+
+    /**
+     * appends the text of the node to the given builder
+     *
+     * @param builder the builder
+     */
+    void appendText(StringBuilder builder) {
+        if (text != null) {
+            builder.append(text);
+        }
+        else {
+            for (GreenNode child : children) {
+                child.appendText(builder);
+            }
+        }
+    }
+
+    /**
+     * @return the kind and size of the node, for debugging
+     */
+    @Override
+    public String toString() {
+        return (tokenKind != null ? tokenKind : kind) + "[" + width + " characters, "
+                + tokenCount + " tokens]";
+    }
+}
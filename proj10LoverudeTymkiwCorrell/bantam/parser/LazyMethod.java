@@ -0,0 +1,84 @@
+/*
+ * File: LazyMethod.java
+ * Date: 10/2026
+ */
+
+package proj10LoverudeTymkiwCorrell.bantam.parser;
+
+import proj10LoverudeTymkiwCorrell.bantam.ast.FormalList;
+import proj10LoverudeTymkiwCorrell.bantam.ast.Method;
+import proj10LoverudeTymkiwCorrell.bantam.ast.StmtList;
+import proj10LoverudeTymkiwCorrell.bantam.lexer.TokenStream;
+import proj10LoverudeTymkiwCorrell.bantam.util.ErrorHandler;
+
+/**
+ * A Method created by Parser.parseSkeleton.  Its body was skipped by
+ * matching braces and is kept as a range of tokens, which is parsed the
+ * first time getStmtList() or isBodyIncomplete() is called.  Syntax errors
+ * in the body are registered at that time with the ErrorHandler of the
+ * skeleton parse, so until then the ErrorHandler does not hold them.  Once
+ * parsed, the body and the errors are those Parser.parse gives.
+ */
+class LazyMethod extends Method
+{
+    // the tokens of the source, until the body is parsed
+    private TokenStream tokens;
+    // the index of the '{' that starts the body and the index after its end
+    private final int bodyStart;
+    private final int bodyEnd;
+    private final String filename;
+    private final ErrorHandler errorHandler;
+
+    /**
+     * LazyMethod constructor
+     *
+     * @param lineNum      source line number corresponding to this AST node
+     * @param returnType   the return type of this method
+     * @param name         the name of this method
+     * @param formalList   a list of formal parameters
+     * @param tokens       the tokens of the source
+     * @param bodyStart    the index of the '{' that starts the body
+     * @param bodyEnd      the index after the '}' that ends the body
+     * @param filename     the name of the source in error messages
+     * @param errorHandler the ErrorHandler for syntax errors in the body
+     */
+    LazyMethod(int lineNum, String returnType, String name, FormalList formalList,
+               TokenStream tokens, int bodyStart, int bodyEnd, String filename,
+               ErrorHandler errorHandler) {
+        super(lineNum, returnType, name, formalList, null);
+        this.tokens = tokens;
+        this.bodyStart = bodyStart;
+        this.bodyEnd = bodyEnd;
+        this.filename = filename;
+        this.errorHandler = errorHandler;
+    }
+
+    /**
+     * Get list of statements from method body, parsing the body the first
+     * time it is called
+     *
+     * @return list of statements
+     */
+    @Override
+    public StmtList getStmtList() {
+        if (stmtList == null) {
+            Parser parser = new Parser(errorHandler);
+            stmtList = parser.parseBody(tokens, bodyStart, bodyEnd, filename);
+            bodyIncomplete = parser.getSyntaxErrorCount() > 0;
+            tokens = null;
+        }
+        return stmtList;
+    }
+
+    /**
+     * Tells whether the parser left statements with syntax errors out of
+     * the method body, parsing the body if it has not been parsed yet
+     *
+     * @return true if statements were left out of the body
+     */
+    @Override
+    public boolean isBodyIncomplete() {
+        getStmtList();
+        return bodyIncomplete;
+    }
+}
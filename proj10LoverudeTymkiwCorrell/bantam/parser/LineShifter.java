@@ -0,0 +1,287 @@
+/*
+ * File: LineShifter.java
+ * Date: 10/2026
+ */
+
+package proj10LoverudeTymkiwCorrell.bantam.parser;
+
+import proj10LoverudeTymkiwCorrell.bantam.ast.*;
+import proj10LoverudeTymkiwCorrell.bantam.visitor.Visitor;
+
+/**
+ * Moves AST nodes up or down by a number of lines, for a SyntaxTree whose
+ * edit inserted or removed lines before them.  It can move a whole subtree
+ * or only the nodes of a subtree that come after a given node in the source.
+ */
+class LineShifter extends Visitor
+{
+    // the number of lines to add to the line of each node
+    private int lineDelta;
+    // the node after which the nodes are moved, or null to move them all
+    private ASTNode after;
+    // true once the nodes are being moved
+    private boolean moving;
+
+    /**
+     * moves the given node and all the nodes in it
+     *
+     * @param node      the root of the subtree
+     * @param lineDelta the number of lines to move the nodes down
+     */
+    void shift(ASTNode node, int lineDelta) {
+        shiftAfter(node, null, lineDelta);
+    }
+
+    /**
+     * Moves the nodes of the subtree that come after the given node in the
+     * source.  The given node, the nodes in it and the nodes before it,
+     * which include the ones around it, stay where they are.
+     *
+     * @param node      the root of the subtree
+     * @param after     a node of the subtree or null to move all of it
+     * @param lineDelta the number of lines to move the nodes down
+     */
+    void shiftAfter(ASTNode node, ASTNode after, int lineDelta) {
+        this.lineDelta = lineDelta;
+        this.after = after;
+        moving = after == null;
+        node.accept(this);
+    }
+
+    /**
+     * moves the node if it comes after the given node
+     *
+     * @param node the node being visited
+     * @return false if the node is the given node, whose children are not visited
+     */
+    private boolean enter(ASTNode node) {
+        if (node == after) {
+            moving = true;
+            return false;
+        }
+        if (moving) {
+            node.setLineNum(node.getLineNum() + lineDelta);
+        }
+        return true;
+    }
+
+    @Override
+    public Object visit(Program node) {
+        return enter(node) ? super.visit(node) : null;
+    }
+
+    @Override
+    public Object visit(ClassList node) {
+        return enter(node) ? super.visit(node) : null;
+    }
+
+    @Override
+    public Object visit(Class_ node) {
+        return enter(node) ? super.visit(node) : null;
+    }
+
+    @Override
+    public Object visit(MemberList node) {
+        return enter(node) ? super.visit(node) : null;
+    }
+
+    @Override
+    public Object visit(Field node) {
+        return enter(node) ? super.visit(node) : null;
+    }
+
+    @Override
+    public Object visit(Method node) {
+        return enter(node) ? super.visit(node) : null;
+    }
+
+    @Override
+    public Object visit(FormalList node) {
+        return enter(node) ? super.visit(node) : null;
+    }
+
+    @Override
+    public Object visit(Formal node) {
+        return enter(node) ? super.visit(node) : null;
+    }
+
+    @Override
+    public Object visit(StmtList node) {
+        return enter(node) ? super.visit(node) : null;
+    }
+
+    @Override
+    public Object visit(DeclStmt node) {
+        return enter(node) ? super.visit(node) : null;
+    }
+
+    @Override
+    public Object visit(ExprStmt node) {
+        return enter(node) ? super.visit(node) : null;
+    }
+
+    @Override
+    public Object visit(IfStmt node) {
+        return enter(node) ? super.visit(node) : null;
+    }
+
+    @Override
+    public Object visit(WhileStmt node) {
+        return enter(node) ? super.visit(node) : null;
+    }
+
+    @Override
+    public Object visit(ForStmt node) {
+        return enter(node) ? super.visit(node) : null;
+    }
+
+    @Override
+    public Object visit(BreakStmt node) {
+        return enter(node) ? super.visit(node) : null;
+    }
+
+    @Override
+    public Object visit(BlockStmt node) {
+        return enter(node) ? super.visit(node) : null;
+    }
+
+    @Override
+    public Object visit(ReturnStmt node) {
+        return enter(node) ? super.visit(node) : null;
+    }
+
+    @Override
+    public Object visit(ExprList node) {
+        return enter(node) ? super.visit(node) : null;
+    }
+
+    @Override
+    public Object visit(DispatchExpr node) {
+        return enter(node) ? super.visit(node) : null;
+    }
+
+    @Override
+    public Object visit(NewExpr node) {
+        return enter(node) ? super.visit(node) : null;
+    }
+
+    @Override
+    public Object visit(InstanceofExpr node) {
+        return enter(node) ? super.visit(node) : null;
+    }
+
+    @Override
+    public Object visit(CastExpr node) {
+        return enter(node) ? super.visit(node) : null;
+    }
+
+    @Override
+    public Object visit(AssignExpr node) {
+        return enter(node) ? super.visit(node) : null;
+    }
+
+    @Override
+    public Object visit(BinaryCompEqExpr node) {
+        return enter(node) ? super.visit(node) : null;
+    }
+
+    @Override
+    public Object visit(BinaryCompNeExpr node) {
+        return enter(node) ? super.visit(node) : null;
+    }
+
+    @Override
+    public Object visit(BinaryCompLtExpr node) {
+        return enter(node) ? super.visit(node) : null;
+    }
+
+    @Override
+    public Object visit(BinaryCompLeqExpr node) {
+        return enter(node) ? super.visit(node) : null;
+    }
+
+    @Override
+    public Object visit(BinaryCompGtExpr node) {
+        return enter(node) ? super.visit(node) : null;
+    }
+
+    @Override
+    public Object visit(BinaryCompGeqExpr node) {
+        return enter(node) ? super.visit(node) : null;
+    }
+
+    @Override
+    public Object visit(BinaryArithPlusExpr node) {
+        return enter(node) ? super.visit(node) : null;
+    }
+
+    @Override
+    public Object visit(BinaryArithMinusExpr node) {
+        return enter(node) ? super.visit(node) : null;
+    }
+
+    @Override
+    public Object visit(BinaryArithTimesExpr node) {
+        return enter(node) ? super.visit(node) : null;
+    }
+
+    @Override
+    public Object visit(BinaryArithDivideExpr node) {
+        return enter(node) ? super.visit(node) : null;
+    }
+
+    @Override
+    public Object visit(BinaryArithModulusExpr node) {
+        return enter(node) ? super.visit(node) : null;
+    }
+
+    @Override
+    public Object visit(BinaryLogicAndExpr node) {
+        return enter(node) ? super.visit(node) : null;
+    }
+
+    @Override
+    public Object visit(BinaryLogicOrExpr node) {
+        return enter(node) ? super.visit(node) : null;
+    }
+
+    @Override
+    public Object visit(UnaryNegExpr node) {
+        return enter(node) ? super.visit(node) : null;
+    }
+
+    @Override
+    public Object visit(UnaryNotExpr node) {
+        return enter(node) ? super.visit(node) : null;
+    }
+
+    @Override
+    public Object visit(UnaryIncrExpr node) {
+        return enter(node) ? super.visit(node) : null;
+    }
+
+    @Override
+    public Object visit(UnaryDecrExpr node) {
+        return enter(node) ? super.visit(node) : null;
+    }
+
+    @Override
+    public Object visit(VarExpr node) {
+        return enter(node) ? super.visit(node) : null;
+    }
+
+    @Override
+    public Object visit(ConstIntExpr node) {
+        return enter(node) ? super.visit(node) : null;
+    }
+
+    @Override
+    public Object visit(ConstBooleanExpr node) {
+        return enter(node) ? super.visit(node) : null;
+    }
+
+    @Override
+    public Object visit(ConstStringExpr node) {
+        return enter(node) ? super.visit(node) : null;
+    }
+}
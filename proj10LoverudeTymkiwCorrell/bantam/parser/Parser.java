@@ -20,7 +20,13 @@ import proj10LoverudeTymkiwCorrell.bantam.util.*;
 import proj10LoverudeTymkiwCorrell.bantam.ast.*;
 import proj10LoverudeTymkiwCorrell.bantam.util.Error;
 
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static proj10LoverudeTymkiwCorrell.bantam.lexer.Token.Kind.*;
@@ -29,39 +35,398 @@ public class Parser
 {
     // instance variables
     private Scanner scanner; // provides the tokens
+    private TokenPipeline pipeline; // provides the tokens when they are scanned on another thread
+    private FlatASTBuilder flatBuilder; // takes each class when a FlatAST is being parsed
     private Token currentToken; // the lookahead token
     private final ErrorHandler errorHandler; // collects & organizes the error messages
     private String filename;
 
+    // when the tokens come from a TokenStream instead of the scanner: the
+    // stream, the index of the next token, the index where the tokens to be
+    // parsed end and the EOF token given from there on
+    private TokenStream tokens;
+    private int nextTokenIndex;
+    private int endTokenIndex;
+    private Token endToken;
+    // the index of the current token in the TokenStream
+    private int currentTokenIndex;
+
+    // builds the nodes of a SyntaxTree while parsing, or null
+    private GreenBuilder builder;
+
+    // true if method bodies are skipped instead of parsed
+    private boolean skeleton;
+
+    // the token at which the last syntax error was reported, so that the end
+    // of a construct cut short by an error is not reported as a second error
+    private Token errorToken;
+
+    // the number of syntax errors found so far
+    private int syntaxErrors;
+
+    // the kinds of tokens that start a statement; where a statement with a
+    // syntax error is skipped, parsing resumes at the next one
+    private static final Set<Token.Kind> statementStarts = EnumSet.of(
+            IF, WHILE, FOR, VAR, RETURN, BREAK, LCURLY);
+
     //Set of operator Token types
     private final Set<Token.Kind> operatorSet = Set.of(
             BINARYLOGIC, PLUSMINUS, MULDIV, COMPARE, UNARYINCR, UNARYDECR, ASSIGN,
             UNARYNOT);
 
-    private final static Set<String>  reservedWords = Set.of("break", "cast", "class", "var",
-            "else", "extends", "for", "if", "instanceof", "new", "return", "while");
-
     // constructor
     public Parser(ErrorHandler errorHandler) {
         this.errorHandler = errorHandler;
     }
 
     /**
-     * parse the given file and return the root node of the AST
+     * parse the given file and return the root node of the AST.
+     * Syntax errors do not stop the parse: each one is registered with the
+     * ErrorHandler and the parser skips ahead to the next statement, member
+     * or class, so that one parse reports all of them.  The Program then
+     * holds every class whose name could be parsed, without the members and
+     * statements that have syntax errors, so that semantic analysis can still
+     * check them and the declarations that did parse can still be found.  A
+     * method whose body lost statements is marked with setBodyIncomplete.
+     * The caller must check the ErrorHandler before using the Program.
      * @param filename The name of the Bantam Java file to be parsed
      * @return The Program node forming the root of the AST generated by the parser
      */
     public Program parse(String filename) {
+        return parse(new Scanner(filename, errorHandler), filename);
+    }
+
+    /**
+     * parse the given source, such as the unsaved contents of an editor,
+     * and return the root node of the AST.  Nothing is read from disk.
+     * Syntax errors are handled as in {@link #parse(String)}.
+     * @param source The Bantam Java source to be parsed
+     * @param filename The name to use for the source in the AST and error messages
+     * @return The Program node forming the root of the AST generated by the parser
+     */
+    public Program parse(CharSequence source, String filename) {
+        return parse(new Scanner(source, filename, errorHandler), filename);
+    }
+
+    /**
+     * parse the source read from the given Reader and return the root node of the AST
+     * @param reader The Reader that provides the Bantam Java source to be parsed
+     * @param filename The name to use for the source in the AST and error messages
+     * @return The Program node forming the root of the AST generated by the parser
+     */
+    public Program parse(Reader reader, String filename) {
+        return parse(new Scanner(reader, filename, errorHandler), filename);
+    }
+
+    /**
+     * parse the given file as {@link #parse(String)} does, while the file is
+     * scanned on another thread.  The scanner thread fills a ring of tokens
+     * that this thread takes the tokens from, so on two cores scanning and
+     * parsing overlap.  The AST and the errors are the same as those of
+     * {@link #parse(String)}.
+     * @param filename The name of the Bantam Java file to be parsed
+     * @return The Program node forming the root of the AST generated by the parser
+     */
+    public Program parsePipelined(String filename) {
+        return parsePipelined(new Scanner(filename, errorHandler), filename);
+    }
+
+    /**
+     * parse the given source as {@link #parse(CharSequence, String)} does,
+     * while the source is scanned on another thread, as in
+     * {@link #parsePipelined(String)}.
+     * @param source The Bantam Java source to be parsed
+     * @param filename The name to use for the source in the AST and error messages
+     * @return The Program node forming the root of the AST generated by the parser
+     */
+    public Program parsePipelined(CharSequence source, String filename) {
+        return parsePipelined(new Scanner(source, filename, errorHandler), filename);
+    }
+
+    /**
+     * parse the tokens that the given scanner scans on another thread
+     * @param scanner The Scanner that provides the tokens
+     * @param filename The name of the source in the AST and error messages
+     * @return The Program node forming the root of the AST generated by the parser
+     */
+    private Program parsePipelined(Scanner scanner, String filename) {
+        try (TokenPipeline pipeline = scanner.scanConcurrently()) {
+            this.pipeline = pipeline;
+            return parse(scanner, filename);
+        }
+        finally {
+            this.pipeline = null;
+        }
+    }
+
+    /**
+     * parse the given file as {@link #parse(String)} does, into a FlatAST
+     * instead of an AST of objects.  Each class is copied into the FlatAST
+     * as soon as it is parsed, so the objects of only one class are in the
+     * heap at a time, however large the program.
+     * @param filename The name of the Bantam Java file to be parsed
+     * @return The FlatAST of the classes whose names could be parsed
+     */
+    public FlatAST parseFlat(String filename) {
+        return parseFlat(new Scanner(filename, errorHandler), filename);
+    }
+
+    /**
+     * parse the given source into a FlatAST, as in {@link #parseFlat(String)}.
+     * Nothing is read from disk.
+     * @param source The Bantam Java source to be parsed
+     * @param filename The name to use for the source in the AST and error messages
+     * @return The FlatAST of the classes whose names could be parsed
+     */
+    public FlatAST parseFlat(CharSequence source, String filename) {
+        return parseFlat(new Scanner(source, filename, errorHandler), filename);
+    }
+
+    /**
+     * parse the tokens from the given scanner into a FlatAST
+     * @param scanner The Scanner that provides the tokens
+     * @param filename The name of the source in the AST and error messages
+     * @return The FlatAST of the classes whose names could be parsed
+     */
+    private FlatAST parseFlat(Scanner scanner, String filename) {
+        flatBuilder = new FlatASTBuilder();
+        try {
+            Program program = parse(scanner, filename);
+            return flatBuilder.build(program.getLineNum());
+        }
+        finally {
+            flatBuilder = null;
+        }
+    }
 
-        scanner = new Scanner(filename, errorHandler);
+    /**
+     * parse the tokens from the given scanner and return the root node of the AST
+     * @param scanner The Scanner that provides the tokens
+     * @param filename The name of the source in the AST and error messages
+     * @return The Program node forming the root of the AST generated by the parser
+     */
+    private Program parse(Scanner scanner, String filename) {
+        this.scanner = scanner;
         this.filename = filename;
-        currentToken = scanner.scan();
+        tokens = null;
+        builder = null;
+        skeleton = false;
+        errorToken = null;
+        syntaxErrors = 0;
+        currentToken = nextToken();
+
+        return parseProgram();
+    }
+
+    /**
+     * parse only the declarations of the given file: its classes, fields and
+     * method signatures.  The body of each method is skipped by matching its
+     * braces and is parsed the first time the method's getStmtList() is
+     * called, so outlines, completion and indexing of the declarations of a
+     * whole project do not pay for parsing statements and expressions.
+     * Syntax errors in the declarations are handled as in
+     * {@link #parse(String)}.  Those in a method body are registered with the
+     * ErrorHandler only when the body is parsed, so a caller that needs all
+     * the errors, such as a compile, must first call getStmtList() on every
+     * method.  Then the Program, its line numbers and the errors are those
+     * that {@link #parse(String)} gives, except where a syntax error in a body
+     * leaves its braces unbalanced: the body is taken to end at the '}' that
+     * matches its '{', while parse() may recover from the error elsewhere.
+     * @param filename The name of the Bantam Java file to be parsed
+     * @return The Program node forming the root of the AST generated by the parser
+     */
+    public Program parseSkeleton(String filename) {
+        return parseSkeleton(new Scanner(filename, errorHandler).scanAll(), filename);
+    }
+
+    /**
+     * parse only the declarations of the given source, as in
+     * {@link #parseSkeleton(String)}.  Nothing is read from disk.
+     * @param source The Bantam Java source to be parsed
+     * @param filename The name to use for the source in the AST and error messages
+     * @return The Program node forming the root of the AST generated by the parser
+     */
+    public Program parseSkeleton(CharSequence source, String filename) {
+        return parseSkeleton(new Scanner(source, filename, errorHandler).scanAll(), filename);
+    }
 
-        //Program program = parseProgram();
+    /**
+     * parse the declarations in the given tokens, skipping method bodies
+     * @param tokens The tokens of the source
+     * @param filename The name of the source in the AST and error messages
+     * @return The Program node forming the root of the AST generated by the parser
+     */
+    private Program parseSkeleton(TokenStream tokens, String filename) {
+        this.filename = filename;
+        setTokens(tokens, 0, tokens.size());
+        builder = null;
+        skeleton = true;
+        errorToken = null;
+        syntaxErrors = 0;
+        currentToken = nextToken();
 
         return parseProgram();
     }
 
+    /**
+     * parse the body of a method that was skipped by a skeleton parse
+     * @param tokens The tokens of the source
+     * @param start The index of the '{' that starts the body
+     * @param end The index after the '}' that ends the body
+     * @param filename The name of the source in the AST and error messages
+     * @return The list of statements in the body
+     */
+    StmtList parseBody(TokenStream tokens, int start, int end, String filename) {
+        this.filename = filename;
+        setTokens(tokens, start, end);
+        builder = null;
+        skeleton = false;
+        errorToken = null;
+        syntaxErrors = 0;
+        currentToken = nextToken();
+
+        return ((BlockStmt) parseBlock()).getStmtList();
+    }
+
+    /**
+     * @return the number of syntax errors found by the last parse
+     */
+    int getSyntaxErrorCount() {
+        return syntaxErrors;
+    }
+
+    /**
+     * parse all the tokens of a source into the green nodes of a SyntaxTree.
+     * The syntax errors go to the ErrorHandler of the builder, which must be
+     * the ErrorHandler of this parser.
+     * @param tokens The tokens of the source
+     * @param filename The name of the source in the AST and error messages
+     * @param builder The builder of the nodes
+     * @return The PROGRAM node
+     */
+    GreenNode parseSyntax(TokenStream tokens, String filename, GreenBuilder builder) {
+        this.filename = filename;
+        setTokens(tokens, 0, tokens.size());
+        this.builder = builder;
+        skeleton = false;
+        errorToken = null;
+        syntaxErrors = 0;
+        currentToken = nextToken();
+
+        int mark = builder.begin(0);
+        parseProgram();
+        return builder.end(mark, SyntaxKind.PROGRAM, tokens.size(), null);
+    }
+
+    /**
+     * parse one class, member or statement of a SyntaxTree again, starting
+     * at the given token, as the loop of parseProgram, parseClass or
+     * parseBlock would parse it
+     * @param kind CLASS, MEMBER or STATEMENT
+     * @param tokens The tokens of the source
+     * @param start The index of the first token of the node
+     * @param filename The name of the source in the AST and error messages
+     * @param builder The builder of the nodes
+     * @return The new node, or null if the tokens parsed do not make one node
+     */
+    GreenNode reparse(SyntaxKind kind, TokenStream tokens, int start, String filename,
+                      GreenBuilder builder) {
+        this.filename = filename;
+        setTokens(tokens, start, tokens.size());
+        this.builder = builder;
+        skeleton = false;
+        errorToken = null;
+        syntaxErrors = 0;
+        currentToken = nextToken();
+
+        int mark = builder.begin(start);
+        switch (kind) {
+            case CLASS:
+                parseClass();
+                break;
+            case MEMBER:
+                parseMemberOrSkip();
+                break;
+            case STATEMENT:
+                parseStatementOrSkip();
+                break;
+            default:
+                throw new IllegalArgumentException("A " + kind + " node cannot be reparsed");
+        }
+        // the node parsed is the only child of the one around it
+        GreenNode parsed = builder.end(mark, kind, currentTokenIndex, null);
+        if (parsed == null || parsed.getChildCount() != 1 || parsed.getErrors().length > 0) {
+            return null;
+        }
+        return parsed.getChild(0);
+    }
+
+    /**
+     * starts a node of the SyntaxTree being built, if any, at the current token
+     * @return the mark to pass to endNode
+     */
+    private int beginNode() {
+        return builder == null ? 0 : builder.begin(currentTokenIndex);
+    }
+
+    /**
+     * ends the node of the SyntaxTree being built, if any, before the current token
+     * @param mark The mark returned by beginNode
+     * @param kind The kind of the node
+     * @param ast The AST node parsed from the node or null
+     */
+    private void endNode(int mark, SyntaxKind kind, ASTNode ast) {
+        if (builder != null) {
+            builder.end(mark, kind, currentTokenIndex, ast);
+        }
+    }
+
+    /**
+     * trims a list that has all its elements, and freezes it unless it is
+     * part of a SyntaxTree, whose lists change as their nodes are reparsed
+     * @param list The list
+     * @return The list
+     */
+    private <T extends ListNode> T finishList(T list) {
+        if (builder == null) {
+            list.freeze();
+        }
+        else {
+            list.trim();
+        }
+        return list;
+    }
+
+    /**
+     * makes the parser take its tokens from the given range of a TokenStream
+     * @param tokens The tokens of the source
+     * @param start The index of the first token to parse
+     * @param end The index after the last token to parse
+     */
+    private void setTokens(TokenStream tokens, int start, int end) {
+        this.tokens = tokens;
+        nextTokenIndex = start;
+        endTokenIndex = end;
+        // the EOF token of the stream is also given after a range that ends before it
+        endToken = tokens.getToken(tokens.size() - 1);
+    }
+
+    /**
+     * @return the next token, from the TokenStream if one is being parsed
+     * or else from the scanner or its TokenPipeline
+     */
+    private Token nextToken() {
+        if (tokens == null) {
+            return pipeline != null ? pipeline.next() : scanner.scan();
+        }
+        if (nextTokenIndex >= endTokenIndex || nextTokenIndex == tokens.size() - 1) {
+            currentTokenIndex = Math.min(nextTokenIndex, endTokenIndex);
+            return endToken;
+        }
+        currentTokenIndex = nextTokenIndex;
+        return tokens.getToken(nextTokenIndex++);
+    }
+
 
     // <Program> ::= <Class> | <Class> <Program>
     private Program parseProgram() {
@@ -71,66 +436,132 @@ public class Parser
 
         while (currentToken.kind != EOF) {
             Class_ aClass = parseClass();
-            clist.addElement(aClass);
+            // a class whose name could not be parsed is left out
+            if (aClass != null && flatBuilder != null) {
+                flatBuilder.addClass(aClass);
+            }
+            else if (aClass != null) {
+                clist.addElement(aClass);
+            }
         }
 
-        return new Program(position, clist);
+        return new Program(position, finishList(clist));
     }
 
 
     // <Class> ::= CLASS <Identifier> <ExtendsClause> { <MemberList> }
     // <ExtendsClause> ::= EXTENDS <Identifier> | EMPTY
     // <MemberList> ::= EMPTY | <Member> <MemberList>
+    /**
+     * Parse a class and return its node.  If the class has syntax errors,
+     * all of it is still parsed to report them, and the members with syntax
+     * errors are left out of it.  Null is returned if the name of the class
+     * or the '{' that starts its body could not be found.
+     *
+     * @return Class_ node or null
+     */
     private Class_ parseClass() {
 
+        int mark = beginNode();
 
         int position = currentToken.position;
 
-        // Check that token is Class keyword, and then parse the identifier
-        if (currentToken.kind != CLASS){
+        String className = null;
 
-            errorHandler.register(Error.Kind.PARSE_ERROR, this.filename,
-                    position, "keyword 'Class' expected");
+        String parentName = "Object";
 
-            throw new CompilationException(errorHandler);
-        }
+        try {
+            // Check that token is Class keyword, and then parse the identifier
+            if (currentToken.kind != CLASS){
 
-        currentToken = scanner.scan();
+                errorHandler.register(Error.Kind.PARSE_ERROR, this.filename,
+                        position, "keyword 'Class' expected");
 
-        String className = parseIdentifier();
+                throw new CompilationException(errorHandler);
+            }
 
-        String parentName = "Object";
+            currentToken = nextToken();
 
-        // If next token is <ExtendsClause>, parse and store parent name
-        if(currentToken.kind == EXTENDS){
+            className = parseIdentifier();
 
-            currentToken = scanner.scan();
+            // If next token is <ExtendsClause>, parse and store parent name
+            if(currentToken.kind == EXTENDS){
 
-            parentName = parseIdentifier();
+                currentToken = nextToken();
 
-        }
+                parentName = parseIdentifier();
 
-        // Check for '{'
-        if(currentToken.kind != LCURLY){
-            errorHandler.register(Error.Kind.PARSE_ERROR, this.filename,
-                    currentToken.position, "'{' expected");
-            throw new CompilationException(errorHandler);
+            }
+
+            // Check for '{'
+            if(currentToken.kind != LCURLY){
+                errorHandler.register(Error.Kind.PARSE_ERROR, this.filename,
+                        currentToken.position, "'{' expected");
+                throw new CompilationException(errorHandler);
+            }
+        }
+        catch (CompilationException ex) {
+            skipClassHeader();
+            if (currentToken.kind != LCURLY) {
+                endNode(mark, SyntaxKind.CLASS, null);
+                return null;
+            }
         }
 
-        currentToken = scanner.scan();
+        currentToken = nextToken();
 
         /* Creates MemberList, populates it with members
            could have 0 or more members  */
         MemberList memberList = new MemberList(currentToken.position);
+        Class_ aClass = className == null ? null :
+                new Class_(position, filename, className, parentName, memberList);
 
         while(currentToken.kind != RCURLY){
-            // Will either parse a member or will throw an error
-            memberList.addElement(parseMember());
+
+            // a class keyword or the end of the file means the '}' is missing
+            if(currentToken.kind == CLASS || currentToken.kind == EOF){
+                reportError(currentToken.position, "'}' expected");
+                finishList(memberList);
+                endNode(mark, SyntaxKind.CLASS, aClass);
+                return aClass;
+            }
+
+            Member member = parseMemberOrSkip();
+            if (member != null) {
+                memberList.addElement(member);
+                // the body of a method of a class that is left out would
+                // never be parsed, so its errors are reported now
+                if (aClass == null && member instanceof LazyMethod) {
+                    ((LazyMethod) member).getStmtList();
+                }
+            }
         }
 
-        currentToken = scanner.scan();
+        finishList(memberList);
+        currentToken = nextToken();
+        endNode(mark, SyntaxKind.CLASS, aClass);
         // Does not directly check for '}' because parseMember will throw the error
-        return new Class_(position, filename, className, parentName, memberList);
+        return aClass;
+    }
+
+
+    /**
+     * Parse a member, skipping it if it has a syntax error
+     *
+     * @return Member node or null if the member has a syntax error
+     */
+    private Member parseMemberOrSkip() {
+        int mark = beginNode();
+        Token start = currentToken;
+        Member member = null;
+        try {
+            member = parseMember();
+        }
+        catch (CompilationException ex) {
+            skipMember(start);
+        }
+        endNode(mark, SyntaxKind.MEMBER, member);
+        return member;
     }
 
 
@@ -160,7 +591,13 @@ public class Parser
             // Is either empty, or is an expression
             if(currentToken.kind != SEMICOLON){
 
-                currentToken = scanner.scan();
+                if(currentToken.kind != ASSIGN){
+                    errorHandler.register(Error.Kind.PARSE_ERROR, this.filename,
+                            currentToken.position, "';' expected");
+                    throw new CompilationException(errorHandler);
+                }
+
+                currentToken = nextToken();
 
                 init = parseExpression();
 
@@ -176,18 +613,70 @@ public class Parser
                 }
 
             }
-            currentToken = scanner.scan();
+            currentToken = nextToken();
 
             return new Field(position, typeName, memberName, init);
         }
 
         // If it is a method, parse parameters
-        //currentToken = scanner.scan();
+        //currentToken = nextToken();
 
         FormalList formalList = parseParameters();
 
+        if (skeleton && currentToken.kind == LCURLY) {
+            Method method = skipMethodBody(position, typeName, memberName, formalList);
+            if (method != null) {
+                return method;
+            }
+        }
+
+        int errorsBefore = syntaxErrors;
         BlockStmt stmt = (BlockStmt) parseBlock();
-        return new Method(position, typeName, memberName, formalList, stmt.getStmtList());
+        Method method = new Method(position, typeName, memberName, formalList,
+                stmt.getStmtList());
+        // the statements with syntax errors were left out of the body
+        method.setBodyIncomplete(syntaxErrors != errorsBefore);
+        return method;
+    }
+
+
+    /**
+     * Skips the body of a method by matching its braces and returns a Method
+     * whose body is parsed the first time its statements are asked for.
+     * A body whose '}' is missing is not skipped: parseBlock cuts it off at
+     * the next class keyword or the end of the file and reports the missing
+     * '}' at the innermost block that is open there, so it is parsed now.
+     *
+     * @param position   the position of the method
+     * @param returnType the return type of the method
+     * @param name       the name of the method
+     * @param formalList the parameters of the method
+     * @return Method node, or null if the body has no '}'
+     */
+    private Method skipMethodBody(int position, String returnType, String name,
+                                  FormalList formalList) {
+        int start = currentTokenIndex;
+        int end = start + 1;
+        int depth = 1;
+        while (depth > 0) {
+            Token.Kind kind = tokens.getKind(end);
+            if (kind == CLASS || kind == EOF) {
+                return null;
+            }
+            if (kind == LCURLY) {
+                depth++;
+            }
+            else if (kind == RCURLY) {
+                depth--;
+            }
+            end++;
+        }
+
+        nextTokenIndex = end;
+        currentToken = nextToken();
+
+        return new LazyMethod(position, returnType, name, formalList,
+                tokens, start, end, filename, errorHandler);
     }
 
 
@@ -244,7 +733,7 @@ public class Parser
 
         int position = currentToken.position;
 
-        currentToken = scanner.scan();
+        currentToken = nextToken();
 
         // Checks for parenthesis after while,
         if (currentToken.kind != LPAREN){
@@ -254,7 +743,7 @@ public class Parser
         }
 
         //
-        currentToken = scanner.scan();
+        currentToken = nextToken();
 
         Expr expr = parseExpression();
 
@@ -267,7 +756,7 @@ public class Parser
             throw new CompilationException(errorHandler);
         }
 
-        currentToken = scanner.scan();
+        currentToken = nextToken();
 
         Stmt stmt = parseStatement();
 
@@ -282,7 +771,7 @@ public class Parser
      */
     private Stmt parseReturn() {
         int position = currentToken.position;
-        currentToken = scanner.scan();
+        currentToken = nextToken();
 
         Expr expr;
 
@@ -297,7 +786,7 @@ public class Parser
                     position, "';' expected");
             throw new CompilationException(errorHandler);
         }
-        currentToken = scanner.scan();
+        currentToken = nextToken();
         return new ReturnStmt(position, expr);
 
     }
@@ -312,7 +801,7 @@ public class Parser
     private Stmt parseBreak() {
         int position = currentToken.position;
 
-        currentToken = scanner.scan();
+        currentToken = nextToken();
 
         // Checks for semicolon
         if(currentToken.kind != SEMICOLON){
@@ -323,7 +812,7 @@ public class Parser
 
         }
 
-        currentToken = scanner.scan();
+        currentToken = nextToken();
 
         return new BreakStmt(position);
     }
@@ -345,7 +834,7 @@ public class Parser
             throw new CompilationException(errorHandler);
         }
 
-        currentToken = scanner.scan();
+        currentToken = nextToken();
 
         return new ExprStmt(position, expr);
     }
@@ -357,7 +846,7 @@ public class Parser
      * @return DeclStmt node
      */
     private Stmt parseVarDeclaration() {
-        currentToken = scanner.scan();
+        currentToken = nextToken();
         int position = currentToken.position;
 
         // Checks that var has identifier
@@ -371,7 +860,7 @@ public class Parser
 
         String varName = currentToken.getSpelling();
 
-        currentToken = scanner.scan();
+        currentToken = nextToken();
 
         // Checks that DeclStmt has assign
         if (currentToken.kind != Token.Kind.ASSIGN){
@@ -383,7 +872,7 @@ public class Parser
         }
 
         // Parses the expression and increments token
-        currentToken = scanner.scan();
+        currentToken = nextToken();
         Expr expr = parseExpression();
 
 
@@ -393,7 +882,7 @@ public class Parser
             throw new CompilationException(errorHandler);
         }
 
-        currentToken = scanner.scan();
+        currentToken = nextToken();
 
         return new DeclStmt(position, varName, expr);
     }
@@ -412,7 +901,7 @@ public class Parser
 
         int position = currentToken.position;
 
-        currentToken = scanner.scan();
+        currentToken = nextToken();
 
         // Checks that there is a left parenthesis
         if (currentToken.kind != LPAREN){
@@ -423,7 +912,7 @@ public class Parser
             throw new CompilationException(errorHandler);
         }
 
-        currentToken = scanner.scan();
+        currentToken = nextToken();
 
         Expr init = null;
 
@@ -432,32 +921,32 @@ public class Parser
 
 
             init = parseExpression();
-            currentToken = scanner.scan();
+            currentToken = nextToken();
 
         }
         else{
 
-            currentToken = scanner.scan();
+            currentToken = nextToken();
 
         }
 
         // Parses predicate expression
-        //currentToken = scanner.scan();
+        //currentToken = nextToken();
 
         Expr predExpr = null;
         if(currentToken.kind != SEMICOLON){
             predExpr = parseExpression();
-            currentToken = scanner.scan();
+            currentToken = nextToken();
 
 
         }
         else{
 
-            currentToken = scanner.scan();
+            currentToken = nextToken();
 
         }
 
-        //currentToken = scanner.scan();
+        //currentToken = nextToken();
 
         // Parses the increment statement
         Expr updateExpr =  null;
@@ -478,7 +967,7 @@ public class Parser
         }
 
         // Parses for loop body
-        currentToken = scanner.scan();
+        currentToken = nextToken();
 
         Stmt bodyStmt = parseStatement();
 
@@ -510,28 +999,62 @@ public class Parser
             throw new CompilationException(errorHandler);
         }
 
-        currentToken = scanner.scan();
+        int mark = beginNode();
+        BlockStmt block = new BlockStmt(position, stmtList);
+        currentToken = nextToken();
 
         // Checks for right curly brace
         while (currentToken.kind != RCURLY){
-            stmtList.addElement(parseStatement());
-            if(currentToken.kind == EOF){
-
-                errorHandler.register(Error.Kind.PARSE_ERROR, this.filename, position,
-                        "Reached end of file before right curly brace.");
-
-                throw new CompilationException(errorHandler);
+            Stmt stmt = parseStatementOrSkip();
+            if (stmt != null) {
+                stmtList.addElement(stmt);
+            }
 
+            // The block ends here if the '}' is missing; the enclosing
+            // blocks and class see the same token and end too
+            if(currentToken.kind == EOF){
+                reportError(position, "Reached end of file before right curly brace.");
+                finishList(stmtList);
+                endNode(mark, SyntaxKind.BLOCK, block);
+                return block;
+            }
+            else if(currentToken.kind == CLASS){
+                reportError(currentToken.position, "'}' expected");
+                finishList(stmtList);
+                endNode(mark, SyntaxKind.BLOCK, block);
+                return block;
             }
 
         }
 
-        currentToken = scanner.scan();
-        return new BlockStmt(position, stmtList);
+        finishList(stmtList);
+        currentToken = nextToken();
+        endNode(mark, SyntaxKind.BLOCK, block);
+        return block;
 
     }
 
 
+    /**
+     * Parse a statement of a block, skipping it if it has a syntax error
+     *
+     * @return A statement node or null if the statement has a syntax error
+     */
+    private Stmt parseStatementOrSkip() {
+        int mark = beginNode();
+        Token start = currentToken;
+        Stmt stmt = null;
+        try {
+            stmt = parseStatement();
+        }
+        catch (CompilationException ex) {
+            skipStatement(start);
+        }
+        endNode(mark, SyntaxKind.STATEMENT, stmt);
+        return stmt;
+    }
+
+
     // <IfStmt> ::= IF ( <Expr> ) <Stmt> | IF ( <Expr> ) <Stmt> ELSE <Stmt>
     /**
      * Parse the given IfStmt and returns its node
@@ -542,7 +1065,7 @@ public class Parser
 
         int position = currentToken.position;
 
-        currentToken = scanner.scan();
+        currentToken = nextToken();
 
         Stmt thenStmt;
 
@@ -557,7 +1080,7 @@ public class Parser
             throw new CompilationException(errorHandler);
         }
 
-        currentToken = scanner.scan();
+        currentToken = nextToken();
 
         Expr expr = parseExpression();
 
@@ -570,14 +1093,14 @@ public class Parser
             throw new CompilationException(errorHandler);
         }
 
-        currentToken = scanner.scan();
+        currentToken = nextToken();
 
         thenStmt = parseStatement();
 
         // Checks for else statement
         if (currentToken.kind == ELSE){
 
-            currentToken = scanner.scan();
+            currentToken = nextToken();
 
             elseStmt = parseStatement();
         }
@@ -589,283 +1112,220 @@ public class Parser
     /*-----------------------------------------
      Expressions
      Here we use different rules than the grammar on page 49
-     of the manual to handle the precedence of operations
+     of the manual to handle the precedence of operations.
+     Binary operators are parsed by precedence climbing over the
+     table below rather than with one method per precedence level,
+     so an operand costs a few calls however many levels sit above it
     */
 
-    // <Expression> ::= <LogicalORExpr> <OptionalAssignment>
-    // <OptionalAssignment> ::= EMPTY | = <Expression>
     /**
-     * Parse the given member and return member node
-     *
-     * @return Member node
+     * The binary operators, from the loosest to the tightest binding.
+     * Equality and relational operators are not associative, so
+     * a == b == c and a < b < c are not expressions.
      */
-    private Expr parseExpression() {
-        int position = currentToken.position;
-
-        String refName = null;
-        VarExpr ref = null;
-
-        String expressionName = currentToken.getSpelling();
-        Expr logExpr = parseOrExpr();
-
-        if(logExpr instanceof VarExpr){
-            VarExpr varExpr = (VarExpr) logExpr;
-            expressionName = varExpr.getName();
-            ref = (VarExpr) varExpr.getRef();
-        }
-        Expr expr;
-
-        // Checks for assignment '='
-        if (currentToken.kind == ASSIGN){
-
-            currentToken = scanner.scan();
-            expr = parseExpression();
-
-            if (ref != null){
-                refName = ref.getName();
-            }
-            return new AssignExpr(position, refName, expressionName, expr );
+    private enum BinaryOperator
+    {
+        OR(BINARYLOGIC, "||", 1, false),
+        AND(BINARYLOGIC, "&&", 2, false),
+        EQ(COMPARE, "==", 3, true),
+        NE(COMPARE, "!=", 3, true),
+        LT(COMPARE, "<", 4, true),
+        GT(COMPARE, ">", 4, true),
+        LEQ(COMPARE, "<=", 4, true),
+        GEQ(COMPARE, ">=", 4, true),
+        INSTANCE_OF(Token.Kind.INSTANCEOF, "instanceof", 4, true),
+        PLUS(PLUSMINUS, "+", 5, false),
+        MINUS(PLUSMINUS, "-", 5, false),
+        TIMES(MULDIV, "*", 6, false),
+        DIVIDE(MULDIV, "/", 6, false),
+        MODULUS(MULDIV, "%", 6, false);
+
+        private final Token.Kind kind;
+        private final String spelling;
+        private final int precedence;
+        private final boolean nonAssociative;
+
+        BinaryOperator(Token.Kind kind, String spelling, int precedence,
+                       boolean nonAssociative) {
+            this.kind = kind;
+            this.spelling = spelling;
+            this.precedence = precedence;
+            this.nonAssociative = nonAssociative;
         }
-
-        return logExpr;
     }
 
+    // the binary operators spelled by tokens of each kind
+    private static final Map<Token.Kind, BinaryOperator[]> binaryOperators =
+            new EnumMap<>(Token.Kind.class);
 
-    // <LogicalOR> ::= <logicalAND> <LogicalORRest>
-    // <LogicalORRest> ::= EMPTY |  || <LogicalAND> <LogicalORRest>
-    /**
-     * Parse the given expression and return its node
-     *
-     * @return Expr node
-     */
-    private Expr parseOrExpr() {
-        int position = currentToken.position;
-
-        Expr leftExpr;
-        leftExpr = parseAndExpr();
-
-        // Checks for or statements
-        while (currentToken.getSpelling().equals("||")) {
-
-            currentToken = scanner.scan();
-            Expr rightExpr = parseAndExpr();
-            leftExpr = new BinaryLogicOrExpr(position, leftExpr, rightExpr);
+    static {
+        for (BinaryOperator operator : BinaryOperator.values()) {
+            BinaryOperator[] operators =
+                    binaryOperators.getOrDefault(operator.kind, new BinaryOperator[0]);
+            operators = Arrays.copyOf(operators, operators.length + 1);
+            operators[operators.length - 1] = operator;
+            binaryOperators.put(operator.kind, operators);
         }
-        return leftExpr;
     }
 
-
-    // <LogicalAND> ::= <ComparisonExpr> <LogicalANDRest>
-    // <LogicalANDRest> ::= EMPTY |  && <ComparisonExpr> <LogicalANDRest>
-
     /**
-     * Parse the given expression and return its node
+     * returns the binary operator of the given token
      *
-     * @return Expr node
+     * @param token the token to check
+     * @return the operator or null if the token is not a binary operator
      */
-    private Expr parseAndExpr() {
-        int position = currentToken.position;
-        Expr leftExpr;
-
-        leftExpr = parseEqualityExpr();
-
-        // Checks for and statements
-        while (currentToken.getSpelling().equals("&&")){
-            currentToken = scanner.scan();
-            Expr rightExpr = parseEqualityExpr();
-            leftExpr = new BinaryLogicAndExpr(position, leftExpr, rightExpr);
+    private static BinaryOperator getBinaryOperator(Token token) {
+        BinaryOperator[] operators = binaryOperators.get(token.kind);
+        if (operators != null) {
+            String spelling = token.getSpelling();
+            for (BinaryOperator operator : operators) {
+                if (operator.spelling.equals(spelling)) {
+                    return operator;
+                }
+            }
         }
-        return leftExpr;
+        return null;
     }
 
 
-    // <ComparisonExpr> ::= <RelationalExpr> <equalOrNotEqual> <RelationalExpr> |
-    //                      <RelationalExpr>
-    // <equalOrNotEqual> ::=  = | !=
+    // <Expression> ::= <LogicalORExpr> <OptionalAssignment>
+    // <OptionalAssignment> ::= EMPTY | = <Expression>
     /**
-     * Parse the given expression and return its node
+     * Parse the given member and return member node.
+     * A chain of assignments a = b = c is parsed in a loop and the
+     * AssignExprs are built from the right afterwards.
      *
-     * @return Expr node
+     * @return Member node
      */
-    private Expr parseEqualityExpr() {
-        int position = currentToken.position;
-        Expr leftExpr;
+    private Expr parseExpression() {
+        // the position, ref name and name of each assignment in the chain
+        List<Integer> positions = null;
+        List<String> refNames = null;
+        List<String> names = null;
 
-        leftExpr = parseRelationalExpr();
+        Expr expr;
+        while (true) {
+            int position = currentToken.position;
+            String expressionName = currentToken.getSpelling();
+            String refName = null;
 
-        // While there is an equals or not equals stmt
-        if(currentToken.getSpelling().equals("==") || currentToken.getSpelling().equals("!=") ){
+            expr = parseBinaryExpr(1);
 
-            String logOp = currentToken.spelling;
-            currentToken = scanner.scan();
-            Expr rightExpr = parseRelationalExpr();
+            // Checks for assignment '='
+            if (currentToken.kind != ASSIGN) {
+                break;
+            }
+            currentToken = nextToken();
 
-            if(logOp.equals("==")){
-                leftExpr = new BinaryCompEqExpr(position, leftExpr, rightExpr);
+            if (expr instanceof VarExpr) {
+                VarExpr varExpr = (VarExpr) expr;
+                expressionName = varExpr.getName();
+                if (varExpr.getRef() != null) {
+                    refName = ((VarExpr) varExpr.getRef()).getName();
+                }
             }
-            else{
-                leftExpr = new BinaryCompNeExpr(position, leftExpr, rightExpr);
+            if (positions == null) {
+                positions = new ArrayList<>();
+                refNames = new ArrayList<>();
+                names = new ArrayList<>();
             }
-
+            positions.add(position);
+            refNames.add(refName);
+            names.add(expressionName);
         }
-        return leftExpr;
-
-    }
-
-
-    // <RelationalExpr> ::= <AddExpr> | <AddExpr> <ComparisonOp> <AddExpr>
-    // <ComparisonOp> ::= < | > | <= | >= | INSTANCEOF
-    /**
-     * Parse the given expression and return its node
-     *
-     * @return Expr node
-     */
-    private Expr parseRelationalExpr() {
-        int position = currentToken.position;
-        Expr leftExpr;
-        leftExpr = parseAddExpr();
-
-        String name = currentToken.getSpelling();
 
-        // Checks if there is comparison operation
-        if(name.equals("<") ||
-                name.equals(">") ||
-                name.equals("<=") ||
-                name.equals(">=") ||
-                name.equals("instanceof")){
-
-            if(name.equals("instanceof")){
-                currentToken = scanner.scan();
-                String type = parseType();
-                return new InstanceofExpr(position, leftExpr, type);
+        if (positions != null) {
+            for (int i = positions.size() - 1; i >= 0; i--) {
+                expr = new AssignExpr(positions.get(i), refNames.get(i), names.get(i), expr);
             }
-
-            currentToken = scanner.scan();
-            Expr rightExpr = parseAddExpr();
-
-            // Creates correct expression for operator
-            switch (name){
-
-                case "<":
-                    leftExpr = new BinaryCompLtExpr(position, leftExpr, rightExpr);
-                    break;
-                case ">":
-                    leftExpr = new BinaryCompGtExpr(position, leftExpr, rightExpr);
-                    break;
-                case "<=":
-                    leftExpr = new BinaryCompLeqExpr(position, leftExpr, rightExpr);
-                    break;
-                case ">=":
-                    leftExpr = new BinaryCompGeqExpr(position, leftExpr, rightExpr);
-                    break;
-
-            }
-
         }
-
-        return leftExpr;
+        return expr;
     }
 
 
-    // <AddExpr>::＝ <MultExpr> <MoreMultExpr>
-    // <MoreMultExpr> ::= EMPTY | + <MultExpr> <MoreMultExpr> | - <MultExpr> <MoreMultExpr>
+    // <BinaryExpr> ::= <NewCastOrUnary> | <BinaryExpr> <BinaryOp> <BinaryExpr>
+    // <BinaryOp> ::= || | && | == | != | < | > | <= | >= | INSTANCEOF |
+    //                + | - | * | / | %
     /**
-     * Parse the given expression and return its node
+     * Parse the binary expression made up of operators whose precedence is at
+     * least minPrecedence and return its node.  Each right operand is parsed
+     * with a higher minimum, so the recursion is only as deep as the number
+     * of precedence levels, while operators of one level are combined from
+     * the left in a loop.  Every node gets the position of the first token of
+     * its leftmost operand.
      *
-     * @return MultExpr node
+     * @param minPrecedence the precedence of the loosest operator to combine
+     * @return Expr node
      */
-    private Expr parseAddExpr() {
+    private Expr parseBinaryExpr(int minPrecedence) {
         int position = currentToken.position;
-        Expr leftExpr;
-        leftExpr = parseMultExpr();
+        Expr leftExpr = parseNewCastOrUnary();
 
-        // Checks for '+' or '-'
-        while(currentToken.getSpelling().equals("+") || currentToken.getSpelling().equals("-")){
-            String operation = currentToken.getSpelling();
-            currentToken = scanner.scan();
-            Expr rightExpr = parseMultExpr();
+        // after a non-associative operator only looser operators may follow
+        int maxPrecedence = Integer.MAX_VALUE;
+        BinaryOperator operator = getBinaryOperator(currentToken);
 
-            if(operation.equals("+")){
-                leftExpr = new BinaryArithPlusExpr(position, leftExpr, rightExpr);
-            }
-            else if(operation.equals("-")){
-                leftExpr = new BinaryArithMinusExpr(position, leftExpr, rightExpr);
-            }
-        }
-        return leftExpr;
+        while (operator != null && operator.precedence >= minPrecedence
+                && operator.precedence <= maxPrecedence) {
+            currentToken = nextToken();
 
-    }
-
-
-    // <MultiExpr> ::= <NewCastOrUnary> <MoreNCU>
-    // <MoreNCU> ::= * <NewCastOrUnary> <MoreNCU> |
-    //               / <NewCastOrUnary> <MoreNCU> |
-    //               % <NewCastOrUnary> <MoreNCU> |
-    //               EMPTY
-    /**
-     * Parse the given expression and return its node
-     *
-     * @return MultExpr node
-     */
-    private Expr parseMultExpr() {
-        int position = currentToken.position;
-        Expr leftExpr;
-        leftExpr = parseNewCastOrUnary();
-
-        // Checks for one of the multiplication/div operators
-        while (currentToken.getSpelling().equals("*") ||
-                currentToken.getSpelling().equals("/") ||
-                currentToken.getSpelling().equals("%")) {
-            String operator = currentToken.getSpelling();
-            currentToken = scanner.scan();
-            Expr rightExpr = parseNewCastOrUnary();
-
-            // Checks for correct operator, creates corresponding node class
-            switch (operator) {
-                case "*":
-                    leftExpr = new BinaryArithTimesExpr(position, leftExpr, rightExpr);
-                    //currentToken = scanner.scan();
-                    break;
-                case "/":
-                    leftExpr = new BinaryArithDivideExpr(position, leftExpr, rightExpr);
-                    //currentToken = scanner.scan();
-                    break;
-                default:
-                    leftExpr = new BinaryArithModulusExpr(position, leftExpr, rightExpr);
-                    //currentToken = scanner.scan();
-                    break;
+            if (operator == BinaryOperator.INSTANCE_OF) {
+                leftExpr = new InstanceofExpr(position, leftExpr, parseType());
+            }
+            else {
+                Expr rightExpr = parseBinaryExpr(operator.precedence + 1);
+                leftExpr = makeBinaryExpr(operator, position, leftExpr, rightExpr);
             }
 
+            maxPrecedence = operator.nonAssociative ? operator.precedence - 1
+                    : operator.precedence;
+            operator = getBinaryOperator(currentToken);
         }
         return leftExpr;
     }
 
-    // <NewCastOrUnary> ::= <NewExpression> | <CastExpression> | <UnaryPrefix>
+
     /**
-     * Parse the given expression and return its node
+     * creates the node of a binary expression
      *
-     * @return Expr node
+     * @param operator  the operator of the expression, other than instanceof
+     * @param position  the position of the expression
+     * @param leftExpr  the left operand
+     * @param rightExpr the right operand
+     * @return BinaryExpr node
      */
-    private Expr parseNewCastOrUnary() {
-
-        Expr expr;
-
-        // Checks if new, cast, or for default case unary
-        if (currentToken.kind == NEW){
-            expr = parseNew();
-        }
-        else if(currentToken.kind == CAST){
-            expr = parseCast();
-        }
-        else{
-            expr = parseUnaryPrefix();
+    private Expr makeBinaryExpr(BinaryOperator operator, int position,
+                                Expr leftExpr, Expr rightExpr) {
+        switch (operator) {
+            case OR:
+                return new BinaryLogicOrExpr(position, leftExpr, rightExpr);
+            case AND:
+                return new BinaryLogicAndExpr(position, leftExpr, rightExpr);
+            case EQ:
+                return new BinaryCompEqExpr(position, leftExpr, rightExpr);
+            case NE:
+                return new BinaryCompNeExpr(position, leftExpr, rightExpr);
+            case LT:
+                return new BinaryCompLtExpr(position, leftExpr, rightExpr);
+            case GT:
+                return new BinaryCompGtExpr(position, leftExpr, rightExpr);
+            case LEQ:
+                return new BinaryCompLeqExpr(position, leftExpr, rightExpr);
+            case GEQ:
+                return new BinaryCompGeqExpr(position, leftExpr, rightExpr);
+            case PLUS:
+                return new BinaryArithPlusExpr(position, leftExpr, rightExpr);
+            case MINUS:
+                return new BinaryArithMinusExpr(position, leftExpr, rightExpr);
+            case TIMES:
+                return new BinaryArithTimesExpr(position, leftExpr, rightExpr);
+            case DIVIDE:
+                return new BinaryArithDivideExpr(position, leftExpr, rightExpr);
+            default:
+                return new BinaryArithModulusExpr(position, leftExpr, rightExpr);
         }
-
-        return expr;
-
     }
 
-
     // <NewExpression> ::= NEW <Identifier> ( )
     /**
      * Parse the given expression and return its node
@@ -886,7 +1346,7 @@ public class Parser
 
         }
 
-        currentToken = scanner.scan();
+        currentToken = nextToken();
         String type = parseIdentifier();
         // Checks for left parenthesis
         if(currentToken.kind != LPAREN){
@@ -897,7 +1357,7 @@ public class Parser
             throw new CompilationException(errorHandler);
 
         }
-        currentToken = scanner.scan();
+        currentToken = nextToken();
 
 
         // Checks for right parenthesis
@@ -906,7 +1366,7 @@ public class Parser
                     currentToken.position, "')' expected");
             throw new CompilationException(errorHandler);
         }
-        currentToken = scanner.scan();
+        currentToken = nextToken();
 
         return new NewExpr(position, type);
     }
@@ -926,14 +1386,14 @@ public class Parser
                     currentToken.position, "keyword 'cast' expected");
             throw new CompilationException(errorHandler);
         }
-        currentToken = scanner.scan();
+        currentToken = nextToken();
         if(currentToken.kind != LPAREN){
             errorHandler.register(Error.Kind.PARSE_ERROR, this.filename,
                     currentToken.position, "'(' expected");
             throw new CompilationException(errorHandler);
         }
 
-        currentToken = scanner.scan();
+        currentToken = nextToken();
         String type = parseType();
 
         if(currentToken.kind != COMMA){
@@ -944,7 +1404,7 @@ public class Parser
             throw new CompilationException(errorHandler);
 
         }
-        currentToken = scanner.scan();
+        currentToken = nextToken();
 
         Expr expr = parseExpression();
 
@@ -957,102 +1417,78 @@ public class Parser
 
         }
 
-        currentToken = scanner.scan();
+        currentToken = nextToken();
         return new CastExpr(position, type, expr);
     }
 
 
+    // <NewCastOrUnary> ::= <NewExpression> | <CastExpression> | <UnaryPrefix>
     // <UnaryPrefix> ::= <PrefixOp> <UnaryPreFix> | <UnaryPostfix>
     // <PrefixOp> ::= - | ! | ++ | --
+    // <UnaryPostfix> ::= <Primary> <PostfixOp>
+    // <PostfixOp> ::= ++ | -- | EMPTY
     /**
-     * Parse the given cast unaryPrefix and return its node
+     * Parse the given expression and return its node.  The prefix operators
+     * are collected in a loop and applied from the innermost one out once
+     * the operand and its postfix operator have been parsed.
      *
-     * @return CastExpr node
+     * @return Expr node
      */
-    private Expr parseUnaryPrefix() {
-
-        int position = currentToken.position;
-
-        Token initialToken = currentToken;
-
-
-        /*
-         InnerExpr is the nested expression inside this UnaryPrefix; the two
-         possibilities are either that this is the terminal UnaryPrefix, (eg. ++(Expr),
-         or sometimes there are more prefixOp's to parse (eg. ++--(Expr),
-         but the innerExpr is everything coming after the prefix
-        */
-        Expr expr;
-
-        Expr innerExpr;
-
-        //currentToken = scanner.scan();
-
-        if(currentToken.getSpelling().equals("++")  ||
-            currentToken.getSpelling().equals("--") ||
-            currentToken.getSpelling().equals("!")){
-
-            currentToken = scanner.scan();
-            innerExpr = parseUnaryPrefix();
-
-        }else{
+    private Expr parseNewCastOrUnary() {
 
-            innerExpr = parseUnaryPostfix();
+        // Checks if new, cast, or for default case unary
+        if (currentToken.kind == NEW){
+            return parseNew();
         }
-
-        if(initialToken.getSpelling().equals("++")){
-
-            expr = new UnaryIncrExpr(position, innerExpr,false);
-
-        }else if(initialToken.getSpelling().equals("--")){
-
-            expr = new UnaryDecrExpr(position, innerExpr,false);
-
-        }else if(initialToken.getSpelling().equals("!")){
-
-            expr = new UnaryNotExpr(position, innerExpr);
-
-        }else if(initialToken.getSpelling().equals("-")){
-
-            expr = new UnaryNegExpr(position,  innerExpr);
-
-        }else{
-            //currentToken = scanner.scan();
-            return innerExpr;
-
+        else if(currentToken.kind == CAST){
+            return parseCast();
         }
 
-        return expr;
-
-    }
+        // the prefix operators in front of the operand, outermost first
+        List<Token> prefixOps = null;
 
+        while (currentToken.kind == UNARYINCR || currentToken.kind == UNARYDECR ||
+                currentToken.kind == UNARYNOT ||
+                (currentToken.kind == PLUSMINUS && currentToken.getSpelling().equals("-"))) {
+            if (prefixOps == null) {
+                prefixOps = new ArrayList<>();
+            }
+            prefixOps.add(currentToken);
+            currentToken = nextToken();
+        }
 
-    // <UnaryPostfix> ::= <Primary> <PostfixOp>
-    // <PostfixOp> ::= ++ | -- | EMPTY
-    private Expr parseUnaryPostfix() {
         int position = currentToken.position;
-        Expr primaryExpr = parsePrimary();
-
-        Expr postFixExpr;
+        Expr expr = parsePrimary();
 
         if(currentToken.kind == UNARYINCR) {
-
-            postFixExpr = new UnaryIncrExpr(position, primaryExpr, true);
-            currentToken = scanner.scan();
+            expr = new UnaryIncrExpr(position, expr, true);
+            currentToken = nextToken();
         }
         else if(currentToken.kind == UNARYDECR){
-
-            postFixExpr = new UnaryDecrExpr(position, primaryExpr,true);
-            currentToken = scanner.scan();
-        }
-        else{
-
-            postFixExpr = primaryExpr;
-
+            expr = new UnaryDecrExpr(position, expr, true);
+            currentToken = nextToken();
+        }
+
+        if (prefixOps != null) {
+            for (int i = prefixOps.size() - 1; i >= 0; i--) {
+                Token prefixOp = prefixOps.get(i);
+                switch (prefixOp.kind) {
+                    case UNARYINCR:
+                        expr = new UnaryIncrExpr(prefixOp.position, expr, false);
+                        break;
+                    case UNARYDECR:
+                        expr = new UnaryDecrExpr(prefixOp.position, expr, false);
+                        break;
+                    case UNARYNOT:
+                        expr = new UnaryNotExpr(prefixOp.position, expr);
+                        break;
+                    default:
+                        expr = new UnaryNegExpr(prefixOp.position, expr);
+                        break;
+                }
+            }
         }
-
-        return postFixExpr;
-
+        return expr;
     }
 
 
@@ -1069,7 +1505,7 @@ public class Parser
     private Expr parsePrimary() {
         if(currentToken.kind == LPAREN){
 
-            currentToken = scanner.scan();
+            currentToken = nextToken();
             Expr expr = parseExpression();
 
             // Checks for right parenthesis
@@ -1080,6 +1516,7 @@ public class Parser
 
                 throw new CompilationException(errorHandler);
             }
+            currentToken = nextToken();
             return expr;
         }
 
@@ -1120,18 +1557,18 @@ public class Parser
 
             ref = new VarExpr(position, null, currentToken.spelling);
 
-            currentToken = scanner.scan();
+            currentToken = nextToken();
 
 
             if(currentToken.kind == DOT){
-                currentToken = scanner.scan();
+                currentToken = nextToken();
                 String name = parseIdentifier();
                 varExpr = new VarExpr(position, ref, name);
 
             }
             else {
                 varExpr = ref;
-                //currentToken = scanner.scan();
+                //currentToken = nextToken();
                 return varExpr;
             }
 
@@ -1145,7 +1582,7 @@ public class Parser
 
         if(currentToken.kind == LPAREN){
             //DispatchExpr
-            currentToken = scanner.scan();
+            currentToken = nextToken();
             ExprList arguments = parseArguments();
             return new DispatchExpr(position, varExpr.getRef(), varExpr.getName(),arguments);
         }
@@ -1166,8 +1603,8 @@ public class Parser
 
 
         if(currentToken.kind == RPAREN){
-            currentToken = scanner.scan();
-            return arguments;
+            currentToken = nextToken();
+            return finishList(arguments);
         }
 
         while (true){
@@ -1176,7 +1613,7 @@ public class Parser
                 break;
             }
             else if(currentToken.kind == COMMA){
-                currentToken = scanner.scan();
+                currentToken = nextToken();
             }
             else{
                 errorHandler.register(Error.Kind.PARSE_ERROR, this.filename, position,
@@ -1184,8 +1621,8 @@ public class Parser
                 throw new CompilationException(errorHandler);
             }
         }
-        currentToken = scanner.scan();
-        return arguments;
+        currentToken = nextToken();
+        return finishList(arguments);
 
     }
 
@@ -1201,12 +1638,12 @@ public class Parser
             throw new CompilationException(errorHandler);
         }
 
-        currentToken = scanner.scan();
+        currentToken = nextToken();
         FormalList parameters = new FormalList(position);
 
         if(currentToken.kind == RPAREN){
-            currentToken = scanner.scan();
-            return parameters;
+            currentToken = nextToken();
+            return finishList(parameters);
         }
 
         while (true){
@@ -1215,7 +1652,7 @@ public class Parser
                 break;
             }
             else if(currentToken.kind == COMMA){
-                currentToken = scanner.scan();
+                currentToken = nextToken();
             }
             else{
                 errorHandler.register(Error.Kind.PARSE_ERROR, this.filename, position,
@@ -1223,8 +1660,8 @@ public class Parser
                 throw new CompilationException(errorHandler);
             }
         }
-        currentToken = scanner.scan();
-        return parameters;
+        currentToken = nextToken();
+        return finishList(parameters);
     }
 
 
@@ -1243,19 +1680,149 @@ public class Parser
     private String parseType() {
 
         // Checks for type other than var
-        if(reservedWords.contains(currentToken.spelling)){
+        if(Keywords.isKeyword(currentToken.kind)){
 
             errorHandler.register(Error.Kind.PARSE_ERROR, this.filename,
                     currentToken.position, "var expected");
             throw new CompilationException(errorHandler);
         }
         String name = currentToken.getSpelling();
-        currentToken = scanner.scan();
+        currentToken = nextToken();
         return name;
     }
 
 
 
+    //----------------------------------------
+    //Error recovery
+
+    /**
+     * registers a syntax error at the current token, unless the last error
+     * was already reported there
+     *
+     * @param position the line number of the error
+     * @param message  the error message
+     */
+    private void reportError(int position, String message) {
+        if (currentToken != errorToken) {
+            errorHandler.register(Error.Kind.PARSE_ERROR, this.filename, position, message);
+            errorToken = currentToken;
+            syntaxErrors++;
+        }
+    }
+
+
+    /**
+     * After a syntax error in a class header, skips to the '{' that starts
+     * the body of the class, or to the next class or the end of the file.
+     */
+    private void skipClassHeader() {
+        errorToken = currentToken;
+        syntaxErrors++;
+        while (currentToken.kind != LCURLY && currentToken.kind != CLASS &&
+                currentToken.kind != EOF) {
+            currentToken = nextToken();
+        }
+    }
+
+
+    /**
+     * After a syntax error in a member, skips past the ';' that ends a
+     * field or the '}' that ends the body of a method.  It stops early at the
+     * '}' that ends the class, the next class or the end of the file.
+     *
+     * @param start the first token of the member
+     */
+    private void skipMember(Token start) {
+        errorToken = currentToken;
+        syntaxErrors++;
+
+        // a token that cannot start a member is skipped so the next member
+        // does not fail at the same place
+        if (currentToken == start && currentToken.kind != RCURLY) {
+            skipToken();
+        }
+
+        int depth = 0;
+        while (true) {
+            switch (currentToken.kind) {
+                case CLASS:
+                case EOF:
+                    return;
+                case SEMICOLON:
+                    currentToken = nextToken();
+                    if (depth == 0) {
+                        return;
+                    }
+                    break;
+                case LCURLY:
+                    depth++;
+                    currentToken = nextToken();
+                    break;
+                case RCURLY:
+                    if (depth == 0) {
+                        return;
+                    }
+                    depth--;
+                    currentToken = nextToken();
+                    if (depth == 0) {
+                        return;
+                    }
+                    break;
+                default:
+                    currentToken = nextToken();
+            }
+        }
+    }
+
+
+    /**
+     * After a syntax error in a statement, skips past the next ';' or up to
+     * the start of the next statement, the '}' that ends the block, the next
+     * class or the end of the file.
+     *
+     * @param start the first token of the statement
+     */
+    private void skipStatement(Token start) {
+        errorToken = currentToken;
+        syntaxErrors++;
+
+        // a token that cannot start a statement is skipped so the next
+        // statement does not fail at the same place
+        if (currentToken == start) {
+            skipToken();
+        }
+
+        while (true) {
+            switch (currentToken.kind) {
+                case CLASS:
+                case EOF:
+                case RCURLY:
+                    return;
+                case SEMICOLON:
+                    currentToken = nextToken();
+                    return;
+                default:
+                    if (statementStarts.contains(currentToken.kind)) {
+                        return;
+                    }
+                    currentToken = nextToken();
+            }
+        }
+    }
+
+
+    /**
+     * skips the current token unless it is a class keyword or the end of
+     * the file, where the enclosing constructs stop
+     */
+    private void skipToken() {
+        if (currentToken.kind != CLASS && currentToken.kind != EOF) {
+            currentToken = nextToken();
+        }
+    }
+
+
     //----------------------------------------
     //Terminals
 
@@ -1266,7 +1833,7 @@ public class Parser
             throw new CompilationException(errorHandler);
         }
         String name = currentToken.getSpelling();
-        currentToken = scanner.scan();
+        currentToken = nextToken();
         return name;
     }
 
@@ -1278,7 +1845,7 @@ public class Parser
             throw new CompilationException(errorHandler);
         }
         String name = currentToken.getSpelling();
-        currentToken = scanner.scan();
+        currentToken = nextToken();
         return name;
     }
 
@@ -1288,7 +1855,7 @@ public class Parser
         //...save the currentToken's string to a local variable...
         String strConst = currentToken.getSpelling();
         //...advance to the next token...
-        currentToken = scanner.scan();
+        currentToken = nextToken();
         //...return a new ConstStringExpr containing the string...
         return new ConstStringExpr(position, strConst);
     }
@@ -1299,7 +1866,7 @@ public class Parser
 
         String intConst = currentToken.getSpelling();
 
-        currentToken = scanner.scan();
+        currentToken = nextToken();
 
         return new ConstIntExpr(position, intConst);
     }
@@ -1310,7 +1877,7 @@ public class Parser
 
         String boolConst = currentToken.getSpelling();
 
-        currentToken = scanner.scan();
+        currentToken = nextToken();
 
         return new ConstBooleanExpr(position, boolConst);
     }
@@ -0,0 +1,18 @@
+/*
+ * File: SyntaxKind.java
+ * Date: 10/2026
+ */
+
+package proj10LoverudeTymkiwCorrell.bantam.parser;
+
+/**
+ * The kinds of nodes in a SyntaxTree.  A CLASS, MEMBER or STATEMENT node is
+ * what one pass of the loop of the enclosing program, class or block parses,
+ * so it is also what an edit can reparse on its own.  A BLOCK node is
+ * everything from a '{' to its '}', such as a method body.  TOKEN nodes are
+ * the leaves.
+ */
+public enum SyntaxKind
+{
+    PROGRAM, CLASS, MEMBER, BLOCK, STATEMENT, TOKEN
+}
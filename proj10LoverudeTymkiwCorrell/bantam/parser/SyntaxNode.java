@@ -0,0 +1,192 @@
+/*
+ * File: SyntaxNode.java
+ * Date: 10/2026
+ */
+
+package proj10LoverudeTymkiwCorrell.bantam.parser;
+
+import proj10LoverudeTymkiwCorrell.bantam.ast.ASTNode;
+import proj10LoverudeTymkiwCorrell.bantam.lexer.Token;
+
+/**
+ * A GreenNode at a position in one version of a SyntaxTree.  A SyntaxNode
+ * knows its parent, the index in the source where its text starts and the
+ * line there, all of which the shared green node cannot know.  SyntaxNodes
+ * are created on the way down from the root as they are asked for, so they
+ * cost nothing for the parts of a tree nobody looks at.
+ */
+public final class SyntaxNode
+{
+    private final GreenNode green;
+    private final SyntaxNode parent;
+    // the index in the source and the line where the text of the node starts,
+    // including the white space and comments before its first token
+    private final int fullStart;
+    private final int fullStartLine;
+
+    /**
+     * creates a SyntaxNode
+     *
+     * @param green         the green node
+     * @param parent        the parent of the node or null for the root
+     * @param fullStart     the index in the source of the first character of the node
+     * @param fullStartLine the line of that character
+     */
+    SyntaxNode(GreenNode green, SyntaxNode parent, int fullStart, int fullStartLine) {
+        this.green = green;
+        this.parent = parent;
+        this.fullStart = fullStart;
+        this.fullStartLine = fullStartLine;
+    }
+
+    /**
+     * @return the green node, which holds the kind, children and text
+     */
+    public GreenNode getGreen() {
+        return green;
+    }
+
+    /**
+     * @return the kind of the node
+     */
+    public SyntaxKind getKind() {
+        return green.getKind();
+    }
+
+    /**
+     * @return the kind of the token if this is a token node or else null
+     */
+    public Token.Kind getTokenKind() {
+        return green.getTokenKind();
+    }
+
+    /**
+     * @return the parent of the node or null for the root
+     */
+    public SyntaxNode getParent() {
+        return parent;
+    }
+
+    /**
+     * @return the number of children of the node, 0 for a token
+     */
+    public int getChildCount() {
+        return green.getChildCount();
+    }
+
+    /**
+     * Returns a child of the node.  Its position is found by adding up the
+     * sizes of the children before it.
+     *
+     * @param index the index of the child
+     * @return the index-th child of the node
+     */
+    public SyntaxNode getChild(int index) {
+        int offset = fullStart;
+        int line = fullStartLine;
+        for (int i = 0; i < index; i++) {
+            GreenNode sibling = green.getChild(i);
+            offset += sibling.getWidth();
+            line += sibling.getLineBreaks();
+        }
+        return new SyntaxNode(green.getChild(index), this, offset, line);
+    }
+
+    /**
+     * @return the index in the source of the first character of the node,
+     * including the white space and comments before its first token
+     */
+    public int getFullStart() {
+        return fullStart;
+    }
+
+    /**
+     * @return the index in the source of the first character of the first
+     * token of the node
+     */
+    public int getStart() {
+        return fullStart + green.getTriviaWidth();
+    }
+
+    /**
+     * @return the index in the source after the last character of the node
+     */
+    public int getEnd() {
+        return fullStart + green.getWidth();
+    }
+
+    /**
+     * @return the line of the first token of the node, which is the line
+     * of the AST node parsed from it
+     */
+    public int getLine() {
+        return fullStartLine + green.getLeadingLineBreaks();
+    }
+
+    /**
+     * @return the text of the node without the white space and comments
+     * before its first token
+     */
+    public String getText() {
+        return green.getText().substring(green.getTriviaWidth());
+    }
+
+    /**
+     * @return the text of the node including the white space and comments
+     * before its first token
+     */
+    public String getFullText() {
+        return green.getText();
+    }
+
+    /**
+     * @return the AST node parsed from the node or null
+     * @see GreenNode#getAst()
+     */
+    public ASTNode getAst() {
+        return green.getAst();
+    }
+
+    /**
+     * @return true if a syntax error was found in the node or its descendants
+     */
+    public boolean hasErrors() {
+        return green.hasErrors();
+    }
+
+    /**
+     * finds the token node whose text, including the white space and
+     * comments before it, contains the character at the given index
+     *
+     * @param offset the index of a character in the source
+     * @return the token node or null if the index is not inside this node
+     */
+    public SyntaxNode findToken(int offset) {
+        if (offset < fullStart || offset >= getEnd()) {
+            return null;
+        }
+        SyntaxNode node = this;
+        while (node.getKind() != SyntaxKind.TOKEN) {
+            int childOffset = node.fullStart;
+            int line = node.fullStartLine;
+            int i = 0;
+            GreenNode child = node.green.getChild(0);
+            while (offset >= childOffset + child.getWidth()) {
+                childOffset += child.getWidth();
+                line += child.getLineBreaks();
+                child = node.green.getChild(++i);
+            }
+            node = new SyntaxNode(child, node, childOffset, line);
+        }
+        return node;
+    }
+
+    /**
+     * @return the kind and range of the node, for debugging
+     */
+    @Override
+    public String toString() {
+        return (getTokenKind() != null ? getTokenKind() : getKind())
+                + "[" + getStart() + ", " + getEnd() + ")";
+    }
+}
@@ -0,0 +1,397 @@
+/*
+ * File: SyntaxTree.java
+ * Date: 10/2026
+ */
+
+package proj10LoverudeTymkiwCorrell.bantam.parser;
+
+import proj10LoverudeTymkiwCorrell.bantam.ast.ASTNode;
+import proj10LoverudeTymkiwCorrell.bantam.ast.BlockStmt;
+import proj10LoverudeTymkiwCorrell.bantam.ast.ClassList;
+import proj10LoverudeTymkiwCorrell.bantam.ast.Class_;
+import proj10LoverudeTymkiwCorrell.bantam.ast.ListNode;
+import proj10LoverudeTymkiwCorrell.bantam.ast.Method;
+import proj10LoverudeTymkiwCorrell.bantam.ast.Program;
+import proj10LoverudeTymkiwCorrell.bantam.lexer.Scanner;
+import proj10LoverudeTymkiwCorrell.bantam.lexer.Token;
+import proj10LoverudeTymkiwCorrell.bantam.lexer.TokenStream;
+import proj10LoverudeTymkiwCorrell.bantam.util.Error;
+import proj10LoverudeTymkiwCorrell.bantam.util.ErrorHandler;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A lossless syntax tree of a source that is being edited, such as the
+ * contents of an editor, and the AST parsed from it.
+ * <p>
+ * The tree is made of GreenNodes, whose text is exactly the source
+ * including its white space and comments.  When the source is edited,
+ * update re-scans the tokens around the edit, finds the smallest class,
+ * member or statement that contains all the changed tokens and parses
+ * only that node again.  The new node is accepted if it ends where the old
+ * one ended, since then the parse of everything after it is unchanged;
+ * otherwise the node around it is tried, up to the whole program.  Every
+ * other node of the old tree is shared by the new one, and the AST nodes of
+ * the reparsed node replace the old ones in the lists of the AST.
+ * <p>
+ * getProgram() gives the AST as Parser.parse would build it from the
+ * same tokens, without the members and statements that have syntax errors
+ * and with the methods they were left out of marked as incomplete.  Syntax
+ * errors are kept in the tree and given by getSyntaxErrors().  Lexical
+ * errors are registered with the ErrorHandler of the tree when the
+ * characters they are in are scanned, which is once for the unchanged parts
+ * of the source.
+ */
+public class SyntaxTree
+{
+    private final String filename;
+    private final ErrorHandler errorHandler;
+    private final TokenStream tokens;
+    private final GreenBuilder builder;
+    private final Parser parser;
+    private final LineShifter lineShifter = new LineShifter();
+    private GreenNode root;
+
+    /**
+     * scans and parses the given source
+     *
+     * @param source       the Bantam Java source
+     * @param filename     the name to use for the source in the AST and error messages
+     * @param errorHandler the ErrorHandler for lexical errors
+     */
+    public SyntaxTree(CharSequence source, String filename, ErrorHandler errorHandler) {
+        this.filename = filename;
+        this.errorHandler = errorHandler;
+        tokens = new Scanner(source, filename, errorHandler).scanAll();
+        builder = new GreenBuilder(tokens);
+        parser = new Parser(builder.getErrorHandler());
+        root = parser.parseSyntax(tokens, filename, builder);
+    }
+
+    /**
+     * Updates the tree for an edit of the source: removedLength characters
+     * starting at offset are replaced by insertedText.  Lexical errors in the
+     * characters scanned again are registered with the ErrorHandler.
+     *
+     * @param offset        the index in the source of the first character replaced
+     * @param removedLength the number of characters replaced
+     * @param insertedText  the characters inserted in their place
+     * @throws IndexOutOfBoundsException if the edit is not inside the source
+     */
+    public void update(int offset, int removedLength, CharSequence insertedText) {
+        int oldSize = tokens.size();
+        int oldLastLine = tokens.getLine(oldSize - 1);
+        TokenStream.Change change = tokens.update(offset, removedLength, insertedText,
+                errorHandler);
+        int tokenDelta = change.insertedCount - change.removedCount;
+        int lineDelta = tokens.getLine(tokens.size() - 1) - oldLastLine;
+        // the token after the replaced ones may have new white space or
+        // comments before it, so it changed too
+        int first = change.first;
+        int end = Math.min(first + change.removedCount + 1, oldSize);
+        boolean firstKindKept = first < tokens.size()
+                && tokenKind(root, first) == tokens.getKind(first);
+
+        // the path from the root to the innermost node containing the change
+        List<GreenNode> path = new ArrayList<>();
+        List<Integer> childIndexes = new ArrayList<>();
+        List<Integer> starts = new ArrayList<>();
+        GreenNode node = root;
+        int start = 0;
+        path.add(node);
+        starts.add(start);
+        while (node.getKind() != SyntaxKind.TOKEN) {
+            int childStart = start;
+            int index = 0;
+            GreenNode child = node.getChild(0);
+            while (childStart + child.getTokenCount() <= first) {
+                childStart += child.getTokenCount();
+                child = node.getChild(++index);
+            }
+            if (childStart + child.getTokenCount() < end) {
+                break;
+            }
+            node = child;
+            start = childStart;
+            path.add(node);
+            childIndexes.add(index);
+            starts.add(start);
+        }
+
+        // reparse the innermost class, member or statement that ends where it did
+        for (int level = path.size() - 1; level > 0; level--) {
+            GreenNode old = path.get(level);
+            int nodeStart = starts.get(level);
+            int nodeEnd = nodeStart + old.getTokenCount() + tokenDelta;
+            // the node before a node starting at the first changed token
+            // looked at that token to see where it ends and may have reported
+            // an error at its line, so the token must keep its kind and line
+            if (nodeStart == first && (!firstKindKept || lineDelta != 0
+                    && previousHasErrors(path.get(level - 1), childIndexes.get(level - 1)))) {
+                continue;
+            }
+            if (!canReparse(path, level, nodeStart, nodeEnd, lineDelta)) {
+                continue;
+            }
+            GreenNode parsed = parser.reparse(old.getKind(), tokens, nodeStart, filename,
+                    builder);
+            if (parsed != null && parsed.getTokenCount() == nodeEnd - nodeStart) {
+                replace(path, childIndexes, level, parsed, nodeStart, lineDelta);
+                return;
+            }
+        }
+        root = parser.parseSyntax(tokens, filename, builder);
+    }
+
+    /**
+     * Tells whether the node at the given level of the path can be parsed
+     * again on its own.  It must be what a pass of the loop of the node
+     * around it parses, and the tokens before and after it must be ones at
+     * which that loop neither stops nor reports an error.  If the edit moves
+     * lines, the nodes around it must not hold errors, since an error after
+     * the node would have to move too.
+     *
+     * @param path      the nodes from the root to the innermost one containing the change
+     * @param level     the index in the path of the node
+     * @param nodeStart the index of the first token of the node
+     * @param nodeEnd   the index of the token after the node, once it is parsed again
+     * @param lineDelta the number of lines added by the edit
+     * @return true if the node can be parsed again
+     */
+    private boolean canReparse(List<GreenNode> path, int level, int nodeStart, int nodeEnd,
+                               int lineDelta) {
+        if (nodeEnd <= nodeStart || nodeEnd >= tokens.size()) {
+            return false;
+        }
+        SyntaxKind parentKind = path.get(level - 1).getKind();
+        Token.Kind startKind = tokens.getKind(nodeStart);
+        Token.Kind endKind = tokens.getKind(nodeEnd);
+        switch (path.get(level).getKind()) {
+            case CLASS:
+                if (parentKind != SyntaxKind.PROGRAM || startKind == Token.Kind.EOF) {
+                    return false;
+                }
+                break;
+            case MEMBER:
+            case STATEMENT:
+                if (parentKind != (path.get(level).getKind() == SyntaxKind.MEMBER ?
+                        SyntaxKind.CLASS : SyntaxKind.BLOCK)) {
+                    return false;
+                }
+                if (startKind == Token.Kind.RCURLY || isEnd(startKind) || isEnd(endKind)) {
+                    return false;
+                }
+                break;
+            default:
+                return false;
+        }
+        if (lineDelta != 0) {
+            for (int i = 0; i < level; i++) {
+                if (path.get(i).getErrors().length > 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param parent a node
+     * @param index  the index of a child of the node
+     * @return true if the child before it has syntax errors
+     */
+    private static boolean previousHasErrors(GreenNode parent, int index) {
+        return index > 0 && parent.getChild(index - 1).hasErrors();
+    }
+
+    /**
+     * @param node  a node
+     * @param index the index of a token in the node
+     * @return the kind of the token
+     */
+    private static Token.Kind tokenKind(GreenNode node, int index) {
+        while (node.getKind() != SyntaxKind.TOKEN) {
+            int i = 0;
+            while (index >= node.getChild(i).getTokenCount()) {
+                index -= node.getChild(i).getTokenCount();
+                i++;
+            }
+            node = node.getChild(i);
+        }
+        return node.getTokenKind();
+    }
+
+    /**
+     * @param kind the kind of a token
+     * @return true if a block or class stops at the token because its '}' is missing
+     */
+    private static boolean isEnd(Token.Kind kind) {
+        return kind == Token.Kind.CLASS || kind == Token.Kind.EOF;
+    }
+
+    /**
+     * Replaces the node at the given level of the path and the nodes above
+     * it, and updates the AST to match: the AST node of the new node takes
+     * the place of the old one in the list of the AST node around it, and
+     * the AST nodes after it are moved by the lines the edit added.
+     *
+     * @param path         the nodes from the root to the innermost one containing the change
+     * @param childIndexes the index of each node of the path in the node before it
+     * @param level        the index in the path of the node replaced
+     * @param parsed       the new node
+     * @param nodeStart    the index of the first token of the node
+     * @param lineDelta    the number of lines added by the edit
+     */
+    private void replace(List<GreenNode> path, List<Integer> childIndexes, int level,
+                         GreenNode parsed, int nodeStart, int lineDelta) {
+        GreenNode old = path.get(level);
+        GreenNode parent = path.get(level - 1);
+        int index = childIndexes.get(level - 1);
+
+        // the list in the AST holds the AST nodes of the children with one
+        ListNode list = null;
+        if (parent.getKind() == SyntaxKind.BLOCK) {
+            list = ((BlockStmt) parent.getAst()).getStmtList();
+        }
+        else if (parent.getKind() == SyntaxKind.CLASS && parent.getAst() != null) {
+            list = ((Class_) parent.getAst()).getMemberList();
+            // the list is at the line of the first member
+            if (tokens.getKind(nodeStart - 1) == Token.Kind.LCURLY) {
+                list.setLineNum(tokens.getLine(nodeStart));
+            }
+        }
+        if (list != null) {
+            int listIndex = 0;
+            for (int i = 0; i < index; i++) {
+                if (parent.getChild(i).getAst() != null) {
+                    listIndex++;
+                }
+            }
+            if (old.getAst() != null && parsed.getAst() != null) {
+                list.set(listIndex, parsed.getAst());
+            }
+            else if (old.getAst() != null) {
+                list.remove(listIndex);
+            }
+            else if (parsed.getAst() != null) {
+                list.addElement(listIndex, parsed.getAst());
+            }
+        }
+
+        GreenNode node = parsed;
+        for (int i = level - 1; i >= 0; i--) {
+            node = path.get(i).withChild(childIndexes.get(i), node);
+            // only the body of a method can hold the errors of its member
+            if (node.getKind() == SyntaxKind.MEMBER && node.getAst() instanceof Method) {
+                ((Method) node.getAst()).setBodyIncomplete(node.hasErrors());
+            }
+        }
+        root = node;
+
+        if (lineDelta != 0) {
+            for (int i = level - 1; i >= 0; i--) {
+                GreenNode ancestor = path.get(i);
+                int childIndex = childIndexes.get(i);
+                if (ancestor.getKind() == SyntaxKind.STATEMENT) {
+                    // the AST of a statement, such as an if statement, can
+                    // have nodes after the block on the path
+                    if (ancestor.getAst() != null) {
+                        lineShifter.shiftAfter(ancestor.getAst(),
+                                path.get(i + 1).getAst(), lineDelta);
+                    }
+                }
+                else {
+                    for (int j = childIndex + 1; j < ancestor.getChildCount(); j++) {
+                        ASTNode ast = ancestor.getChild(j).getAst();
+                        if (ast != null) {
+                            lineShifter.shift(ast, lineDelta);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the syntax errors in the source, in the order of their lines.
+     *
+     * @return the errors
+     */
+    public List<Error> getSyntaxErrors() {
+        List<Error> errors = new ArrayList<>();
+        addErrors(root, 1, errors);
+        errors.sort(Comparator.comparingInt(Error::getLineNum));
+        return errors;
+    }
+
+    /**
+     * adds the syntax errors in a node to a list
+     *
+     * @param node          the node
+     * @param fullStartLine the line where the text of the node starts
+     * @param errors        the list
+     */
+    private void addErrors(GreenNode node, int fullStartLine, List<Error> errors) {
+        int firstLine = fullStartLine + node.getLeadingLineBreaks();
+        Error[] nodeErrors = node.getErrors();
+        int[] errorLines = node.getErrorLines();
+        for (int i = 0; i < nodeErrors.length; i++) {
+            Error error = nodeErrors[i];
+            int line = errorLines[i] == GreenNode.NO_LINE ? error.getLineNum()
+                    : firstLine + errorLines[i];
+            errors.add(new Error(error.getKind(), error.getFilename(), line,
+                    error.getMessage()));
+        }
+        int line = fullStartLine;
+        for (int i = 0; i < node.getChildCount(); i++) {
+            GreenNode child = node.getChild(i);
+            if (child.hasErrors()) {
+                addErrors(child, line, errors);
+            }
+            line += child.getLineBreaks();
+        }
+    }
+
+    /**
+     * @return the root of the tree
+     */
+    public SyntaxNode getRoot() {
+        return new SyntaxNode(root, null, 0, 1);
+    }
+
+    /**
+     * @return the tokens of the source
+     */
+    public TokenStream getTokens() {
+        return tokens;
+    }
+
+    /**
+     * @return the source, which is the text of the tree
+     */
+    public String getText() {
+        return root.getText();
+    }
+
+    /**
+     * Creates the AST of the program.  As with Parser.parse, a class whose
+     * name could not be parsed is left out.  The Program and ClassList nodes
+     * are new; the nodes of the classes are shared with the earlier ASTs of
+     * the tree and changed in place by updates.
+     *
+     * @return the Program node forming the root of the AST
+     */
+    public Program getProgram() {
+        int position = tokens.getLine(0);
+        ClassList classList = new ClassList(position);
+        for (int i = 0; i < root.getChildCount(); i++) {
+            GreenNode child = root.getChild(i);
+            if (child.getKind() == SyntaxKind.CLASS && child.getAst() != null) {
+                classList.addElement(child.getAst());
+            }
+        }
+        return new Program(position, classList);
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * File: BuiltinEnvironment.java
+ * Date: 10/2026
+ */
+
+package proj10LoverudeTymkiwCorrell.bantam.semant;
+
+import proj10LoverudeTymkiwCorrell.bantam.ast.*;
+import proj10LoverudeTymkiwCorrell.bantam.util.ClassTreeNode;
+import proj10LoverudeTymkiwCorrell.bantam.util.ErrorHandler;
+
+import java.util.ArrayList;
+import java.util.Hashtable;
+import java.util.List;
+
+/**
+ * The built-in classes Object, String, TextIO and Sys, built once and
+ * shared by every analysis.  Their ASTs and their field and method symbol
+ * tables are created when the class is loaded and frozen, so they cannot
+ * change and any number of analyses, on any threads, can use them at once.
+ * Each analysis puts its own ClassTreeNodes for the built-in classes in its
+ * classMap with addTo, since the ClassTreeNode of Object gets the user
+ * classes as its children, but the nodes share the tables and ASTs built
+ * here instead of copying them.
+ */
+public final class BuiltinEnvironment
+{
+    private static final BuiltinEnvironment instance = new BuiltinEnvironment();
+
+    // the class tree nodes the shared tables were built with, Object first
+    private final List<ClassTreeNode> prototypes = new ArrayList<>(4);
+
+    /**
+     * creates the ASTs of the built-in classes and fills and freezes their
+     * symbol tables
+     */
+    private BuiltinEnvironment() {
+        Hashtable<String, ClassTreeNode> classMap = new Hashtable<>();
+        // create AST node for the Object class
+        Class_ astNode = new Class_(-1, "<built-in class>", "Object", null,
+                (MemberList) (new MemberList(-1)).addElement(new Method(-1, "Object",
+                        "clone", new FormalList(-1),
+                        (StmtList) (new StmtList(-1)).addElement(new ReturnStmt(-1,
+                                new VarExpr(-1, null, "null"))))).addElement(new Method(-1, "boolean", "equals", (FormalList) (new FormalList(-1)).addElement(new Formal(-1, "Object", "o")), (StmtList) (new StmtList(-1)).addElement(new ReturnStmt(-1, new ConstBooleanExpr(-1, "false"))))).addElement(new Method(-1, "void", "print", (FormalList) (new FormalList(-1)).addElement(new Formal(-1, "String", "string")), (StmtList) (new StmtList(-1))/*.addElement(new ReturnStmt(-1, new ConstBooleanExpr(-1, "false")))*/)).addElement(new Method(-1, "String", "toString", new FormalList(-1), (StmtList) (new StmtList(-1)).addElement(new ReturnStmt(-1, new VarExpr(-1, null, "null"))))));
+        // create a class tree node for object, the root of the others
+        addClass(astNode, /*extendable?*/true, classMap);
+
+        // note: String, TextIO, and Sys all have fields that are not shown below.
+        // Because these classes cannot be extended and fields are protected, these
+        // fields cannot be accessed by other classes, so these fields do not have to be
+        // included in the AST.
+
+        // create AST node for String
+        astNode = new Class_(-1, "<built-in class>", "String", "Object",
+                (MemberList) (new MemberList(-1)).addElement(new Field(-1, "int",
+                        "length", /*0 by default*/null))
+                /* note: str is the character sequence -- no applicable type for a
+               character sequence so it is just made an int.  it's OK to
+               do this since this field is only accessed (directly) within
+               the runtime system */.addElement(new Method(-1, "int", "length",
+                                new FormalList(-1),
+                                (StmtList) (new StmtList(-1)).addElement(new ReturnStmt(-1, new ConstIntExpr(-1, "0"))))).addElement(new Method(-1, "boolean", "equals", (FormalList) (new FormalList(-1)).addElement(new Formal(-1, "Object", "str")), (StmtList) (new StmtList(-1)).addElement(new ReturnStmt(-1, new ConstBooleanExpr(-1, "false"))))).addElement(new Method(-1, "String", "toString", new FormalList(-1), (StmtList) (new StmtList(-1)).addElement(new ReturnStmt(-1, new VarExpr(-1, null, "null"))))).addElement(new Method(-1, "String", "substring", (FormalList) (new FormalList(-1)).addElement(new Formal(-1, "int", "beginIndex")).addElement(new Formal(-1, "int", "endIndex")), (StmtList) (new StmtList(-1)).addElement(new ReturnStmt(-1, new VarExpr(-1, null, "null"))))).addElement(new Method(-1, "String", "concat", (FormalList) (new FormalList(-1)).addElement(new Formal(-1, "String", "str")), (StmtList) (new StmtList(-1)).addElement(new ReturnStmt(-1, new VarExpr(-1, null, "null"))))));
+        // create class tree node for String
+        addClass(astNode, /*extendable?*/false, classMap);
+
+        // create AST node for TextIO
+        astNode = new Class_(-1, "<built-in class>", "TextIO", "Object",
+                (MemberList) (new MemberList(-1)).addElement(new Field(-1, "int",
+                        "readFD", /*0 by default*/null)).addElement(new Field(-1, "int"
+                        , "writeFD", new ConstIntExpr(-1, "1"))).addElement(new Method(-1, "void", "readStdin", new FormalList(-1), (StmtList) (new StmtList(-1)).addElement(new ReturnStmt(-1, null)))).addElement(new Method(-1, "void", "readFile", (FormalList) (new FormalList(-1)).addElement(new Formal(-1, "String", "readFile")), (StmtList) (new StmtList(-1)).addElement(new ReturnStmt(-1, null)))).addElement(new Method(-1, "void", "writeStdout", new FormalList(-1), (StmtList) (new StmtList(-1)).addElement(new ReturnStmt(-1, null)))).addElement(new Method(-1, "void", "writeStderr", new FormalList(-1), (StmtList) (new StmtList(-1)).addElement(new ReturnStmt(-1, null)))).addElement(new Method(-1, "void", "writeFile", (FormalList) (new FormalList(-1)).addElement(new Formal(-1, "String", "writeFile")), (StmtList) (new StmtList(-1)).addElement(new ReturnStmt(-1, null)))).addElement(new Method(-1, "String", "getString", new FormalList(-1), (StmtList) (new StmtList(-1)).addElement(new ReturnStmt(-1, new VarExpr(-1, null, "null"))))).addElement(new Method(-1, "int", "getInt", new FormalList(-1), (StmtList) (new StmtList(-1)).addElement(new ReturnStmt(-1, new ConstIntExpr(-1, "0"))))).addElement(new Method(-1, "TextIO", "putString", (FormalList) (new FormalList(-1)).addElement(new Formal(-1, "String", "str")), (StmtList) (new StmtList(-1)).addElement(new ReturnStmt(-1, new VarExpr(-1, null, "null"))))).addElement(new Method(-1, "TextIO", "putInt", (FormalList) (new FormalList(-1)).addElement(new Formal(-1, "int", "n")), (StmtList) (new StmtList(-1)).addElement(new ReturnStmt(-1, new VarExpr(-1, null, "null"))))));
+        // create class tree node for TextIO
+        addClass(astNode, /*extendable?*/false, classMap);
+
+        // create AST node for Sys
+        astNode = new Class_(-1, "<built-in class>", "Sys", "Object",
+                (MemberList) (new MemberList(-1)).addElement(new Method(-1, "void",
+                        "exit",
+                        (FormalList) (new FormalList(-1)).addElement(new Formal(-1,
+                                "int", "status")),
+                        (StmtList) (new StmtList(-1)).addElement(new ReturnStmt(-1,
+                                null))))
+                /* MC: time() and random() requires modifying SPIM to add a time system
+                 call
+               (note: random() does not need its own system call although it uses the time
+               system call).  We have a version of SPIM with this system call available,
+               otherwise, just comment out. (For x86 and jvm there are no issues.)
+               */.addElement(new Method(-1, "int", "time", new FormalList(-1),
+                                (StmtList) (new StmtList(-1)).addElement(new ReturnStmt(-1, new ConstIntExpr(-1, "0"))))).addElement(new Method(-1,
+                                "int", "random", new FormalList(-1),
+                                (StmtList) (new StmtList(-1)).addElement(new ReturnStmt(-1, new ConstIntExpr(-1, "0"))))));
+        // create class tree node for Sys
+        addClass(astNode, /*extendable?*/false, classMap);
+
+        // add the members, "this" and "super" to the symbol tables of each
+        // class and make the classes and tables unchangeable
+        DeclarationCollectorVisitor collector = new DeclarationCollectorVisitor(classMap,
+                new ErrorHandler());
+        ClassTreeNode root = prototypes.get(0);
+        for (ClassTreeNode treeNode : prototypes) {
+            collector.addBuiltinMembers(treeNode);
+            if (treeNode != root) {
+                treeNode.setParent(root);
+            }
+            treeNode.getVarSymbolTable().add("super", (treeNode.getParent() == null ? "" :
+                    treeNode.getParent().getName()));
+            treeNode.getVarSymbolTable().freeze();
+            treeNode.getMethodSymbolTable().freeze();
+            treeNode.getASTNode().getMemberList().freeze();
+        }
+    }
+
+    /**
+     * @return the built-in environment shared by all analyses
+     */
+    public static BuiltinEnvironment get() {
+        return instance;
+    }
+
+    /**
+     * Puts new ClassTreeNodes for the built-in classes in a classMap.  The
+     * nodes share the ASTs and symbol tables of this environment, so this
+     * costs no more than creating the four nodes.
+     *
+     * @param classMap the classMap of an analysis
+     * @return the ClassTreeNode of Object, the root of the class hierarchy tree
+     */
+    public ClassTreeNode addTo(Hashtable<String, ClassTreeNode> classMap) {
+        ClassTreeNode root = null;
+        for (ClassTreeNode prototype : prototypes) {
+            ClassTreeNode treeNode = new ClassTreeNode(prototype.getASTNode(),
+                    /*built-in?*/true, prototype.isExtendable(), classMap,
+                    prototype.getVarSymbolTable(), prototype.getMethodSymbolTable());
+            if (root == null) {
+                root = treeNode;
+            }
+            else {
+                treeNode.setParent(root);
+            }
+            classMap.put(treeNode.getName(), treeNode);
+        }
+        return root;
+    }
+
+    /**
+     * creates the class tree node the tables of a built-in class are built with
+     *
+     * @param astNode    the AST node of the class
+     * @param extendable whether the class can have subclasses
+     * @param classMap   the classMap of the built-in classes
+     */
+    private void addClass(Class_ astNode, boolean extendable,
+                          Hashtable<String, ClassTreeNode> classMap) {
+        ClassTreeNode treeNode = new ClassTreeNode(astNode, /*built-in?*/true, extendable,
+                classMap);
+        classMap.put(astNode.getName(), treeNode);
+        prototypes.add(treeNode);
+    }
+}
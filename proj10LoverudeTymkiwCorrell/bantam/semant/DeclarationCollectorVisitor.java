@@ -0,0 +1,223 @@
+/*
+ * File: DeclarationCollectorVisitor.java
+ * Date: 10/2026
+ */
+
+package proj10LoverudeTymkiwCorrell.bantam.semant;
+
+import proj10LoverudeTymkiwCorrell.bantam.ast.*;
+import proj10LoverudeTymkiwCorrell.bantam.lexer.Keywords;
+import proj10LoverudeTymkiwCorrell.bantam.util.ClassTreeNode;
+import proj10LoverudeTymkiwCorrell.bantam.util.Error;
+import proj10LoverudeTymkiwCorrell.bantam.util.ErrorHandler;
+import proj10LoverudeTymkiwCorrell.bantam.util.SymbolTable;
+import proj10LoverudeTymkiwCorrell.bantam.visitor.Visitor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class visits the classes of the AST once to collect their
+ * declarations.  It adds an entry for each class in the classMap, adds the
+ * fields and methods of each class to the symbol tables of its entry, and
+ * looks for a main method in the Main class.  It does not visit the bodies
+ * of the members.
+ * <p>
+ * The errors in the declarations of classes are registered as they are
+ * found.  The errors in the declarations of members are kept until
+ * registerMemberErrors() is called, so that they are registered after the
+ * errors in the inheritance tree, in the order of the classes in the
+ * classMap, as when the members were added to the tables in a pass of
+ * their own.
+ */
+public class DeclarationCollectorVisitor extends Visitor
+{
+    private final Hashtable<String, ClassTreeNode> classMap;
+    private final ErrorHandler errorHandler;
+    // the errors in the members of each class that have not been registered
+    private final Map<ClassTreeNode, List<Error>> memberErrors = new HashMap<>();
+    private boolean hasMainMethodInMainClass;
+
+    /**
+     * DeclarationCollectorVisitor constructor
+     *
+     * @param classMap     the map of class names to ClassTreeNodes to add to
+     * @param errorHandler the ErrorHandler to register the errors with
+     */
+    public DeclarationCollectorVisitor(Hashtable<String, ClassTreeNode> classMap,
+                                       ErrorHandler errorHandler) {
+        this.classMap = classMap;
+        this.errorHandler = errorHandler;
+    }
+
+    /**
+     * @return whether a class named Main with a main method that has void
+     * return type and no parameters has been visited
+     */
+    public boolean hasMain() {
+        return hasMainMethodInMainClass;
+    }
+
+    /**
+     * adds a new ClassTreeNode for this node to the classMap, unless the
+     * name is taken or reserved, and adds the members of the class to the
+     * symbol tables of the ClassTreeNode
+     *
+     * @param node the class node
+     * @return null
+     */
+    @Override
+    public Object visit(Class_ node) {
+        ClassTreeNode treeNode = null;
+        if (classMap.containsKey(node.getName()))
+            errorHandler.register(Error.Kind.SEMANT_ERROR, node.getFilename(),
+                    node.getLineNum(), "Two classes declared with the same name; " +
+                            node.getName());
+        else if (Keywords.isReservedIdentifier(node.getName()))
+            errorHandler.register(Error.Kind.SEMANT_ERROR, node.getFilename(),
+                    node.getLineNum(), "A class cannot be named 'this', 'super'," +
+                            "'void', 'int', 'boolean', or 'null'; " +
+                            node.getName());
+        else {
+            treeNode = new ClassTreeNode(node, false, true, classMap);
+            classMap.put(node.getName(), treeNode);
+            enterClassScopes(treeNode);
+        }
+
+        // a Main class that was not added to the classMap still counts
+        boolean isMainClass = "Main".equals(node.getName());
+        if (treeNode == null && !isMainClass) {
+            return null;
+        }
+        MemberList list = node.getMemberList();
+        for (int i = 0; i < list.getSize(); i++) {
+            ASTNode member = list.get(i);
+            if (isMainClass && member instanceof Method && isMainMethod((Method) member)) {
+                hasMainMethodInMainClass = true;
+            }
+            if (treeNode != null) {
+                addMember(treeNode, member);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * adds the members of a built-in class to the symbol tables of its
+     * ClassTreeNode.  Built-in classes have no errors in their members.
+     *
+     * @param treeNode the ClassTreeNode of the built-in class
+     */
+    void addBuiltinMembers(ClassTreeNode treeNode) {
+        enterClassScopes(treeNode);
+        MemberList list = treeNode.getASTNode().getMemberList();
+        for (int i = 0; i < list.getSize(); i++) {
+            addMember(treeNode, list.get(i));
+        }
+    }
+
+    /**
+     * registers the errors found in the members of the classes, in the
+     * order of the classes in the classMap
+     */
+    public void registerMemberErrors() {
+        if (memberErrors.isEmpty()) {
+            return;
+        }
+        for (ClassTreeNode treeNode : classMap.values()) {
+            List<Error> errors = memberErrors.get(treeNode);
+            if (errors != null) {
+                for (Error error : errors) {
+                    errorHandler.register(error.getKind(), error.getFilename(),
+                            error.getLineNum(), error.getMessage());
+                }
+            }
+        }
+        memberErrors.clear();
+    }
+
+    /**
+     * enters the scope of the class members in the symbol tables of a
+     * ClassTreeNode and adds "this" to its fields.  "super" is added when
+     * the parent of the class is known.
+     *
+     * @param treeNode the ClassTreeNode
+     */
+    private void enterClassScopes(ClassTreeNode treeNode) {
+        treeNode.getVarSymbolTable().enterScope();
+        treeNode.getVarSymbolTable().add("this", treeNode.getName());
+        treeNode.getMethodSymbolTable().enterScope();
+    }
+
+    /**
+     * @param method a method of the Main class
+     * @return whether it is named main, has void return type and has no parameters
+     */
+    private static boolean isMainMethod(Method method) {
+        return "main".equals(method.getName()) &&
+                "void".equals(method.getReturnType()) &&
+                method.getFormalList().getSize() == 0;
+    }
+
+    /**
+     * adds a field to the variable SymbolTable or a method to the method
+     * SymbolTable of a ClassTreeNode
+     *
+     * @param treeNode the ClassTreeNode whose SymbolTable is being added to
+     * @param member   the field or method ASTNode that is being added to the table
+     */
+    private void addMember(ClassTreeNode treeNode, ASTNode member) {
+        if (member instanceof Field) {
+            Field field = (Field) member;
+            addMember(treeNode, treeNode.getVarSymbolTable(), member, field.getName(),
+                    field.getType(), "field");
+        }
+        else { // if(member instanceof Method)
+            Method method = (Method) member;
+            addMember(treeNode, treeNode.getMethodSymbolTable(), member,
+                    method.getName(), member, "method");
+        }
+    }
+
+    /**
+     * adds a member to a SymbolTable unless its name is reserved or is
+     * taken by another member of the same table
+     *
+     * @param treeNode the ClassTreeNode of the class of the member
+     * @param table    the SymbolTable
+     * @param member   the member ASTNode
+     * @param name     the name of the member
+     * @param value    the value to add for the name
+     * @param what     "field" or "method"
+     */
+    private void addMember(ClassTreeNode treeNode, SymbolTable table, ASTNode member,
+                           String name, Object value, String what) {
+        if (Keywords.isReservedIdentifier(name)) {
+            memberError(treeNode, member, "Class " + treeNode.getName() + " "
+                    + "has a " + what + " named: " + name + ", which is illegal.");
+        }
+        else if (table.peek(name) != null) {
+            memberError(treeNode, member, "Class " + treeNode.getName()
+                    + " has two " + what + "s of the same name: " + name + ".");
+        }
+        else {
+            table.add(name, value);
+        }
+    }
+
+    /**
+     * keeps an error in a member until registerMemberErrors() is called
+     *
+     * @param treeNode the ClassTreeNode of the class of the member
+     * @param member   the member ASTNode
+     * @param message  the error message
+     */
+    private void memberError(ClassTreeNode treeNode, ASTNode member, String message) {
+        memberErrors.computeIfAbsent(treeNode, k -> new ArrayList<>()).add(
+                new Error(Error.Kind.SEMANT_ERROR, treeNode.getASTNode().getFilename(),
+                        member.getLineNum(), message));
+    }
+}
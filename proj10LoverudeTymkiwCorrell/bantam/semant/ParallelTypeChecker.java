@@ -0,0 +1,150 @@
+/*
+ * File: ParallelTypeChecker.java
+ * Date: 10/2026
+ */
+
+package proj10LoverudeTymkiwCorrell.bantam.semant;
+
+import proj10LoverudeTymkiwCorrell.bantam.ast.ClassList;
+import proj10LoverudeTymkiwCorrell.bantam.ast.Class_;
+import proj10LoverudeTymkiwCorrell.bantam.ast.Program;
+import proj10LoverudeTymkiwCorrell.bantam.util.ClassHierarchy;
+import proj10LoverudeTymkiwCorrell.bantam.util.ClassTreeNode;
+import proj10LoverudeTymkiwCorrell.bantam.util.Error;
+import proj10LoverudeTymkiwCorrell.bantam.util.ErrorHandler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Type checks the classes of a program in parallel, in tasks of the common
+ * ForkJoinPool that each check a range of consecutive classes with their
+ * own TypeCheckerVisitor.  Once the class environments are built, checking
+ * reads them and changes only the AST of its class and the scopes of its own
+ * visitor, so the classes can be checked in any order.  The classes are
+ * split into about 8 ranges for each thread of the pool, so that the
+ * threads can balance the work while each task checks many classes.
+ * <p>
+ * Each task records the errors of its classes in the order they are found,
+ * and afterwards the errors are registered with the ErrorHandler of the
+ * analysis range by range, in the order of the classes in the program.  So
+ * the ErrorHandler gets the same errors in the same order as if the classes
+ * were checked one after another, and ends up with the same list, even when
+ * it keeps only the first errors.  If checking a class throws an exception,
+ * it is rethrown after the errors found before it, and the errors of the
+ * later classes are dropped, as they would not have been found.
+ */
+final class ParallelTypeChecker extends RecursiveAction
+{
+    private static final long serialVersionUID = 1L;
+
+    private final ClassList classes;
+    private final int from;
+    private final int to;
+    private final int grain;
+    private final ClassTreeNode root;
+    private final ClassHierarchy hierarchy;
+    private final ErrorLog[] logs;
+
+    /**
+     * ParallelTypeChecker constructor
+     * a task that checks some of the classes
+     *
+     * @param classes   the classes of the program
+     * @param from      the index of the first class to check
+     * @param to        the index after the last class to check
+     * @param grain     the most classes to check without splitting the range
+     * @param root      the ClassTreeNode of Object
+     * @param hierarchy the index of the class hierarchy
+     * @param logs      the logs of the errors of the ranges, by the index of
+     *                  their first class
+     */
+    private ParallelTypeChecker(ClassList classes, int from, int to, int grain,
+                                ClassTreeNode root, ClassHierarchy hierarchy, ErrorLog[] logs) {
+        this.classes = classes;
+        this.from = from;
+        this.to = to;
+        this.grain = grain;
+        this.root = root;
+        this.hierarchy = hierarchy;
+        this.logs = logs;
+    }
+
+    /**
+     * type checks all the classes of a program in parallel
+     *
+     * @param program      the program, whose class environments are built
+     * @param root         the ClassTreeNode of Object
+     * @param hierarchy    the index of the class hierarchy
+     * @param errorHandler the ErrorHandler to register the errors with
+     */
+    static void check(Program program, ClassTreeNode root, ClassHierarchy hierarchy,
+                      ErrorHandler errorHandler) {
+        ClassList classes = program.getClassList();
+        ErrorLog[] logs = new ErrorLog[classes.getSize()];
+        if (logs.length > 0) {
+            int grain = Math.max(1,
+                    logs.length / (8 * ForkJoinPool.getCommonPoolParallelism()));
+            ForkJoinPool.commonPool().invoke(new ParallelTypeChecker(
+                    classes, 0, logs.length, grain, root, hierarchy, logs));
+        }
+        for (ErrorLog log : logs) {
+            if (log == null) {
+                continue;
+            }
+            for (Error error : log.errors) {
+                errorHandler.register(error.getKind(), error.getFilename(),
+                        error.getLineNum(), error.getMessage());
+            }
+            if (log.exception != null) {
+                throw log.exception;
+            }
+        }
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from > grain) {
+            int middle = (from + to) >>> 1;
+            invokeAll(
+                    new ParallelTypeChecker(classes, from, middle, grain, root, hierarchy, logs),
+                    new ParallelTypeChecker(classes, middle, to, grain, root, hierarchy, logs));
+            return;
+        }
+        ErrorLog log = new ErrorLog();
+        try {
+            TypeCheckerVisitor visitor = new TypeCheckerVisitor(log, root, hierarchy);
+            for (int i = from; i < to; i++) {
+                visitor.visit((Class_) classes.get(i), null);
+            }
+        } catch (RuntimeException ex) {
+            log.exception = ex;
+        }
+        logs[from] = log;
+    }
+
+    /**
+     * An ErrorHandler that also keeps all the errors registered with it in
+     * the order they were registered
+     */
+    private static final class ErrorLog extends ErrorHandler
+    {
+        private final List<Error> errors = new ArrayList<>();
+        private RuntimeException exception;
+
+        @Override
+        public void register(Error.Kind kind, String filename, int lineNum,
+                             String errorMessage) {
+            errors.add(new Error(kind, filename, lineNum, errorMessage));
+            super.register(kind, filename, lineNum, errorMessage);
+        }
+
+        @Override
+        public void register(Error.Kind kind, String errorMessage) {
+            errors.add(new Error(kind, null, -1, errorMessage));
+            super.register(kind, errorMessage);
+        }
+    }
+}
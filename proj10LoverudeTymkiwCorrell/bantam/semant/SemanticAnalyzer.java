@@ -40,7 +40,6 @@ import proj10LoverudeTymkiwCorrell.bantam.ast.*;
 import proj10LoverudeTymkiwCorrell.bantam.parser.Parser;
 import proj10LoverudeTymkiwCorrell.bantam.util.*;
 import proj10LoverudeTymkiwCorrell.bantam.util.Error;
-import proj10LoverudeTymkiwCorrell.bantam.visitor.MainMethodFinder;
 
 import java.util.*;
 
@@ -56,15 +55,6 @@ import java.util.*;
 public class SemanticAnalyzer
 {
 
-    /**
-     * reserved words that are tokens of type ID, but cannot be declared as the
-     * names of (a) classes, (b) methods, (c) fields, (d) variables.
-     * These words are:  null, this, super, void, int, boolean.
-     * However, class names can be used as variable names.
-     */
-    public static final Set<String> reservedIdentifiers = new HashSet<>(Arrays.asList(
-            "null", "this", "super", "void", "int", "boolean"));
-
     /**
      * Root of the AST
      */
@@ -76,6 +66,11 @@ public class SemanticAnalyzer
      */
     private ClassTreeNode root;
 
+    /**
+     * Index of the class hierarchy tree, built once the tree is final
+     */
+    private ClassHierarchy hierarchy;
+
     /**
      * Maps class names to ClassTreeNode objects describing the class
      */
@@ -104,6 +99,12 @@ public class SemanticAnalyzer
 
     public ErrorHandler getErrorHandler() { return errorHandler; }
 
+    /**
+     * @return the index of the class hierarchy tree of the last program
+     * analyzed, which answers subclass and least common ancestor queries
+     */
+    public ClassHierarchy getClassHierarchy() { return hierarchy; }
+
     /**
      * Analyze the AST, checking for semantic errors and annotating the tree
      * Also builds an auxiliary class hierarchy tree
@@ -118,29 +119,58 @@ public class SemanticAnalyzer
      *     checks that members are declared properly
      * 4 - checks that the Main class and main method are declared properly
      * 5 - type checks everything
+     * The declarations for steps 2 to 4 are collected in one traversal of the classes.
      * All errors are registered with the ErrorHandler.
      * STEPS 1-3 HAVE BEEN COMPLETED FOR YOU. YOU MUST COMPLETE STEPS 4 AND 5.
      * See the lab manual for more details on these steps.
      */
     public ClassTreeNode analyze(Program program) {
+        return analyze(program, false);
+    }
+
+    /**
+     * Analyze the AST as {@link #analyze(Program)} does, but type check the
+     * classes in parallel, with fork/join tasks.  The annotations of the
+     * tree, the class hierarchy tree and the errors are the same as those
+     * of {@link #analyze(Program)}.
+     *
+     * @param program root of the AST
+     * @return root of the class hierarchy tree
+     */
+    public ClassTreeNode analyzeParallel(Program program) {
+        return analyze(program, true);
+    }
+
+    /**
+     * Analyze the AST
+     *
+     * @param program  root of the AST
+     * @param parallel whether to type check the classes in parallel
+     * @return root of the class hierarchy tree
+     */
+    private ClassTreeNode analyze(Program program, boolean parallel) {
         this.program = program;
         this.classMap.clear();
 
         // step 1:  add built-in classes to classMap
         addBuiltins();
 
-        //step 2:  add user-defined classes to classMap and build the
-        // inheritance tree of ClassTreeNodes
-        buildInheritanceTree();
-
-        //step 3: build the field and method symbol tables for each ClassTreeNode
+        //step 2:  add user-defined classes to classMap, build the field and
+        //         method symbol tables for each ClassTreeNode and look for
+        //         the main method, all in one traversal of the classes.
         //        Just add the class's fields & methods and not the
         //        inherited ones since the SymbolTable's lookup method checks
         //        the superclasses for you.
-        buildFieldAndMethodTables();
+        DeclarationCollectorVisitor collector = collectDeclarations();
+
+        //step 3: build the inheritance tree of ClassTreeNodes and index it,
+        //        then report the errors in the member declarations
+        buildInheritanceTree();
+        hierarchy = new ClassHierarchy(root);
+        collector.registerMemberErrors();
 
         //step 4: check whether there is a Main class with a main method.
-        checkForMainClassWithMainMethod();
+        checkForMainClassWithMainMethod(collector);
 
         //step 5:  do type-checking for all expressions.  In addition to checking
         // types, this method also checks for:
@@ -150,7 +180,12 @@ public class SemanticAnalyzer
         //         3. calling a non-existent method
         //         4. method calls with the wrong number of arguments
         //         5. use of a non-existent variable
-        doTypeChecking();
+        if (parallel) {
+            ParallelTypeChecker.check(program, root, hierarchy, errorHandler);
+        }
+        else {
+            doTypeChecking();
+        }
 
         // if errors were found, throw an exception, indicating failure
         if (errorHandler.errorsFound()) {
@@ -171,115 +206,59 @@ public class SemanticAnalyzer
      * Any errors are registered with the ErrorHandler.
      */
     private void doTypeChecking() {
-        TypeCheckerVisitor visitor = new TypeCheckerVisitor(errorHandler, root);
-        visitor.visit(program);
+        TypeCheckerVisitor visitor = new TypeCheckerVisitor(errorHandler, root, hierarchy);
+        visitor.visit(program, null);
     }
 
     /**
      * checks that the program contains a Main class with a
      * main method that has void return type and no parameters.
      * If not, an error is registered with the ErrorHandler.
+     *
+     * @param collector the visitor that collected the declarations
      */
-    private void checkForMainClassWithMainMethod() {
-        MainMethodFinder visitor = new MainMethodFinder();
-        visitor.visit(program);
-        if (!visitor.hasMain(program)){
+    private void checkForMainClassWithMainMethod(DeclarationCollectorVisitor collector) {
+        if (!collector.hasMain()){
             errorHandler.register(Error.Kind.SEMANT_ERROR, "No main class");
         }
 
 
     }
 
-    private void buildFieldAndMethodTables() {
-        /* NOTE:  To be elegant, this method should have
-                  been implemented as a visitor,
-                  such as part of the ClassMapBuilderVisitor.
-                  As part of Project 10, you are welcome to
-                  fix it.
-        */
-        for (ClassTreeNode treeNode : classMap.values()) {
-            SymbolTable fields = treeNode.getVarSymbolTable();
-            SymbolTable methods = treeNode.getMethodSymbolTable();
-            fields.enterScope();
-            fields.add("this", treeNode.getName());
-            fields.add("super", (treeNode.getParent() == null ? "" :
-                    treeNode.getParent().getName()));
-            methods.enterScope();
-            MemberList list = treeNode.getASTNode().getMemberList();
-            for (ASTNode member : list) {
-                if (member instanceof Field) {
-                    addMemberToFieldTable(treeNode, member);
-                }
-                else { // if(member instanceof Method)
-                    addMemberToMethodTable(treeNode, member);
-                }
-            }
-        }
-    }
-
     /**
-     * adds the ASTNode member to the treeNode's variable SymbolTable
-     * @param treeNode The ClassTreeNode whose variable SymbolTable is being added to
-     * @param member the method ASTNode that is being added to the table
+     * adds the user-defined classes to the classMap and their members to
+     * their field and method symbol tables
+     *
+     * @return the visitor, which knows whether there is a main method and
+     * has the errors in the members
      */
-    private void addMemberToFieldTable(ClassTreeNode treeNode, ASTNode member) {
-        SymbolTable fields = treeNode.getVarSymbolTable();
-        if (SemanticAnalyzer.reservedIdentifiers.contains(((Field) member).getName())) {
-            errorHandler.register(Error.Kind.SEMANT_ERROR,
-                    treeNode.getASTNode().getFilename(),
-                    member.getLineNum(), "Class " + treeNode.getName() + " "
-                            + "has a field " + "named: " + ((Field) member).getName()
-                            + ", which is illegal.");
-        }
-        else if (fields.peek(((Field) member).getName()) != null) {
-            errorHandler.register(Error.Kind.SEMANT_ERROR,
-                    treeNode.getASTNode().getFilename(), member.getLineNum(),
-                    "Class " + treeNode.getName()
-                            + " has two fields of the same name: "
-                            + ((Field) member).getName() + ".");
-        }
-        else {
-            fields.add(((Field) member).getName(), ((Field) member).getType());
-        }
+    private DeclarationCollectorVisitor collectDeclarations() {
+        DeclarationCollectorVisitor collector = new DeclarationCollectorVisitor(classMap,
+                errorHandler);
+        collector.visit(program);
+        return collector;
     }
 
     /**
-     * adds the ASTNode member to the methods SymbolTable
-     * @param treeNode The ClassTreeNode whose SymbolTable is being added to
-     * @param member the method ASTNode that is being added to the table
+     * adds "super" to the field symbol table of a ClassTreeNode, as the name
+     * of its parent, or "" if it has none
+     *
+     * @param treeNode the ClassTreeNode
      */
-    private void addMemberToMethodTable(ClassTreeNode treeNode, ASTNode member) {
-        SymbolTable methods = treeNode.getMethodSymbolTable();
-        if (SemanticAnalyzer.reservedIdentifiers.contains(((Method) member).getName())) {
-            errorHandler.register(Error.Kind.SEMANT_ERROR,
-                    treeNode.getASTNode().getFilename(),
-                    member.getLineNum(), "Class " + treeNode.getName() + " "
-                            + "has a method named: "
-                            + ((Method) member).getName() + ", which is illegal.");
-        }
-        else if (methods.peek(((Method) member).getName()) != null) {
-            errorHandler.register(Error.Kind.SEMANT_ERROR,
-                    treeNode.getASTNode().getFilename(), member.getLineNum(),
-                    "Class " + treeNode.getName()
-                            + " has two methods of the same name: "
-                            + ((Method) member).getName() + ".");
-        }
-        else {
-            methods.add(((Method) member).getName(), member);
-        }
+    private void addSuperToFieldTable(ClassTreeNode treeNode) {
+        treeNode.getVarSymbolTable().add("super", (treeNode.getParent() == null ? "" :
+                treeNode.getParent().getName()));
     }
 
     private void buildInheritanceTree() {
-        // step 1: add all user-defined classes to classMap
-        ClassMapBuilderVisitor visitor = new ClassMapBuilderVisitor(classMap,
-                errorHandler);
-        visitor.visit(program);
+        // step 1, adding all user-defined classes to classMap, is done by
+        // collectDeclarations
 
         // step 2: fix parent pointers in all ClassTreeNodes in classMap
         for (ClassTreeNode treeNode : classMap.values()) {
             Class_ astNode = treeNode.getASTNode();
-            if (astNode.getName().equals("Object")) {
-                continue; // no parent
+            if (treeNode.isBuiltIn()) {
+                continue; // linked to Object, with its tables built, by addBuiltins
             }
 
 
@@ -301,6 +280,7 @@ public class SemanticAnalyzer
             else {
                 treeNode.setParent(parentNode);
             }
+            addSuperToFieldTable(treeNode);
         }
 
         //step 3: check for cycles in inheritance "tree"
@@ -322,6 +302,7 @@ public class SemanticAnalyzer
                     treeNode.getParent().removeChild(treeNode);
                     treeNode.setParent(classMap.get("Object"));
                     classMap.get("Object").addChild(treeNode);
+                    addSuperToFieldTable(treeNode);
                     break;
                 }
                 else {
@@ -333,72 +314,14 @@ public class SemanticAnalyzer
     }
 
     /**
-     * Add built-in classes to the classMap and create ASTNodes for each of them.
-     * There is no need to add these new ASTNodes to the AST generated by the parser.
+     * Add the built-in classes to the classMap.  Their ASTs and symbol tables
+     * are built once and shared by all analyses, so this only creates a
+     * ClassTreeNode for each of them.  There is no need to add their ASTNodes
+     * to the AST generated by the parser.
      * You can access them, if necessary, through the classMap.
      */
     private void addBuiltins() {
-        // create AST node for the Object class
-        Class_ astNode = new Class_(-1, "<built-in class>", "Object", null,
-                (MemberList) (new MemberList(-1)).addElement(new Method(-1, "Object",
-                        "clone", new FormalList(-1),
-                        (StmtList) (new StmtList(-1)).addElement(new ReturnStmt(-1,
-                                new VarExpr(-1, null, "null"))))).addElement(new Method(-1, "boolean", "equals", (FormalList) (new FormalList(-1)).addElement(new Formal(-1, "Object", "o")), (StmtList) (new StmtList(-1)).addElement(new ReturnStmt(-1, new ConstBooleanExpr(-1, "false"))))).addElement(new Method(-1, "void", "print", (FormalList) (new FormalList(-1)).addElement(new Formal(-1, "String", "string")), (StmtList) (new StmtList(-1))/*.addElement(new ReturnStmt(-1, new ConstBooleanExpr(-1, "false")))*/)).addElement(new Method(-1, "String", "toString", new FormalList(-1), (StmtList) (new StmtList(-1)).addElement(new ReturnStmt(-1, new VarExpr(-1, null, "null"))))));
-        // create a class tree node for object, save in variable root
-        root = new ClassTreeNode(astNode, /*built-in?*/true, /*extendable?*/true,
-                classMap);
-        // add object class tree node to the mapping
-        classMap.put("Object", root);
-
-        // note: String, TextIO, and Sys all have fields that are not shown below.
-        // Because these classes cannot be extended and fields are protected, these
-        // fields cannot be accessed by other classes, so these fields do not have to be
-        // included in the AST.
-
-        // create AST node for String
-        astNode = new Class_(-1, "<built-in class>", "String", "Object",
-                (MemberList) (new MemberList(-1)).addElement(new Field(-1, "int",
-                        "length", /*0 by default*/null))
-                /* note: str is the character sequence -- no applicable type for a
-               character sequence so it is just made an int.  it's OK to
-               do this since this field is only accessed (directly) within
-               the runtime system */.addElement(new Method(-1, "int", "length",
-                                new FormalList(-1),
-                                (StmtList) (new StmtList(-1)).addElement(new ReturnStmt(-1, new ConstIntExpr(-1, "0"))))).addElement(new Method(-1, "boolean", "equals", (FormalList) (new FormalList(-1)).addElement(new Formal(-1, "Object", "str")), (StmtList) (new StmtList(-1)).addElement(new ReturnStmt(-1, new ConstBooleanExpr(-1, "false"))))).addElement(new Method(-1, "String", "toString", new FormalList(-1), (StmtList) (new StmtList(-1)).addElement(new ReturnStmt(-1, new VarExpr(-1, null, "null"))))).addElement(new Method(-1, "String", "substring", (FormalList) (new FormalList(-1)).addElement(new Formal(-1, "int", "beginIndex")).addElement(new Formal(-1, "int", "endIndex")), (StmtList) (new StmtList(-1)).addElement(new ReturnStmt(-1, new VarExpr(-1, null, "null"))))).addElement(new Method(-1, "String", "concat", (FormalList) (new FormalList(-1)).addElement(new Formal(-1, "String", "str")), (StmtList) (new StmtList(-1)).addElement(new ReturnStmt(-1, new VarExpr(-1, null, "null"))))));
-        // create class tree node for String, add it to the mapping
-        classMap.put("String", new ClassTreeNode(astNode, /*built-in?*/true,
-                /*extendable?*/false, classMap));
-
-        // create AST node for TextIO
-        astNode = new Class_(-1, "<built-in class>", "TextIO", "Object",
-                (MemberList) (new MemberList(-1)).addElement(new Field(-1, "int",
-                        "readFD", /*0 by default*/null)).addElement(new Field(-1, "int"
-                        , "writeFD", new ConstIntExpr(-1, "1"))).addElement(new Method(-1, "void", "readStdin", new FormalList(-1), (StmtList) (new StmtList(-1)).addElement(new ReturnStmt(-1, null)))).addElement(new Method(-1, "void", "readFile", (FormalList) (new FormalList(-1)).addElement(new Formal(-1, "String", "readFile")), (StmtList) (new StmtList(-1)).addElement(new ReturnStmt(-1, null)))).addElement(new Method(-1, "void", "writeStdout", new FormalList(-1), (StmtList) (new StmtList(-1)).addElement(new ReturnStmt(-1, null)))).addElement(new Method(-1, "void", "writeStderr", new FormalList(-1), (StmtList) (new StmtList(-1)).addElement(new ReturnStmt(-1, null)))).addElement(new Method(-1, "void", "writeFile", (FormalList) (new FormalList(-1)).addElement(new Formal(-1, "String", "writeFile")), (StmtList) (new StmtList(-1)).addElement(new ReturnStmt(-1, null)))).addElement(new Method(-1, "String", "getString", new FormalList(-1), (StmtList) (new StmtList(-1)).addElement(new ReturnStmt(-1, new VarExpr(-1, null, "null"))))).addElement(new Method(-1, "int", "getInt", new FormalList(-1), (StmtList) (new StmtList(-1)).addElement(new ReturnStmt(-1, new ConstIntExpr(-1, "0"))))).addElement(new Method(-1, "TextIO", "putString", (FormalList) (new FormalList(-1)).addElement(new Formal(-1, "String", "str")), (StmtList) (new StmtList(-1)).addElement(new ReturnStmt(-1, new VarExpr(-1, null, "null"))))).addElement(new Method(-1, "TextIO", "putInt", (FormalList) (new FormalList(-1)).addElement(new Formal(-1, "int", "n")), (StmtList) (new StmtList(-1)).addElement(new ReturnStmt(-1, new VarExpr(-1, null, "null"))))));
-        // create class tree node for TextIO, add it to the mapping
-        classMap.put("TextIO", new ClassTreeNode(astNode, /*built-in?*/true,
-                /*extendable?*/false, classMap));
-
-        // create AST node for Sys
-        astNode = new Class_(-1, "<built-in class>", "Sys", "Object",
-                (MemberList) (new MemberList(-1)).addElement(new Method(-1, "void",
-                        "exit",
-                        (FormalList) (new FormalList(-1)).addElement(new Formal(-1,
-                                "int", "status")),
-                        (StmtList) (new StmtList(-1)).addElement(new ReturnStmt(-1,
-                                null))))
-                /* MC: time() and random() requires modifying SPIM to add a time system
-                 call
-               (note: random() does not need its own system call although it uses the time
-               system call).  We have a version of SPIM with this system call available,
-               otherwise, just comment out. (For x86 and jvm there are no issues.)
-               */.addElement(new Method(-1, "int", "time", new FormalList(-1),
-                                (StmtList) (new StmtList(-1)).addElement(new ReturnStmt(-1, new ConstIntExpr(-1, "0"))))).addElement(new Method(-1,
-                                "int", "random", new FormalList(-1),
-                                (StmtList) (new StmtList(-1)).addElement(new ReturnStmt(-1, new ConstIntExpr(-1, "0"))))));
-        // create class tree node for Sys, add it to the mapping
-        classMap.put("Sys", new ClassTreeNode(astNode, /*built-in?*/true, /*extendable
-        ?*/false, classMap));
-
+        root = BuiltinEnvironment.get().addTo(classMap);
     }
 
 
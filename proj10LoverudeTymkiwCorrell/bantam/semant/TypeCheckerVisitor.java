@@ -12,25 +12,45 @@
 package proj10LoverudeTymkiwCorrell.bantam.semant;
 
 import proj10LoverudeTymkiwCorrell.bantam.ast.*;
+import proj10LoverudeTymkiwCorrell.bantam.util.Binding;
+import proj10LoverudeTymkiwCorrell.bantam.util.ClassHierarchy;
 import proj10LoverudeTymkiwCorrell.bantam.util.ClassTreeNode;
 import proj10LoverudeTymkiwCorrell.bantam.util.ErrorHandler;
 import proj10LoverudeTymkiwCorrell.bantam.util.Error;
 import proj10LoverudeTymkiwCorrell.bantam.util.SymbolTable;
-import proj10LoverudeTymkiwCorrell.bantam.visitor.Visitor;
+import proj10LoverudeTymkiwCorrell.bantam.util.Type;
+import proj10LoverudeTymkiwCorrell.bantam.visitor.TypedVisitor;
 import proj10LoverudeTymkiwCorrell.bantam.ast.Method;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Stack;
 
 /**
  * This visitor find the types of all expression nodes and sets the type field
  * of the nodes.  It reports an error for any type incompatibility.
+ * The types are the Types of the ClassHierarchy, which are resolved from
+ * their names once per declaration and compared with ==.
+ * It also stores on each VarExpr, AssignExpr and DispatchExpr the Binding
+ * of the local variable, field or method its name refers to.  The scopes of
+ * a method map the names of its locals to their Bindings, and the scopes of
+ * the classes map the names of the fields to their types.
+ * The scopes of the methods are kept in a SymbolTable of the visitor whose
+ * parent is the table of the current class, so checking does not change the
+ * tables of the classes and visitors can check different classes at once.
  */
-public class TypeCheckerVisitor extends Visitor
+public class TypeCheckerVisitor extends TypedVisitor<Void, Void>
 {
     /** the ErrorHandler that records the errors */
     private final ErrorHandler errorHandler;
+    /** the index of the class hierarchy for checking subtypes and resolving types */
+    private final ClassHierarchy hierarchy;
+    /** the Type of String, the type of string constants */
+    private final Type stringType;
+    /** the Type of Object, the type of new expressions of undefined classes */
+    private final Type objectType;
+    /** the Types of the formal parameters of the methods that have been called */
+    private final Map<Method, Type[]> formalTypes;
     /** a stack of the current nested for or while statements
      for checking whether a break statement is inside a loop. */
     private final Stack<Stmt> currentNestedLoops;
@@ -38,14 +58,31 @@ public class TypeCheckerVisitor extends Visitor
     private ClassTreeNode currentClass;
     /** the current method being visited */
     private Method currentMethod;
+    /** the return Type of the current method */
+    private Type currentReturnType;
+    /** the number of slots in the frame of the current method so far */
+    private int numLocals;
     /** the current symbolTable to use for checking types */
     private SymbolTable currentSymbolTable;
+    /** the scopes of the current method, whose parent is the table of the current class */
+    private final SymbolTable methodSymbolTable;
 
     public TypeCheckerVisitor(ErrorHandler errorHandler, ClassTreeNode root) {
+        this(errorHandler, root, new ClassHierarchy(root));
+    }
+
+    public TypeCheckerVisitor(ErrorHandler errorHandler, ClassTreeNode root,
+                              ClassHierarchy hierarchy) {
         this.errorHandler = errorHandler;
+        this.hierarchy = hierarchy;
+        this.stringType = hierarchy.lookupType("String");
+        this.objectType = hierarchy.lookupType("Object");
+        this.formalTypes = new HashMap<>();
         this.currentClass = root; // the Object class
         this.currentMethod = null;
+        this.currentReturnType = null;
         this.currentSymbolTable = null;
+        this.methodSymbolTable = new SymbolTable();
         this.currentNestedLoops = new Stack<>();
     }
 
@@ -62,46 +99,60 @@ public class TypeCheckerVisitor extends Visitor
      * returns true if the first type is the same type or a subtype of the second type
      * It assumes t1 and t2 are legal types or null.  For the purpose of this
      * method, we are assuming null is a subtype of all non-primitive types.
+     * A missing type, that of an expression whose error was already
+     * reported, matches any type so that the error is not reported again.
      *
-     * @param t1 the String name of the first type
-     * @param t2 the String name of the second type
+     * @param t1 the first type
+     * @param t2 the second type
      * @return true if t1 is a subtype of t2
      */
-    private boolean isSubtype(String t1, String t2) {
-        if (t1.equals("null") && !isPrimitiveType(t2)) {
+    private boolean isSubtype(Type t1, Type t2) {
+        if (t1 == null || t2 == null || t1 == t2) {
             return true;
         }
-        if (t1.equals("int") || t2.equals("int")) {
-            return t2.equals(t1);
-        }
-        if (t1.equals("boolean") || t2.equals("boolean")) {
-            return t2.equals(t1);
+        if (t1 == Type.NULL && !t2.isPrimitive()) {
+            return true;
         }
-        // go up the inheritance tree of t1 to see if you
-        // encounter t2
-        ClassTreeNode t1Node = currentClass.lookupClass(t1);
-        ClassTreeNode t2Node = currentClass.lookupClass(t2);
-        while (t1Node != null) {
-            if (t1Node == t2Node) {
-                return true;
-            }
-            t1Node = t1Node.getParent();
+        if (t1.isPrimitive() || t2.isPrimitive()) {
+            return t1 == t2;
         }
-        return false;
+        // t2 is an ancestor of t1 if its interval in the hierarchy has t1's
+        return hierarchy.isSubclass(t1.getClassTreeNode(), t2.getClassTreeNode());
     }
 
     /**
-     * returns true if the given type is int or boolean
+     * returns the Type with the given name
      */
-    private boolean isPrimitiveType(String type) {
-        return type.equals("int") || type.equals("boolean");
+    private Type typeNamed(String name) {
+        return hierarchy.lookupType(name);
     }
 
     /**
-     * returns true if the given type is a primitive type or a declared class
+     * returns the Binding of a variable, given what the current SymbolTable
+     * maps its name to
+     *
+     * @param name  the name of the variable
+     * @param value the value of the name in the SymbolTable
+     * @return the Binding of the local variable or field, or null if the
+     * name is not declared or is 'this' or 'super'
      */
-    private boolean typeHasBeenDeclared(String type) {
-        return isPrimitiveType(type) || currentClass.lookupClass(type) != null;
+    private Binding resolveVariable(String name, Object value) {
+        if (value instanceof Binding) {
+            return (Binding) value;
+        }
+        return value == null ? null : fieldBinding(currentClass, name);
+    }
+
+    /**
+     * returns the Binding of a field of a class
+     *
+     * @param treeNode the class
+     * @param name     the name of the field
+     * @return the Binding of the field, declared in the class or inherited,
+     * or null if it has none of that name
+     */
+    private static Binding fieldBinding(ClassTreeNode treeNode, String name) {
+        return treeNode.getClassLayout().lookupFieldBinding(name);
     }
 
     /**
@@ -120,11 +171,17 @@ public class TypeCheckerVisitor extends Visitor
      * @param node the class node
      * @return result of the visit
      */
-    public Object visit(Class_ node) {
-        // set the currentClass to this class
-        currentClass = currentClass.lookupClass(node.getName());
+    public Void visit(Class_ node, Void context) {
+        // set the currentClass to this class; a class whose name is reserved
+        // was reported and left out of the class hierarchy, so it is not checked
+        ClassTreeNode treeNode = currentClass.lookupClass(node.getName());
+        if (treeNode == null) {
+            return null;
+        }
+        currentClass = treeNode;
         currentSymbolTable = currentClass.getVarSymbolTable();
-        node.getMemberList().accept(this);
+        methodSymbolTable.setParent(currentSymbolTable);
+        visit(node.getMemberList(), context);
         return null;
     }
 
@@ -134,18 +191,19 @@ public class TypeCheckerVisitor extends Visitor
      * @param node the field node
      * @return result of the visit
      */
-    public Object visit(Field node) {
+    public Void visit(Field node, Void context) {
         //The fields have already been added to the symbol table by the SemanticAnalyzer,
         // so the only thing to check is the compatibility of the init expr's type with
         //the field's type.
-        if (!typeHasBeenDeclared(node.getType())) {
+        Type fieldType = typeNamed(node.getType());
+        if (!fieldType.isDeclared()) {
             registerError(node,"The declared type " + node.getType() +
                     " of the field " + node.getName() + " is undefined.");
         }
         Expr initExpr = node.getInit();
         if (initExpr != null) {
-            initExpr.accept(this);
-            if (!isSubtype(initExpr.getExprType(), node.getType())) {
+            visit(initExpr, context);
+            if (!isSubtype(initExpr.getExprTypeDescriptor(), fieldType)) {
                 registerError(node,"The type of the initializer is "
                         + initExpr.getExprType() + " which is not compatible with the "
                         + node.getName() + " field's type " + node.getType());
@@ -161,22 +219,30 @@ public class TypeCheckerVisitor extends Visitor
      * @param node the method node
      * @return result of the visit
      */
-    public Object visit(Method node) {
+    public Void visit(Method node, Void context) {
         // is the return type a legitimate type
-        if (!typeHasBeenDeclared(node.getReturnType()) && !node.getReturnType().equals(
-                "void")) {
+        Type returnType = typeNamed(node.getReturnType());
+        if (!returnType.isDeclared() && returnType != Type.VOID) {
             registerError(node,"The return type " + node.getReturnType() +
                     " of the method " + node.getName() + " is undefined.");
         }
 
         //create a new scope for the method
+        currentSymbolTable = methodSymbolTable;
         currentSymbolTable.enterScope();
         currentMethod = node;
-        node.getFormalList().accept(this);
-        node.getStmtList().accept(this);
+        currentReturnType = returnType;
+        numLocals = 0;
+        visit(node.getFormalList(), context);
+        // a body the parser left statements out of is not checked, since
+        // the rest of it may use what those statements declared
+        boolean checkBody = !node.isBodyIncomplete();
+        if (checkBody) {
+            visit(node.getStmtList(), context);
+        }
 
         //check that non-void methods end with a return stmt
-        if(! node.getReturnType().equals("void")) {
+        if(checkBody && returnType != Type.VOID) {
             StmtList sList = node.getStmtList();
             if (sList.getSize() == 0
                     || !(sList.get(sList.getSize() - 1) instanceof ReturnStmt)) {
@@ -185,7 +251,9 @@ public class TypeCheckerVisitor extends Visitor
             }
         }
         currentMethod = null;
+        currentReturnType = null;
         currentSymbolTable.exitScope();
+        currentSymbolTable = currentClass.getVarSymbolTable();
         return null;
     }
 
@@ -195,8 +263,8 @@ public class TypeCheckerVisitor extends Visitor
      * @param node the formal node
      * @return result of the visit
      */
-    public Object visit(Formal node) {
-        if (!typeHasBeenDeclared(node.getType())) {
+    public Void visit(Formal node, Void context) {
+        if (!typeNamed(node.getType()).isDeclared()) {
             registerError(node,"The declared type " + node.getType() +
                     " of the formal parameter " + node.getName() + " is undefined.");
         }
@@ -207,7 +275,8 @@ public class TypeCheckerVisitor extends Visitor
                     + node.getName() + " is the same as the name of another formal" +
                     " parameter.");
         }
-        currentSymbolTable.add(node.getName(), node.getType());
+        currentSymbolTable.add(node.getName(),
+                Binding.local(node, typeNamed(node.getType()), numLocals++));
         return null;
     }
 
@@ -217,31 +286,19 @@ public class TypeCheckerVisitor extends Visitor
      * @param node the declaration statement node
      * @return result of the visit
      */
-    public Object visit(DeclStmt node) {
+    public Void visit(DeclStmt node, Void context) {
 
         // Check that initExpr type matches node type
         Expr initExpr = node.getInit();
-        initExpr.accept(this);
-        Object initType = initExpr.getExprType();
-
-        // Gets initType if VarExpr
-        if (initExpr instanceof VarExpr){
-            initType = currentSymbolTable.lookup(((VarExpr)initExpr).getName());
-        }
-        // Gets initType if DispatchExpr
-        else if(initExpr instanceof DispatchExpr){
-            initType = currentClass.getMethodSymbolTable()
-                    .lookup(((DispatchExpr)initExpr).getMethodName());
-
-        }
+        visit(initExpr, context);
+        Type initType = initExpr.getExprTypeDescriptor();
 
-        //
-        if(initType instanceof Method){
-            String methodName = ((Method)initType).getName();
-            initType = ((Method)initType).getReturnType();
-            if(initType.equals("void")){
+        // Checks that a method call has a value
+        if(initExpr instanceof DispatchExpr){
+            Binding method = ((DispatchExpr)initExpr).getBinding();
+            if(method != null && method.getType() == Type.VOID){
                 registerError(node,"Method "
-                    + methodName + " has return type void");
+                    + method.getMethod().getName() + " has return type void");
 
             }
         }
@@ -251,10 +308,11 @@ public class TypeCheckerVisitor extends Visitor
                 currentSymbolTable.getCurrScopeLevel() - 1) != null) {
             registerError(node,"Variable "
                     + node.getName() + " has already been declared");
-            initType = "Object";
+            initType = objectType;
         }
 
-        currentSymbolTable.add(node.getName(), initType);
+        currentSymbolTable.add(node.getName(),
+                Binding.local(node, initType, numLocals++));
 
         return null;
     }
@@ -265,20 +323,20 @@ public class TypeCheckerVisitor extends Visitor
      * @param node the if statement node
      * @return result of the visit
      */
-    public Object visit(IfStmt node) {
-        node.getPredExpr().accept(this);
-        String predExprType = node.getPredExpr().getExprType();
-        if (!"boolean".equals(predExprType)) {
+    public Void visit(IfStmt node, Void context) {
+        visit(node.getPredExpr(), context);
+        Type predExprType = node.getPredExpr().getExprTypeDescriptor();
+        if (predExprType != Type.BOOLEAN) {
             registerError(node,"The type of the predicate is " +
                     (predExprType != null ? predExprType : "unknown") +
                     ", not boolean.");
         }
         currentSymbolTable.enterScope();
-        node.getThenStmt().accept(this);
+        visit(node.getThenStmt(), context);
         currentSymbolTable.exitScope();
         if (node.getElseStmt() != null) {
             currentSymbolTable.enterScope();
-            node.getElseStmt().accept(this);
+            visit(node.getElseStmt(), context);
             currentSymbolTable.exitScope();
         }
         return null;
@@ -290,15 +348,15 @@ public class TypeCheckerVisitor extends Visitor
      * @param node the while statement node
      * @return result of the visit
      */
-    public Object visit(WhileStmt node) {
-        node.getPredExpr().accept(this);
-        if (!isSubtype(node.getPredExpr().getExprType(), "boolean")) {
+    public Void visit(WhileStmt node, Void context) {
+        visit(node.getPredExpr(), context);
+        if (!isSubtype(node.getPredExpr().getExprTypeDescriptor(), Type.BOOLEAN)) {
             registerError(node,"The type of the predicate is " +
                     node.getPredExpr().getExprType() + " which is not boolean.");
         }
         currentSymbolTable.enterScope();
         currentNestedLoops.push(node);
-        node.getBodyStmt().accept(this);
+        visit(node.getBodyStmt(), context);
         currentNestedLoops.pop();
         currentSymbolTable.exitScope();
         return null;
@@ -310,18 +368,18 @@ public class TypeCheckerVisitor extends Visitor
      * @param node the for statement node
      * @return result of the visit
      */
-    public Object visit(ForStmt node) {
+    public Void visit(ForStmt node, Void context) {
 
         // Visits init Expression if not null
         if(node.getInitExpr() != null){
-            node.getInitExpr().accept(this);
+            visit(node.getInitExpr(), context);
         }
 
         // Visits predicate Expression if not null, and checks if boolean
         if(node.getPredExpr() != null){
-            node.getPredExpr().accept(this);
+            visit(node.getPredExpr(), context);
 
-            if(!isSubtype(node.getPredExpr().getExprType(), "boolean")){
+            if(!isSubtype(node.getPredExpr().getExprTypeDescriptor(), Type.BOOLEAN)){
                 registerError(node,"The type of the predicate is " +
                         node.getPredExpr().getExprType() + " which is not boolean.");
             }
@@ -329,13 +387,13 @@ public class TypeCheckerVisitor extends Visitor
 
         // Visits update Expression if not null
         if(node.getUpdateExpr() != null) {
-            node.getUpdateExpr().accept(this);
+            visit(node.getUpdateExpr(), context);
         }
 
         // Create new scope and move down tree
         currentSymbolTable.enterScope();
         currentNestedLoops.push(node);
-        node.getBodyStmt().accept(this);
+        visit(node.getBodyStmt(), context);
         currentNestedLoops.pop();
         currentSymbolTable.exitScope();
 
@@ -349,7 +407,7 @@ public class TypeCheckerVisitor extends Visitor
      * @param node the break statement node
      * @return result of the visit
      */
-    public Object visit(BreakStmt node) {
+    public Void visit(BreakStmt node, Void context) {
 
         if(currentNestedLoops.empty()){
             registerError(node,"Break statement not inside loop");
@@ -363,9 +421,9 @@ public class TypeCheckerVisitor extends Visitor
      * @param node the block statement node
      * @return result of the visit
      */
-    public Object visit(BlockStmt node) {
+    public Void visit(BlockStmt node, Void context) {
         currentSymbolTable.enterScope();
-        node.getStmtList().accept(this);
+        visit(node.getStmtList(), context);
         currentSymbolTable.exitScope();
         return null;
     }
@@ -376,10 +434,10 @@ public class TypeCheckerVisitor extends Visitor
      * @param node the return statement node
      * @return result of the visit
      */
-    public Object visit(ReturnStmt node) {
+    public Void visit(ReturnStmt node, Void context) {
         if (node.getExpr() != null) {
-            node.getExpr().accept(this);
-            if (!isSubtype(node.getExpr().getExprType(), currentMethod.getReturnType())) {
+            visit(node.getExpr(), context);
+            if (!isSubtype(node.getExpr().getExprTypeDescriptor(), currentReturnType)) {
                 registerError(node,"The type of the return expr is " +
                         node.getExpr().getExprType() +
                         " which is not compatible with the " +
@@ -387,7 +445,7 @@ public class TypeCheckerVisitor extends Visitor
                         + currentMethod.getReturnType());
             }
         }
-        else if (!currentMethod.getReturnType().equals("void")) {
+        else if (currentReturnType != Type.VOID) {
             registerError(node, "The type of the method " + currentMethod.getName() +
                     " is not void and so return statements in it must return a value.");
         }
@@ -400,42 +458,47 @@ public class TypeCheckerVisitor extends Visitor
      * @param node the dispatch expression node
      * @return the type of the expression
      */
-    public Object visit(DispatchExpr node) {
+    public Void visit(DispatchExpr node, Void context) {
 
 
         // Gets reference expression ('this', 'super', or null.)
         Expr refExpr = node.getRefExpr();
+        ClassTreeNode treeNode = currentClass;
 
         // If reference is not null, checks with reference expression method
         if(refExpr != null){
 
             String refName = ((VarExpr) refExpr).getName();
 
-            // If refExpr is super, checks parent method symbol table with method
+            // If refExpr is super, finds the method in the parent class
             if(refName.equals("super")) {
 
-                checkArgs(node);
-                return currentClass.getParent().getMethodSymbolTable()
-                        .lookup(node.getMethodName());
-
-            }
-            // If refExpr is this, checks level 0 of methodSymbolTable
-            else if(refName.equals("this")) {
-
-                checkArgs(node);
-                return currentClass.getMethodSymbolTable()
-                        .lookup(node.getMethodName(), 0);
+                treeNode = currentClass.getParent();
 
             }
-            else{
-                System.out.println("doable?");
+            else if(!refName.equals("this")) {
+                // the class of the reference is not known, so the method is
+                // not bound and the arguments are checked against the
+                // method of the current class
+                checkArgs(node,
+                        currentClass.getClassLayout().lookupMethod(node.getMethodName()),
+                        context);
+                return null;
             }
 
         }
 
-        // If no refExpr, uses default lookup method
-        checkArgs(node);
-        return currentClass.getMethodSymbolTable().lookup(node.getMethodName());
+        Binding binding = (treeNode == null ? null :
+                treeNode.getClassLayout().lookupMethodBinding(node.getMethodName()));
+        if(binding == null){
+            registerError(node, "The method " + node.getMethodName() +
+                    " does not exist.");
+            return null;
+        }
+        node.setBinding(binding);
+        node.setExprType(binding.getType());
+        checkArgs(node, binding.getMethod(), context);
+        return null;
 
     }
 
@@ -443,47 +506,53 @@ public class TypeCheckerVisitor extends Visitor
      * Helper method to check if arguments are legal
      *
      * @param node the dispatch expression node
+     * @param method the method called
+     * @param context the context of the visit
      * */
-    private void checkArgs(DispatchExpr node){
+    private void checkArgs(DispatchExpr node, Method method, Void context){
 
-        List<String> parametersType = getFormalTypesList((Method)
-                currentClass.getMethodSymbolTable().lookup(node.getMethodName()));
+        Type[] parametersType = getFormalTypes(method);
 
         // Checks that length of formalList and actualList match in size
-        if(node.getActualList().getSize() != parametersType.size()){
+        if(node.getActualList().getSize() != parametersType.length){
             registerError(node,
                     "Actual arguments did not match size of expected arguments.");
             return;
         }
 
         // Iterates through actual argument list and compares types to formal list
-        int i = 0;
+        ExprList actualList = node.getActualList();
+        for(int i = 0; i < actualList.getSize(); i++){
+            Expr argument = (Expr) actualList.get(i);
 
-        for(ASTNode argument : node.getActualList()){
-
-            argument.accept(this);
+            visit(argument, context);
 
             // If argument types do not match,
-            if(!((Expr)argument).getExprType().equals(parametersType.get(i))){
-                registerError(node, "Expected type " + parametersType.get(i) +
+            if(!isSubtype(argument.getExprTypeDescriptor(), parametersType[i])){
+                registerError(node, "Expected type " + parametersType[i] +
                         ", got type "
-                        + ((Expr)argument).getExprType() + ".");
+                        + argument.getExprType() + ".");
             }
-            i++;
         }
 
     }
 
     /**
-     * returns a list of the types of the formal parameters
+     * returns the types of the formal parameters, which are resolved the
+     * first time the method is called
      *
      * @param method the methods whose formal parameter types are desired
-     * @return a List of Strings (the types of the formal parameters)
+     * @return an array of the Types of the formal parameters
      */
-    private List<String> getFormalTypesList(Method method) {
-        List<String> result = new ArrayList<>();
-        for (ASTNode formal : method.getFormalList())
-            result.add(((Formal) formal).getType());
+    private Type[] getFormalTypes(Method method) {
+        Type[] result = formalTypes.get(method);
+        if (result == null) {
+            FormalList formalList = method.getFormalList();
+            result = new Type[formalList.getSize()];
+            for (int i = 0; i < formalList.getSize(); i++)
+                result[i] = typeNamed(((Formal) formalList.get(i)).getType());
+            formalTypes.put(method, result);
+        }
         return result;
     }
 
@@ -491,16 +560,13 @@ public class TypeCheckerVisitor extends Visitor
      * Visit a list node of expressions
      *
      * @param node the expression list node
-     * @return a List<String> of the types of the expressions
+     * @return null; the types of the expressions are set on them
      */
-    public Object visit(ExprList node) {
-        List<String> typesList = new ArrayList<>();
-        for (ASTNode expr : node) {
-            expr.accept(this);
-            typesList.add(((Expr) expr).getExprType());
+    public Void visit(ExprList node, Void context) {
+        for (int i = 0; i < node.getSize(); i++) {
+            visit((Expr) node.get(i), context);
         }
-        //return a List<String> of the types of the expressions
-        return typesList;
+        return null;
     }
 
     /**
@@ -509,13 +575,14 @@ public class TypeCheckerVisitor extends Visitor
      * @param node the new expression node
      * @return the type of the expression
      */
-    public Object visit(NewExpr node) {
-        if (currentClass.lookupClass(node.getType()) == null) {
+    public Void visit(NewExpr node, Void context) {
+        Type type = typeNamed(node.getType());
+        if (type.getClassTreeNode() == null) {
             registerError(node,"The type " + node.getType() + " does not exist.");
-            node.setExprType("Object"); // to allow analysis to continue
+            node.setExprType(objectType); // to allow analysis to continue
         }
         else {
-            node.setExprType(node.getType());
+            node.setExprType(type);
         }
         return null;
     }
@@ -526,16 +593,17 @@ public class TypeCheckerVisitor extends Visitor
      * @param node the instanceof expression node
      * @return the type of the expression
      */
-    public Object visit(InstanceofExpr node) {
-        if (currentClass.lookupClass(node.getType()) == null) {
+    public Void visit(InstanceofExpr node, Void context) {
+        Type type = typeNamed(node.getType());
+        if (type.getClassTreeNode() == null) {
             registerError(node,"The reference type " + node.getType()
                     + " does not exist.");
         }
-        node.getExpr().accept(this);
-        if (isSubtype(node.getExpr().getExprType(), node.getType())) {
+        visit(node.getExpr(), context);
+        if (isSubtype(node.getExpr().getExprTypeDescriptor(), type)) {
             node.setUpCheck(true);
         }
-        else if (isSubtype(node.getType(), node.getExpr().getExprType())) {
+        else if (isSubtype(type, node.getExpr().getExprTypeDescriptor())) {
             node.setUpCheck(false);
         }
         else {
@@ -543,7 +611,7 @@ public class TypeCheckerVisitor extends Visitor
                     node.getExpr().getExprType() + "to " + "incompatible type "
                     + node.getType() + ".");
         }
-        node.setExprType("boolean");
+        node.setExprType(Type.BOOLEAN);
         return null;
     }
 
@@ -553,19 +621,19 @@ public class TypeCheckerVisitor extends Visitor
      * @param node the cast expression node
      * @return the type of the expression
      */
-    public Object visit(CastExpr node) {
+    public Void visit(CastExpr node, Void context) {
 
         // Checks if cast type is not a defined type
-        if(!isPrimitiveType(node.getType()) &&
-                currentClass.lookupClass(node.getType()) == null){
+        Type type = typeNamed(node.getType());
+        if(!type.isDeclared()){
             registerError(node,"Cast  " +
                     node.getType() + " not a defined type.");
         }
 
-        node.getExpr().accept(this);
-        node.getExpr().setExprType(node.getType());
+        visit(node.getExpr(), context);
+        node.getExpr().setExprType(type);
 
-        return node.getType();
+        return null;
     }
 
     /**
@@ -574,28 +642,43 @@ public class TypeCheckerVisitor extends Visitor
      * @param node the assignment expression node
      * @return the type of the expression
      */
-    public Object visit(AssignExpr node) {
-
-        node.getExpr().accept(this);
-        Object exprType = node.getExpr().getExprType();
-
-        if(node.getExpr() instanceof VarExpr){
-            exprType = currentSymbolTable.lookup(((VarExpr) node.getExpr()).getName());
+    public Void visit(AssignExpr node, Void context) {
+
+        visit(node.getExpr(), context);
+        Type exprType = node.getExpr().getExprTypeDescriptor();
+
+        // Finds the field of this or super, or else the variable in scope
+        Binding binding;
+        Type varType;
+        String refName = node.getRefName();
+        if("this".equals(refName) || "super".equals(refName)) {
+            ClassTreeNode treeNode = (refName.equals("this") ? currentClass
+                    : currentClass.getParent());
+            binding = (treeNode == null ? null : fieldBinding(treeNode, node.getName()));
+            if(binding == null) {
+                registerError(node, "The field " + node.getName() + " does not exist.");
+                return null;
+            }
+            varType = binding.getType();
         }
-
-        // If in symbol table must make sure type matches
-        if(currentSymbolTable.lookup(node.getName()) != null){
-            if(!currentSymbolTable.lookup(node.getName()).equals(exprType)){
-                registerError(node,"expected  " +
-                        currentSymbolTable.lookup(node.getName()) + ", got  "
-                        + exprType + ".");
+        else {
+            Object value = currentSymbolTable.lookup(node.getName());
+            if(value == null) {
+                registerError(node, "The variable " + node.getName() + " does not exist.");
+                return null;
             }
+            binding = resolveVariable(node.getName(), value);
+            varType = (binding != null ? binding.getType() : typeNamed((String) value));
         }
-        else{
-            //adds to symbol table if not already in symbol table
-            currentSymbolTable.set((String) exprType, node.getExpr());
+        node.setBinding(binding);
+
+        // The type of the value must be the type of the variable or a subtype
+        if(!isSubtype(exprType, varType)){
+            registerError(node,"expected  " +
+                    varType + ", got  "
+                    + node.getExpr().getExprType() + ".");
         }
-        return exprType;
+        return null;
     }
 
 
@@ -605,7 +688,7 @@ public class TypeCheckerVisitor extends Visitor
      * @param node the variable expression node
      * @return the type of the expression
      */
-    public Object visit(VarExpr node) {
+    public Void visit(VarExpr node, Void context) {
 
         Expr ref = node.getRef();
         // get reference
@@ -614,20 +697,39 @@ public class TypeCheckerVisitor extends Visitor
 
             String refName = ((VarExpr) ref).getName();
 
-            if(refName.equals("super")) {
-                return currentClass.getParent().getVarSymbolTable()
-                        .lookup(node.getName());
-
-            }
-            else if(refName.equals("this")) {
-                return currentClass.getVarSymbolTable().lookup(node.getName());
+            // finds the field of this or super
+            if(refName.equals("super") || refName.equals("this")) {
+                ClassTreeNode treeNode = (refName.equals("this") ? currentClass
+                        : currentClass.getParent());
+                Binding binding = (treeNode == null ? null :
+                        fieldBinding(treeNode, node.getName()));
+                if(binding == null) {
+                    registerError(node, "The field " + node.getName() + " does not exist.");
+                    return null;
+                }
+                node.setBinding(binding);
+                node.setExprType(binding.getType());
+                return null;
 
             }
 
         }
+        // the constant null is parsed as a variable named null
+        if(ref == null && node.getName().equals("null")) {
+            node.setExprType(Type.NULL);
+            return null;
+        }
+
         //set expression type to type
-        node.setExprType((String)currentSymbolTable.lookup(node.getName()));
-        return currentSymbolTable.lookup(node.getName());
+        Object value = currentSymbolTable.lookup(node.getName());
+        if(value == null) {
+            registerError(node, "The variable " + node.getName() + " does not exist.");
+            return null;
+        }
+        Binding binding = resolveVariable(node.getName(), value);
+        node.setBinding(binding);
+        node.setExprType(binding != null ? binding.getType() : typeNamed((String) value));
+        return null;
 
 
     }
@@ -636,14 +738,15 @@ public class TypeCheckerVisitor extends Visitor
      * returns an array of length 2 containing the types of
      * the left and right children of the node.
      * @param node The BinaryExpr whose children are to be typed
-     * @return A String[] of length 2 with the types of the 2 children
+     * @param context the context of the visit
+     * @return A Type[] of length 2 with the types of the 2 children
      */
-    private String[] getLeftAndRightTypes(BinaryExpr node) {
-        node.getLeftExpr().accept(this);
-        node.getRightExpr().accept(this);
-        String type1 = node.getLeftExpr().getExprType();
-        String type2 = node.getRightExpr().getExprType();
-        return new String[]{type1,type2};
+    private Type[] getLeftAndRightTypes(BinaryExpr node, Void context) {
+        visit(node.getLeftExpr(), context);
+        visit(node.getRightExpr(), context);
+        Type type1 = node.getLeftExpr().getExprTypeDescriptor();
+        Type type2 = node.getRightExpr().getExprTypeDescriptor();
+        return new Type[]{type1,type2};
     }
 
     /**
@@ -652,9 +755,9 @@ public class TypeCheckerVisitor extends Visitor
      * @param node the binary comparison equals expression node
      * @return the type of the expression
      */
-    public Object visit(BinaryCompEqExpr node) {
+    public Void visit(BinaryCompEqExpr node, Void context) {
 
-        String[] types = getLeftAndRightTypes(node);
+        Type[] types = getLeftAndRightTypes(node, context);
         if (types[0] == null || types[1] == null) {
             return null; //error in one expr, so skip further checking
         }
@@ -662,7 +765,7 @@ public class TypeCheckerVisitor extends Visitor
             registerError(node,"The " + "two values being compared for " +
                     "equality are not compatible types.");
         }
-        node.setExprType("boolean");
+        node.setExprType(Type.BOOLEAN);
         return null;
     }
 
@@ -672,13 +775,13 @@ public class TypeCheckerVisitor extends Visitor
      * @param node the binary comparison not equals expression node
      * @return the type of the expression
      */
-    public Object visit(BinaryCompNeExpr node) {
-        String[] types = getLeftAndRightTypes(node);
+    public Void visit(BinaryCompNeExpr node, Void context) {
+        Type[] types = getLeftAndRightTypes(node, context);
         if (!(isSubtype(types[0], types[1]) || isSubtype(types[1], types[0]))) {
             registerError(node,"The two values being compared for equality " +
                     "are not compatible types.");
         }
-        node.setExprType("boolean");
+        node.setExprType(Type.BOOLEAN);
         return null;
     }
 
@@ -688,13 +791,13 @@ public class TypeCheckerVisitor extends Visitor
      * @param node the binary comparison less than expression node
      * @return the type of the expression
      */
-    public Object visit(BinaryCompLtExpr node) {
-        String[] types = getLeftAndRightTypes(node);
-        if (!(types[0].equals("int") && types[1].equals("int"))) {
+    public Void visit(BinaryCompLtExpr node, Void context) {
+        Type[] types = getLeftAndRightTypes(node, context);
+        if (!(types[0] == Type.INT && types[1] == Type.INT)) {
             registerError(node,"The two values being compared by \"<\" are " +
                     "not both ints.");
         }
-        node.setExprType("boolean");
+        node.setExprType(Type.BOOLEAN);
         return null;
     }
 
@@ -704,13 +807,13 @@ public class TypeCheckerVisitor extends Visitor
      * @param node the binary comparison less than or equal to expression node
      * @return the type of the expression
      */
-    public Object visit(BinaryCompLeqExpr node) {
-        String[] types = getLeftAndRightTypes(node);
-        if (!(types[0].equals("int") && types[1].equals("int"))) {
+    public Void visit(BinaryCompLeqExpr node, Void context) {
+        Type[] types = getLeftAndRightTypes(node, context);
+        if (!(types[0] == Type.INT && types[1] == Type.INT)) {
             registerError(node,"The  two values being compared by \"<=\" are" +
                     " not both ints.");
         }
-        node.setExprType("boolean");
+        node.setExprType(Type.BOOLEAN);
         return null;
     }
 
@@ -720,13 +823,13 @@ public class TypeCheckerVisitor extends Visitor
      * @param node the binary comparison greater than expression node
      * @return the type of the expression
      */
-    public Object visit(BinaryCompGtExpr node) {
-        String[] types = getLeftAndRightTypes(node);
-        if (!(types[0].equals("int") && types[1].equals("int"))) {
+    public Void visit(BinaryCompGtExpr node, Void context) {
+        Type[] types = getLeftAndRightTypes(node, context);
+        if (!(types[0] == Type.INT && types[1] == Type.INT)) {
             registerError(node,"The two values being compared by \">\" are" +
                     " not both ints.");
         }
-        node.setExprType("boolean");
+        node.setExprType(Type.BOOLEAN);
         return null;
     }
 
@@ -736,13 +839,13 @@ public class TypeCheckerVisitor extends Visitor
      * @param node the binary comparison greater to or equal to expression node
      * @return the type of the expression
      */
-    public Object visit(BinaryCompGeqExpr node) {
-        String[] types = getLeftAndRightTypes(node);
-        if (!(types[0].equals("int") && types[1].equals("int"))) {
+    public Void visit(BinaryCompGeqExpr node, Void context) {
+        Type[] types = getLeftAndRightTypes(node, context);
+        if (!(types[0] == Type.INT && types[1] == Type.INT)) {
             registerError(node,"The  two values being compared by \">=\" are " +
                     "not both ints.");
         }
-        node.setExprType("boolean");
+        node.setExprType(Type.BOOLEAN);
         return null;
     }
 
@@ -752,12 +855,12 @@ public class TypeCheckerVisitor extends Visitor
      * @param node the binary arithmetic plus expression node
      * @return the type of the expression
      */
-    public Object visit(BinaryArithPlusExpr node) {
-        String[] types = getLeftAndRightTypes(node);
-        if (!(types[0].equals("int") && types[1].equals("int"))) {
+    public Void visit(BinaryArithPlusExpr node, Void context) {
+        Type[] types = getLeftAndRightTypes(node, context);
+        if (!(types[0] == Type.INT && types[1] == Type.INT)) {
             registerError(node,"The two values being added are not both ints.");
         }
-        node.setExprType("int");
+        node.setExprType(Type.INT);
         return null;
     }
 
@@ -767,12 +870,12 @@ public class TypeCheckerVisitor extends Visitor
      * @param node the binary arithmetic minus expression node
      * @return the type of the expression
      */
-    public Object visit(BinaryArithMinusExpr node) {
-        String[] types = getLeftAndRightTypes(node);
-        if (!(types[0].equals("int") && types[1].equals("int"))) {
+    public Void visit(BinaryArithMinusExpr node, Void context) {
+        Type[] types = getLeftAndRightTypes(node, context);
+        if (!(types[0] == Type.INT && types[1] == Type.INT)) {
             registerError(node,"The two values being subtraced are not both ints.");
         }
-        node.setExprType("int");
+        node.setExprType(Type.INT);
         return null;
     }
 
@@ -782,12 +885,12 @@ public class TypeCheckerVisitor extends Visitor
      * @param node the binary arithmetic times expression node
      * @return the type of the expression
      */
-    public Object visit(BinaryArithTimesExpr node) {
-        String[] types = getLeftAndRightTypes(node);
-        if (!(types[0].equals("int") && types[1].equals("int"))) {
+    public Void visit(BinaryArithTimesExpr node, Void context) {
+        Type[] types = getLeftAndRightTypes(node, context);
+        if (!(types[0] == Type.INT && types[1] == Type.INT)) {
             registerError(node,"The two values being multiplied are not both ints.");
         }
-        node.setExprType("int");
+        node.setExprType(Type.INT);
         return null;
     }
 
@@ -797,12 +900,12 @@ public class TypeCheckerVisitor extends Visitor
      * @param node the binary arithmetic divide expression node
      * @return the type of the expression
      */
-    public Object visit(BinaryArithDivideExpr node) {
-        String[] types = getLeftAndRightTypes(node);
-        if (!(types[0].equals("int") && types[1].equals("int"))) {
+    public Void visit(BinaryArithDivideExpr node, Void context) {
+        Type[] types = getLeftAndRightTypes(node, context);
+        if (!(types[0] == Type.INT && types[1] == Type.INT)) {
             registerError(node,"The two values being divided are not both ints.");
         }
-        node.setExprType("int");
+        node.setExprType(Type.INT);
         return null;
     }
 
@@ -812,13 +915,13 @@ public class TypeCheckerVisitor extends Visitor
      * @param node the binary arithmetic modulus expression node
      * @return the type of the expression
      */
-    public Object visit(BinaryArithModulusExpr node) {
-        String[] types = getLeftAndRightTypes(node);
-        if (!(types[0].equals("int") && types[1].equals("int"))) {
+    public Void visit(BinaryArithModulusExpr node, Void context) {
+        Type[] types = getLeftAndRightTypes(node, context);
+        if (!(types[0] == Type.INT && types[1] == Type.INT)) {
             registerError(node,"The two values being operated on with % are " +
                     "not both ints.");
         }
-        node.setExprType("int");
+        node.setExprType(Type.INT);
         return null;
     }
 
@@ -828,14 +931,14 @@ public class TypeCheckerVisitor extends Visitor
      * @param node the binary logical AND expression node
      * @return the type of the expression
      */
-    public Object visit(BinaryLogicAndExpr node) {
-        String[] types = getLeftAndRightTypes(node);
-        if (!(types[0].equals("boolean") && types[1].equals("boolean"))) {
+    public Void visit(BinaryLogicAndExpr node, Void context) {
+        Type[] types = getLeftAndRightTypes(node, context);
+        if (!(types[0] == Type.BOOLEAN && types[1] == Type.BOOLEAN)) {
             registerError(node,
                     "The two values being operated on with && are not both booleans"
                             + ".");
         }
-        node.setExprType("boolean");
+        node.setExprType(Type.BOOLEAN);
         return null;
     }
 
@@ -845,14 +948,14 @@ public class TypeCheckerVisitor extends Visitor
      * @param node the binary logical OR expression node
      * @return the type of the expression
      */
-    public Object visit(BinaryLogicOrExpr node) {
-        String[] types = getLeftAndRightTypes(node);
-        if (!(types[0].equals("boolean") && types[1].equals("boolean"))) {
+    public Void visit(BinaryLogicOrExpr node, Void context) {
+        Type[] types = getLeftAndRightTypes(node, context);
+        if (!(types[0] == Type.BOOLEAN && types[1] == Type.BOOLEAN)) {
             registerError(node,
                     "The two values being operated on with || are not both booleans"
                             + ".");
         }
-        node.setExprType("boolean");
+        node.setExprType(Type.BOOLEAN);
         return null;
     }
 
@@ -862,14 +965,14 @@ public class TypeCheckerVisitor extends Visitor
      * @param node the unary negation expression node
      * @return the type of the expression
      */
-    public Object visit(UnaryNegExpr node) {
-        node.getExpr().accept(this);
-        String type = node.getExpr().getExprType();
-        if (!(type.equals("int"))) {
+    public Void visit(UnaryNegExpr node, Void context) {
+        visit(node.getExpr(), context);
+        Type type = node.getExpr().getExprTypeDescriptor();
+        if (type != Type.INT) {
             registerError(node,"The value being negated is of type "
                     + type + ", not int.");
         }
-        node.setExprType("int");
+        node.setExprType(Type.INT);
         return null;
     }
 
@@ -879,14 +982,14 @@ public class TypeCheckerVisitor extends Visitor
      * @param node the unary NOT expression node
      * @return the type of the expression
      */
-    public Object visit(UnaryNotExpr node) {
-        node.getExpr().accept(this);
-        String type = node.getExpr().getExprType();
-        if (!type.equals("boolean")) {
+    public Void visit(UnaryNotExpr node, Void context) {
+        visit(node.getExpr(), context);
+        Type type = node.getExpr().getExprTypeDescriptor();
+        if (type != Type.BOOLEAN) {
             registerError(node,"The not (!) operator applies only to boolean " +
                     "expressions, not " + type + " expressions.");
         }
-        node.setExprType("boolean");
+        node.setExprType(Type.BOOLEAN);
         return null;
     }
 
@@ -896,18 +999,18 @@ public class TypeCheckerVisitor extends Visitor
      * @param node the unary increment expression node
      * @return the type of the expression
      */
-    public Object visit(UnaryIncrExpr node) {
+    public Void visit(UnaryIncrExpr node, Void context) {
         if (!(node.getExpr() instanceof VarExpr)) {
             registerError(node,"The  expression being incremented can only be " +
                     "a variable name with an optional \"this.\" or \"super.\" prefix.");
         }
-        node.getExpr().accept(this);
-        String type = node.getExpr().getExprType();
-        if (!(type.equals("int"))) {
+        visit(node.getExpr(), context);
+        Type type = node.getExpr().getExprTypeDescriptor();
+        if (type != Type.INT) {
             registerError(node,"The value being incremented is of type "
                     + type + ", not int.");
         }
-        node.setExprType("int");
+        node.setExprType(Type.INT);
         return null;
     }
 
@@ -917,18 +1020,18 @@ public class TypeCheckerVisitor extends Visitor
      * @param node the unary decrement expression node
      * @return the type of the expression
      */
-    public Object visit(UnaryDecrExpr node) {
+    public Void visit(UnaryDecrExpr node, Void context) {
         if (!(node.getExpr() instanceof VarExpr)) {
             registerError(node,"The  expression being incremented can only be " +
                     "a variable name with an optional \"this.\" or \"super.\" prefix.");
         }
-        node.getExpr().accept(this);
-        String type = node.getExpr().getExprType();
-        if (!(type.equals("int"))) {
+        visit(node.getExpr(), context);
+        Type type = node.getExpr().getExprTypeDescriptor();
+        if (type != Type.INT) {
             registerError(node,"The value being decremented is of type "
                     + type + ", not int.");
         }
-        node.setExprType("int");
+        node.setExprType(Type.INT);
         return null;
     }
 
@@ -938,8 +1041,8 @@ public class TypeCheckerVisitor extends Visitor
      * @param node the int constant expression node
      * @return the type of the expression
      */
-    public Object visit(ConstIntExpr node) {
-        node.setExprType("int");
+    public Void visit(ConstIntExpr node, Void context) {
+        node.setExprType(Type.INT);
         return null;
     }
 
@@ -949,8 +1052,8 @@ public class TypeCheckerVisitor extends Visitor
      * @param node the boolean constant expression node
      * @return the type of the expression
      */
-    public Object visit(ConstBooleanExpr node) {
-        node.setExprType("boolean");
+    public Void visit(ConstBooleanExpr node, Void context) {
+        node.setExprType(Type.BOOLEAN);
         return null;
     }
 
@@ -960,8 +1063,8 @@ public class TypeCheckerVisitor extends Visitor
      * @param node the string constant expression node
      * @return the type of the expression
      */
-    public Object visit(ConstStringExpr node) {
-        node.setExprType("String");
+    public Void visit(ConstStringExpr node, Void context) {
+        node.setExprType(stringType);
         return null;
     }
 
@@ -9,83 +9,35 @@
 package proj10LoverudeTymkiwCorrell.bantam.transpiler;
 
 import proj10LoverudeTymkiwCorrell.bantam.ast.*;
-import proj10LoverudeTymkiwCorrell.bantam.visitor.Visitor;
+import proj10LoverudeTymkiwCorrell.bantam.visitor.TypedVisitor;
 
-import java.util.Iterator;
 
-public class TranspilerVisitor extends Visitor {
+/**
+ * Writes a program as Java.  The context of each visit is the indentation
+ * of the lines written for the node.
+ */
+public class TranspilerVisitor extends TypedVisitor<Void, String> {
 
     // Writer that translates ASTNodes into legal Java
     private StringBuilder programStringBuilder;
 
-    private String currentIndentation;
-
     public TranspilerVisitor(){
 
         super();
         programStringBuilder = new StringBuilder();
 
-        currentIndentation = "";
-
-    }
-
-    /**
-     * Increases the spaces for the indentation string
-     *
-     */
-    private void increaseIndentationString(){
-
-        StringBuilder indentationStringBuilder = new StringBuilder(currentIndentation);
-
-        indentationStringBuilder.append("    ");
-
-        currentIndentation = indentationStringBuilder.toString();
-
-
-    }
-
-    /**
-     * Increases the spaces for the indentation string
-     *
-     */
-    private void decreaseIndentationString(){
-
-        StringBuilder indentationStringBuilder = new StringBuilder(currentIndentation);
-
-        /* Conditional should always be true when this method is called-
-           this is just a safety measure for future use */
-        if(indentationStringBuilder.length() >= 4){
-            indentationStringBuilder.delete(0, 4);
-        }
-
-        currentIndentation = indentationStringBuilder.toString();
-
-
-    }
-
-
-
-    /**
-     * Increases the spaces for the indentation string
-     *
-     *
-     * @return String for indentations
-     */
-    private String getCurrentIndentation(){
-
-        return currentIndentation;
-
     }
 
     /**
      * Visit a list node of classes
      *
      * @param node the class list node
+     * @param indentation the indentation of the lines of the node
      * @return result of the visit
      */
-    public Object visit(ClassList node) {
-        for (ASTNode aNode : node) {
-            aNode.accept(this);
+    public Void visit(ClassList node, String indentation) {
+        for (int i = 0; i < node.getSize(); i++) {
+            visit(node.get(i), indentation);
             programStringBuilder.append("\n\n\n");
         }
         return null;
@@ -96,17 +48,18 @@ public class TranspilerVisitor extends Visitor {
      * Visit a class node
      *
      * @param node the class node
+     * @param indentation the indentation of the lines of the node
      * @return result of the visit
      */
     @Override
-    public Object visit(Class_ node) {
+    public Void visit(Class_ node, String indentation) {
         programStringBuilder.append("class " + node.getName());
 
         if(!node.getParent().equals("Object")){
             programStringBuilder.append(" extends " + node.getParent());
         }
 
-        node.getMemberList().accept(this);
+        visit(node.getMemberList(), indentation);
         return null;
     }
 
@@ -114,10 +67,11 @@ public class TranspilerVisitor extends Visitor {
      * Visit a MemberList node
      *
      * @param node the MemberList node
+     * @param indentation the indentation of the lines of the node
      * @return result of the visit
      */
     @Override
-    public Object visit(MemberList node) {
+    public Void visit(MemberList node, String indentation) {
 
         boolean listHasMembers = (node.getSize() > 0);
         programStringBuilder.append("{ ");
@@ -125,14 +79,12 @@ public class TranspilerVisitor extends Visitor {
         if(listHasMembers){
             programStringBuilder.append("\n");
         }
-        increaseIndentationString();
-        for(ASTNode child : node){
-            child.accept(this);
+        for(int i = 0; i < node.getSize(); i++){
+            visit(node.get(i), indentation + "    ");
         }
-        decreaseIndentationString();
         // Conditional ensures that a class with no members has { } on same line
         if(listHasMembers){
-            programStringBuilder.append("\n" + getCurrentIndentation());
+            programStringBuilder.append("\n" + indentation);
         }
         programStringBuilder.append("}");
 
@@ -144,17 +96,18 @@ public class TranspilerVisitor extends Visitor {
      * Visit a field node
      *
      * @param node the field node
+     * @param indentation the indentation of the lines of the node
      * @return result of the visit
      */
     @Override
-    public Object visit(Field node) {
-        programStringBuilder.append("\n" + getCurrentIndentation());
+    public Void visit(Field node, String indentation) {
+        programStringBuilder.append("\n" + indentation);
         programStringBuilder.append("protected ");
         programStringBuilder.append(node.getType() + " " + node.getName());
 
         if (node.getInit() != null) {
             programStringBuilder.append(" = ");
-            node.getInit().accept(this);
+            visit(node.getInit(), indentation);
         }
         programStringBuilder.append(";");
         return null;
@@ -164,12 +117,13 @@ public class TranspilerVisitor extends Visitor {
      * Visit a method node
      *
      * @param node the method node
+     * @param indentation the indentation of the lines of the node
      * @return result of the visit
      */
     @Override
-    public Object visit(Method node) {
+    public Void visit(Method node, String indentation) {
 
-        programStringBuilder.append("\n\n" + getCurrentIndentation());
+        programStringBuilder.append("\n\n" + indentation);
 
         //boolean isMainMethod = (node.getName().equals("main"));
 
@@ -179,10 +133,10 @@ public class TranspilerVisitor extends Visitor {
         else {
             programStringBuilder.append("public " + node.getReturnType() + " " + node.getName());
             programStringBuilder.append("(");
-            node.getFormalList().accept(this);
+            visit(node.getFormalList(), indentation);
             programStringBuilder.append(")");
         }
-        node.getStmtList().accept(this);
+        visit(node.getStmtList(), indentation);
         return null;
     }
 
@@ -190,26 +144,24 @@ public class TranspilerVisitor extends Visitor {
      * Visit a list node of statements
      *
      * @param node the statement list node
+     * @param indentation the indentation of the lines of the node
      * @return result of the visit
      */
     @Override
-    public Object visit(StmtList node) {
+    public Void visit(StmtList node, String indentation) {
         programStringBuilder.append("{");
-        increaseIndentationString();
-        for (Iterator it = node.iterator(); it.hasNext(); )
-            ((Stmt) it.next()).accept(this);
-        decreaseIndentationString();
-        programStringBuilder.append("\n" + getCurrentIndentation());
+        for (int i = 0; i < node.getSize(); i++)
+            visit(node.get(i), indentation + "    ");
+        programStringBuilder.append("\n" + indentation);
         programStringBuilder.append("}");
         return null;
     }
 
     @Override
-    public Object visit(FormalList node) {
-        for (Iterator it = node.iterator(); it.hasNext(); ) {
-            Formal formal = (Formal) it.next();
-            formal.accept(this);
-            if(it.hasNext()){
+    public Void visit(FormalList node, String indentation) {
+        for (int i = 0; i < node.getSize(); i++) {
+            visit(node.get(i), indentation);
+            if(i < node.getSize() - 1){
                 programStringBuilder.append(", ");
             }
         }
@@ -220,10 +172,11 @@ public class TranspilerVisitor extends Visitor {
      * Visit a formal node
      *
      * @param node the formal node
+     * @param indentation the indentation of the lines of the node
      * @return result of the visit
      */
     @Override
-    public Object visit(Formal node) {
+    public Void visit(Formal node, String indentation) {
         programStringBuilder.append(node.getType() + " " + node.getName());
         return null;
     }
@@ -233,13 +186,14 @@ public class TranspilerVisitor extends Visitor {
      * Visit a declaration statement node
      *
      * @param node the declaration statement node
+     * @param indentation the indentation of the lines of the node
      * @return result of the visit
      */
     @Override
-    public Object visit(DeclStmt node) {
-        programStringBuilder.append("\n" + getCurrentIndentation());
+    public Void visit(DeclStmt node, String indentation) {
+        programStringBuilder.append("\n" + indentation);
         programStringBuilder.append("var " + node.getName() + " = ");
-        node.getInit().accept(this);
+        visit(node.getInit(), indentation);
         programStringBuilder.append(";");
         return null;
     }
@@ -249,12 +203,13 @@ public class TranspilerVisitor extends Visitor {
      * Visit an expression statement node
      *
      * @param node the expression statement node
+     * @param indentation the indentation of the lines of the node
      * @return result of the visit
      */
     @Override
-    public Object visit(ExprStmt node) {
-        programStringBuilder.append("\n" + getCurrentIndentation());
-        node.getExpr().accept(this);
+    public Void visit(ExprStmt node, String indentation) {
+        programStringBuilder.append("\n" + indentation);
+        visit(node.getExpr(), indentation);
         programStringBuilder.append(";");
         return null;
     }
@@ -263,18 +218,19 @@ public class TranspilerVisitor extends Visitor {
      * Visit an if statement node
      *
      * @param node the if statement node
+     * @param indentation the indentation of the lines of the node
      * @return result of the visit
      */
     @Override
-    public Object visit(IfStmt node) {
-         programStringBuilder.append("\n" + getCurrentIndentation());
+    public Void visit(IfStmt node, String indentation) {
+         programStringBuilder.append("\n" + indentation);
          programStringBuilder.append("if(");
-         node.getPredExpr().accept(this);
+         visit(node.getPredExpr(), indentation);
          programStringBuilder.append(")");
-         node.getThenStmt().accept(this);
+         visit(node.getThenStmt(), indentation);
          if (node.getElseStmt() != null) {
              programStringBuilder.append("else");
-             node.getElseStmt().accept(this);
+             visit(node.getElseStmt(), indentation);
          }
          return null;
     }
@@ -283,16 +239,17 @@ public class TranspilerVisitor extends Visitor {
      * Visit a while statement node
      *
      * @param node the while statement node
+     * @param indentation the indentation of the lines of the node
      * @return result of the visit
      */
     @Override
-    public Object visit(WhileStmt node) {
+    public Void visit(WhileStmt node, String indentation) {
         //transpiler.writeNodeToJava(node);
-        programStringBuilder.append("\n" + getCurrentIndentation());
+        programStringBuilder.append("\n" + indentation);
         programStringBuilder.append("while(");
-        node.getPredExpr().accept(this);
+        visit(node.getPredExpr(), indentation);
         programStringBuilder.append(")");
-        node.getBodyStmt().accept(this);
+        visit(node.getBodyStmt(), indentation);
         return null;
     }
 
@@ -300,25 +257,26 @@ public class TranspilerVisitor extends Visitor {
      * Visit a for statement node
      *
      * @param node the for statement node
+     * @param indentation the indentation of the lines of the node
      * @return result of the visit
      */
     @Override
-    public Object visit(ForStmt node) {
-        programStringBuilder.append("\n" + getCurrentIndentation());
+    public Void visit(ForStmt node, String indentation) {
+        programStringBuilder.append("\n" + indentation);
         programStringBuilder.append("for(");
         if (node.getInitExpr() != null) {
-            node.getInitExpr().accept(this);
+            visit(node.getInitExpr(), indentation);
         }
         programStringBuilder.append("; ");
         if (node.getPredExpr() != null) {
-            node.getPredExpr().accept(this);
+            visit(node.getPredExpr(), indentation);
         }
         programStringBuilder.append("; ");
         if (node.getUpdateExpr() != null) {
-            node.getUpdateExpr().accept(this);
+            visit(node.getUpdateExpr(), indentation);
         }
         programStringBuilder.append(")");
-        node.getBodyStmt().accept(this);
+        visit(node.getBodyStmt(), indentation);
         return null;
     }
 
@@ -326,12 +284,13 @@ public class TranspilerVisitor extends Visitor {
      * Visit a break statement node
      *
      * @param node the break statement node
+     * @param indentation the indentation of the lines of the node
      * @return result of the visit
      */
     @Override
-    public Object visit(BreakStmt node) {
+    public Void visit(BreakStmt node, String indentation) {
 
-        programStringBuilder.append("\n" + getCurrentIndentation());
+        programStringBuilder.append("\n" + indentation);
         programStringBuilder.append("break;");
 
         return null;
@@ -343,16 +302,17 @@ public class TranspilerVisitor extends Visitor {
      * Visit a return statement node
      *
      * @param node the return statement node
+     * @param indentation the indentation of the lines of the node
      * @return result of the visit
      */
     @Override
-    public Object visit(ReturnStmt node) {
+    public Void visit(ReturnStmt node, String indentation) {
 
-        programStringBuilder.append("\n" + getCurrentIndentation());
+        programStringBuilder.append("\n" + indentation);
         programStringBuilder.append("return");
         if(node.getExpr() != null){
             programStringBuilder.append(" ");
-            node.getExpr().accept(this);
+            visit(node.getExpr(), indentation);
         }
         programStringBuilder.append(";");
         return null;
@@ -363,12 +323,13 @@ public class TranspilerVisitor extends Visitor {
      * Visit a dispatch expression node
      *
      * @param node the dispatch expression node
+     * @param indentation the indentation of the lines of the node
      * @return result of the visit
      */
     @Override
-    public Object visit(DispatchExpr node) {
+    public Void visit(DispatchExpr node, String indentation) {
         if(node.getRefExpr() != null){
-            node.getRefExpr().accept(this);
+            visit(node.getRefExpr(), indentation);
             programStringBuilder.append(".");
         }
         if(node.getMethodName().equals("print")){
@@ -378,16 +339,16 @@ public class TranspilerVisitor extends Visitor {
             programStringBuilder.append(node.getMethodName());
         }
         programStringBuilder.append("(");
-        node.getActualList().accept(this);
+        visit(node.getActualList(), indentation);
         programStringBuilder.append(")");
         return null;
     }
 
     @Override
-    public Object visit(ExprList node) {
-        for (Iterator it = node.iterator(); it.hasNext(); ) {
-            ((Expr) it.next()).accept(this);
-            if(it.hasNext()){
+    public Void visit(ExprList node, String indentation) {
+        for (int i = 0; i < node.getSize(); i++) {
+            visit(node.get(i), indentation);
+            if(i < node.getSize() - 1){
                 programStringBuilder.append(", ");
             }
         }
@@ -399,12 +360,13 @@ public class TranspilerVisitor extends Visitor {
      * Visit a new expression node
      *
      * @param node the new expression node
+     * @param indentation the indentation of the lines of the node
      * @return result of the visit
      */
     @Override
     //TODO : this method does not add the parameters used in constructor. Potentially the type should be appended
     // in another visit method?
-    public Object visit(NewExpr node) {
+    public Void visit(NewExpr node, String indentation) {
 
         programStringBuilder.append("new ");
         programStringBuilder.append(node.getType());
@@ -417,12 +379,13 @@ public class TranspilerVisitor extends Visitor {
      * Visit an instanceof expression node
      *
      * @param node the instanceof expression node
+     * @param indentation the indentation of the lines of the node
      * @return result of the visit
      */
     @Override
-    public Object visit(InstanceofExpr node) {
+    public Void visit(InstanceofExpr node, String indentation) {
         programStringBuilder.append("instanceof ");
-        node.getExpr().accept(this);
+        visit(node.getExpr(), indentation);
         return null;
     }
 
@@ -430,13 +393,14 @@ public class TranspilerVisitor extends Visitor {
      * Visit a cast expression node
      *
      * @param node the cast expression node
+     * @param indentation the indentation of the lines of the node
      * @return result of the visit
      */
     @Override
-    public Object visit(CastExpr node) {
+    public Void visit(CastExpr node, String indentation) {
         //transpiler.writeNodeToJava(node);
         programStringBuilder.append("(" + node.getType() + ")");
-        node.getExpr().accept(this);
+        visit(node.getExpr(), indentation);
         return null;
     }
 
@@ -444,16 +408,17 @@ public class TranspilerVisitor extends Visitor {
      * Visit an assignment expression node
      *
      * @param node the assignment expression node
+     * @param indentation the indentation of the lines of the node
      * @return result of the visit
      */
     @Override
-    public Object visit(AssignExpr node) {
+    public Void visit(AssignExpr node, String indentation) {
         //transpiler.writeNodeToJava(node);
         if(node.getRefName() != null){
             programStringBuilder.append(node.getRefName() + ".");
         }
         programStringBuilder.append(node.getName() + " = ");
-        node.getExpr().accept(this);
+        visit(node.getExpr(), indentation);
         return null;
     }
 
@@ -462,14 +427,15 @@ public class TranspilerVisitor extends Visitor {
      * Visit a binary comparison equals expression node
      *
      * @param node the binary comparison equals expression node
+     * @param indentation the indentation of the lines of the node
      * @return result of the visit
      */
     @Override
-    public Object visit(BinaryCompEqExpr node) {
-        node.getLeftExpr().accept(this);
+    public Void visit(BinaryCompEqExpr node, String indentation) {
+        visit(node.getLeftExpr(), indentation);
         //transpiler.writeNodeToJava(node);
         programStringBuilder.append(" == ");
-        node.getRightExpr().accept(this);
+        visit(node.getRightExpr(), indentation);
         return null;
     }
 
@@ -477,14 +443,15 @@ public class TranspilerVisitor extends Visitor {
      * Visit a binary comparison not equals expression node
      *
      * @param node the binary comparison not equals expression node
+     * @param indentation the indentation of the lines of the node
      * @return result of the visit
      */
     @Override
-    public Object visit(BinaryCompNeExpr node) {
-        node.getLeftExpr().accept(this);
+    public Void visit(BinaryCompNeExpr node, String indentation) {
+        visit(node.getLeftExpr(), indentation);
         //transpiler.writeNodeToJava(node);
         programStringBuilder.append(" != ");
-        node.getRightExpr().accept(this);
+        visit(node.getRightExpr(), indentation);
         return null;
     }
 
@@ -492,13 +459,14 @@ public class TranspilerVisitor extends Visitor {
      * Visit a binary comparison less than expression node
      *
      * @param node the binary comparison less than expression node
+     * @param indentation the indentation of the lines of the node
      * @return result of the visit
      */
     @Override
-    public Object visit(BinaryCompLtExpr node) {
-        node.getLeftExpr().accept(this);
+    public Void visit(BinaryCompLtExpr node, String indentation) {
+        visit(node.getLeftExpr(), indentation);
         programStringBuilder.append(" < ");
-        node.getRightExpr().accept(this);
+        visit(node.getRightExpr(), indentation);
         return null;
     }
 
@@ -506,13 +474,14 @@ public class TranspilerVisitor extends Visitor {
      * Visit a binary comparison less than or equal to expression node
      *
      * @param node the binary comparison less than or equal to expression node
+     * @param indentation the indentation of the lines of the node
      * @return result of the visit
      */
     @Override
-    public Object visit(BinaryCompLeqExpr node) {
-        node.getLeftExpr().accept(this);
+    public Void visit(BinaryCompLeqExpr node, String indentation) {
+        visit(node.getLeftExpr(), indentation);
         programStringBuilder.append(" <= ");
-        node.getRightExpr().accept(this);
+        visit(node.getRightExpr(), indentation);
         return null;
     }
 
@@ -520,14 +489,15 @@ public class TranspilerVisitor extends Visitor {
      * Visit a binary comparison greater than expression node
      *
      * @param node the binary comparison greater than expression node
+     * @param indentation the indentation of the lines of the node
      * @return result of the visit
      */
     @Override
-    public Object visit(BinaryCompGtExpr node) {
-        node.getLeftExpr().accept(this);
+    public Void visit(BinaryCompGtExpr node, String indentation) {
+        visit(node.getLeftExpr(), indentation);
         //transpiler.writeNodeToJava(node);
         programStringBuilder.append(" > ");
-        node.getRightExpr().accept(this);
+        visit(node.getRightExpr(), indentation);
         return null;
     }
 
@@ -535,14 +505,15 @@ public class TranspilerVisitor extends Visitor {
      * Visit a binary comparison greater than or equal to expression node
      *
      * @param node the binary comparison greater to or equal to expression node
+     * @param indentation the indentation of the lines of the node
      * @return result of the visit
      */
     @Override
-    public Object visit(BinaryCompGeqExpr node) {
-        node.getLeftExpr().accept(this);
+    public Void visit(BinaryCompGeqExpr node, String indentation) {
+        visit(node.getLeftExpr(), indentation);
         //transpiler.writeNodeToJava(node);
         programStringBuilder.append(" >= ");
-        node.getRightExpr().accept(this);
+        visit(node.getRightExpr(), indentation);
         return null;
     }
 
@@ -551,14 +522,15 @@ public class TranspilerVisitor extends Visitor {
      * Visit a binary arithmetic plus expression node
      *
      * @param node the binary arithmetic plus expression node
+     * @param indentation the indentation of the lines of the node
      * @return result of the visit
      */
     @Override
-    public Object visit(BinaryArithPlusExpr node) {
-        node.getLeftExpr().accept(this);
+    public Void visit(BinaryArithPlusExpr node, String indentation) {
+        visit(node.getLeftExpr(), indentation);
         //transpiler.writeNodeToJava(node);
         programStringBuilder.append(" + ");
-        node.getRightExpr().accept(this);
+        visit(node.getRightExpr(), indentation);
         return null;
     }
 
@@ -566,14 +538,15 @@ public class TranspilerVisitor extends Visitor {
      * Visit a binary arithmetic minus expression node
      *
      * @param node the binary arithmetic minus expression node
+     * @param indentation the indentation of the lines of the node
      * @return result of the visit
      */
     @Override
-    public Object visit(BinaryArithMinusExpr node) {
-        node.getLeftExpr().accept(this);
+    public Void visit(BinaryArithMinusExpr node, String indentation) {
+        visit(node.getLeftExpr(), indentation);
         //transpiler.writeNodeToJava(node);
         programStringBuilder.append(" - ");
-        node.getRightExpr().accept(this);
+        visit(node.getRightExpr(), indentation);
         return null;
     }
 
@@ -581,14 +554,15 @@ public class TranspilerVisitor extends Visitor {
      * Visit a binary arithmetic times expression node
      *
      * @param node the binary arithmetic times expression node
+     * @param indentation the indentation of the lines of the node
      * @return result of the visit
      */
     @Override
-    public Object visit(BinaryArithTimesExpr node) {
-        node.getLeftExpr().accept(this);
+    public Void visit(BinaryArithTimesExpr node, String indentation) {
+        visit(node.getLeftExpr(), indentation);
         //transpiler.writeNodeToJava(node);
         programStringBuilder.append(" * ");
-        node.getRightExpr().accept(this);
+        visit(node.getRightExpr(), indentation);
         return null;
     }
 
@@ -596,14 +570,15 @@ public class TranspilerVisitor extends Visitor {
      * Visit a binary arithmetic divide expression node
      *
      * @param node the binary arithmetic divide expression node
+     * @param indentation the indentation of the lines of the node
      * @return result of the visit
      */
     @Override
-    public Object visit(BinaryArithDivideExpr node) {
-        node.getLeftExpr().accept(this);
+    public Void visit(BinaryArithDivideExpr node, String indentation) {
+        visit(node.getLeftExpr(), indentation);
         //transpiler.writeNodeToJava(node);
         programStringBuilder.append(" / ");
-        node.getRightExpr().accept(this);
+        visit(node.getRightExpr(), indentation);
         return null;
     }
 
@@ -611,14 +586,15 @@ public class TranspilerVisitor extends Visitor {
      * Visit a binary arithmetic modulus expression node
      *
      * @param node the binary arithmetic modulus expression node
+     * @param indentation the indentation of the lines of the node
      * @return result of the visit
      */
     @Override
-    public Object visit(BinaryArithModulusExpr node) {
-        node.getLeftExpr().accept(this);
+    public Void visit(BinaryArithModulusExpr node, String indentation) {
+        visit(node.getLeftExpr(), indentation);
         //transpiler.writeNodeToJava(node);
         programStringBuilder.append(" % ");
-        node.getRightExpr().accept(this);
+        visit(node.getRightExpr(), indentation);
         return null;
     }
 
@@ -627,13 +603,14 @@ public class TranspilerVisitor extends Visitor {
      * Visit a binary logical AND expression node
      *
      * @param node the binary logical AND expression node
+     * @param indentation the indentation of the lines of the node
      * @return result of the visit
      */
     @Override
-    public Object visit(BinaryLogicAndExpr node) {
-        node.getLeftExpr().accept(this);
+    public Void visit(BinaryLogicAndExpr node, String indentation) {
+        visit(node.getLeftExpr(), indentation);
         programStringBuilder.append(" && ");
-        node.getRightExpr().accept(this);
+        visit(node.getRightExpr(), indentation);
         return null;
     }
 
@@ -641,13 +618,14 @@ public class TranspilerVisitor extends Visitor {
      * Visit a binary logical OR expression node
      *
      * @param node the binary logical OR expression node
+     * @param indentation the indentation of the lines of the node
      * @return result of the visit
      */
     @Override
-    public Object visit(BinaryLogicOrExpr node) {
-        node.getLeftExpr().accept(this);
+    public Void visit(BinaryLogicOrExpr node, String indentation) {
+        visit(node.getLeftExpr(), indentation);
         programStringBuilder.append(" || ");
-        node.getRightExpr().accept(this);
+        visit(node.getRightExpr(), indentation);
         return null;
     }
 
@@ -655,12 +633,13 @@ public class TranspilerVisitor extends Visitor {
      * Visit a unary negation expression node
      *
      * @param node the unary negation expression node
+     * @param indentation the indentation of the lines of the node
      * @return result of the visit
      */
     @Override
-    public Object visit(UnaryNegExpr node) {
+    public Void visit(UnaryNegExpr node, String indentation) {
         programStringBuilder.append("-");
-        node.getExpr().accept(this);
+        visit(node.getExpr(), indentation);
         return null;
     }
 
@@ -668,12 +647,13 @@ public class TranspilerVisitor extends Visitor {
      * Visit a unary NOT expression node
      *
      * @param node the unary NOT expression node
+     * @param indentation the indentation of the lines of the node
      * @return result of the visit
      */
     @Override
-    public Object visit(UnaryNotExpr node) {
+    public Void visit(UnaryNotExpr node, String indentation) {
         programStringBuilder.append("!");
-        node.getExpr().accept(this);
+        visit(node.getExpr(), indentation);
         return null;
     }
 
@@ -681,17 +661,18 @@ public class TranspilerVisitor extends Visitor {
      * Visit a unary increment expression node
      *
      * @param node the unary increment expression node
+     * @param indentation the indentation of the lines of the node
      * @return result of the visit
      */
     @Override
-    public Object visit(UnaryIncrExpr node) {
+    public Void visit(UnaryIncrExpr node, String indentation) {
 
         if (!node.isPostfix()){
             programStringBuilder.append("++");
-            node.getExpr().accept(this);
+            visit(node.getExpr(), indentation);
         }
         else{
-            node.getExpr().accept(this);
+            visit(node.getExpr(), indentation);
             programStringBuilder.append("++");
         }
 
@@ -702,16 +683,17 @@ public class TranspilerVisitor extends Visitor {
      * Visit a unary decrement expression node
      *
      * @param node the unary decrement expression node
+     * @param indentation the indentation of the lines of the node
      * @return result of the visit
      */
     @Override
-    public Object visit(UnaryDecrExpr node) {
+    public Void visit(UnaryDecrExpr node, String indentation) {
         if (!node.isPostfix()){
             programStringBuilder.append("--");
-            node.getExpr().accept(this);
+            visit(node.getExpr(), indentation);
         }
         else{
-            node.getExpr().accept(this);
+            visit(node.getExpr(), indentation);
             programStringBuilder.append("--");
         }
         return null;
@@ -721,13 +703,14 @@ public class TranspilerVisitor extends Visitor {
      * Visit a variable expression node
      *
      * @param node the variable expression node
+     * @param indentation the indentation of the lines of the node
      * @return result of the visit
      */
     @Override
-    public Object visit(VarExpr node) {
+    public Void visit(VarExpr node, String indentation) {
 
         if (node.getRef() != null) {
-            node.getRef().accept(this);
+            visit(node.getRef(), indentation);
             programStringBuilder.append(".");
         }
 
@@ -743,10 +726,11 @@ public class TranspilerVisitor extends Visitor {
      * Visit an int constant expression node
      *
      * @param node the int constant expression node
+     * @param indentation the indentation of the lines of the node
      * @return result of the visit
      */
     @Override
-    public Object visit(ConstIntExpr node) {
+    public Void visit(ConstIntExpr node, String indentation) {
 
         programStringBuilder.append(node.getIntConstant());
 
@@ -757,10 +741,11 @@ public class TranspilerVisitor extends Visitor {
      * Visit a boolean constant expression node
      *
      * @param node the boolean constant expression node
+     * @param indentation the indentation of the lines of the node
      * @return result of the visit
      */
     @Override
-    public Object visit(ConstBooleanExpr node) {
+    public Void visit(ConstBooleanExpr node, String indentation) {
 
         programStringBuilder.append(node.getConstant());
 
@@ -771,10 +756,11 @@ public class TranspilerVisitor extends Visitor {
      * Visit a string constant expression node
      *
      * @param node the string constant expression node
+     * @param indentation the indentation of the lines of the node
      * @return result of the visit
      */
     @Override
-    public Object visit(ConstStringExpr node) {
+    public Void visit(ConstStringExpr node, String indentation) {
 
         programStringBuilder.append(node.getConstant());
 
@@ -2,6 +2,7 @@ package proj10LoverudeTymkiwCorrell.bantam.transpiler;
 
 import proj10LoverudeTymkiwCorrell.bantam.ast.Program;
 import proj10LoverudeTymkiwCorrell.bantam.parser.Parser;
+import proj10LoverudeTymkiwCorrell.bantam.util.CompilationException;
 import proj10LoverudeTymkiwCorrell.bantam.util.ErrorHandler;
 import proj10LoverudeTymkiwCorrell.bantam.util.FileExtensionChanger;
 
@@ -41,13 +42,47 @@ public class TranspilerWriter {
      *
      * @param filePath the name of the file to compile
      * @return fileToCompile the name of file that needs to be compiled
+     * @throws CompilationException if the file has syntax errors
      * */
     public String visitAndWrite(String filePath) {
         ErrorHandler errorHandler = new ErrorHandler();
         Parser parser = new Parser(errorHandler);
         Program program = parser.parse(filePath);
+        if (errorHandler.errorsFound()) {
+            throw new CompilationException(errorHandler);
+        }
+        return write(program, filePath);
+    }
+
+    /**
+     * Transpiles the given source, such as the unsaved contents of an editor,
+     * and writes it next to the given file
+     *
+     * @param source the Bantam Java source to transpile
+     * @param filePath the name of the Bantam Java file the source belongs to
+     * @return fileToCompile the name of file that needs to be compiled
+     * @throws CompilationException if the source has syntax errors
+     * */
+    public String visitAndWrite(CharSequence source, String filePath) {
+        ErrorHandler errorHandler = new ErrorHandler();
+        Parser parser = new Parser(errorHandler);
+        Program program = parser.parse(source, filePath);
+        if (errorHandler.errorsFound()) {
+            throw new CompilationException(errorHandler);
+        }
+        return write(program, filePath);
+    }
+
+    /**
+     * Transpiles the program and writes it next to the given file
+     *
+     * @param program the root of the AST of the program
+     * @param filePath the name of the Bantam Java file of the program
+     * @return fileToCompile the name of file that needs to be compiled
+     * */
+    private String write(Program program, String filePath) {
         String fileToCompile = null;
-        transpilerVisitor.visit(program);
+        transpilerVisitor.visit(program, "");
         try {
             fileToCompile = FileExtensionChanger.fileWithChangedExtension(filePath);
             this.writeToFile(fileToCompile);
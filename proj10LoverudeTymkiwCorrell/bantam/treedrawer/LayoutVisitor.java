@@ -341,10 +341,8 @@ public class LayoutVisitor extends Visitor
             return layoutNullary("Empty" + name);
         DrawingTree dt = layoutCaption(name);
         DrawingTree[] childTrees = new DrawingTree[childNodes.getSize()];
-        int i = 0;
-        for(ASTNode childNode : childNodes) {
-            childTrees[i] = (DrawingTree) childNode.accept(this);
-            i++;
+        for(int i = 0; i < childNodes.getSize(); i++) {
+            childTrees[i] = (DrawingTree) childNodes.get(i).accept(this);
         }
         dt.setChildren(childTrees);
         attachParent(dt, join(dt));
@@ -0,0 +1,140 @@
+/*
+ * File: Binding.java
+ * Date: 10/2026
+ */
+
+package proj10LoverudeTymkiwCorrell.bantam.util;
+
+import proj10LoverudeTymkiwCorrell.bantam.ast.ASTNode;
+import proj10LoverudeTymkiwCorrell.bantam.ast.Field;
+import proj10LoverudeTymkiwCorrell.bantam.ast.Method;
+
+/**
+ * What a name in a variable expression, an assignment or a call refers to,
+ * as the TypeCheckerVisitor resolved it: a local variable or formal
+ * parameter of the method, a field, or a method.  The TypeCheckerVisitor
+ * stores the Binding on the VarExpr, AssignExpr or DispatchExpr, so later
+ * passes do not have to look the name up again.
+ * <p>
+ * The slot of a local variable is its index in the frame of its method:
+ * the formal parameters are numbered from 0 in order and each declaration
+ * statement gets the next number.  The slot of a field or a method is its
+ * slot in the ClassLayout of the class, and the owner is the class that
+ * declares it.  The Bindings of the fields and methods are made by the
+ * ClassLayout of the owner, once for each member.
+ *
+ * @see ClassLayout
+ */
+public final class Binding
+{
+    public enum Kind
+    {
+        LOCAL, FIELD, METHOD
+    }
+
+    private final Kind kind;
+    private final ASTNode declaration;
+    private final Type type;
+    private final int slot;
+    private final ClassTreeNode owner;
+
+    /**
+     * Binding constructor
+     *
+     * @param kind        what the name refers to
+     * @param declaration the Formal, DeclStmt, Field or Method node that declares it
+     * @param type        its type, or the return type of a method
+     * @param slot        its slot in the frame or the ClassLayout
+     * @param owner       the class that declares it, or null for a local variable
+     */
+    private Binding(Kind kind, ASTNode declaration, Type type, int slot, ClassTreeNode owner) {
+        this.kind = kind;
+        this.declaration = declaration;
+        this.type = type;
+        this.slot = slot;
+        this.owner = owner;
+    }
+
+    /**
+     * @param declaration the Formal or DeclStmt node of the variable
+     * @param type        the type of the variable, or null if it is unknown
+     * @param slot        the index of the variable in the frame of its method
+     * @return a Binding to a local variable or a formal parameter
+     */
+    public static Binding local(ASTNode declaration, Type type, int slot) {
+        return new Binding(Kind.LOCAL, declaration, type, slot, null);
+    }
+
+    /**
+     * @param field the Field node
+     * @param type  the type of the field
+     * @param slot  the slot of the field in the ClassLayout
+     * @param owner the class that declares the field
+     * @return a Binding to a field
+     */
+    public static Binding field(Field field, Type type, int slot, ClassTreeNode owner) {
+        return new Binding(Kind.FIELD, field, type, slot, owner);
+    }
+
+    /**
+     * @param method     the Method node
+     * @param returnType the return type of the method
+     * @param slot       the slot of the method in the ClassLayout
+     * @param owner      the class that declares the method
+     * @return a Binding to a method
+     */
+    public static Binding method(Method method, Type returnType, int slot, ClassTreeNode owner) {
+        return new Binding(Kind.METHOD, method, returnType, slot, owner);
+    }
+
+    /**
+     * @return whether the name refers to a local variable, a field or a method
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * @return the Formal, DeclStmt, Field or Method node that declares the name
+     */
+    public ASTNode getDeclaration() {
+        return declaration;
+    }
+
+    /**
+     * @return the Method node if the name refers to a method, otherwise null
+     */
+    public Method getMethod() {
+        return kind == Kind.METHOD ? (Method) declaration : null;
+    }
+
+    /**
+     * @return the type of the variable or field, or the return type of the
+     * method; null if the type of a local variable is unknown
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return the index of a local variable in its frame, or the slot of a
+     * field or method in the ClassLayout
+     */
+    public int getSlot() {
+        return slot;
+    }
+
+    /**
+     * @return the class that declares the field or method, or null for a
+     * local variable
+     */
+    public ClassTreeNode getOwner() {
+        return owner;
+    }
+
+    @Override
+    public String toString() {
+        return kind + " " + declaration.getClass().getSimpleName() + " " + type + " #" + slot +
+                (owner != null ? " of " + owner.getName() : "");
+    }
+}
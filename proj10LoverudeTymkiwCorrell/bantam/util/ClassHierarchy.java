@@ -0,0 +1,266 @@
+/*
+ * File: ClassHierarchy.java
+ * Date: 10/2026
+ */
+
+package proj10LoverudeTymkiwCorrell.bantam.util;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An index of a finished class hierarchy tree that answers subclass and
+ * least common ancestor queries in constant time, lays out the methods and
+ * fields of each class in a ClassLayout and resolves the names of types to
+ * their Types.
+ * <p>
+ * The index traverses the tree depth first and gives each ClassTreeNode
+ * its number in preorder and in postorder.  A class is a subclass of
+ * another, or the same class, exactly when it comes no earlier in preorder
+ * and no later in postorder, so a subclass test is two comparisons
+ * instead of a walk up the parents.
+ * <p>
+ * The traversal also makes an Euler tour of the tree, the preorder numbers
+ * of the classes in the order the traversal enters and returns to them.
+ * The least common ancestor of two classes is the class with the smallest
+ * preorder number in the tour between the first visits of the two, which is
+ * found with a table of the minima of the ranges of the tour whose lengths
+ * are powers of 2.
+ * <p>
+ * A class whose parent is null, other than Object, is the root of a tree of
+ * its own, which is indexed the same way.  The numbers and the layouts are
+ * kept in the ClassTreeNodes, so the index must be built again if the tree
+ * changes.
+ */
+public final class ClassHierarchy
+{
+    /**
+     * The classes by name
+     */
+    private final HashMap<String, ClassTreeNode> classes;
+    /**
+     * The Types by name: int, boolean, void, null, the classes and the
+     * names that have been looked up that are not declared
+     */
+    private final ConcurrentHashMap<String, Type> types = new ConcurrentHashMap<>();
+    /**
+     * The classes by preorder number
+     */
+    private final ClassTreeNode[] classesInPreorder;
+    /**
+     * The index in the Euler tour of the first visit of each class, by
+     * preorder number
+     */
+    private final int[] firstVisits;
+    /**
+     * minima[k][i] is the smallest preorder number in the 2^k visits of the
+     * Euler tour that start at visit i.  minima[0] is the tour.
+     */
+    private final int[][] minima;
+
+    /**
+     * The number of classes entered and left by the traversal so far
+     */
+    private int numEntered;
+    private int numLeft;
+
+    /**
+     * ClassHierarchy constructor
+     * numbers the classes of the class hierarchy tree and lays them out
+     *
+     * @param root the ClassTreeNode of Object, with the classMap of the tree
+     */
+    public ClassHierarchy(ClassTreeNode root) {
+        classes = new HashMap<>(root.getClassMap());
+        int numClasses = classes.size();
+        classesInPreorder = new ClassTreeNode[numClasses];
+        firstVisits = new int[numClasses];
+        for (ClassTreeNode treeNode : classes.values()) {
+            treeNode.setTraversalNumbers(-1, -1);
+            types.put(treeNode.getName(), treeNode.getType());
+        }
+        for (Type type : new Type[]{Type.INT, Type.BOOLEAN, Type.VOID, Type.NULL}) {
+            types.put(type.getName(), type);
+        }
+
+        // the tree of Object, then any others, then any classes in cycles,
+        // which are not in a tree
+        int[] tour = new int[2 * numClasses];
+        int tourLength = traverse(root, tour, 0);
+        for (ClassTreeNode treeNode : classes.values()) {
+            if (treeNode.getParent() == null && treeNode.getPreorderNumber() < 0) {
+                tourLength = traverse(treeNode, tour, tourLength);
+            }
+        }
+        for (ClassTreeNode treeNode : classes.values()) {
+            if (treeNode.getPreorderNumber() < 0) {
+                tourLength = traverse(treeNode, tour, tourLength);
+            }
+        }
+
+        int levels = 32 - Integer.numberOfLeadingZeros(Math.max(tourLength, 1));
+        minima = new int[levels][];
+        minima[0] = tour;
+        for (int k = 1; k < levels; k++) {
+            int half = 1 << (k - 1);
+            int[] previous = minima[k - 1];
+            int[] current = new int[tourLength - (1 << k) + 1];
+            for (int i = 0; i < current.length; i++) {
+                current[i] = Math.min(previous[i], previous[i + half]);
+            }
+            minima[k] = current;
+        }
+
+        // in preorder, so that every class is laid out after its parent
+        for (ClassTreeNode treeNode : classesInPreorder) {
+            ClassTreeNode parent = treeNode.getParent();
+            treeNode.setClassLayout(new ClassLayout(treeNode,
+                    parent != null && parent.getPreorderNumber() < treeNode.getPreorderNumber()
+                            ? parent.getClassLayout() : null, this));
+        }
+    }
+
+    /**
+     * numbers the classes of a tree depth first, without recursion, and
+     * adds the tree to the Euler tour.  A class is entered from its parent
+     * only, and only once.
+     *
+     * @param top        the root of the tree
+     * @param tour       the Euler tour
+     * @param tourLength the number of visits already in the tour
+     * @return the number of visits in the tour with the tree
+     */
+    private int traverse(ClassTreeNode top, int[] tour, int tourLength) {
+        Deque<ClassTreeNode> path = new ArrayDeque<>();
+        Deque<Iterator<ClassTreeNode>> unvisitedChildren = new ArrayDeque<>();
+        ClassTreeNode treeNode = top;
+        while (true) {
+            if (treeNode != null) {
+                // enter the class
+                int preorder = numEntered++;
+                treeNode.setTraversalNumbers(preorder, -1);
+                classesInPreorder[preorder] = treeNode;
+                firstVisits[preorder] = tourLength;
+                tour[tourLength++] = preorder;
+                path.push(treeNode);
+                unvisitedChildren.push(treeNode.getChildrenList());
+            }
+            ClassTreeNode current = path.peek();
+            Iterator<ClassTreeNode> children = unvisitedChildren.peek();
+            treeNode = null;
+            while (treeNode == null && children.hasNext()) {
+                ClassTreeNode child = children.next();
+                if (child.getParent() == current && child.getPreorderNumber() < 0) {
+                    treeNode = child;
+                }
+            }
+            if (treeNode == null) {
+                // leave the class and return to its parent
+                path.pop();
+                unvisitedChildren.pop();
+                current.setTraversalNumbers(current.getPreorderNumber(), numLeft++);
+                if (path.isEmpty()) {
+                    return tourLength;
+                }
+                tour[tourLength++] = path.peek().getPreorderNumber();
+            }
+        }
+    }
+
+    /**
+     * Lookup a class tree node
+     *
+     * @param className the name of the class to lookup
+     * @return corresponding class tree node (null if not found)
+     */
+    public ClassTreeNode lookupClass(String className) {
+        return classes.get(className);
+    }
+
+    /**
+     * Lookup a type
+     *
+     * @param typeName the name of the type, or null
+     * @return the Type of that name, which is a new one the first time an
+     * undeclared name is looked up, or null if the name is null
+     */
+    public Type lookupType(String typeName) {
+        if (typeName == null) {
+            return null;
+        }
+        Type type = types.get(typeName);
+        return type != null ? type : types.computeIfAbsent(typeName, name -> new Type(name, null));
+    }
+
+    /**
+     * returns true if the first class is the same class as the second or a
+     * subclass of it
+     *
+     * @param c1 the ClassTreeNode of the first class or null
+     * @param c2 the ClassTreeNode of the second class or null
+     * @return true if c1 is c2 or a subclass of it, false if either is null
+     */
+    public boolean isSubclass(ClassTreeNode c1, ClassTreeNode c2) {
+        if (c1 == null || c2 == null) {
+            return false;
+        }
+        return c2.getPreorderNumber() <= c1.getPreorderNumber() &&
+                c1.getPostorderNumber() <= c2.getPostorderNumber();
+    }
+
+    /**
+     * returns true if the first class is the same class as the second or a
+     * subclass of it
+     *
+     * @param className1 the name of the first class
+     * @param className2 the name of the second class
+     * @return true if both classes exist and the first is the second or a subclass of it
+     */
+    public boolean isSubclass(String className1, String className2) {
+        return isSubclass(classes.get(className1), classes.get(className2));
+    }
+
+    /**
+     * finds the most derived class that both classes are the same as or a
+     * subclass of, which is the type of an expression that can have a
+     * value of either class
+     *
+     * @param c1 the ClassTreeNode of the first class or null
+     * @param c2 the ClassTreeNode of the second class or null
+     * @return the ClassTreeNode of their least common ancestor, or null if
+     * either is null or they are in different trees
+     */
+    public ClassTreeNode leastCommonAncestor(ClassTreeNode c1, ClassTreeNode c2) {
+        if (c1 == null || c2 == null) {
+            return null;
+        }
+        int first = firstVisits[c1.getPreorderNumber()];
+        int last = firstVisits[c2.getPreorderNumber()];
+        if (first > last) {
+            int visit = first;
+            first = last;
+            last = visit;
+        }
+        int k = 31 - Integer.numberOfLeadingZeros(last - first + 1);
+        ClassTreeNode ancestor = classesInPreorder[Math.min(minima[k][first],
+                minima[k][last - (1 << k) + 1])];
+        // between two trees of the forest the range holds the root of the second
+        return isSubclass(c1, ancestor) && isSubclass(c2, ancestor) ? ancestor : null;
+    }
+
+    /**
+     * finds the most derived class that both classes are the same as or a
+     * subclass of
+     *
+     * @param className1 the name of the first class
+     * @param className2 the name of the second class
+     * @return the ClassTreeNode of their least common ancestor, or null if
+     * either class does not exist or they are in different trees
+     */
+    public ClassTreeNode leastCommonAncestor(String className1, String className2) {
+        return leastCommonAncestor(classes.get(className1), classes.get(className2));
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * File: ClassLayout.java
+ * Date: 10/2026
+ */
+
+package proj10LoverudeTymkiwCorrell.bantam.util;
+
+import proj10LoverudeTymkiwCorrell.bantam.ast.ASTNode;
+import proj10LoverudeTymkiwCorrell.bantam.ast.Field;
+import proj10LoverudeTymkiwCorrell.bantam.ast.MemberList;
+import proj10LoverudeTymkiwCorrell.bantam.ast.Method;
+import proj10LoverudeTymkiwCorrell.bantam.lexer.Keywords;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * The methods and fields of a class with the ones it inherits, each in a
+ * numbered slot, as a code generator or an interpreter would lay out the
+ * dispatch table and the objects of the class.
+ * <p>
+ * The slots of a class start with the slots of its parent, in the same
+ * order.  A method that overrides an inherited one takes its slot, and the
+ * other methods of the class get new slots after the inherited ones, so a
+ * method has the same slot in a class and all its subclasses.  Each field of
+ * the class gets a new slot, even if it hides an inherited field, since
+ * an object has both.  A name is mapped to the slot of the method or field
+ * that a lookup in the symbol tables of the class finds, so finding the
+ * method of a call or the field of a variable is one hash probe.  Each slot
+ * holds the Binding of its method or field, which is made once, when the
+ * class that declares the member is laid out, and is shared by the layouts
+ * of the subclasses.
+ * <p>
+ * Only the members that were added to the symbol tables are in the slots:
+ * not those with reserved names or with the name of an earlier member of
+ * the same kind in the class.
+ *
+ * @see ClassHierarchy
+ */
+public final class ClassLayout
+{
+    private final Binding[] methods;
+    private final HashMap<String, Integer> methodSlots;
+    private final Binding[] fields;
+    private final HashMap<String, Integer> fieldSlots;
+
+    /**
+     * ClassLayout constructor
+     * lays out a class after its parent
+     *
+     * @param treeNode     the ClassTreeNode of the class
+     * @param parentLayout the layout of its parent, or null if it has none
+     * @param hierarchy    the ClassHierarchy that resolves the types of the members
+     */
+    public ClassLayout(ClassTreeNode treeNode, ClassLayout parentLayout,
+                       ClassHierarchy hierarchy) {
+        int numInheritedMethods = 0;
+        int numInheritedFields = 0;
+        if (parentLayout == null) {
+            methodSlots = new HashMap<>();
+            fieldSlots = new HashMap<>();
+        }
+        else {
+            numInheritedMethods = parentLayout.methods.length;
+            numInheritedFields = parentLayout.fields.length;
+            methodSlots = new HashMap<>(parentLayout.methodSlots);
+            fieldSlots = new HashMap<>(parentLayout.fieldSlots);
+        }
+
+        MemberList members = treeNode.getASTNode().getMemberList();
+        Binding[] newMethods = new Binding[numInheritedMethods + members.getSize()];
+        Binding[] newFields = new Binding[numInheritedFields + members.getSize()];
+        if (parentLayout != null) {
+            System.arraycopy(parentLayout.methods, 0, newMethods, 0, numInheritedMethods);
+            System.arraycopy(parentLayout.fields, 0, newFields, 0, numInheritedFields);
+        }
+
+        int numMethods = numInheritedMethods;
+        int numFields = numInheritedFields;
+        for (int i = 0; i < members.getSize(); i++) {
+            ASTNode member = members.get(i);
+            if (member instanceof Method) {
+                Method method = (Method) member;
+                Integer slot = methodSlots.get(method.getName());
+                if (Keywords.isReservedIdentifier(method.getName()) ||
+                        (slot != null && newMethods[slot].getOwner() == treeNode)) {
+                    continue;
+                }
+                if (slot == null) {
+                    slot = numMethods++;
+                    methodSlots.put(method.getName(), slot);
+                }
+                newMethods[slot] = Binding.method(method,
+                        hierarchy.lookupType(method.getReturnType()), slot, treeNode);
+            }
+            else {
+                Field field = (Field) member;
+                Integer slot = fieldSlots.get(field.getName());
+                if (Keywords.isReservedIdentifier(field.getName()) ||
+                        (slot != null && newFields[slot].getOwner() == treeNode)) {
+                    continue;
+                }
+                fieldSlots.put(field.getName(), numFields);
+                newFields[numFields] = Binding.field(field,
+                        hierarchy.lookupType(field.getType()), numFields, treeNode);
+                numFields++;
+            }
+        }
+        methods = Arrays.copyOf(newMethods, numMethods);
+        fields = Arrays.copyOf(newFields, numFields);
+    }
+
+    /**
+     * @return the number of method slots, which is the length of the
+     * dispatch table of the class
+     */
+    public int getNumMethods() {
+        return methods.length;
+    }
+
+    /**
+     * @param name the name of a method
+     * @return its slot, or -1 if the class has no method of that name
+     */
+    public int getMethodSlot(String name) {
+        Integer slot = methodSlots.get(name);
+        return slot == null ? -1 : slot;
+    }
+
+    /**
+     * @param slot a method slot
+     * @return the method the class has in the slot
+     */
+    public Method getMethod(int slot) {
+        return methods[slot].getMethod();
+    }
+
+    /**
+     * @param slot a method slot
+     * @return the ClassTreeNode of the class that declares the method in
+     * the slot, which is this class or an ancestor
+     */
+    public ClassTreeNode getMethodClass(int slot) {
+        return methods[slot].getOwner();
+    }
+
+    /**
+     * @param slot a method slot
+     * @return the Binding of the method the class has in the slot
+     */
+    public Binding getMethodBinding(int slot) {
+        return methods[slot];
+    }
+
+    /**
+     * @param name the name of a method
+     * @return the method of the class with that name, declared in it or
+     * inherited, or null if there is none
+     */
+    public Method lookupMethod(String name) {
+        Integer slot = methodSlots.get(name);
+        return slot == null ? null : methods[slot].getMethod();
+    }
+
+    /**
+     * @param name the name of a method
+     * @return the Binding of the method of the class with that name, or
+     * null if there is none
+     */
+    public Binding lookupMethodBinding(String name) {
+        Integer slot = methodSlots.get(name);
+        return slot == null ? null : methods[slot];
+    }
+
+    /**
+     * @return the number of field slots, which is the number of fields of
+     * an object of the class
+     */
+    public int getNumFields() {
+        return fields.length;
+    }
+
+    /**
+     * @param name the name of a field
+     * @return the slot of the field the name refers to in the class, or -1
+     * if the class has no field of that name
+     */
+    public int getFieldSlot(String name) {
+        Integer slot = fieldSlots.get(name);
+        return slot == null ? -1 : slot;
+    }
+
+    /**
+     * @param slot a field slot
+     * @return the field in the slot
+     */
+    public Field getField(int slot) {
+        return (Field) fields[slot].getDeclaration();
+    }
+
+    /**
+     * @param slot a field slot
+     * @return the ClassTreeNode of the class that declares the field in
+     * the slot, which is this class or an ancestor
+     */
+    public ClassTreeNode getFieldClass(int slot) {
+        return fields[slot].getOwner();
+    }
+
+    /**
+     * @param slot a field slot
+     * @return the Binding of the field in the slot
+     */
+    public Binding getFieldBinding(int slot) {
+        return fields[slot];
+    }
+
+    /**
+     * @param name the name of a field
+     * @return the field the name refers to in the class, declared in it or
+     * inherited, or null if there is none
+     */
+    public Field lookupField(String name) {
+        Integer slot = fieldSlots.get(name);
+        return slot == null ? null : (Field) fields[slot].getDeclaration();
+    }
+
+    /**
+     * @param name the name of a field
+     * @return the Binding of the field the name refers to in the class, or
+     * null if there is none
+     */
+    public Binding lookupFieldBinding(String name) {
+        Integer slot = fieldSlots.get(name);
+        return slot == null ? null : fields[slot];
+    }
+}
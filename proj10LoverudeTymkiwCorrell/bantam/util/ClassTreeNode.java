@@ -81,12 +81,33 @@ public class ClassTreeNode {
     /**
      * The (scoped) variable symbol table for this class used for type checking this class
      */
-    private SymbolTable varSymbolTable = new SymbolTable();
+    private SymbolTable varSymbolTable;
 
     /**
      * The (scoped) method symbol table for this class used for type checking this class
      */
-    private SymbolTable methodSymbolTable = new SymbolTable();
+    private SymbolTable methodSymbolTable;
+
+    /**
+     * The numbers of this class in a preorder and a postorder traversal of
+     * the class hierarchy tree, or -1 if it has not been numbered
+     *
+     * @see ClassHierarchy
+     */
+    private int preorderNumber = -1;
+    private int postorderNumber = -1;
+
+    /**
+     * The slots of the methods and fields of this class, with the inherited ones
+     *
+     * @see ClassHierarchy
+     */
+    private ClassLayout classLayout;
+
+    /**
+     * The type of the objects of this class
+     */
+    private final Type type;
 
     /**
      * ClassTreeNode constructor
@@ -98,11 +119,33 @@ public class ClassTreeNode {
      */
     public ClassTreeNode(Class_ astNode, boolean builtin, boolean extendable,
                          Hashtable<String, ClassTreeNode> classMap) {
+        this(astNode, builtin, extendable, classMap, new SymbolTable(), new SymbolTable());
+    }
+
+    /**
+     * ClassTreeNode constructor for a class whose symbol tables have
+     * already been built, such as a built-in class, whose tables are shared
+     * by the ClassTreeNodes of every analysis.  The tables must already
+     * have the tables of the parent class as their parents.
+     *
+     * @param astNode           the AST node for this class
+     * @param builtin           boolean indicating whether this class was built-in
+     * @param extendable        boolean indicating whether this class is extendable
+     * @param classMap          class map for accessing class tree nodes
+     * @param varSymbolTable    the variable symbol table of the class
+     * @param methodSymbolTable the method symbol table of the class
+     */
+    public ClassTreeNode(Class_ astNode, boolean builtin, boolean extendable,
+                         Hashtable<String, ClassTreeNode> classMap,
+                         SymbolTable varSymbolTable, SymbolTable methodSymbolTable) {
         this.astNode = astNode;
         this.builtin = builtin;
         this.extendable = extendable;
         this.classMap = classMap;
+        this.varSymbolTable = varSymbolTable;
+        this.methodSymbolTable = methodSymbolTable;
         numDescendants = 0;
+        type = new Type(astNode.getName(), this);
     }
 
     /**
@@ -281,6 +324,65 @@ public class ClassTreeNode {
         return methodSymbolTable;
     }
 
+    /**
+     * Get the number of this class in a preorder traversal of the class
+     * hierarchy tree by the last ClassHierarchy built for it
+     *
+     * @return preorder number, or -1 if the class has not been numbered
+     */
+    public int getPreorderNumber() {
+        return preorderNumber;
+    }
+
+    /**
+     * Get the number of this class in a postorder traversal of the class
+     * hierarchy tree by the last ClassHierarchy built for it
+     *
+     * @return postorder number, or -1 if the class has not been numbered
+     */
+    public int getPostorderNumber() {
+        return postorderNumber;
+    }
+
+    /**
+     * Set the numbers of this class in the traversals of the class hierarchy tree
+     *
+     * @param preorderNumber  preorder number
+     * @param postorderNumber postorder number
+     */
+    void setTraversalNumbers(int preorderNumber, int postorderNumber) {
+        this.preorderNumber = preorderNumber;
+        this.postorderNumber = postorderNumber;
+    }
+
+    /**
+     * Get the type of the objects of this class
+     *
+     * @return the Type of the class
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Get the layout of the methods and fields of this class, with the
+     * inherited ones, made by the last ClassHierarchy built for it
+     *
+     * @return layout of the class, or null if it has not been laid out
+     */
+    public ClassLayout getClassLayout() {
+        return classLayout;
+    }
+
+    /**
+     * Set the layout of the methods and fields of this class
+     *
+     * @param classLayout layout of the class
+     */
+    void setClassLayout(ClassLayout classLayout) {
+        this.classLayout = classLayout;
+    }
+
     /**
      * Lookup a class tree node
      *
@@ -29,18 +29,162 @@
 package proj10LoverudeTymkiwCorrell.bantam.util;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 /**
  * The ErrorHandler class performs error handling. It keeps track
  * of a list of errors that the compiler finds.
+ * <p>
+ * The list is in order by filename first and then line number.  The
+ * filenames are in the order they were first seen, and the errors of the
+ * same line in the order they were registered.  The errors without a
+ * filename come first, the newest first.  Of each file, and of the errors
+ * without a filename, only the first errors are kept, up to a budget that
+ * is 100 unless another is given.
+ * <p>
+ * Errors can be registered by several threads at once, such as a scanner
+ * thread and a parser thread, without locking.  The errors of each file are
+ * kept in a skip list of their own sorted by line number, so registering an
+ * error takes time logarithmic in the number of errors of its file, and the
+ * ordered list is made only when it is asked for, once after each change.
+ * The listeners are told of each error that is kept as it is registered,
+ * on the thread that registers it.
  */
 public class ErrorHandler {
     /**
-     * The list of errors
+     * The number of errors kept of each file unless another budget is given
      */
-    private List<Error> errorList = new ArrayList<>();
+    public static final int DEFAULT_MAX_ERRORS_PER_FILE = 100;
+
+    /**
+     * The errors of one file, sorted by line number and then by the order
+     * they were registered in, which are the high and the low 32 bits of
+     * the key of an error
+     */
+    private static final class FileErrors
+    {
+        /**
+         * The number of files seen before this one
+         */
+        private final int order;
+        /**
+         * The number of errors of the file registered, kept or not
+         */
+        private final AtomicInteger numRegistered = new AtomicInteger();
+        private final ConcurrentSkipListMap<Long, Error> errors = new ConcurrentSkipListMap<>();
+
+        private FileErrors(int order) {
+            this.order = order;
+        }
+    }
+
+    /**
+     * The errors in order and the number of changes when they were listed
+     */
+    private static final class ErrorList
+    {
+        private final long version;
+        private final List<Error> errors;
+
+        private ErrorList(long version, List<Error> errors) {
+            this.version = version;
+            this.errors = errors;
+        }
+    }
+
+    /**
+     * The most errors kept of each file
+     */
+    private final int maxErrorsPerFile;
+    /**
+     * The errors of each file, by filename
+     */
+    private final ConcurrentHashMap<String, FileErrors> files = new ConcurrentHashMap<>();
+    /**
+     * The number of files seen
+     */
+    private final AtomicInteger numFiles = new AtomicInteger();
+    /**
+     * The errors without a filename, newest first, and the number registered
+     */
+    private final ConcurrentLinkedDeque<Error> errorsWithoutFile = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger numRegisteredWithoutFile = new AtomicInteger();
+    /**
+     * The number of errors kept
+     */
+    private final AtomicInteger numErrors = new AtomicInteger();
+    /**
+     * The number of errors kept and of clears, which tells whether the
+     * last list made is still up to date
+     */
+    private final AtomicLong numChanges = new AtomicLong();
+    /**
+     * The last list made of the errors in order, or null
+     */
+    private volatile ErrorList errorList;
+    /**
+     * The listeners to tell of each error kept
+     */
+    private final List<Consumer<Error>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * ErrorHandler constructor
+     * keeps up to 100 errors of each file
+     */
+    public ErrorHandler() {
+        this(DEFAULT_MAX_ERRORS_PER_FILE);
+    }
+
+    /**
+     * ErrorHandler constructor
+     *
+     * @param maxErrorsPerFile the most errors to keep of each file
+     * @throws java.lang.IllegalArgumentException if the budget is negative
+     */
+    public ErrorHandler(int maxErrorsPerFile) {
+        if (maxErrorsPerFile < 0) {
+            throw new IllegalArgumentException("The budget of errors per file is negative: "
+                    + maxErrorsPerFile);
+        }
+        this.maxErrorsPerFile = maxErrorsPerFile;
+    }
+
+    /**
+     * @return the most errors kept of each file
+     */
+    public int getMaxErrorsPerFile() {
+        return maxErrorsPerFile;
+    }
+
+    /**
+     * Add a listener to tell of each error that is kept from now on.  It is
+     * called on the thread that registers the error, so it must be thread
+     * safe if errors are registered by several threads.
+     *
+     * @param listener the listener
+     */
+    public void addListener(Consumer<Error> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Remove a listener
+     *
+     * @param listener the listener
+     */
+    public void removeListener(Consumer<Error> listener) {
+        listeners.remove(listener);
+    }
 
     /**
      * Register an error - auxiliarly method used by the other (public) register methods
@@ -48,10 +192,29 @@ public class ErrorHandler {
      * @param error the Error object to be registered
      */
     private void register(Error error) {
-        // insert a new error into the error list
-        // but keep at most 100 errors.
-        if (errorList.size() < 100) {
-            insert(error);
+        // keep the error if its file has not used up its budget
+        if (error.getFilename() == null) {
+            if (numRegisteredWithoutFile.getAndIncrement() >= maxErrorsPerFile) {
+                return;
+            }
+            errorsWithoutFile.addFirst(error);
+        }
+        else {
+            FileErrors file = files.get(error.getFilename());
+            if (file == null) {
+                file = files.computeIfAbsent(error.getFilename(),
+                        filename -> new FileErrors(numFiles.getAndIncrement()));
+            }
+            int index = file.numRegistered.getAndIncrement();
+            if (index >= maxErrorsPerFile) {
+                return;
+            }
+            file.errors.put(((long) error.getLineNum() << 32) | index, error);
+        }
+        numErrors.incrementAndGet();
+        numChanges.incrementAndGet();
+        for (Consumer<Error> listener : listeners) {
+            listener.accept(error);
         }
     }
 
@@ -85,55 +248,41 @@ public class ErrorHandler {
      * return true if any errors were reported.
      */
     public boolean errorsFound() {
-        return errorList.size() > 0;
+        return numErrors.get() > 0;
     }
 
     /**
-     * Insert an error onto the error list
-     *
-     * @param e error object to insert
-     */
-    private void insert(Error e) {
-        // the algorithm below will insert errors in order by filename first and
-        // then line number.  filenames are kept in the order that they are seen
-        // (i.e., an error is registered with that filename).  Line numbers are
-        // ordered numerically.
-
-        int i = 0;
-
-        if (e.getFilename() != null) {
-            // find the section of the list with the same filename (goes to the end
-            // if a section is not found)
-            for (i = 0; i < errorList.size(); i++) {
-                if (errorList.get(i).getFilename() != null) {
-                    if (e.getFilename().equals(errorList.get(i).getFilename())) {
-                        break;
-                    }
-                }
-            }
-
-            // find the correct spot in the section for this error's line number
-            for (; i < errorList.size(); i++) {
-                if (!e.getFilename().equals(errorList.get(i).getFilename()) ||
-                        e.getLineNum() < (errorList.get(i)).getLineNum()) {
-                    break;
-                }
-            }
+     * @return an unmodifiable copy of the list of registered errors, in
+     * order; the errors registered while it is made may or may not be in it
+     */
+    public List<Error> getErrorList() {
+        long version = numChanges.get();
+        ErrorList list = errorList;
+        if (list != null && list.version == version) {
+            return list.errors;
         }
-
-        // add the error to the list
-        errorList.add(i, e);
+        List<Error> errors = new ArrayList<>(errorsWithoutFile);
+        FileErrors[] sections = files.values().toArray(new FileErrors[0]);
+        Arrays.sort(sections, Comparator.comparingInt(file -> file.order));
+        for (FileErrors file : sections) {
+            errors.addAll(file.errors.values());
+        }
+        list = new ErrorList(version, Collections.unmodifiableList(errors));
+        errorList = list;
+        return list.errors;
     }
 
     /**
-     * @return an unmodifiable copy of the list of registered errors
+     * Remove all the errors.  It must not be called while errors are being
+     * registered by other threads.
      */
-    public List<Error> getErrorList() {
-        return Collections.unmodifiableList(errorList);
-    }
-
     public void clear() {
-        errorList.clear();
+        files.clear();
+        numFiles.set(0);
+        errorsWithoutFile.clear();
+        numRegisteredWithoutFile.set(0);
+        numErrors.set(0);
+        numChanges.incrementAndGet();
     }
 
 }
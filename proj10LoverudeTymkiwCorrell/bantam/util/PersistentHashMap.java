@@ -0,0 +1,401 @@
+/*
+ * File: PersistentHashMap.java
+ * Date: 10/2026
+ */
+
+package proj10LoverudeTymkiwCorrell.bantam.util;
+
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * An immutable map from keys to non-null values, kept in a hash array
+ * mapped trie.  Each level of the trie uses 5 bits of the hash code of a
+ * key to pick one of 32 branches, and a node only has room for the branches
+ * that are used, which are listed by the bits of a bitmap.  Keys whose hash
+ * codes are equal are kept together in a collision node.
+ * <p>
+ * put and remove do not change the map.  They return a new map that shares
+ * all of the trie with the old one except the nodes on the path to the key,
+ * so they take O(log n) time and space and any number of versions of a map
+ * can be kept at once.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public final class PersistentHashMap<K, V>
+{
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    private static final PersistentHashMap<Object, Object> EMPTY =
+            new PersistentHashMap<>(BitmapNode.EMPTY, 0);
+
+    private final Node root;
+    private final int size;
+
+    /**
+     * PersistentHashMap constructor
+     *
+     * @param root the root of the trie
+     * @param size the number of keys in the trie
+     */
+    private PersistentHashMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     * @return the empty map
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    /**
+     * @return the number of keys in the map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return whether the map has no keys
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @param key the key
+     * @return the value of the key or null if it is not in the map
+     */
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        return (V) root.get(key, key.hashCode(), 0);
+    }
+
+    /**
+     * @param key   the key
+     * @param value the value of the key, not null
+     * @return a map with the keys of this one and the key with the value,
+     * which is this map if the key already has the value
+     */
+    public PersistentHashMap<K, V> put(K key, V value) {
+        Objects.requireNonNull(value);
+        int hash = key.hashCode();
+        boolean present = root.get(key, hash, 0) != null;
+        Node newRoot = root.put(new Leaf(hash, key, value), 0);
+        return newRoot == root ? this : new PersistentHashMap<>(newRoot, present ? size : size + 1);
+    }
+
+    /**
+     * @param key the key
+     * @return a map with the keys of this one except the key, which is this
+     * map if the key is not in it
+     */
+    public PersistentHashMap<K, V> remove(Object key) {
+        int hash = key.hashCode();
+        if (root.get(key, hash, 0) == null) {
+            return this;
+        }
+        Node newRoot = root.remove(key, hash, 0);
+        return newRoot == null ? empty() : new PersistentHashMap<>(newRoot, size - 1);
+    }
+
+    /**
+     * performs an action on each key and its value, in no particular order
+     *
+     * @param action the action
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        root.forEach((BiConsumer<Object, Object>) action);
+    }
+
+    /**
+     * @return the keys and values in the form {key=value, ...}
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("{");
+        forEach((key, value) -> {
+            if (builder.length() > 1) {
+                builder.append(", ");
+            }
+            builder.append(key).append('=').append(value);
+        });
+        return builder.append('}').toString();
+    }
+
+    /** a key, its hash code and its value */
+    private static final class Leaf
+    {
+        final int hash;
+        final Object key;
+        final Object value;
+
+        Leaf(int hash, Object key, Object value) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+        }
+
+        boolean hasKey(Object key, int hash) {
+            return this.hash == hash && this.key.equals(key);
+        }
+    }
+
+    /** a node of the trie.  Nodes are never changed once they are made. */
+    private abstract static class Node
+    {
+        /**
+         * @param key   the key
+         * @param hash  the hash code of the key
+         * @param shift the number of bits of the hash code used above this node
+         * @return the value of the key or null
+         */
+        abstract Object get(Object key, int hash, int shift);
+
+        /**
+         * @param leaf  the key and value to put
+         * @param shift the number of bits of the hash code used above this node
+         * @return a node with the leaf, or this node if it already has it
+         */
+        abstract Node put(Leaf leaf, int shift);
+
+        /**
+         * @param key   the key, which is in this node
+         * @param hash  the hash code of the key
+         * @param shift the number of bits of the hash code used above this node
+         * @return a node without the key, or null if no keys are left
+         */
+        abstract Node remove(Object key, int hash, int shift);
+
+        /**
+         * @return the leaf of the node if it has one leaf and no other
+         * nodes, which can then replace it in the node above, or null
+         */
+        abstract Leaf onlyLeaf();
+
+        /**
+         * @param action the action to perform on each key and its value
+         */
+        abstract void forEach(BiConsumer<Object, Object> action);
+    }
+
+    /**
+     * a node with a branch for each value of 5 bits of the hash code that
+     * is used by a key below it.  Each branch is a Leaf or a Node.
+     */
+    private static final class BitmapNode extends Node
+    {
+        static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        final int bitmap;
+        final Object[] branches;
+
+        BitmapNode(int bitmap, Object[] branches) {
+            this.bitmap = bitmap;
+            this.branches = branches;
+        }
+
+        /**
+         * @param a     a leaf
+         * @param b     a leaf with another key
+         * @param shift the number of bits of the hash codes used above the node
+         * @return a node with the two leaves
+         */
+        static Node of(Leaf a, Leaf b, int shift) {
+            if (a.hash == b.hash) {
+                return new CollisionNode(a.hash, new Leaf[]{a, b});
+            }
+            int bitA = bit(a.hash, shift);
+            int bitB = bit(b.hash, shift);
+            if (bitA == bitB) {
+                return new BitmapNode(bitA, new Object[]{of(a, b, shift + BITS)});
+            }
+            return new BitmapNode(bitA | bitB,
+                    Integer.compareUnsigned(bitA, bitB) < 0 ? new Object[]{a, b} : new Object[]{b, a});
+        }
+
+        static int bit(int hash, int shift) {
+            return 1 << ((hash >>> shift) & MASK);
+        }
+
+        int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        Object get(Object key, int hash, int shift) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            Object branch = branches[index(bit)];
+            if (branch instanceof Leaf) {
+                Leaf leaf = (Leaf) branch;
+                return leaf.hasKey(key, hash) ? leaf.value : null;
+            }
+            return ((Node) branch).get(key, hash, shift + BITS);
+        }
+
+        @Override
+        Node put(Leaf leaf, int shift) {
+            int bit = bit(leaf.hash, shift);
+            int index = index(bit);
+            if ((bitmap & bit) == 0) {
+                Object[] newBranches = new Object[branches.length + 1];
+                System.arraycopy(branches, 0, newBranches, 0, index);
+                newBranches[index] = leaf;
+                System.arraycopy(branches, index, newBranches, index + 1, branches.length - index);
+                return new BitmapNode(bitmap | bit, newBranches);
+            }
+            Object branch = branches[index];
+            if (branch instanceof Leaf) {
+                Leaf old = (Leaf) branch;
+                if (!old.hasKey(leaf.key, leaf.hash)) {
+                    return with(index, of(old, leaf, shift + BITS));
+                }
+                return old.value == leaf.value ? this : with(index, leaf);
+            }
+            Node node = (Node) branch;
+            Node newNode = node.put(leaf, shift + BITS);
+            return newNode == node ? this : with(index, newNode);
+        }
+
+        @Override
+        Node remove(Object key, int hash, int shift) {
+            int bit = bit(hash, shift);
+            int index = index(bit);
+            Object branch = branches[index];
+            Node newNode = branch instanceof Leaf ? null
+                    : ((Node) branch).remove(key, hash, shift + BITS);
+            if (newNode == null) {
+                if (bitmap == bit) {
+                    return null;
+                }
+                Object[] newBranches = new Object[branches.length - 1];
+                System.arraycopy(branches, 0, newBranches, 0, index);
+                System.arraycopy(branches, index + 1, newBranches, index, newBranches.length - index);
+                return new BitmapNode(bitmap & ~bit, newBranches);
+            }
+            Leaf only = newNode.onlyLeaf();
+            return with(index, only != null ? only : newNode);
+        }
+
+        /**
+         * @param index  the index of a branch
+         * @param branch the new branch
+         * @return a copy of this node with the branch at the index replaced
+         */
+        private BitmapNode with(int index, Object branch) {
+            Object[] newBranches = branches.clone();
+            newBranches[index] = branch;
+            return new BitmapNode(bitmap, newBranches);
+        }
+
+        @Override
+        Leaf onlyLeaf() {
+            return branches.length == 1 && branches[0] instanceof Leaf ? (Leaf) branches[0] : null;
+        }
+
+        @Override
+        void forEach(BiConsumer<Object, Object> action) {
+            for (Object branch : branches) {
+                if (branch instanceof Leaf) {
+                    action.accept(((Leaf) branch).key, ((Leaf) branch).value);
+                }
+                else {
+                    ((Node) branch).forEach(action);
+                }
+            }
+        }
+    }
+
+    /** a node with the leaves of two or more keys with the same hash code */
+    private static final class CollisionNode extends Node
+    {
+        final int hash;
+        final Leaf[] leaves;
+
+        CollisionNode(int hash, Leaf[] leaves) {
+            this.hash = hash;
+            this.leaves = leaves;
+        }
+
+        /**
+         * @param key the key
+         * @return the index of the leaf of the key or -1
+         */
+        private int indexOf(Object key) {
+            for (int i = 0; i < leaves.length; i++) {
+                if (leaves[i].key.equals(key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        Object get(Object key, int hash, int shift) {
+            if (hash != this.hash) {
+                return null;
+            }
+            int index = indexOf(key);
+            return index < 0 ? null : leaves[index].value;
+        }
+
+        @Override
+        Node put(Leaf leaf, int shift) {
+            if (leaf.hash != hash) {
+                // the keys of this node and the new key part at this node or below it
+                return new BitmapNode(BitmapNode.bit(hash, shift), new Object[]{this})
+                        .put(leaf, shift);
+            }
+            int index = indexOf(leaf.key);
+            if (index >= 0 && leaves[index].value == leaf.value) {
+                return this;
+            }
+            Leaf[] newLeaves;
+            if (index >= 0) {
+                newLeaves = leaves.clone();
+                newLeaves[index] = leaf;
+            }
+            else {
+                newLeaves = new Leaf[leaves.length + 1];
+                System.arraycopy(leaves, 0, newLeaves, 0, leaves.length);
+                newLeaves[leaves.length] = leaf;
+            }
+            return new CollisionNode(hash, newLeaves);
+        }
+
+        @Override
+        Node remove(Object key, int hash, int shift) {
+            int index = indexOf(key);
+            if (leaves.length == 1) {
+                return null;
+            }
+            Leaf[] newLeaves = new Leaf[leaves.length - 1];
+            System.arraycopy(leaves, 0, newLeaves, 0, index);
+            System.arraycopy(leaves, index + 1, newLeaves, index, newLeaves.length - index);
+            return new CollisionNode(hash, newLeaves);
+        }
+
+        @Override
+        Leaf onlyLeaf() {
+            return leaves.length == 1 ? leaves[0] : null;
+        }
+
+        @Override
+        void forEach(BiConsumer<Object, Object> action) {
+            for (Leaf leaf : leaves) {
+                action.accept(leaf.key, leaf.value);
+            }
+        }
+    }
+}
@@ -0,0 +1,487 @@
+/*
+ * File: PersistentSymbolTable.java
+ * Date: 10/2026
+ */
+
+package proj10LoverudeTymkiwCorrell.bantam.util;
+
+import java.util.Objects;
+
+/**
+ * A symbol table whose scopes are kept in PersistentHashMaps, which can be
+ * used wherever a SymbolTable is, including as the parent of a SymbolTable
+ * or a child of one.
+ * <p>
+ * Each scope maps the names bound in it to their values, and the scopes
+ * form an immutable list from the innermost one out.  Another map has the
+ * innermost binding of each name, so a lookup takes O(log n) time, however
+ * many scopes the table has.  Adding or setting a symbol makes new maps and
+ * scopes that share all but O(log n) of their nodes with the old ones,
+ * instead of changing them, so clone() does not copy anything: the clone
+ * shares the maps and scopes of this table, and each table changes only
+ * its own view of them.  That makes a snapshot of the symbols at a point
+ * of a program O(1) per table in the chain of parents.
+ */
+public class PersistentSymbolTable extends SymbolTable
+{
+    /** the value of the innermost binding of a name and the index of its scope */
+    private static final class Binding
+    {
+        final Object value;
+        final int scope;
+
+        Binding(Object value, int scope) {
+            this.value = value;
+            this.scope = scope;
+        }
+    }
+
+    /** a scope: the names bound in it, the scope outside it and its index */
+    private static final class Scope
+    {
+        final PersistentHashMap<String, Object> symbols;
+        final Scope outer;
+        // 0 for the outermost scope of the table
+        final int index;
+
+        Scope(PersistentHashMap<String, Object> symbols, Scope outer, int index) {
+            this.symbols = symbols;
+            this.outer = outer;
+            this.index = index;
+        }
+    }
+
+    /**
+     * The innermost scope, or null if no scope has been entered
+     */
+    private Scope innermost;
+    /**
+     * The innermost binding of each name in the scopes of this table
+     */
+    private PersistentHashMap<String, Binding> visible = PersistentHashMap.empty();
+
+    /**
+     * PersistentSymbolTable constructor
+     * create an empty symbol table
+     */
+    public PersistentSymbolTable() {
+        super(false);
+    }
+
+    /**
+     * PersistentSymbolTable constructor
+     * create a symbol table that shares the scopes of an existing one
+     * (used internally for cloning symbol tables)
+     *
+     * @param table  the table whose scopes are shared
+     * @param parent parent symbol table
+     */
+    private PersistentSymbolTable(PersistentSymbolTable table, SymbolTable parent) {
+        super(false);
+        innermost = table.innermost;
+        visible = table.visible;
+        setParent(parent);
+    }
+
+    /**
+     * Enter a new scope
+     */
+    @Override
+    public void enterScope() {
+        checkNotFrozen();
+        innermost = new Scope(PersistentHashMap.empty(), innermost,
+                innermost == null ? 0 : innermost.index + 1);
+    }
+
+    /**
+     * Exit a scope, making the bindings its names hid the innermost ones again
+     */
+    @Override
+    public void exitScope() {
+        checkNotFrozen();
+        if (innermost == null) {
+            throw new RuntimeException("No scope to exit");
+        }
+        Scope exited = innermost;
+        innermost = exited.outer;
+        exited.symbols.forEach((name, value) -> visible = unhide(name));
+    }
+
+    /**
+     * @param name a name bound in the scope that was just exited
+     * @return visible with the innermost binding of the name in the
+     * remaining scopes, or without the name if it is not in them
+     */
+    private PersistentHashMap<String, Binding> unhide(String name) {
+        for (Scope scope = innermost; scope != null; scope = scope.outer) {
+            Object value = scope.symbols.get(name);
+            if (value != null) {
+                return visible.put(name, new Binding(value, scope.index));
+            }
+        }
+        return visible.remove(name);
+    }
+
+    /**
+     * Adds a symbol to the symbol table if one does not already exist
+     * Sets the value of the symbol to the specified parameter
+     *
+     * @param s     symbol name (i.e., name of variable or method)
+     * @param value value of symbol (i.e., type)
+     * @throws java.lang.IllegalStateException if the table is frozen
+     */
+    @Override
+    public void add(String s, Object value) {
+        checkNotFrozen();
+        if (innermost == null) {
+            throw new RuntimeException("Must enter a scope before adding to table");
+        }
+        Objects.requireNonNull(value);
+        innermost = new Scope(innermost.symbols.put(s, value), innermost.outer, innermost.index);
+        visible = visible.put(s, new Binding(value, innermost.index));
+    }
+
+    /**
+     * Looks up a symbol in any scope in the symbol table
+     *
+     * @param s string of symbol to lookup
+     * @return value of symbol (i.e., type), null if not found
+     */
+    @Override
+    public Object lookup(String s) {
+        if (innermost == null) {
+            throw new RuntimeException("Must enter a scope before looking up in table");
+        }
+        Binding binding = visible.get(s);
+        if (binding != null) {
+            return binding.value;
+        }
+        if (getParent() != null) {
+            return getParent().lookup(s);
+        }
+        return null;
+    }
+
+    /**
+     * Looks up a symbol in a particular scope in the symbol table as well
+     * as any outer scopes from that specified scope
+     * Note: an exception is thrown if the specified level is <0 or >= largest
+     * scope level
+     *
+     * @param s     string of symbol to lookup
+     * @param level scope level to lookup string (outermost scope is at level 0)
+     * @return value of symbol (i.e., type), null if not found in particular scope level
+     */
+    @Override
+    public Object lookup(String s, int level) {
+        int lastLevel = getCurrScopeLevel();
+
+        // some error checking
+        if (innermost == null) {
+            throw new RuntimeException("Must enter a scope before looking up in table");
+        }
+        else if (level < 0 || level >= lastLevel) {
+            throw new IllegalArgumentException("SymbolTable.lookup(sym,level) called" +
+                    " with level (" + level + ") that is not" +
+                    " between 0 and current level (" +
+                    lastLevel + ") minus one");
+        }
+        return lookupFrom(s, level);
+    }
+
+    @Override
+    Object lookupFrom(String s, int level) {
+        SymbolTable parent = getParent();
+        int parentLevel = (parent == null ? 0 : parent.getCurrScopeLevel());
+        if (level < parentLevel) {
+            return parent.lookupFrom(s, level);
+        }
+        for (Scope scope = scopeAt(level - parentLevel); scope != null; scope = scope.outer) {
+            Object value = scope.symbols.get(s);
+            if (value != null) {
+                return value;
+            }
+        }
+        if (parent != null) {
+            return parent.lookup(s);
+        }
+        return null;
+    }
+
+    /**
+     * Peeks at a symbol in the current scope
+     *
+     * @param s string of symbol to look up
+     * @return value of symbol (i.e., type), null if not found in current scope
+     */
+    @Override
+    public Object peek(String s) {
+        if (innermost == null) {
+            throw new RuntimeException("Must enter a scope before peeking in table");
+        }
+        return innermost.symbols.get(s);
+    }
+
+    /**
+     * Peeks at a symbol in a particular scope of the symbol table
+     * Note: an exception is thrown if the specified level is <0 or >= largest
+     * scope level
+     *
+     * @param s     string of symbol to look up
+     * @param level scope level to peek at (outermost scope is at level 0)
+     * @return value of symbol (i.e., type), null if not found in particular scope level
+     */
+    @Override
+    public Object peek(String s, int level) {
+        int lastLevel = getCurrScopeLevel();
+
+        // some error checking
+        if (innermost == null) {
+            throw new RuntimeException("Must enter a scope before peeking in table");
+        }
+        else if (level < 0 || level >= lastLevel) {
+            throw new IllegalArgumentException("SymbolTable.peek(sym,level) called" +
+                    " with level (" + level + ") that is not" +
+                    " between 0 and current level (" +
+                    lastLevel + ") minus one");
+        }
+        return peekAt(s, level);
+    }
+
+    @Override
+    Object peekAt(String s, int level) {
+        SymbolTable parent = getParent();
+        int parentLevel = (parent == null ? 0 : parent.getCurrScopeLevel());
+        if (level < parentLevel) {
+            return parent.peekAt(s, level);
+        }
+        return scopeAt(level - parentLevel).symbols.get(s);
+    }
+
+    /**
+     * Sets the value of the innermost binding of a symbol in the symbol
+     * table or in an ancestor table
+     *
+     * @param s   string of symbol to set
+     * @param val value to set the symbol to
+     * @throws java.lang.IllegalStateException if the symbol is in a frozen table
+     */
+    @Override
+    public void set(String s, Object val) {
+        if (innermost == null) {
+            throw new RuntimeException("Must enter a scope before setting in table");
+        }
+
+        for (SymbolTable st = this; st != null; st = st.getParent()) {
+            if (st.setInnermost(s, val)) {
+                return;
+            }
+        }
+
+        throw new RuntimeException("Set symbol '" + s +
+                "' is not in the symbol table");
+    }
+
+    @Override
+    boolean setInnermost(String s, Object val) {
+        Binding binding = visible.get(s);
+        if (binding == null) {
+            return false;
+        }
+        checkNotFrozen();
+        Objects.requireNonNull(val);
+        innermost = setIn(innermost, binding.scope, s, val);
+        visible = visible.put(s, new Binding(val, binding.scope));
+        return true;
+    }
+
+    /**
+     * Sets the value of a symbol in a particular scope of the symbol table
+     * (or an outer scope containing the specified scope)
+     * Note: an exception is thrown if the specified level is <0 or >= largest
+     * scope level
+     *
+     * @param s     string of symbol to set
+     * @param val   value to set the symbol to
+     * @param level scope level containing symbol to be set
+     * @throws java.lang.IllegalStateException if the symbol is in a frozen table
+     */
+    @Override
+    public void set(String s, Object val, int level) {
+        int lastLevel = getCurrScopeLevel();
+
+        if (innermost == null) {
+            throw new RuntimeException("Must enter a scope before setting in table");
+        }
+        else if (level < 0 || level >= lastLevel) {
+            throw new IllegalArgumentException("SymbolTable.set(sym,val,level) called" +
+                    " with level (" + level + ") that is not" +
+                    " between 0 and current level (" +
+                    lastLevel + ") minus one");
+        }
+        setFrom(s, val, level);
+    }
+
+    @Override
+    void setFrom(String s, Object val, int level) {
+        SymbolTable parent = getParent();
+        int parentLevel = (parent == null ? 0 : parent.getCurrScopeLevel());
+        if (level < parentLevel) {
+            parent.setFrom(s, val, level);
+            return;
+        }
+        for (Scope scope = scopeAt(level - parentLevel); scope != null; scope = scope.outer) {
+            if (scope.symbols.get(s) != null) {
+                checkNotFrozen();
+                Objects.requireNonNull(val);
+                innermost = setIn(innermost, scope.index, s, val);
+                if (visible.get(s).scope == scope.index) {
+                    visible = visible.put(s, new Binding(val, scope.index));
+                }
+                return;
+            }
+        }
+        if (parent != null) {
+            parent.set(s, val);
+        }
+    }
+
+    /**
+     * Gets the scope level of a symbol (the level of its innermost binding)
+     *
+     * @param s string of symbol
+     * @return scope level of the symbol or -1 if it is not in the table
+     */
+    @Override
+    public int getScopeLevel(String s) {
+        if (innermost == null) {
+            throw new RuntimeException("Must enter a scope before looking up in table");
+        }
+
+        Binding binding = visible.get(s);
+        if (binding != null) {
+            if (getParent() == null) {
+                return binding.scope + 1;
+            }
+            else {
+                return binding.scope + 1 + getParent().getCurrScopeLevel();
+            }
+        }
+
+        if (getParent() != null) {
+            return getParent().getScopeLevel(s);
+        }
+
+        return -1;
+    }
+
+    /**
+     * Gets the number of entries in all scopes of the symbol table
+     * Note: includes inherited scopes
+     *
+     * @return size of current scope
+     */
+    @Override
+    public int getSize() {
+        int size = 0;
+        for (Scope scope = innermost; scope != null; scope = scope.outer) {
+            size += scope.symbols.size();
+        }
+        if (getParent() != null) {
+            return getParent().getSize() + size;
+        }
+        return size;
+    }
+
+    /**
+     * Gets the number of entries in the current scope of the symbol table
+     *
+     * @return size of current scope
+     */
+    @Override
+    public int getCurrScopeSize() {
+        return innermost == null ? 0 : innermost.symbols.size();
+    }
+
+    /**
+     * Gets the current scope level of the symbol table
+     * (first scope starts at 1)
+     *
+     * @return current scope level
+     */
+    @Override
+    public int getCurrScopeLevel() {
+        int scopeCount = (innermost == null ? 0 : innermost.index + 1);
+        if (getParent() != null) {
+            return scopeCount + getParent().getCurrScopeLevel();
+        }
+        return scopeCount;
+    }
+
+    /**
+     * clone this symbol table as well as all parent symbol tables
+     * Note: the clone shares the scopes of this table, so it takes
+     * the same time however many symbols the table has
+     *
+     * @return cloned symbol table
+     */
+    @Override
+    public PersistentSymbolTable clone() {
+        // clone parent symbol table (as well as all other ancestors)
+        SymbolTable newParent = null;
+        if (getParent() != null) {
+            newParent = getParent().clone();
+        }
+        return new PersistentSymbolTable(this, newParent);
+    }
+
+    /**
+     * For debugging -- dumps out entire symbol table
+     * Starts from highest scope level (Object class) and works
+     * towards the lowest scope level (current level)
+     */
+    @Override
+    public void dump() {
+        if (getParent() != null) {
+            getParent().dump();
+        }
+
+        if (innermost != null) {
+            Scope[] scopes = new Scope[innermost.index + 1];
+            for (Scope scope = innermost; scope != null; scope = scope.outer) {
+                scopes[scope.index] = scope;
+            }
+            for (Scope scope : scopes) {
+                System.out.println(scope.symbols);
+            }
+        }
+    }
+
+    /**
+     * @param index the index of a scope of this table
+     * @return the scope
+     */
+    private Scope scopeAt(int index) {
+        Scope scope = innermost;
+        while (scope.index > index) {
+            scope = scope.outer;
+        }
+        return scope;
+    }
+
+    /**
+     * @param scope the innermost of a list of scopes
+     * @param index the index of the scope in the list to set the symbol in
+     * @param s     string of symbol to set
+     * @param val   value to set the symbol to
+     * @return the innermost of a list of new scopes for the ones up to the
+     * scope at the index, in which the symbol has the value, that shares the
+     * rest of the list
+     */
+    private static Scope setIn(Scope scope, int index, String s, Object val) {
+        if (scope.index == index) {
+            return new Scope(scope.symbols.put(s, val), scope.outer, index);
+        }
+        return new Scope(scope.symbols, setIn(scope.outer, index, s, val), scope.index);
+    }
+}
@@ -26,57 +26,122 @@
 
 package proj10LoverudeTymkiwCorrell.bantam.util;
 
-import java.util.Enumeration;
-import java.util.Hashtable;
-import java.util.Vector;
+import java.util.Arrays;
+import java.util.Objects;
 
 /**
  * Class for representing a class symbol table
+ * <p>
+ * All the scopes of a table share one hash table, which maps each name,
+ * with open addressing, to the innermost binding of the name.  The bindings
+ * are kept in the order they were added, and each one refers to the binding
+ * of the same name that it hides, if any.  Entering a scope only records
+ * where its bindings start, and exiting it undoes its bindings, newest
+ * first, by making the bindings they hid the innermost ones again.  So
+ * looking up a name in a table takes one probe, however many scopes the
+ * table has, and exiting a scope takes time proportional to the number of
+ * bindings in it.
+ * <p>
+ * A symbol that is not found in a table is looked up in its parent, the
+ * table of the parent class.  Scope levels are numbered from the outermost
+ * scope of the table of Object, which is level 0.
+ *
+ * @see PersistentSymbolTable
  */
 public class SymbolTable {
     /**
-     * Hash table that maps strings to Objects.  The object value corresponds to
-     * the type of the variable or method.  For variables it will be a String and
-     * for methods it will be an AST node.
+     * The index of no binding
      */
-    private Hashtable<String, Object> hash;
+    private static final int NONE = -1;
     /**
-     * List that holds each scope
+     * The number of slots of a new hash table and bindings of a new table
      */
-    private Vector<Hashtable<String, Object>> scopes;
+    private static final int INITIAL_SLOTS = 8;
+    private static final int INITIAL_BINDINGS = 4;
+
+    /**
+     * The hash table: the names, and the index of the innermost binding of
+     * each name, or NONE once all the bindings of the name have been undone.
+     * Such a name keeps its slot until the hash table is rebuilt.
+     */
+    private String[] keys;
+    private int[] heads;
+    /**
+     * The number of slots in use in the hash table
+     */
+    private int keyCount;
+    /**
+     * The bindings, in the order they were added: the name, value and scope
+     * of each, and the index of the binding of the same name it hides, or NONE
+     */
+    private String[] names;
+    private Object[] values;
+    private int[] scopesOfBindings;
+    private int[] hiddenBindings;
+    private int bindingCount;
+    /**
+     * The index of the first binding of each scope, outermost first
+     */
+    private int[] scopeStarts;
+    private int scopeCount;
     /**
      * Parent class symbol table (may be null)
      * If lookup fails in this symbol table should lookup in parent
      */
     private SymbolTable parent;
+    /**
+     * Whether the table can no longer be changed
+     */
+    private boolean frozen;
 
     /**
      * SymbolTable constructor
      * create an empty symbol table
      */
     public SymbolTable() {
-        hash = null;
-        scopes = new Vector<Hashtable<String, Object>>();
+        this(true);
+    }
+
+    /**
+     * SymbolTable constructor
+     * create an empty symbol table, with no room for symbols if it is a
+     * subclass that keeps them its own way and overrides every method
+     * that uses them
+     *
+     * @param withStorage whether to create the arrays for the symbols
+     */
+    SymbolTable(boolean withStorage) {
+        int slots = withStorage ? INITIAL_SLOTS : 0;
+        int bindings = withStorage ? INITIAL_BINDINGS : 0;
+        keys = new String[slots];
+        heads = new int[slots];
+        names = new String[bindings];
+        values = new Object[bindings];
+        scopesOfBindings = new int[bindings];
+        hiddenBindings = new int[bindings];
+        scopeStarts = new int[bindings];
         parent = null;
     }
 
     /**
      * SymbolTable constructor
-     * create a symbol table from an existing one
-     * (used internally for cloning symbol tables
+     * create a symbol table with the same scopes as an existing one
+     * (used internally for cloning symbol tables)
      *
-     * @param scopes the scopes of symbols
+     * @param table  the table to copy
      * @param parent parent symbol table
      */
-    private SymbolTable(Vector<Hashtable<String, Object>> scopes,
-                        SymbolTable parent) {
-        this.scopes = scopes;
-        if (scopes.size() > 0) {
-            this.hash = scopes.elementAt(scopes.size() - 1);
-        }
-        else {
-            this.hash = null;
-        }
+    private SymbolTable(SymbolTable table, SymbolTable parent) {
+        keys = table.keys.clone();
+        heads = table.heads.clone();
+        keyCount = table.keyCount;
+        names = table.names.clone();
+        values = table.values.clone();
+        scopesOfBindings = table.scopesOfBindings.clone();
+        hiddenBindings = table.hiddenBindings.clone();
+        bindingCount = table.bindingCount;
+        scopeStarts = table.scopeStarts.clone();
+        scopeCount = table.scopeCount;
         this.parent = parent;
     }
 
@@ -84,33 +149,82 @@ public class SymbolTable {
      * Set the parent symbol table
      *
      * @param parent symbol table of the parent class
+     * @throws java.lang.IllegalStateException if the table is frozen and
+     *         the parent is not the one it has
      */
     public void setParent(SymbolTable parent) {
+        if (parent != this.parent) {
+            checkNotFrozen();
+        }
         this.parent = parent;
     }
 
+    /**
+     * Get the parent symbol table
+     *
+     * @return symbol table of the parent class or null
+     */
+    SymbolTable getParent() {
+        return parent;
+    }
+
+    /**
+     * Make this table unchangeable, so that it can be shared, for instance
+     * as the table of a built-in class, by any number of analyses.
+     * Entering or exiting a scope, or adding or setting a symbol in it,
+     * afterwards throws an IllegalStateException.
+     *
+     * @return this table
+     */
+    public SymbolTable freeze() {
+        frozen = true;
+        return this;
+    }
+
+    /**
+     * Whether this table has been frozen
+     *
+     * @return true if the table can no longer be changed
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * @throws java.lang.IllegalStateException if the table is frozen
+     */
+    void checkNotFrozen() {
+        if (frozen) {
+            throw new IllegalStateException("A frozen SymbolTable cannot be changed");
+        }
+    }
+
     /**
      * Enter a new scope
      */
     public void enterScope() {
-        hash = new Hashtable<String, Object>();
-        scopes.add(hash);
+        checkNotFrozen();
+        if (scopeCount == scopeStarts.length) {
+            scopeStarts = Arrays.copyOf(scopeStarts, scopeCount * 2);
+        }
+        scopeStarts[scopeCount++] = bindingCount;
     }
 
     /**
-     * Exit a scope
+     * Exit a scope, undoing the bindings added in it
      */
     public void exitScope() {
-        if (scopes.size() == 0) {
+        checkNotFrozen();
+        if (scopeCount == 0) {
             throw new RuntimeException("No scope to exit");
         }
-        scopes.removeElementAt(scopes.size() - 1);
-        if (scopes.size() > 0) {
-            hash = scopes.elementAt(scopes.size() - 1);
-        }
-        else {
-            hash = null;
+        int start = scopeStarts[--scopeCount];
+        for (int binding = bindingCount - 1; binding >= start; binding--) {
+            heads[slotOf(names[binding])] = hiddenBindings[binding];
+            names[binding] = null;
+            values[binding] = null;
         }
+        bindingCount = start;
     }
 
     /**
@@ -119,12 +233,34 @@ public class SymbolTable {
      *
      * @param s     symbol name (i.e., name of variable or method)
      * @param value value of symbol (i.e., type)
+     * @throws java.lang.IllegalStateException if the table is frozen
      */
     public void add(String s, Object value) {
-        if (scopes.size() == 0) {
+        checkNotFrozen();
+        if (scopeCount == 0) {
             throw new RuntimeException("Must enter a scope before adding to table");
         }
-        hash.put(s, value);
+        Objects.requireNonNull(value);
+        int slot = addSlot(s);
+        int head = heads[slot];
+        if (head != NONE && scopesOfBindings[head] == scopeCount - 1) {
+            // already bound in the current scope
+            values[head] = value;
+            return;
+        }
+        if (bindingCount == names.length) {
+            int capacity = bindingCount * 2;
+            names = Arrays.copyOf(names, capacity);
+            values = Arrays.copyOf(values, capacity);
+            scopesOfBindings = Arrays.copyOf(scopesOfBindings, capacity);
+            hiddenBindings = Arrays.copyOf(hiddenBindings, capacity);
+        }
+        int binding = bindingCount++;
+        names[binding] = s;
+        values[binding] = value;
+        scopesOfBindings[binding] = scopeCount - 1;
+        hiddenBindings[binding] = head;
+        heads[slot] = binding;
     }
 
     /**
@@ -134,18 +270,13 @@ public class SymbolTable {
      * @return value of symbol (i.e., type), null if not found
      */
     public Object lookup(String s) {
-        if (scopes.size() == 0) {
+        if (scopeCount == 0) {
             throw new RuntimeException("Must enter a scope before looking up in table");
         }
-
-        for (int i = scopes.size() - 1; i >= 0; i--) {
-            Hashtable<String, Object> h = scopes.elementAt(i);
-            Object value = h.get(s);
-            if (value != null) {
-                return value;
-            }
+        int binding = innermostBinding(s);
+        if (binding != NONE) {
+            return values[binding];
         }
-
         if (parent != null) {
             return parent.lookup(s);
         }
@@ -166,7 +297,7 @@ public class SymbolTable {
         int lastLevel = getCurrScopeLevel();
 
         // some error checking
-        if (scopes.size() == 0) {
+        if (scopeCount == 0) {
             throw new RuntimeException("Must enter a scope before looking up in table");
         }
         else if (level < 0 || level >= lastLevel) {
@@ -175,41 +306,29 @@ public class SymbolTable {
                     " between 0 and current level (" +
                     lastLevel + ") minus one");
         }
+        return lookupFrom(s, level);
+    }
 
-        // get an ordered list of ancestor symbol tables
-        // (starts from Object's table and ends with current class's table)
-        Vector<SymbolTable> tableList = new Vector<SymbolTable>();
-        for (SymbolTable st = this; st != null; st = st.parent)
-            tableList.add(0, st);
-
-        // find the right scope
-        for (int i = 0; i < tableList.size(); i++) {
-            SymbolTable st = tableList.elementAt(i);
-
-            // if level within the next table then do lookup
-            if (level < st.scopes.size()) {
-                // lookup in this scope and earlier scopes until we find
-                // symbol or run out of scopes
-                for (int l = level; l >= 0; l--) {
-                    Hashtable<String, Object> h = st.scopes.elementAt(l);
-                    if (h.get(s) != null) {
-                        return h.get(s);
-                    }
-                }
-                // if we make it here then we try looking up in parent table
-                // (if one exists)
-                if (st.parent != null) {
-                    return st.parent.lookup(s);
-                }
-                // otherwise we return null (not found)
-                return null;
-            }
-
-            // otherwise decrement level and proceed to next table
-            level = level - st.scopes.size();
+    /**
+     * Looks up a symbol in a scope, which may be in an ancestor table, and
+     * in the scopes outside it
+     *
+     * @param s     string of symbol to lookup
+     * @param level scope level, which is less than the current level
+     * @return value of symbol (i.e., type), null if not found
+     */
+    Object lookupFrom(String s, int level) {
+        int parentLevel = (parent == null ? 0 : parent.getCurrScopeLevel());
+        if (level < parentLevel) {
+            return parent.lookupFrom(s, level);
+        }
+        int binding = bindingAtOrOutside(s, level - parentLevel);
+        if (binding != NONE) {
+            return values[binding];
+        }
+        if (parent != null) {
+            return parent.lookup(s);
         }
-
-        // we should never get here
         return null;
     }
 
@@ -220,10 +339,14 @@ public class SymbolTable {
      * @return value of symbol (i.e., type), null if not found
      */
     public Object peek(String s) {
-        if (scopes.size() == 0) {
+        if (scopeCount == 0) {
             throw new RuntimeException("Must enter a scope before peeking in table");
         }
-        return hash.get(s);
+        int binding = innermostBinding(s);
+        if (binding != NONE && scopesOfBindings[binding] == scopeCount - 1) {
+            return values[binding];
+        }
+        return null;
     }
 
     /**
@@ -239,7 +362,7 @@ public class SymbolTable {
         int lastLevel = getCurrScopeLevel();
 
         // some error checking
-        if (scopes.size() == 0) {
+        if (scopeCount == 0) {
             throw new RuntimeException("Must enter a scope before peeking in table");
         }
         else if (level < 0 || level >= lastLevel) {
@@ -248,28 +371,25 @@ public class SymbolTable {
                     " between 0 and current level (" +
                     lastLevel + ") minus one");
         }
+        return peekAt(s, level);
+    }
 
-        // get an ordered list of ancestor symbol tables
-        // (starts from Object's table and ends with current class's table)
-        Vector<SymbolTable> tableList = new Vector<SymbolTable>();
-        for (SymbolTable st = this; st != null; st = st.parent)
-            tableList.add(0, st);
-
-        // find the right scope
-        for (int i = 0; i < tableList.size(); i++) {
-            SymbolTable st = tableList.elementAt(i);
-
-            // if level within the next table then do lookup
-            if (level < st.scopes.size()) {
-                Hashtable<String, Object> h = st.scopes.elementAt(level);
-                return h.get(s);
-            }
-
-            // otherwise decrement level and proceed to next table
-            level = level - st.scopes.size();
+    /**
+     * Looks up a symbol in a scope, which may be in an ancestor table
+     *
+     * @param s     string of symbol to lookup
+     * @param level scope level, which is less than the current level
+     * @return value of symbol (i.e., type), null if not found in the scope
+     */
+    Object peekAt(String s, int level) {
+        int parentLevel = (parent == null ? 0 : parent.getCurrScopeLevel());
+        if (level < parentLevel) {
+            return parent.peekAt(s, level);
+        }
+        int binding = bindingAtOrOutside(s, level - parentLevel);
+        if (binding != NONE && scopesOfBindings[binding] == level - parentLevel) {
+            return values[binding];
         }
-
-        // we should never get here
         return null;
     }
 
@@ -278,20 +398,16 @@ public class SymbolTable {
      *
      * @param s   string of symbol to set
      * @param val value to set the symbol to
+     * @throws java.lang.IllegalStateException if the symbol is in a frozen table
      */
     public void set(String s, Object val) {
-        if (scopes.size() == 0) {
+        if (scopeCount == 0) {
             throw new RuntimeException("Must enter a scope before setting in table");
         }
 
         for (SymbolTable st = this; st != null; st = st.parent) {
-            for (int i = st.scopes.size() - 1; i >= 0; i--) {
-                Hashtable<String, Object> h = st.scopes.elementAt(i);
-                if (h.get(s) != null) {
-                    h.remove(s);
-                    h.put(s, val);
-                    return;
-                }
+            if (st.setInnermost(s, val)) {
+                return;
             }
         }
 
@@ -299,6 +415,26 @@ public class SymbolTable {
                 "' is not in the symbol table");
     }
 
+    /**
+     * Sets the value of the innermost binding of a symbol in this table,
+     * without looking in the parent table
+     *
+     * @param s   string of symbol to set
+     * @param val value to set the symbol to
+     * @return true if the symbol is in this table
+     * @throws java.lang.IllegalStateException if the symbol is in this table
+     *         and it is frozen
+     */
+    boolean setInnermost(String s, Object val) {
+        int binding = innermostBinding(s);
+        if (binding == NONE) {
+            return false;
+        }
+        checkNotFrozen();
+        values[binding] = Objects.requireNonNull(val);
+        return true;
+    }
+
     /**
      * Sets the value of an existing symbol in a particular scope of the
      * symbol table (or an outer scope containing the specified scope)
@@ -306,11 +442,12 @@ public class SymbolTable {
      * @param s     string of symbol to set
      * @param val   value to set the symbol to
      * @param level scope level containing symbol to be set
+     * @throws java.lang.IllegalStateException if the symbol is in a frozen table
      */
     public void set(String s, Object val, int level) {
         int lastLevel = getCurrScopeLevel();
 
-        if (scopes.size() == 0) {
+        if (scopeCount == 0) {
             throw new RuntimeException("Must enter a scope before setting in table");
         }
         else if (level < 0 || level >= lastLevel) {
@@ -319,39 +456,32 @@ public class SymbolTable {
                     " between 0 and current level (" +
                     lastLevel + ") minus one");
         }
+        setFrom(s, val, level);
+    }
 
-        // get an ordered list of ancestor symbol tables
-        // (starts from Object's table and ends with current class's table)
-        Vector<SymbolTable> tableList = new Vector<SymbolTable>();
-        for (SymbolTable st = this; st != null; st = st.parent)
-            tableList.add(0, st);
-
-        // find the right scope
-        for (int i = 0; i < tableList.size(); i++) {
-            SymbolTable st = tableList.elementAt(i);
-
-            // if level within the next table then do lookup
-            if (level < st.scopes.size()) {
-                // look in this scope and earlier scopes until we find
-                // symbol or run out of scopes
-                for (int l = level; l >= 0; l--) {
-                    Hashtable<String, Object> h = st.scopes.elementAt(l);
-                    if (h.get(s) != null) {
-                        h.remove(s);
-                        h.put(s, val);
-                        return;
-                    }
-                }
-                // if we make it here then we try setting in parent table
-                // (if one exists)
-                if (st.parent != null) {
-                    st.parent.set(s, val);
-                }
-                return;
-            }
-
-            // otherwise decrement level and proceed to next table
-            level = level - st.scopes.size();
+    /**
+     * Sets the value of a symbol in a scope, which may be in an ancestor
+     * table, or in the innermost scope outside it that has the symbol
+     *
+     * @param s     string of symbol to set
+     * @param val   value to set the symbol to
+     * @param level scope level, which is less than the current level
+     */
+    void setFrom(String s, Object val, int level) {
+        int parentLevel = (parent == null ? 0 : parent.getCurrScopeLevel());
+        if (level < parentLevel) {
+            parent.setFrom(s, val, level);
+            return;
+        }
+        int binding = bindingAtOrOutside(s, level - parentLevel);
+        if (binding != NONE) {
+            checkNotFrozen();
+            values[binding] = Objects.requireNonNull(val);
+        }
+        // if we make it here then we try setting in parent table
+        // (if one exists)
+        else if (parent != null) {
+            parent.set(s, val);
         }
     }
 
@@ -363,19 +493,17 @@ public class SymbolTable {
      * @return scope level
      */
     public int getScopeLevel(String s) {
-        if (scopes.size() == 0) {
+        if (scopeCount == 0) {
             throw new RuntimeException("Must enter a scope before looking up in table");
         }
 
-        for (int i = scopes.size() - 1; i >= 0; i--) {
-            Hashtable<String, Object> h = scopes.elementAt(i);
-            if (h.get(s) != null) {
-                if (parent == null) {
-                    return (i + 1);
-                }
-                else {
-                    return (i + 1) + parent.getCurrScopeLevel();
-                }
+        int binding = innermostBinding(s);
+        if (binding != NONE) {
+            if (parent == null) {
+                return scopesOfBindings[binding] + 1;
+            }
+            else {
+                return scopesOfBindings[binding] + 1 + parent.getCurrScopeLevel();
             }
         }
 
@@ -393,15 +521,10 @@ public class SymbolTable {
      * @return size of current scope
      */
     public int getSize() {
-        int size = 0;
-
-        for (int i = 0; i < scopes.size(); i++)
-            size += scopes.elementAt(i).size();
-
         if (parent != null) {
-            return parent.getSize() + size;
+            return parent.getSize() + bindingCount;
         }
-        return size;
+        return bindingCount;
     }
 
     /**
@@ -410,8 +533,8 @@ public class SymbolTable {
      * @return size of current scope
      */
     public int getCurrScopeSize() {
-        if (hash != null) {
-            return hash.size();
+        if (scopeCount > 0) {
+            return bindingCount - scopeStarts[scopeCount - 1];
         }
         else {
             return 0;
@@ -426,15 +549,16 @@ public class SymbolTable {
      */
     public int getCurrScopeLevel() {
         if (parent != null) {
-            return scopes.size() + parent.getCurrScopeLevel();
+            return scopeCount + parent.getCurrScopeLevel();
         }
-        return scopes.size();
+        return scopeCount;
     }
 
     /**
      * clone this symbol table as well as all parent symbol tables
      * Note: does a shallow clone, does not copy keys or values
-     * Note also: this is an expensive operation
+     * Note also: the time it takes is proportional to the number of
+     * bindings in the tables, not to the number of scopes
      *
      * @return cloned symbol table
      */
@@ -444,18 +568,7 @@ public class SymbolTable {
         if (parent != null) {
             newParent = parent.clone();
         }
-
-        // create new set of clone scopes
-        Vector<Hashtable<String, Object>> newScopes
-                = new Vector<Hashtable<String, Object>>();
-        for (int i = 0; i < scopes.size(); i++)
-            newScopes.add((Hashtable<String, Object>) scopes.elementAt(i).clone());
-
-        // use these to create a new symbol table
-        SymbolTable st = new SymbolTable(newScopes, newParent);
-
-        // return cloned symbol table
-        return st;
+        return new SymbolTable(this, newParent);
     }
 
     /**
@@ -468,8 +581,128 @@ public class SymbolTable {
             parent.dump();
         }
 
-        Enumeration e = scopes.elements();
-        while (e.hasMoreElements())
-            System.out.println(e.nextElement());
+        for (int scope = 0; scope < scopeCount; scope++) {
+            int end = (scope + 1 < scopeCount ? scopeStarts[scope + 1] : bindingCount);
+            StringBuilder line = new StringBuilder("{");
+            for (int binding = scopeStarts[scope]; binding < end; binding++) {
+                if (binding > scopeStarts[scope]) {
+                    line.append(", ");
+                }
+                line.append(names[binding]).append('=').append(values[binding]);
+            }
+            System.out.println(line.append('}'));
+        }
+    }
+
+    /**
+     * @param s string of symbol
+     * @return the innermost binding of the symbol in this table or NONE
+     */
+    private int innermostBinding(String s) {
+        int mask = keys.length - 1;
+        for (int slot = hash(s) & mask; ; slot = (slot + 1) & mask) {
+            String key = keys[slot];
+            if (key == null) {
+                return NONE;
+            }
+            if (key == s || key.equals(s)) {
+                return heads[slot];
+            }
+        }
+    }
+
+    /**
+     * @param s     string of symbol
+     * @param scope the index of a scope of this table
+     * @return the innermost binding of the symbol in the scope or a scope
+     * outside it in this table, or NONE
+     */
+    private int bindingAtOrOutside(String s, int scope) {
+        int binding = innermostBinding(s);
+        while (binding != NONE && scopesOfBindings[binding] > scope) {
+            binding = hiddenBindings[binding];
+        }
+        return binding;
+    }
+
+    /**
+     * @param s string of symbol that has a slot in the hash table
+     * @return the slot of the symbol
+     */
+    private int slotOf(String s) {
+        int mask = keys.length - 1;
+        int slot = hash(s) & mask;
+        while (!s.equals(keys[slot])) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * @param s string of symbol
+     * @return the slot of the symbol, which is given one if it has none
+     */
+    private int addSlot(String s) {
+        int mask = keys.length - 1;
+        int slot = hash(s) & mask;
+        for (String key = keys[slot]; key != null; key = keys[slot]) {
+            if (key == s || key.equals(s)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        // keep at least half of the slots free
+        if ((keyCount + 1) * 2 > keys.length) {
+            rehash();
+            return addSlot(s);
+        }
+        keys[slot] = s;
+        heads[slot] = NONE;
+        keyCount++;
+        return slot;
+    }
+
+    /**
+     * rebuilds the hash table with room for twice as many names as have
+     * bindings, dropping the names that have none
+     */
+    private void rehash() {
+        String[] oldKeys = keys;
+        int[] oldHeads = heads;
+        int liveCount = 0;
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != null && oldHeads[slot] != NONE) {
+                liveCount++;
+            }
+        }
+        int capacity = INITIAL_SLOTS;
+        while (capacity < (liveCount + 1) * 4) {
+            capacity *= 2;
+        }
+        keys = new String[capacity];
+        heads = new int[capacity];
+        keyCount = 0;
+        int mask = capacity - 1;
+        for (int oldSlot = 0; oldSlot < oldKeys.length; oldSlot++) {
+            if (oldKeys[oldSlot] != null && oldHeads[oldSlot] != NONE) {
+                int slot = hash(oldKeys[oldSlot]) & mask;
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[oldSlot];
+                heads[slot] = oldHeads[oldSlot];
+                keyCount++;
+            }
+        }
+    }
+
+    /**
+     * @param s string of symbol
+     * @return the hash code of the string with its high bits mixed into the
+     * low bits that choose a slot
+     */
+    private static int hash(String s) {
+        int h = s.hashCode();
+        return h ^ (h >>> 16);
     }
 }
@@ -0,0 +1,81 @@
+/*
+ * File: Type.java
+ * Date: 10/2026
+ */
+
+package proj10LoverudeTymkiwCorrell.bantam.util;
+
+/**
+ * The type of an expression or a declaration: int, boolean, void, the type
+ * of null, or a class.
+ * <p>
+ * There is one Type for each of int, boolean, void and null, and one for
+ * each class of an analysis, which its ClassTreeNode has.  A ClassHierarchy
+ * resolves the name of a type to its Type, and makes one Type for each name
+ * that is not declared, so in one analysis two types are the same exactly
+ * when they are the same object and can be compared with ==.
+ *
+ * @see ClassHierarchy#lookupType(String)
+ */
+public final class Type
+{
+    public static final Type INT = new Type("int", null);
+    public static final Type BOOLEAN = new Type("boolean", null);
+    public static final Type VOID = new Type("void", null);
+    public static final Type NULL = new Type("null", null);
+
+    /**
+     * The name of the type
+     */
+    private final String name;
+    /**
+     * The ClassTreeNode of the class, or null if the type is not a declared class
+     */
+    private final ClassTreeNode classTreeNode;
+
+    /**
+     * Type constructor
+     *
+     * @param name          the name of the type
+     * @param classTreeNode the ClassTreeNode of the class, or null if the
+     *                      type is not a declared class
+     */
+    Type(String name, ClassTreeNode classTreeNode) {
+        this.name = name;
+        this.classTreeNode = classTreeNode;
+    }
+
+    /**
+     * @return the name of the type
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the ClassTreeNode of the class, or null if the type is not a
+     * declared class
+     */
+    public ClassTreeNode getClassTreeNode() {
+        return classTreeNode;
+    }
+
+    /**
+     * @return whether the type is int or boolean
+     */
+    public boolean isPrimitive() {
+        return this == INT || this == BOOLEAN;
+    }
+
+    /**
+     * @return whether the type is int, boolean or a declared class
+     */
+    public boolean isDeclared() {
+        return isPrimitive() || classTreeNode != null;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
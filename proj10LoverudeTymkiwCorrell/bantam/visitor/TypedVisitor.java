@@ -0,0 +1,699 @@
+/*
+ * File: TypedVisitor.java
+ * Date: 10/2026
+ */
+
+package proj10LoverudeTymkiwCorrell.bantam.visitor;
+
+import proj10LoverudeTymkiwCorrell.bantam.ast.*;
+
+/**
+ * A visitor for traversing the AST whose visit methods return a result of
+ * type R and take a context of type C from the visit of the parent, such as
+ * the indentation of the code being written.  A node is visited with
+ * visit(node, context), which switches on the kind of the node to the
+ * visit method for its class.  That replaces the call of accept of the
+ * node, which calls a different method for each class of node, with a
+ * switch that the JIT compiler can inline into the visit methods.
+ * Visitors that need no result or no context use Void for R or C.
+ * <p>
+ * As in Visitor, the visit methods visit the children of the node and
+ * return null; subclasses override the methods for the nodes they handle.
+ *
+ * @param <R> the type of the results of the visits
+ * @param <C> the type of the context passed down the AST
+ * @see Visitor
+ */
+public abstract class TypedVisitor<R, C>
+{
+    /**
+     * Visit a node with the visit method for its class
+     *
+     * @param node    the node
+     * @param context the context of the visit
+     * @return result of the visit
+     * @throws IllegalArgumentException if the node has no kind
+     */
+    public final R visit(ASTNode node, C context) {
+        NodeKind kind = node.getKind();
+        if (kind == null) {
+            throw new IllegalArgumentException("A " + node.getClass().getName()
+                    + " has no NodeKind");
+        }
+        switch (kind) {
+            case PROGRAM:
+                return visit((Program) node, context);
+            case CLASS_LIST:
+                return visit((ClassList) node, context);
+            case CLASS:
+                return visit((Class_) node, context);
+            case MEMBER_LIST:
+                return visit((MemberList) node, context);
+            case FIELD:
+                return visit((Field) node, context);
+            case METHOD:
+                return visit((Method) node, context);
+            case FORMAL_LIST:
+                return visit((FormalList) node, context);
+            case FORMAL:
+                return visit((Formal) node, context);
+            case STMT_LIST:
+                return visit((StmtList) node, context);
+            case DECL_STMT:
+                return visit((DeclStmt) node, context);
+            case EXPR_STMT:
+                return visit((ExprStmt) node, context);
+            case IF_STMT:
+                return visit((IfStmt) node, context);
+            case WHILE_STMT:
+                return visit((WhileStmt) node, context);
+            case FOR_STMT:
+                return visit((ForStmt) node, context);
+            case BREAK_STMT:
+                return visit((BreakStmt) node, context);
+            case BLOCK_STMT:
+                return visit((BlockStmt) node, context);
+            case RETURN_STMT:
+                return visit((ReturnStmt) node, context);
+            case EXPR_LIST:
+                return visit((ExprList) node, context);
+            case DISPATCH_EXPR:
+                return visit((DispatchExpr) node, context);
+            case NEW_EXPR:
+                return visit((NewExpr) node, context);
+            case INSTANCEOF_EXPR:
+                return visit((InstanceofExpr) node, context);
+            case CAST_EXPR:
+                return visit((CastExpr) node, context);
+            case ASSIGN_EXPR:
+                return visit((AssignExpr) node, context);
+            case VAR_EXPR:
+                return visit((VarExpr) node, context);
+            case BINARY_COMP_EQ_EXPR:
+                return visit((BinaryCompEqExpr) node, context);
+            case BINARY_COMP_NE_EXPR:
+                return visit((BinaryCompNeExpr) node, context);
+            case BINARY_COMP_LT_EXPR:
+                return visit((BinaryCompLtExpr) node, context);
+            case BINARY_COMP_LEQ_EXPR:
+                return visit((BinaryCompLeqExpr) node, context);
+            case BINARY_COMP_GT_EXPR:
+                return visit((BinaryCompGtExpr) node, context);
+            case BINARY_COMP_GEQ_EXPR:
+                return visit((BinaryCompGeqExpr) node, context);
+            case BINARY_ARITH_PLUS_EXPR:
+                return visit((BinaryArithPlusExpr) node, context);
+            case BINARY_ARITH_MINUS_EXPR:
+                return visit((BinaryArithMinusExpr) node, context);
+            case BINARY_ARITH_TIMES_EXPR:
+                return visit((BinaryArithTimesExpr) node, context);
+            case BINARY_ARITH_DIVIDE_EXPR:
+                return visit((BinaryArithDivideExpr) node, context);
+            case BINARY_ARITH_MODULUS_EXPR:
+                return visit((BinaryArithModulusExpr) node, context);
+            case BINARY_LOGIC_AND_EXPR:
+                return visit((BinaryLogicAndExpr) node, context);
+            case BINARY_LOGIC_OR_EXPR:
+                return visit((BinaryLogicOrExpr) node, context);
+            case UNARY_NEG_EXPR:
+                return visit((UnaryNegExpr) node, context);
+            case UNARY_NOT_EXPR:
+                return visit((UnaryNotExpr) node, context);
+            case UNARY_INCR_EXPR:
+                return visit((UnaryIncrExpr) node, context);
+            case UNARY_DECR_EXPR:
+                return visit((UnaryDecrExpr) node, context);
+            case CONST_INT_EXPR:
+                return visit((ConstIntExpr) node, context);
+            case CONST_BOOLEAN_EXPR:
+                return visit((ConstBooleanExpr) node, context);
+            case CONST_STRING_EXPR:
+                return visit((ConstStringExpr) node, context);
+            default:
+                throw new IllegalArgumentException("No visit method for " + kind);
+        }
+    }
+
+    /**
+     * Visit a program node
+     *
+     * @param node    the program node
+     * @param context the context of the visit
+     * @return result of the visit
+     */
+    public R visit(Program node, C context) {
+        visit(node.getClassList(), context);
+        return null;
+    }
+
+    /**
+     * Visit a list node of classes
+     *
+     * @param node    the list node of classes
+     * @param context the context of the visit
+     * @return result of the visit
+     */
+    public R visit(ClassList node, C context) {
+        for (int i = 0; i < node.getSize(); i++)
+            visit(node.get(i), context);
+        return null;
+    }
+
+    /**
+     * Visit a class node
+     *
+     * @param node    the class node
+     * @param context the context of the visit
+     * @return result of the visit
+     */
+    public R visit(Class_ node, C context) {
+        visit(node.getMemberList(), context);
+        return null;
+    }
+
+    /**
+     * Visit a list node of members
+     *
+     * @param node    the list node of members
+     * @param context the context of the visit
+     * @return result of the visit
+     */
+    public R visit(MemberList node, C context) {
+        for (int i = 0; i < node.getSize(); i++)
+            visit(node.get(i), context);
+        return null;
+    }
+
+    /**
+     * Visit a field node
+     *
+     * @param node    the field node
+     * @param context the context of the visit
+     * @return result of the visit
+     */
+    public R visit(Field node, C context) {
+        if (node.getInit() != null) {
+            visit(node.getInit(), context);
+        }
+        return null;
+    }
+
+    /**
+     * Visit a method node
+     *
+     * @param node    the method node
+     * @param context the context of the visit
+     * @return result of the visit
+     */
+    public R visit(Method node, C context) {
+        visit(node.getFormalList(), context);
+        visit(node.getStmtList(), context);
+        return null;
+    }
+
+    /**
+     * Visit a list node of formals
+     *
+     * @param node    the list node of formals
+     * @param context the context of the visit
+     * @return result of the visit
+     */
+    public R visit(FormalList node, C context) {
+        for (int i = 0; i < node.getSize(); i++)
+            visit(node.get(i), context);
+        return null;
+    }
+
+    /**
+     * Visit a formal node
+     *
+     * @param node    the formal node
+     * @param context the context of the visit
+     * @return result of the visit
+     */
+    public R visit(Formal node, C context) {
+        return null;
+    }
+
+    /**
+     * Visit a list node of statements
+     *
+     * @param node    the list node of statements
+     * @param context the context of the visit
+     * @return result of the visit
+     */
+    public R visit(StmtList node, C context) {
+        for (int i = 0; i < node.getSize(); i++)
+            visit(node.get(i), context);
+        return null;
+    }
+
+    /**
+     * Visit a declaration statement node
+     *
+     * @param node    the declaration statement node
+     * @param context the context of the visit
+     * @return result of the visit
+     */
+    public R visit(DeclStmt node, C context) {
+        visit(node.getInit(), context);
+        return null;
+    }
+
+    /**
+     * Visit an expression statement node
+     *
+     * @param node    the expression statement node
+     * @param context the context of the visit
+     * @return result of the visit
+     */
+    public R visit(ExprStmt node, C context) {
+        visit(node.getExpr(), context);
+        return null;
+    }
+
+    /**
+     * Visit an if statement node
+     *
+     * @param node    the if statement node
+     * @param context the context of the visit
+     * @return result of the visit
+     */
+    public R visit(IfStmt node, C context) {
+        visit(node.getPredExpr(), context);
+        visit(node.getThenStmt(), context);
+        if (node.getElseStmt() != null) {
+            visit(node.getElseStmt(), context);
+        }
+        return null;
+    }
+
+    /**
+     * Visit a while statement node
+     *
+     * @param node    the while statement node
+     * @param context the context of the visit
+     * @return result of the visit
+     */
+    public R visit(WhileStmt node, C context) {
+        visit(node.getPredExpr(), context);
+        visit(node.getBodyStmt(), context);
+        return null;
+    }
+
+    /**
+     * Visit a for statement node
+     *
+     * @param node    the for statement node
+     * @param context the context of the visit
+     * @return result of the visit
+     */
+    public R visit(ForStmt node, C context) {
+        if (node.getInitExpr() != null) {
+            visit(node.getInitExpr(), context);
+        }
+        if (node.getPredExpr() != null) {
+            visit(node.getPredExpr(), context);
+        }
+        if (node.getUpdateExpr() != null) {
+            visit(node.getUpdateExpr(), context);
+        }
+        visit(node.getBodyStmt(), context);
+        return null;
+    }
+
+    /**
+     * Visit a break statement node
+     *
+     * @param node    the break statement node
+     * @param context the context of the visit
+     * @return result of the visit
+     */
+    public R visit(BreakStmt node, C context) {
+        return null;
+    }
+
+    /**
+     * Visit a block statement node
+     *
+     * @param node    the block statement node
+     * @param context the context of the visit
+     * @return result of the visit
+     */
+    public R visit(BlockStmt node, C context) {
+        visit(node.getStmtList(), context);
+        return null;
+    }
+
+    /**
+     * Visit a return statement node
+     *
+     * @param node    the return statement node
+     * @param context the context of the visit
+     * @return result of the visit
+     */
+    public R visit(ReturnStmt node, C context) {
+        if (node.getExpr() != null) {
+            visit(node.getExpr(), context);
+        }
+        return null;
+    }
+
+    /**
+     * Visit a list node of expressions
+     *
+     * @param node    the list node of expressions
+     * @param context the context of the visit
+     * @return result of the visit
+     */
+    public R visit(ExprList node, C context) {
+        for (int i = 0; i < node.getSize(); i++)
+            visit(node.get(i), context);
+        return null;
+    }
+
+    /**
+     * Visit a dispatch expression node
+     *
+     * @param node    the dispatch expression node
+     * @param context the context of the visit
+     * @return result of the visit
+     */
+    public R visit(DispatchExpr node, C context) {
+        if(node.getRefExpr() != null)
+            visit(node.getRefExpr(), context);
+        visit(node.getActualList(), context);
+        return null;
+    }
+
+    /**
+     * Visit a new expression node
+     *
+     * @param node    the new expression node
+     * @param context the context of the visit
+     * @return result of the visit
+     */
+    public R visit(NewExpr node, C context) {
+        return null;
+    }
+
+    /**
+     * Visit an instanceof expression node
+     *
+     * @param node    the instanceof expression node
+     * @param context the context of the visit
+     * @return result of the visit
+     */
+    public R visit(InstanceofExpr node, C context) {
+        visit(node.getExpr(), context);
+        return null;
+    }
+
+    /**
+     * Visit a cast expression node
+     *
+     * @param node    the cast expression node
+     * @param context the context of the visit
+     * @return result of the visit
+     */
+    public R visit(CastExpr node, C context) {
+        visit(node.getExpr(), context);
+        return null;
+    }
+
+    /**
+     * Visit an assignment expression node
+     *
+     * @param node    the assignment expression node
+     * @param context the context of the visit
+     * @return result of the visit
+     */
+    public R visit(AssignExpr node, C context) {
+        visit(node.getExpr(), context);
+        return null;
+    }
+
+    /**
+     * Visit a variable expression node
+     *
+     * @param node    the variable expression node
+     * @param context the context of the visit
+     * @return result of the visit
+     */
+    public R visit(VarExpr node, C context) {
+        if (node.getRef() != null) {
+            visit(node.getRef(), context);
+        }
+        return null;
+    }
+
+    /**
+     * Visit a binary comparison equals expression node
+     *
+     * @param node    the binary comparison equals expression node
+     * @param context the context of the visit
+     * @return result of the visit
+     */
+    public R visit(BinaryCompEqExpr node, C context) {
+        visit(node.getLeftExpr(), context);
+        visit(node.getRightExpr(), context);
+        return null;
+    }
+
+    /**
+     * Visit a binary comparison not equals expression node
+     *
+     * @param node    the binary comparison not equals expression node
+     * @param context the context of the visit
+     * @return result of the visit
+     */
+    public R visit(BinaryCompNeExpr node, C context) {
+        visit(node.getLeftExpr(), context);
+        visit(node.getRightExpr(), context);
+        return null;
+    }
+
+    /**
+     * Visit a binary comparison less than expression node
+     *
+     * @param node    the binary comparison less than expression node
+     * @param context the context of the visit
+     * @return result of the visit
+     */
+    public R visit(BinaryCompLtExpr node, C context) {
+        visit(node.getLeftExpr(), context);
+        visit(node.getRightExpr(), context);
+        return null;
+    }
+
+    /**
+     * Visit a binary comparison less than or equal to expression node
+     *
+     * @param node    the binary comparison less than or equal to expression node
+     * @param context the context of the visit
+     * @return result of the visit
+     */
+    public R visit(BinaryCompLeqExpr node, C context) {
+        visit(node.getLeftExpr(), context);
+        visit(node.getRightExpr(), context);
+        return null;
+    }
+
+    /**
+     * Visit a binary comparison greater than expression node
+     *
+     * @param node    the binary comparison greater than expression node
+     * @param context the context of the visit
+     * @return result of the visit
+     */
+    public R visit(BinaryCompGtExpr node, C context) {
+        visit(node.getLeftExpr(), context);
+        visit(node.getRightExpr(), context);
+        return null;
+    }
+
+    /**
+     * Visit a binary comparison greater than or equal to expression node
+     *
+     * @param node    the binary comparison greater than or equal to expression node
+     * @param context the context of the visit
+     * @return result of the visit
+     */
+    public R visit(BinaryCompGeqExpr node, C context) {
+        visit(node.getLeftExpr(), context);
+        visit(node.getRightExpr(), context);
+        return null;
+    }
+
+    /**
+     * Visit a binary arithmetic plus expression node
+     *
+     * @param node    the binary arithmetic plus expression node
+     * @param context the context of the visit
+     * @return result of the visit
+     */
+    public R visit(BinaryArithPlusExpr node, C context) {
+        visit(node.getLeftExpr(), context);
+        visit(node.getRightExpr(), context);
+        return null;
+    }
+
+    /**
+     * Visit a binary arithmetic minus expression node
+     *
+     * @param node    the binary arithmetic minus expression node
+     * @param context the context of the visit
+     * @return result of the visit
+     */
+    public R visit(BinaryArithMinusExpr node, C context) {
+        visit(node.getLeftExpr(), context);
+        visit(node.getRightExpr(), context);
+        return null;
+    }
+
+    /**
+     * Visit a binary arithmetic times expression node
+     *
+     * @param node    the binary arithmetic times expression node
+     * @param context the context of the visit
+     * @return result of the visit
+     */
+    public R visit(BinaryArithTimesExpr node, C context) {
+        visit(node.getLeftExpr(), context);
+        visit(node.getRightExpr(), context);
+        return null;
+    }
+
+    /**
+     * Visit a binary arithmetic divide expression node
+     *
+     * @param node    the binary arithmetic divide expression node
+     * @param context the context of the visit
+     * @return result of the visit
+     */
+    public R visit(BinaryArithDivideExpr node, C context) {
+        visit(node.getLeftExpr(), context);
+        visit(node.getRightExpr(), context);
+        return null;
+    }
+
+    /**
+     * Visit a binary arithmetic modulus expression node
+     *
+     * @param node    the binary arithmetic modulus expression node
+     * @param context the context of the visit
+     * @return result of the visit
+     */
+    public R visit(BinaryArithModulusExpr node, C context) {
+        visit(node.getLeftExpr(), context);
+        visit(node.getRightExpr(), context);
+        return null;
+    }
+
+    /**
+     * Visit a binary logical AND expression node
+     *
+     * @param node    the binary logical AND expression node
+     * @param context the context of the visit
+     * @return result of the visit
+     */
+    public R visit(BinaryLogicAndExpr node, C context) {
+        visit(node.getLeftExpr(), context);
+        visit(node.getRightExpr(), context);
+        return null;
+    }
+
+    /**
+     * Visit a binary logical OR expression node
+     *
+     * @param node    the binary logical OR expression node
+     * @param context the context of the visit
+     * @return result of the visit
+     */
+    public R visit(BinaryLogicOrExpr node, C context) {
+        visit(node.getLeftExpr(), context);
+        visit(node.getRightExpr(), context);
+        return null;
+    }
+
+    /**
+     * Visit a unary negation expression node
+     *
+     * @param node    the unary negation expression node
+     * @param context the context of the visit
+     * @return result of the visit
+     */
+    public R visit(UnaryNegExpr node, C context) {
+        visit(node.getExpr(), context);
+        return null;
+    }
+
+    /**
+     * Visit a unary NOT expression node
+     *
+     * @param node    the unary NOT expression node
+     * @param context the context of the visit
+     * @return result of the visit
+     */
+    public R visit(UnaryNotExpr node, C context) {
+        visit(node.getExpr(), context);
+        return null;
+    }
+
+    /**
+     * Visit a unary increment expression node
+     *
+     * @param node    the unary increment expression node
+     * @param context the context of the visit
+     * @return result of the visit
+     */
+    public R visit(UnaryIncrExpr node, C context) {
+        visit(node.getExpr(), context);
+        return null;
+    }
+
+    /**
+     * Visit a unary decrement expression node
+     *
+     * @param node    the unary decrement expression node
+     * @param context the context of the visit
+     * @return result of the visit
+     */
+    public R visit(UnaryDecrExpr node, C context) {
+        visit(node.getExpr(), context);
+        return null;
+    }
+
+    /**
+     * Visit an int constant expression node
+     *
+     * @param node    the int constant expression node
+     * @param context the context of the visit
+     * @return result of the visit
+     */
+    public R visit(ConstIntExpr node, C context) {
+        return null;
+    }
+
+    /**
+     * Visit a boolean constant expression node
+     *
+     * @param node    the boolean constant expression node
+     * @param context the context of the visit
+     * @return result of the visit
+     */
+    public R visit(ConstBooleanExpr node, C context) {
+        return null;
+    }
+
+    /**
+     * Visit a string constant expression node
+     *
+     * @param node    the string constant expression node
+     * @param context the context of the visit
+     * @return result of the visit
+     */
+    public R visit(ConstStringExpr node, C context) {
+        return null;
+    }
+}